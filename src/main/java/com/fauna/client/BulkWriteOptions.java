@@ -0,0 +1,228 @@
+package com.fauna.client;
+
+import com.fauna.query.QueryOptions;
+
+import java.util.Optional;
+
+/**
+ * Represents the options for a {@link FaunaBulkWriter}.
+ * <p>
+ * Items are packed into a batch until adding another would exceed either {@code maxBatchBytes} encoded bytes or
+ * {@code maxBatchOps} items. Each batch is sent as one transaction, with at most {@code maxInFlight} batches
+ * outstanding at a time. Batches that fail with a
+ * {@link com.fauna.exception.ThrottlingException} or a {@link com.fauna.exception.ContendedTransactionException}
+ * are retried according to {@code retryStrategy}, and further batches are held back while a batch waits to retry.
+ */
+public final class BulkWriteOptions {
+
+    /**
+     * The default maximum number of encoded bytes in a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+
+    /**
+     * The default maximum number of items in a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_OPS = 1000;
+
+    /**
+     * The default maximum number of batches in flight.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private static final int DEFAULT_RETRY_ATTEMPTS = 5;
+    private static final int DEFAULT_RETRY_INTERVAL_MS = 250;
+
+    /**
+     * The default strategy used to retry throttled and contended batches: up to five retries, starting after 250ms.
+     */
+    public static final RetryStrategy DEFAULT_RETRY_STRATEGY = ExponentialBackoffStrategy.builder()
+            .maxAttempts(DEFAULT_RETRY_ATTEMPTS).initialIntervalMillis(DEFAULT_RETRY_INTERVAL_MS).build();
+
+    /**
+     * The default {@code BulkWriteOptions} instance with default settings.
+     */
+    public static final BulkWriteOptions DEFAULT = BulkWriteOptions.builder().build();
+
+    private final int maxBatchBytes;
+    private final int maxBatchOps;
+    private final int maxInFlight;
+    private final RetryStrategy retryStrategy;
+    private final QueryOptions queryOptions;
+    private final StatsCollector statsCollector;
+
+    /**
+     * Constructs a new {@code BulkWriteOptions} from the specified builder.
+     *
+     * @param builder The builder holding the configured options.
+     */
+    private BulkWriteOptions(final Builder builder) {
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.maxBatchOps = builder.maxBatchOps;
+        this.maxInFlight = builder.maxInFlight;
+        this.retryStrategy = builder.retryStrategy;
+        this.queryOptions = builder.queryOptions;
+        this.statsCollector = builder.statsCollector;
+    }
+
+    /**
+     * Gets the maximum number of encoded bytes in a batch.
+     *
+     * @return The maximum batch size in bytes.
+     */
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * Gets the maximum number of items in a batch.
+     *
+     * @return The maximum number of items in a batch.
+     */
+    public int getMaxBatchOps() {
+        return maxBatchOps;
+    }
+
+    /**
+     * Gets the maximum number of batches in flight.
+     *
+     * @return The maximum number of batches in flight.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Gets the strategy used to retry throttled and contended batches.
+     *
+     * @return The retry strategy.
+     */
+    public RetryStrategy getRetryStrategy() {
+        return retryStrategy;
+    }
+
+    /**
+     * Gets the options for each batch query.
+     *
+     * @return An {@link Optional} containing the query options, or empty if not set.
+     */
+    public Optional<QueryOptions> getQueryOptions() {
+        return Optional.ofNullable(queryOptions);
+    }
+
+    /**
+     * Gets the collector that receives the stats of each batch.
+     *
+     * @return An {@link Optional} containing the stats collector, or empty if not set.
+     */
+    public Optional<StatsCollector> getStatsCollector() {
+        return Optional.ofNullable(statsCollector);
+    }
+
+    /**
+     * Creates a new builder for {@code BulkWriteOptions}.
+     *
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for constructing {@code BulkWriteOptions} instances.
+     */
+    public static final class Builder {
+        private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+        private int maxBatchOps = DEFAULT_MAX_BATCH_OPS;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private RetryStrategy retryStrategy = DEFAULT_RETRY_STRATEGY;
+        private QueryOptions queryOptions = null;
+        private StatsCollector statsCollector = null;
+
+        /**
+         * Sets the maximum number of encoded bytes in a batch. An item larger than this is sent in a batch of its
+         * own.
+         *
+         * @param maxBatchBytes The maximum batch size in bytes. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxBatchBytes(final int maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of items in a batch.
+         *
+         * @param maxBatchOps The maximum number of items in a batch. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxBatchOps(final int maxBatchOps) {
+            this.maxBatchOps = maxBatchOps;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches in flight. Adding items blocks while this many batches are
+         * outstanding.
+         *
+         * @param maxInFlight The maximum number of batches in flight. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the strategy used to retry throttled and contended batches.
+         *
+         * @param retryStrategy The retry strategy.
+         * @return This {@code Builder} instance.
+         */
+        public Builder retryStrategy(final RetryStrategy retryStrategy) {
+            this.retryStrategy = retryStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the options for each batch query.
+         *
+         * @param queryOptions The query options.
+         * @return This {@code Builder} instance.
+         */
+        public Builder queryOptions(final QueryOptions queryOptions) {
+            this.queryOptions = queryOptions;
+            return this;
+        }
+
+        /**
+         * Sets the collector that receives the stats of each batch. Defaults to a new collector created from the
+         * client's.
+         *
+         * @param statsCollector The stats collector.
+         * @return This {@code Builder} instance.
+         */
+        public Builder statsCollector(final StatsCollector statsCollector) {
+            this.statsCollector = statsCollector;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code BulkWriteOptions} instance with the configured parameters.
+         *
+         * @return A new {@code BulkWriteOptions} instance.
+         * @throws IllegalArgumentException If a limit is not positive or the retry strategy is null.
+         */
+        public BulkWriteOptions build() {
+            if (maxBatchBytes <= 0 || maxBatchOps <= 0 || maxInFlight <= 0) {
+                throw new IllegalArgumentException(
+                        "maxBatchBytes, maxBatchOps and maxInFlight must be positive.");
+            }
+            if (retryStrategy == null) {
+                throw new IllegalArgumentException("retryStrategy cannot be null.");
+            }
+            return new BulkWriteOptions(this);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.fauna.client;
+
+import com.fauna.exception.FaunaException;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link FaunaBulkWriter} once all of its batches have completed.
+ *
+ * @param <T> The type of the items written.
+ */
+public final class BulkWriteResult<T> {
+
+    private final long writtenCount;
+    private final long batchCount;
+    private final long retryCount;
+    private final List<Failure<T>> failures;
+    private final QueryStatsSummary stats;
+
+    /**
+     * Constructs a {@code BulkWriteResult}.
+     *
+     * @param writtenCount The number of items in batches that succeeded.
+     * @param batchCount   The number of batches sent.
+     * @param retryCount   The number of times a batch was retried.
+     * @param failures     The batches that failed.
+     * @param stats        A summary of the stats of all batches.
+     */
+    BulkWriteResult(final long writtenCount, final long batchCount, final long retryCount,
+                    final List<Failure<T>> failures, final QueryStatsSummary stats) {
+        this.writtenCount = writtenCount;
+        this.batchCount = batchCount;
+        this.retryCount = retryCount;
+        this.failures = List.copyOf(failures);
+        this.stats = stats;
+    }
+
+    /**
+     * Gets the number of items in batches that succeeded.
+     *
+     * @return The number of items written.
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Gets the number of items in batches that failed.
+     *
+     * @return The number of items not written.
+     */
+    public long getFailedCount() {
+        return failures.stream().mapToLong(f -> f.getItems().size()).sum();
+    }
+
+    /**
+     * Gets the number of batches sent, not counting retries.
+     *
+     * @return The number of batches.
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Gets the number of times a batch was retried after being throttled or contended.
+     *
+     * @return The number of retries.
+     */
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Gets the batches that failed.
+     *
+     * @return An unmodifiable list of failures.
+     */
+    public List<Failure<T>> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Checks whether every batch succeeded.
+     *
+     * @return {@code true} if no batch failed.
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Gets a summary of the stats of all batches, including failed ones.
+     *
+     * @return The stats summary.
+     */
+    public QueryStatsSummary getStats() {
+        return stats;
+    }
+
+    /**
+     * A batch that could not be written.
+     *
+     * @param <T> The type of the items in the batch.
+     */
+    public static final class Failure<T> {
+        private final List<T> items;
+        private final FaunaException cause;
+
+        /**
+         * Constructs a {@code Failure}.
+         *
+         * @param items The items in the failed batch.
+         * @param cause The exception that failed the batch.
+         */
+        Failure(final List<T> items, final FaunaException cause) {
+            this.items = List.copyOf(items);
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the items in the failed batch, so that they can be written again.
+         *
+         * @return An unmodifiable list of items.
+         */
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Gets the exception that failed the batch.
+         *
+         * @return The exception.
+         */
+        public FaunaException getCause() {
+            return cause;
+        }
+    }
+}
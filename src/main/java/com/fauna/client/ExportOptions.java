@@ -0,0 +1,194 @@
+package com.fauna.client;
+
+import com.fauna.query.QueryOptions;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Represents the options for a {@link SetExporter}.
+ */
+public final class ExportOptions {
+
+    /**
+     * The default size, in bytes, of the direct buffer that records are written through.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The default {@code ExportOptions} instance with default settings.
+     */
+    public static final ExportOptions DEFAULT = ExportOptions.builder().build();
+
+    /**
+     * How each exported element is framed in the output.
+     */
+    public enum Format {
+        /**
+         * One JSON value per line, terminated by {@code \n}.
+         */
+        NDJSON,
+
+        /**
+         * Each JSON value is preceded by its length in bytes, as a four-byte big-endian integer.
+         */
+        LENGTH_PREFIXED
+    }
+
+    private final Format format;
+    private final boolean gzip;
+    private final Path checkpointFile;
+    private final int bufferSize;
+    private final QueryOptions queryOptions;
+
+    /**
+     * Constructs a new {@code ExportOptions} from the specified builder.
+     *
+     * @param builder The builder holding the configured options.
+     */
+    private ExportOptions(final Builder builder) {
+        this.format = builder.format;
+        this.gzip = builder.gzip;
+        this.checkpointFile = builder.checkpointFile;
+        this.bufferSize = builder.bufferSize;
+        this.queryOptions = builder.queryOptions;
+    }
+
+    /**
+     * Gets the output format.
+     *
+     * @return The format.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Checks whether the output is gzip-compressed.
+     *
+     * @return {@code true} if the output is gzip-compressed.
+     */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Gets the file that the export's progress is checkpointed to.
+     *
+     * @return An {@link Optional} containing the checkpoint file, or empty if not set.
+     */
+    public Optional<Path> getCheckpointFile() {
+        return Optional.ofNullable(checkpointFile);
+    }
+
+    /**
+     * Gets the size of the direct buffer that records are written through.
+     *
+     * @return The buffer size in bytes.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets the options for each page query.
+     *
+     * @return An {@link Optional} containing the query options, or empty if not set.
+     */
+    public Optional<QueryOptions> getQueryOptions() {
+        return Optional.ofNullable(queryOptions);
+    }
+
+    /**
+     * Creates a new builder for {@code ExportOptions}.
+     *
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for constructing {@code ExportOptions} instances.
+     */
+    public static final class Builder {
+        private Format format = Format.NDJSON;
+        private boolean gzip = false;
+        private Path checkpointFile = null;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private QueryOptions queryOptions = null;
+
+        /**
+         * Sets the output format. Defaults to {@link Format#NDJSON}.
+         *
+         * @param format The format.
+         * @return This {@code Builder} instance.
+         */
+        public Builder format(final Format format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Sets whether the output is gzip-compressed. Each page is written as a separate gzip member, which
+         * standard gzip readers decompress as one stream.
+         *
+         * @param gzip {@code true} to compress the output.
+         * @return This {@code Builder} instance.
+         */
+        public Builder gzip(final boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * Sets the file that the export's progress is checkpointed to after each page. If the file exists when an
+         * export starts, the export resumes from the checkpoint. The file is deleted once the export completes.
+         *
+         * @param checkpointFile The checkpoint file.
+         * @return This {@code Builder} instance.
+         */
+        public Builder checkpointFile(final Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        /**
+         * Sets the size of the direct buffer that records are written through.
+         *
+         * @param bufferSize The buffer size in bytes. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder bufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the options for each page query.
+         *
+         * @param queryOptions The query options.
+         * @return This {@code Builder} instance.
+         */
+        public Builder queryOptions(final QueryOptions queryOptions) {
+            this.queryOptions = queryOptions;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code ExportOptions} instance with the configured parameters.
+         *
+         * @return A new {@code ExportOptions} instance.
+         * @throws IllegalArgumentException If the format is null or the buffer size is not positive.
+         */
+        public ExportOptions build() {
+            if (format == null) {
+                throw new IllegalArgumentException("format cannot be null.");
+            }
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("bufferSize must be positive.");
+            }
+            return new ExportOptions(this);
+        }
+    }
+}
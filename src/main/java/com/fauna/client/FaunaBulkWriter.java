@@ -0,0 +1,344 @@
+package com.fauna.client;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.exception.ClientException;
+import com.fauna.exception.ContendedTransactionException;
+import com.fauna.exception.FaunaException;
+import com.fauna.exception.ServiceException;
+import com.fauna.exception.ThrottlingException;
+import com.fauna.query.builder.Query;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.RawValue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.fauna.query.builder.Query.fql;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes large numbers of items to Fauna by packing them into transactions and sending several at a time.
+ * <p>
+ * Items are added with {@link #add}, which encodes each item once and adds it to the current batch. A batch is sent
+ * as soon as it reaches the byte or item limit in {@link BulkWriteOptions}, and {@link #add} blocks while the
+ * maximum number of batches is in flight, so a fast producer cannot overload the service. Throttled and contended
+ * batches are retried with the writer's own backoff rather than the client's retry strategy, and new batches are held
+ * back while a throttled batch waits. Call
+ * {@link #complete} to send the final batch and get the outcome once every batch has finished. A failed batch does
+ * not stop the writer; its items are reported in the {@link BulkWriteResult}.
+ * <p>
+ * Create a writer with {@link FaunaClient#bulkWriter} to write documents, or {@link FaunaClient#bulkQueryWriter} to
+ * run arbitrary write queries. A writer is safe to use from multiple threads.
+ *
+ * @param <T> The type of the items written.
+ */
+public final class FaunaBulkWriter<T> implements AutoCloseable {
+
+    private static final String OP_ARG = "op";
+
+    private final FaunaClient client;
+    private final BulkWriteOptions options;
+    private final Codec<T> itemCodec;
+    private final Function<T, Object> argument;
+    private final Function<List<Object>, Query> batchQuery;
+    private final StatsCollector statsCollector;
+
+    private final Semaphore permits;
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<BulkWriteResult.Failure<T>> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private volatile long pausedUntilNanos = System.nanoTime();
+
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+    private List<T> items = new ArrayList<>();
+    private List<Object> args = new ArrayList<>();
+    private long bytes;
+    private boolean closed;
+
+    private FaunaBulkWriter(final FaunaClient client, final BulkWriteOptions options, final Codec<T> itemCodec,
+                            final Function<T, Object> argument,
+                            final Function<List<Object>, Query> batchQuery) {
+        this.client = client;
+        this.options = options;
+        this.itemCodec = itemCodec;
+        this.argument = argument;
+        this.batchQuery = batchQuery;
+        this.statsCollector = options.getStatsCollector().orElseGet(() -> client.getStatsCollector() != null
+                ? client.getStatsCollector().createNew() : new StatsCollectorImpl());
+        this.permits = new Semaphore(options.getMaxInFlight());
+    }
+
+    /**
+     * Creates a writer that passes each batch of documents to {@code batchQuery} as a list.
+     *
+     * @param client     The client to send batches with.
+     * @param batchQuery Builds the query for a batch. The list holds the already-encoded documents and must only be
+     *                   used as a query argument.
+     * @param options    The bulk write options.
+     * @param <T>        The type of the documents.
+     * @return A new {@code FaunaBulkWriter}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> FaunaBulkWriter<T> forDocuments(final FaunaClient client,
+                                               final Function<List<?>, Query> batchQuery,
+                                               final BulkWriteOptions options) {
+        Objects.requireNonNull(batchQuery, "batchQuery cannot be null.");
+        Codec<T> codec = (Codec<T>) client.getCodecProvider().get(Object.class);
+        return new FaunaBulkWriter<>(client, options, codec, null, batchQuery::apply);
+    }
+
+    /**
+     * Creates a writer that runs each batch of queries in one transaction, as an FQL array of their results.
+     *
+     * @param client  The client to send batches with.
+     * @param options The bulk write options.
+     * @return A new {@code FaunaBulkWriter}.
+     */
+    static FaunaBulkWriter<Query> forQueries(final FaunaClient client, final BulkWriteOptions options) {
+        Codec<Query> codec = client.getCodecProvider().get(Query.class);
+        return new FaunaBulkWriter<>(client, options, codec, query -> query, FaunaBulkWriter::arrayQuery);
+    }
+
+    private static Query arrayQuery(final List<Object> queries) {
+        StringBuilder template = new StringBuilder("[");
+        Map<String, Object> queryArgs = new HashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            template.append(i == 0 ? "" : ",").append("${").append(OP_ARG).append(i).append('}');
+            queryArgs.put(OP_ARG + i, queries.get(i));
+        }
+        return fql(template.append(']').toString(), queryArgs);
+    }
+
+    /**
+     * Adds an item to the current batch, sending the batch once it is full. Blocks while the maximum number of
+     * batches is in flight.
+     *
+     * @param item The item to write.
+     * @throws IllegalStateException If the writer has been completed.
+     * @throws ClientException       If interrupted while waiting to send a batch.
+     */
+    public void add(final T item) {
+        Objects.requireNonNull(item, "item cannot be null.");
+        Batch<T> full = null;
+        Batch<T> next = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The bulk writer has already been completed.");
+            }
+
+            scratch.reset();
+            try (UTF8FaunaGenerator gen = UTF8FaunaGenerator.create(scratch)) {
+                itemCodec.encode(gen, item);
+            }
+            int size = scratch.size();
+
+            if (!items.isEmpty() && bytes + size > options.getMaxBatchBytes()) {
+                full = takeBatch();
+            }
+            items.add(item);
+            args.add(argument != null ? argument.apply(item) : RawValue.of(scratch.toString(UTF_8)));
+            bytes += size;
+            if (items.size() >= options.getMaxBatchOps() || bytes >= options.getMaxBatchBytes()) {
+                next = takeBatch();
+            }
+        }
+        // Wait for a permit without holding the lock, so other threads can keep filling the next batch.
+        try {
+            dispatch(full);
+        } catch (ClientException e) {
+            // The next batch is already tracked by complete(), so it must finish as well.
+            fail(next, e);
+            throw e;
+        }
+        dispatch(next);
+    }
+
+    /**
+     * Adds every item of an iterable. See {@link #add}.
+     *
+     * @param source The items to write.
+     */
+    public void addAll(final Iterable<? extends T> source) {
+        source.forEach(this::add);
+    }
+
+    /**
+     * Adds every item of a stream, consuming it. See {@link #add}.
+     *
+     * @param source The items to write.
+     */
+    public void addAll(final Stream<? extends T> source) {
+        source.forEachOrdered(this::add);
+    }
+
+    /**
+     * Sends the current batch without waiting for it to fill up.
+     *
+     * @throws ClientException If interrupted while waiting to send the batch.
+     */
+    public void flush() {
+        Batch<T> batch;
+        synchronized (this) {
+            batch = items.isEmpty() ? null : takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Sends the final batch and stops accepting items.
+     *
+     * @return A future that completes with the outcome once every batch has finished.
+     */
+    public CompletableFuture<BulkWriteResult<T>> complete() {
+        Batch<T> batch = null;
+        synchronized (this) {
+            if (!closed) {
+                batch = items.isEmpty() ? null : takeBatch();
+                closed = true;
+            }
+        }
+        dispatch(batch);
+        return CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> new BulkWriteResult<>(writtenCount.get(), batchCount.get(),
+                        retryCount.get(), new ArrayList<>(failures), statsCollector.read()));
+    }
+
+    /**
+     * Completes the writer and waits for every batch to finish. Use {@link #complete} to get the outcome.
+     */
+    @Override
+    public void close() {
+        complete().join();
+    }
+
+    /**
+     * Takes the current batch while holding the lock. The batch is tracked from here on, so {@link #complete} waits
+     * for it even if it has not been sent yet.
+     *
+     * @return The batch to send.
+     */
+    private Batch<T> takeBatch() {
+        Batch<T> batch = new Batch<>(items, args);
+        items = new ArrayList<>();
+        args = new ArrayList<>();
+        bytes = 0;
+        inFlight.add(batch.done);
+        batch.done.whenComplete((v, t) -> inFlight.remove(batch.done));
+        batchCount.incrementAndGet();
+        return batch;
+    }
+
+    private void dispatch(final Batch<T> batch) {
+        if (batch == null) {
+            return;
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ClientException exc = new ClientException("Interrupted while waiting to send a bulk write batch.", e);
+            fail(batch, exc);
+            throw exc;
+        }
+
+        batch.done.whenComplete((v, t) -> permits.release());
+        send(batch.items, batch.args, 0, batch.done);
+    }
+
+    private void fail(final Batch<T> batch, final ClientException exc) {
+        if (batch == null) {
+            return;
+        }
+
+        failures.add(new BulkWriteResult.Failure<>(batch.items, exc));
+        batch.done.complete(null);
+    }
+
+    private void send(final List<T> batchItems, final List<Object> batchArgs, final int attempt,
+                      final CompletableFuture<Void> done) {
+        long pauseNanos = pausedUntilNanos - System.nanoTime();
+        Executor executor = pauseNanos > 0
+                ? CompletableFuture.delayedExecutor(pauseNanos, TimeUnit.NANOSECONDS) : Runnable::run;
+        executor.execute(() -> query(batchArgs).whenComplete((success, t) -> {
+            if (t == null) {
+                if (success.getStats() != null) {
+                    statsCollector.add(success.getStats());
+                }
+                writtenCount.addAndGet(batchItems.size());
+                done.complete(null);
+            } else {
+                onFailure(batchItems, batchArgs, attempt, t, done);
+            }
+        }));
+    }
+
+    private CompletableFuture<QuerySuccess<Object>> query(final List<Object> batchArgs) {
+        try {
+            // The writer retries throttled and contended batches itself, so the client must not retry them as well.
+            return client.asyncQuery(batchQuery.apply(batchArgs), Object.class,
+                    options.getQueryOptions().orElse(null), FaunaClient.NO_RETRY_STRATEGY);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void onFailure(final List<T> batchItems, final List<Object> batchArgs, final int attempt,
+                           final Throwable throwable, final CompletableFuture<Void> done) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (cause instanceof ServiceException && ((ServiceException) cause).getStats() != null) {
+            statsCollector.add(((ServiceException) cause).getStats());
+        }
+
+        RetryStrategy strategy = options.getRetryStrategy();
+        boolean retryable = cause instanceof ThrottlingException || cause instanceof ContendedTransactionException;
+        if (retryable && strategy.canRetry(attempt + 1)) {
+            long delayNanos = TimeUnit.MILLISECONDS.toNanos(strategy.getDelayMillis(attempt + 1));
+            if (cause instanceof ThrottlingException) {
+                long until = System.nanoTime() + delayNanos;
+                if (until - pausedUntilNanos > 0) {
+                    pausedUntilNanos = until;
+                }
+            }
+            retryCount.incrementAndGet();
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                    .execute(() -> send(batchItems, batchArgs, attempt + 1, done));
+            return;
+        }
+
+        FaunaException exc = cause instanceof FaunaException
+                ? (FaunaException) cause : new FaunaException("Unexpected exception.", cause);
+        failures.add(new BulkWriteResult.Failure<>(batchItems, exc));
+        done.complete(null);
+    }
+
+    private static final class Batch<T> {
+        private final List<T> items;
+        private final List<Object> args;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Batch(final List<T> items, final List<Object> args) {
+            this.items = items;
+            this.args = args;
+        }
+    }
+}
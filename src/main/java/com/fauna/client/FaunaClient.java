@@ -5,11 +5,18 @@ import com.fauna.codec.CodecProvider;
 import com.fauna.codec.DefaultCodecProvider;
 import com.fauna.codec.DefaultCodecRegistry;
 import com.fauna.codec.ParameterizedOf;
+import com.fauna.codec.codecs.ColumnarPageCodec;
+import com.fauna.codec.codecs.PooledCodec;
+import com.fauna.event.CursorCheckpoint;
 import com.fauna.event.EventSource;
 import com.fauna.event.FaunaStream;
 import com.fauna.event.FeedIterator;
 import com.fauna.event.FeedOptions;
 import com.fauna.event.FeedPage;
+import com.fauna.event.FeedPoller;
+import com.fauna.event.FeedPollerOptions;
+import com.fauna.event.StreamManager;
+import com.fauna.event.StreamManagerOptions;
 import com.fauna.event.StreamOptions;
 import com.fauna.exception.ClientException;
 import com.fauna.exception.FaunaException;
@@ -19,18 +26,23 @@ import com.fauna.query.QueryOptions;
 import com.fauna.query.builder.Query;
 import com.fauna.response.QueryResponse;
 import com.fauna.response.QuerySuccess;
+import com.fauna.types.ColumnarPage;
 import com.fauna.types.Page;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
@@ -125,6 +137,15 @@ public abstract class FaunaClient {
         return this.statsCollector;
     }
 
+    /**
+     * Retrieves the codec provider used to encode queries and decode results.
+     *
+     * @return The codec provider.
+     */
+    CodecProvider getCodecProvider() {
+        return this.codecProvider;
+    }
+
     /**
      * Retrieves the last known transaction timestamp.
      *
@@ -181,24 +202,28 @@ public abstract class FaunaClient {
     }
 
     private <T> Supplier<CompletableFuture<QuerySuccess<T>>> makeAsyncRequest(
-            final HttpClient client, final HttpRequest request, final Codec<T> codec) {
+            final HttpClient client, final HttpRequest request, final Codec<T> codec,
+            final QueryOptions options) {
+        int deduplicatedStringLength = options != null
+                ? options.getDeduplicatedStringLength().orElse(0) : 0;
         return () -> client.sendAsync(request,
                 HttpResponse.BodyHandlers.ofInputStream()).thenApply(
                 response -> {
                     logResponse(response);
                     return QueryResponse.parseResponse(response, codec,
-                            statsCollector);
+                            statsCollector, deduplicatedStringLength);
                 }).whenComplete(this::completeRequest);
     }
 
     private <E> Supplier<CompletableFuture<FeedPage<E>>> makeAsyncFeedRequest(
-            final HttpClient client, final HttpRequest request, final Codec<E> codec) {
+            final HttpClient client, final HttpRequest request, final Codec<E> codec,
+            final boolean lazyDecoding) {
         return () -> client.sendAsync(request,
                 HttpResponse.BodyHandlers.ofInputStream()).thenApply(
                 response -> {
                     logResponse(response);
                     return FeedPage.parseResponse(response, codec,
-                            statsCollector);
+                            statsCollector, lazyDecoding);
                 }).whenComplete(this::completeFeedRequest);
     }
 
@@ -240,7 +265,7 @@ public abstract class FaunaClient {
                 logger).execute(makeAsyncRequest(
                 getHttpClient(),
                 getRequestBuilder().buildRequest(fql, null, codecProvider,
-                        lastTransactionTs.get()), codec));
+                        lastTransactionTs.get()), codec, null));
     }
 
     /**
@@ -261,16 +286,33 @@ public abstract class FaunaClient {
     public <T> CompletableFuture<QuerySuccess<T>> asyncQuery(final Query fql,
                                                              final Class<T> resultClass,
                                                              final QueryOptions options) {
+        return asyncQuery(fql, resultClass, options, getRetryStrategy());
+    }
+
+    /**
+     * Sends an asynchronous query, retrying it with the given strategy instead of the client's.
+     *
+     * @param fql           The FQL query to be executed.
+     * @param resultClass   The expected class of the query result.
+     * @param options       A (nullable) set of options to pass to the query.
+     * @param retryStrategy The strategy used to retry the query.
+     * @return QuerySuccess     The successful query result.
+     * @param <T> The return type of the query.
+     */
+    <T> CompletableFuture<QuerySuccess<T>> asyncQuery(final Query fql,
+                                                      final Class<T> resultClass,
+                                                      final QueryOptions options,
+                                                      final RetryStrategy retryStrategy) {
         if (Objects.isNull(fql)) {
             throw new IllegalArgumentException(
                     "The provided FQL query is null.");
         }
         Codec<T> codec = codecProvider.get(resultClass, null);
-        return new RetryHandler<QuerySuccess<T>>(getRetryStrategy(),
+        return new RetryHandler<QuerySuccess<T>>(retryStrategy,
                 logger).execute(makeAsyncRequest(
                 getHttpClient(),
                 getRequestBuilder().buildRequest(fql, options, codecProvider,
-                        lastTransactionTs.get()), codec));
+                        lastTransactionTs.get()), codec, options));
     }
 
     /**
@@ -303,7 +345,7 @@ public abstract class FaunaClient {
                 logger).execute(makeAsyncRequest(
                 getHttpClient(),
                 getRequestBuilder().buildRequest(fql, options, codecProvider,
-                        lastTransactionTs.get()), codec));
+                        lastTransactionTs.get()), codec, options));
     }
 
     /**
@@ -352,7 +394,7 @@ public abstract class FaunaClient {
                 logger).execute(makeAsyncRequest(
                 getHttpClient(),
                 getRequestBuilder().buildRequest(fql, null, codecProvider,
-                        lastTransactionTs.get()), codec));
+                        lastTransactionTs.get()), codec, null));
     }
     //endregion
 
@@ -485,6 +527,46 @@ public abstract class FaunaClient {
         return completeAsync(asyncQueryPage(after, elementClass, options),
                 QUERY_PAGE);
     }
+
+    /**
+     * Sends a query to Fauna and decodes the resulting page into a {@link ColumnarPage}.
+     * <p>
+     * Only the fields declared in the schema are decoded, each into its own column. To fetch the next page, pass
+     * {@code PageIterator.buildPageQuery(page.getAfter().get())} as the query.
+     *
+     * @param fql     The FQL query to be executed.
+     * @param schema  The fields to decode and their column types.
+     * @param options A (nullable) set of options to pass to the query.
+     * @return A CompletableFuture that returns a QuerySuccess with data of type ColumnarPage.
+     * @throws FaunaException If the query does not succeed, an exception will be thrown.
+     */
+    public CompletableFuture<QuerySuccess<ColumnarPage>> asyncQueryColumnar(
+            final Query fql, final ColumnarPage.Schema schema, final QueryOptions options) {
+        if (Objects.isNull(fql)) {
+            throw new IllegalArgumentException(
+                    "The provided FQL query is null.");
+        }
+        return new RetryHandler<QuerySuccess<ColumnarPage>>(getRetryStrategy(),
+                logger).execute(makeAsyncRequest(
+                getHttpClient(),
+                getRequestBuilder().buildRequest(fql, options, codecProvider,
+                        lastTransactionTs.get()), new ColumnarPageCodec(schema), options));
+    }
+
+    /**
+     * Sends a query to Fauna and decodes the resulting page into a {@link ColumnarPage}.
+     *
+     * @param fql     The FQL query to be executed.
+     * @param schema  The fields to decode and their column types.
+     * @param options A (nullable) set of options to pass to the query.
+     * @return A QuerySuccess with data of type ColumnarPage.
+     * @throws FaunaException If the query does not succeed, an exception will be thrown.
+     */
+    public QuerySuccess<ColumnarPage> queryColumnar(
+            final Query fql, final ColumnarPage.Schema schema, final QueryOptions options) {
+        return completeAsync(asyncQueryColumnar(fql, schema, options),
+                QUERY_PAGE);
+    }
     //endregion
 
     //region Paginated API
@@ -539,6 +621,110 @@ public abstract class FaunaClient {
     public <E> PageIterator<E> paginate(final Query fql, final Class<E> elementClass) {
         return paginate(fql, elementClass, null);
     }
+
+    /**
+     * Send a Fauna Query Language (FQL) query to Fauna and return a paginated result that fetches pages ahead of
+     * the consumer.
+     *
+     * @param fql          The FQL query to be executed.
+     * @param elementClass The expected class of the query result.
+     * @param options      A (nullable) set of options to pass to the query.
+     * @param prefetch     How many pages to fetch ahead. See {@link PrefetchOptions}.
+     * @param <E>          The type for each element in a page.
+     * @return A PageIterator that prefetches pages.
+     */
+    public <E> PageIterator<E> paginate(final Query fql, final Class<E> elementClass,
+                                        final QueryOptions options, final PrefetchOptions prefetch) {
+        return new PageIterator<>(this, fql, elementClass, options, prefetch);
+    }
+
+    /**
+     * Send a Fauna Query Language (FQL) query to Fauna and publish the elements of the paginated result. Pages are
+     * fetched as the subscriber requests elements.
+     *
+     * @param fql          The FQL query to be executed.
+     * @param elementClass The expected class of the query result.
+     * @param options      A (nullable) set of options to pass to the query.
+     * @param <E>          The type for each element in a page.
+     * @return A {@link PagePublisher} of the elements.
+     */
+    public <E> PagePublisher<E> paginatePublisher(final Query fql, final Class<E> elementClass,
+                                                  final QueryOptions options) {
+        return new PagePublisher<>(this, fql, elementClass, options);
+    }
+
+    /**
+     * Send a Fauna Query Language (FQL) query to Fauna and publish the elements of the paginated result. Pages are
+     * fetched as the subscriber requests elements.
+     *
+     * @param fql          The FQL query to be executed.
+     * @param elementClass The expected class of the query result.
+     * @param <E>          The type for each element in a page.
+     * @return A {@link PagePublisher} of the elements.
+     */
+    public <E> PagePublisher<E> paginatePublisher(final Query fql, final Class<E> elementClass) {
+        return paginatePublisher(fql, elementClass, null);
+    }
+
+    /**
+     * Paginates several disjoint Sets concurrently and returns the union of their elements. Use
+     * {@link PartitionedScan#stream()} to consume them with a parallel stream.
+     *
+     * @param partitions   Queries that each return one partition of the Set, for example range splits on an index.
+     * @param elementClass The expected class of the elements.
+     * @param options      A (nullable) set of options to pass to each query.
+     * @param maxInFlight  The maximum number of page requests outstanding at once, across all partitions.
+     * @param <E>          The type for each element in a page.
+     * @return A new {@link PartitionedScan}.
+     */
+    public <E> PartitionedScan<E> scan(final List<Query> partitions, final Class<E> elementClass,
+                                       final QueryOptions options, final int maxInFlight) {
+        return new PartitionedScan<>(this, partitions, elementClass, options, maxInFlight);
+    }
+    //endregion
+
+    //region Bulk write API
+
+    /**
+     * Creates a writer that writes documents in batches. Each batch is passed to {@code batchQuery} as a list, for
+     * example {@code docs -> fql("${docs}.forEach(doc => Product.create(doc))", Map.of("docs", docs))}.
+     *
+     * @param batchQuery Builds the query for a batch. The list holds the already-encoded documents and must only be
+     *                   used as a query argument.
+     * @param options    The bulk write options (default options will be used if null).
+     * @param <T>        The type of the documents.
+     * @return A new {@link FaunaBulkWriter}.
+     */
+    public <T> FaunaBulkWriter<T> bulkWriter(final Function<List<?>, Query> batchQuery,
+                                             final BulkWriteOptions options) {
+        return FaunaBulkWriter.forDocuments(this, batchQuery,
+                options != null ? options : BulkWriteOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a writer that runs write queries in batches. Each batch runs in one transaction.
+     *
+     * @param options The bulk write options (default options will be used if null).
+     * @return A new {@link FaunaBulkWriter}.
+     */
+    public FaunaBulkWriter<Query> bulkQueryWriter(final BulkWriteOptions options) {
+        return FaunaBulkWriter.forQueries(this,
+                options != null ? options : BulkWriteOptions.DEFAULT);
+    }
+    //endregion
+
+    //region Export API
+
+    /**
+     * Creates an exporter that writes every element of a Set to a file or channel.
+     *
+     * @param fql     A query that returns a Set.
+     * @param options The export options.
+     * @return A new {@link SetExporter}.
+     */
+    public SetExporter exporter(final Query fql, final ExportOptions options) {
+        return new SetExporter(this, fql, options);
+    }
     //endregion
 
 
@@ -559,22 +745,37 @@ public abstract class FaunaClient {
             final EventSource eventSource,
             final StreamOptions streamOptions,
             final Class<E> elementClass) {
-        HttpRequest streamReq =
-                getStreamRequestBuilder().buildStreamRequest(eventSource,
-                        streamOptions);
-        return getHttpClient().sendAsync(streamReq,
-                        HttpResponse.BodyHandlers.ofPublisher())
-                .thenCompose(response -> {
+        StreamOptions options = streamOptions;
+        if (streamOptions.getCursor().isEmpty()) {
+            // Resume from the last committed cursor, if the stream is checkpointed.
+            options = streamOptions.getCheckpoint().flatMap(CursorCheckpoint::getCommittedCursor)
+                    .map(streamOptions::withCursor).orElse(streamOptions);
+        }
+        final StreamOptions initialOptions = options;
+        return openStream(eventSource, initialOptions)
+                .thenCompose(body -> {
                     CompletableFuture<FaunaStream<E>> publisher =
                             new CompletableFuture<>();
                     FaunaStream<E> fstream = new FaunaStream<>(elementClass,
-                            this.statsCollector);
-                    response.body().subscribe(fstream);
+                            this.statsCollector, initialOptions,
+                            cursor -> openStream(eventSource,
+                                    cursor != null ? initialOptions.withCursor(cursor) : initialOptions));
+                    body.subscribe(fstream);
                     publisher.complete(fstream);
                     return publisher;
                 });
     }
 
+    private CompletableFuture<Flow.Publisher<List<ByteBuffer>>> openStream(
+            final EventSource eventSource, final StreamOptions streamOptions) {
+        HttpRequest streamReq =
+                getStreamRequestBuilder().buildStreamRequest(eventSource,
+                        streamOptions);
+        return getHttpClient().sendAsync(streamReq,
+                        HttpResponse.BodyHandlers.ofPublisher())
+                .thenApply(HttpResponse::body);
+    }
+
     /**
      * Send a request to the Fauna stream endpoint to start a stream, and return a FaunaStream publisher.
      *
@@ -653,12 +854,16 @@ public abstract class FaunaClient {
     public <E> CompletableFuture<FeedPage<E>> poll(final EventSource eventSource,
                                                    final FeedOptions feedOptions,
                                                    final Class<E> elementClass) {
+        FeedOptions options = feedOptions != null ? feedOptions : FeedOptions.DEFAULT;
+        Codec<E> codec = codecProvider.get(elementClass);
+        if (options.getDataPool().isPresent()) {
+            codec = new PooledCodec<>(codec, options.getDataPool().get()::acquire);
+        }
         return new RetryHandler<FeedPage<E>>(getRetryStrategy(),
                 logger).execute(makeAsyncFeedRequest(
                 getHttpClient(),
-                getFeedRequestBuilder().buildFeedRequest(eventSource,
-                        feedOptions != null ? feedOptions : FeedOptions.DEFAULT),
-                codecProvider.get(elementClass)));
+                getFeedRequestBuilder().buildFeedRequest(eventSource, options),
+                codec, options.isLazyDecoding()));
     }
 
     /**
@@ -711,5 +916,39 @@ public abstract class FaunaClient {
         return new FeedIterator<>(this, eventSource, feedOptions, elementClass);
     }
 
+    /**
+     * Create a FeedPoller that polls the feeds of many event sources on a shared scheduler, adapting each source's
+     * poll interval and page size to its activity. Add sources with {@link FeedPoller#add}.
+     *
+     * @param elementClass The expected class &lt;E&gt; of the feed events.
+     * @param options      The poller options (default options will be used if null).
+     * @param listener     Receives the pages of every source.
+     * @param <E>          The type for data in an event.
+     * @return FeedPoller A feed poller.
+     */
+    public <E> FeedPoller<E> feedPoller(final Class<E> elementClass,
+                                        final FeedPollerOptions options,
+                                        final FeedPoller.PageListener<E> listener) {
+        return new FeedPoller<>(this, elementClass,
+                options != null ? options : FeedPollerOptions.DEFAULT, listener);
+    }
+
+    /**
+     * Create a StreamManager that consumes many event sources through a bounded number of connections, polling
+     * quiet sources and streaming busy ones. Add sources with {@link StreamManager#add}.
+     *
+     * @param elementClass The expected class &lt;E&gt; of the events.
+     * @param options      The manager options (default options will be used if null).
+     * @param listener     Receives the events of every source.
+     * @param <E>          The type for data in an event.
+     * @return StreamManager A stream manager that has started polling.
+     */
+    public <E> StreamManager<E> streamManager(final Class<E> elementClass,
+                                              final StreamManagerOptions options,
+                                              final StreamManager.EventListener<E> listener) {
+        return new StreamManager<>(this, elementClass,
+                options != null ? options : StreamManagerOptions.DEFAULT, listener);
+    }
+
     //endregion
 }
@@ -11,6 +11,7 @@ import com.fauna.types.Page;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -18,6 +19,9 @@ import static com.fauna.query.builder.Query.fql;
 
 /**
  * PageIterator iterates over paged responses from Fauna, the default page size is 16.
+ * <p>
+ * By default, the next page is requested when the current one is returned. Construct the iterator with
+ * {@link PrefetchOptions} to fetch several pages ahead of the consumer into a bounded buffer.
  *
  * @param <E> The type of elements in the page.
  */
@@ -27,6 +31,7 @@ public class PageIterator<E> implements Iterator<Page<E>> {
     private final FaunaClient client;
     private final QueryOptions options;
     private final PageOf<E> pageClass;
+    private final PagePrefetcher<E> prefetcher;
     private CompletableFuture<QuerySuccess<Page<E>>> queryFuture;
 
     /**
@@ -42,10 +47,28 @@ public class PageIterator<E> implements Iterator<Page<E>> {
         this.client = client;
         this.pageClass = new PageOf<>(resultClass);
         this.options = options;
+        this.prefetcher = null;
         // Initial query;
         this.queryFuture = client.asyncQuery(fql, this.pageClass, options);
     }
 
+    /**
+     * Construct a new PageIterator that fetches pages ahead of the consumer, as configured by {@code prefetch}.
+     *
+     * @param client      A client that makes requests to Fauna.
+     * @param fql         The FQL query.
+     * @param resultClass The class of the elements returned from Fauna (i.e., the rows).
+     * @param options     (optionally) pass in QueryOptions.
+     * @param prefetch    The prefetch options.
+     */
+    public PageIterator(final FaunaClient client, final Query fql, final Class<E> resultClass,
+                        final QueryOptions options, final PrefetchOptions prefetch) {
+        this.client = client;
+        this.pageClass = new PageOf<>(resultClass);
+        this.options = options;
+        this.prefetcher = new PagePrefetcher<>(client, fql, pageClass, options, prefetch);
+    }
+
     /**
      * Construct a new PageIterator starting from a given page.
      *
@@ -59,10 +82,28 @@ public class PageIterator<E> implements Iterator<Page<E>> {
         this.client = client;
         this.pageClass = new PageOf<>(resultClass);
         this.options = options;
+        this.prefetcher = null;
         firstPage.getAfter()
                 .ifPresentOrElse(this::doPaginatedQuery, this::endPagination);
     }
 
+    /**
+     * Construct a new PageIterator that resumes pagination from a given AfterToken.
+     *
+     * @param client      A client that makes requests to Fauna.
+     * @param afterToken  The token indicating where the first page should start.
+     * @param resultClass The class of the elements returned from Fauna (i.e., the rows).
+     * @param options     (optionally) pass in QueryOptions.
+     */
+    public PageIterator(final FaunaClient client, final AfterToken afterToken,
+                        final Class<E> resultClass, final QueryOptions options) {
+        this.client = client;
+        this.pageClass = new PageOf<>(resultClass);
+        this.options = options;
+        this.prefetcher = null;
+        doPaginatedQuery(afterToken);
+    }
+
     /**
      * Check if there is a next page available.
      *
@@ -70,6 +111,9 @@ public class PageIterator<E> implements Iterator<Page<E>> {
      */
     @Override
     public boolean hasNext() {
+        if (prefetcher != null) {
+            return prefetcher.hasNext();
+        }
         return this.queryFuture != null;
     }
 
@@ -107,7 +151,9 @@ public class PageIterator<E> implements Iterator<Page<E>> {
      * @return A CompletableFuture representing the next page of elements.
      */
     public CompletableFuture<Page<E>> nextAsync() {
-        if (this.queryFuture != null) {
+        if (prefetcher != null) {
+            return prefetcher.next();
+        } else if (this.queryFuture != null) {
             return this.queryFuture.thenApply(qs -> {
                 Page<E> page = qs.getData();
                 page.getAfter().ifPresentOrElse(this::doPaginatedQuery,
@@ -119,6 +165,15 @@ public class PageIterator<E> implements Iterator<Page<E>> {
         }
     }
 
+    /**
+     * Gets a snapshot of the prefetch activity, if this iterator prefetches pages.
+     *
+     * @return An {@link Optional} containing the prefetch stats, or empty if prefetching is not configured.
+     */
+    public Optional<PrefetchStats> getPrefetchStats() {
+        return prefetcher != null ? Optional.of(prefetcher.getStats()) : Optional.empty();
+    }
+
     /**
      * Get the next Page.
      *
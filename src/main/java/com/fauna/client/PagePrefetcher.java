@@ -0,0 +1,213 @@
+package com.fauna.client;
+
+import com.fauna.codec.PageOf;
+import com.fauna.query.AfterToken;
+import com.fauna.query.QueryOptions;
+import com.fauna.query.builder.Query;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.Page;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Fetches pages ahead of a {@link PageIterator}'s consumer into a bounded buffer.
+ * <p>
+ * A page request is issued as soon as the previous page arrives, unless the buffer is full, in which case it is
+ * issued once the consumer takes a page. A failed request is delivered to the consumer after the pages buffered
+ * before it, and ends the pagination.
+ *
+ * @param <E> The type of elements in the page.
+ */
+final class PagePrefetcher<E> {
+
+    private final FaunaClient client;
+    private final PageOf<E> pageClass;
+    private final QueryOptions options;
+    private final PrefetchOptions prefetch;
+
+    private final Deque<Page<E>> ready = new ArrayDeque<>();
+    private long bufferedWeight;
+    private boolean fetching;
+    private AfterToken pausedAfter;
+    private long pausedSince;
+    private Throwable failure;
+    private CompletableFuture<Page<E>> waiter;
+    private long waitingSince;
+
+    private long consumerWaitNanos;
+    private long producerWaitNanos;
+    private long pagesFetched;
+    private int maxBufferedPages;
+
+    /**
+     * Constructs a {@code PagePrefetcher} and issues the first request.
+     *
+     * @param client    A client that makes requests to Fauna.
+     * @param fql       The FQL query for the first page.
+     * @param pageClass The class of the pages.
+     * @param options   (optionally) QueryOptions for each request.
+     * @param prefetch  The prefetch options.
+     */
+    PagePrefetcher(final FaunaClient client, final Query fql, final PageOf<E> pageClass,
+                   final QueryOptions options, final PrefetchOptions prefetch) {
+        this.client = client;
+        this.pageClass = pageClass;
+        this.options = options;
+        this.prefetch = prefetch;
+        synchronized (this) {
+            fetching = true;
+        }
+        fetch(fql);
+    }
+
+    private void fetch(final Query fql) {
+        CompletableFuture<QuerySuccess<Page<E>>> future;
+        try {
+            future = client.asyncQuery(fql, pageClass, options);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete(this::onPage);
+    }
+
+    private void onPage(final QuerySuccess<Page<E>> success, final Throwable throwable) {
+        Query next = null;
+        CompletableFuture<Page<E>> consumer = null;
+        Page<E> delivered = null;
+        Throwable error = null;
+
+        synchronized (this) {
+            fetching = false;
+            if (throwable != null) {
+                failure = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+            } else {
+                Page<E> page = success.getData();
+                pagesFetched++;
+                ready.add(page);
+                bufferedWeight += prefetch.weigh(page);
+                maxBufferedPages = Math.max(maxBufferedPages, ready.size());
+
+                Optional<AfterToken> after = page.getAfter();
+                if (after.isPresent()) {
+                    if (hasRoom()) {
+                        next = PageIterator.buildPageQuery(after.get());
+                        fetching = true;
+                    } else {
+                        pausedAfter = after.get();
+                        pausedSince = System.nanoTime();
+                    }
+                }
+            }
+
+            if (waiter != null) {
+                consumer = waiter;
+                waiter = null;
+                consumerWaitNanos += System.nanoTime() - waitingSince;
+                if (!ready.isEmpty()) {
+                    delivered = take();
+                    if (next == null) {
+                        next = resume();
+                    }
+                } else {
+                    error = failure;
+                    failure = null;
+                }
+            }
+        }
+
+        if (next != null) {
+            fetch(next);
+        }
+        if (consumer != null) {
+            if (error != null) {
+                consumer.completeExceptionally(error);
+            } else {
+                consumer.complete(delivered);
+            }
+        }
+    }
+
+    private boolean hasRoom() {
+        return ready.size() < prefetch.getDepth() && bufferedWeight < prefetch.getMaxBufferedWeight();
+    }
+
+    private Page<E> take() {
+        Page<E> page = ready.poll();
+        bufferedWeight -= prefetch.weigh(page);
+        return page;
+    }
+
+    private Query resume() {
+        if (pausedAfter == null || !hasRoom()) {
+            return null;
+        }
+        producerWaitNanos += System.nanoTime() - pausedSince;
+        Query next = PageIterator.buildPageQuery(pausedAfter);
+        pausedAfter = null;
+        fetching = true;
+        return next;
+    }
+
+    /**
+     * Checks whether another page, or the failure that ended pagination, is available.
+     *
+     * @return True if {@link #next()} will return a page or a failure.
+     */
+    synchronized boolean hasNext() {
+        return !ready.isEmpty() || failure != null || fetching || pausedAfter != null;
+    }
+
+    /**
+     * Takes the next page, waiting for it to arrive if none is buffered.
+     *
+     * @return A CompletableFuture that completes with the next page.
+     * @throws NoSuchElementException If there are no more pages.
+     * @throws IllegalStateException  If a previous call is still waiting for its page.
+     */
+    CompletableFuture<Page<E>> next() {
+        Query next = null;
+        CompletableFuture<Page<E>> result;
+        synchronized (this) {
+            if (!ready.isEmpty()) {
+                result = CompletableFuture.completedFuture(take());
+                next = resume();
+            } else if (failure != null) {
+                result = CompletableFuture.failedFuture(failure);
+                failure = null;
+            } else if (fetching) {
+                if (waiter != null) {
+                    throw new IllegalStateException("The previous page has not been delivered yet.");
+                }
+                waiter = new CompletableFuture<>();
+                waitingSince = System.nanoTime();
+                result = waiter;
+            } else {
+                throw new NoSuchElementException();
+            }
+        }
+
+        if (next != null) {
+            fetch(next);
+        }
+        return result;
+    }
+
+    /**
+     * Gets a snapshot of the prefetcher's activity.
+     *
+     * @return The prefetch stats.
+     */
+    synchronized PrefetchStats getStats() {
+        long pausedNanos = pausedAfter != null ? System.nanoTime() - pausedSince : 0;
+        return new PrefetchStats(Duration.ofNanos(consumerWaitNanos),
+                Duration.ofNanos(producerWaitNanos + pausedNanos), pagesFetched, ready.size(),
+                maxBufferedPages);
+    }
+}
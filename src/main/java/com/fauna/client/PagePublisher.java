@@ -0,0 +1,178 @@
+package com.fauna.client;
+
+import com.fauna.codec.PageOf;
+import com.fauna.query.QueryOptions;
+import com.fauna.query.builder.Query;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.Page;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} of the elements of a paginated Set.
+ * <p>
+ * Pages are fetched on demand: a page request is only issued once the subscriber has requested more elements than
+ * are left in the current page, so pagination proceeds exactly as fast as the subscriber consumes. Cancelling the
+ * subscription stops pagination, and a page that arrives after cancellation is discarded. Each subscriber gets its
+ * own pagination, starting from the first page.
+ *
+ * @param <E> The type of the elements in the Set.
+ */
+public final class PagePublisher<E> implements Flow.Publisher<E> {
+
+    private final FaunaClient client;
+    private final Query fql;
+    private final PageOf<E> pageClass;
+    private final QueryOptions options;
+
+    /**
+     * Constructs a {@code PagePublisher}.
+     *
+     * @param client       A client that makes requests to Fauna.
+     * @param fql          The FQL query that returns the Set.
+     * @param elementClass The class of the elements returned from Fauna.
+     * @param options      (optionally) QueryOptions for each request.
+     */
+    public PagePublisher(final FaunaClient client, final Query fql, final Class<E> elementClass,
+                         final QueryOptions options) {
+        this.client = client;
+        this.fql = fql;
+        this.pageClass = new PageOf<>(elementClass);
+        this.options = options;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+
+    /**
+     * Delivers elements to one subscriber. All signals to the subscriber are made from {@link #drain()}, which only
+     * ever runs on one thread at a time.
+     */
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super E> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Page<E> received;
+        private volatile Throwable failure;
+        private volatile CompletableFuture<?> inFlight;
+
+        // Only accessed from drain().
+        private Iterator<E> current = Collections.emptyIterator();
+        private Query nextQuery = fql;
+        private boolean fetching;
+
+        PageSubscription(final Flow.Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("The number of elements requested must be positive.");
+            } else {
+                requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            CompletableFuture<?> future = inFlight;
+            if (future != null) {
+                future.cancel(false);
+            }
+            drain();
+        }
+
+        private void fetch(final Query query) {
+            CompletableFuture<QuerySuccess<Page<E>>> future;
+            try {
+                future = client.asyncQuery(query, pageClass, options);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            inFlight = future;
+            future.whenComplete((success, throwable) -> {
+                if (throwable != null) {
+                    failure = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                } else {
+                    received = success.getData();
+                }
+                drain();
+            });
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    current = Collections.emptyIterator();
+                    nextQuery = null;
+                    received = null;
+                    return;
+                }
+                Throwable error = failure;
+                if (error != null) {
+                    cancelled = true;
+                    subscriber.onError(error);
+                    return;
+                }
+
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r && current.hasNext()) {
+                    subscriber.onNext(current.next());
+                    emitted++;
+                    if (cancelled) {
+                        break;
+                    }
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (!cancelled && !current.hasNext()) {
+                    Page<E> page = received;
+                    if (page != null) {
+                        received = null;
+                        fetching = false;
+                        inFlight = null;
+                        current = page.getData().iterator();
+                        nextQuery = page.getAfter().map(PageIterator::buildPageQuery).orElse(null);
+                        continue;
+                    }
+                    if (!fetching && nextQuery == null) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (!fetching && requested.get() > 0) {
+                        fetching = true;
+                        fetch(nextQuery);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.fauna.client;
+
+import com.fauna.codec.PageOf;
+import com.fauna.exception.ClientException;
+import com.fauna.exception.FaunaException;
+import com.fauna.query.QueryOptions;
+import com.fauna.query.builder.Query;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.Page;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Scans the union of several disjoint Sets, paginating them concurrently.
+ * <p>
+ * Paginating one Set is sequential, because each page request needs the previous page's {@code after} token. A
+ * {@code PartitionedScan} takes a list of partition queries instead, such as range splits on an indexed field or
+ * any other disjoint sub-sets of a collection, and exposes their elements as a {@link Spliterator} that splits
+ * between partitions. Consumed with a parallel {@link Stream}, each worker paginates its own partitions, fetching
+ * the next page of a partition while the current one is processed. At most {@code maxInFlight} page requests are
+ * outstanding across all partitions at any time.
+ * <p>
+ * Elements are not ordered across partitions, and the scan does not check that the partitions are disjoint.
+ *
+ * @param <E> The type of the elements in the Sets.
+ */
+public final class PartitionedScan<E> {
+
+    private final FaunaClient client;
+    private final List<Query> partitions;
+    private final PageOf<E> pageClass;
+    private final QueryOptions options;
+    private final Semaphore permits;
+
+    /**
+     * Constructs a {@code PartitionedScan}.
+     *
+     * @param client       A client that makes requests to Fauna.
+     * @param partitions   Queries that each return one partition of the Set.
+     * @param elementClass The class of the elements returned from Fauna.
+     * @param options      (optionally) QueryOptions for each request.
+     * @param maxInFlight  The maximum number of page requests outstanding at once.
+     * @throws IllegalArgumentException If {@code maxInFlight} is not positive.
+     */
+    public PartitionedScan(final FaunaClient client, final List<Query> partitions, final Class<E> elementClass,
+                           final QueryOptions options, final int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive.");
+        }
+        this.client = client;
+        this.partitions = List.copyOf(partitions);
+        this.pageClass = new PageOf<>(elementClass);
+        this.options = options;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Creates a spliterator over the elements of all partitions. Each call starts a new scan.
+     *
+     * @return A new spliterator.
+     */
+    public Spliterator<E> spliterator() {
+        return new PartitionSpliterator(0, partitions.size());
+    }
+
+    /**
+     * Creates a parallel stream over the elements of all partitions. Each call starts a new scan.
+     *
+     * @return A new parallel stream.
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private CompletableFuture<Page<E>> fetch(final Query query) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("Interrupted while waiting to request a page.", e);
+        }
+
+        CompletableFuture<QuerySuccess<Page<E>>> future;
+        try {
+            future = client.asyncQuery(query, pageClass, options);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return future.whenComplete((success, t) -> permits.release()).thenApply(QuerySuccess::getData);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof FaunaException) {
+                throw (FaunaException) ce.getCause();
+            }
+            throw ce;
+        }
+    }
+
+    /**
+     * Iterates over the partitions in {@code [index, end)}, one at a time.
+     */
+    private final class PartitionSpliterator implements Spliterator<E> {
+        private int index;
+        private final int end;
+        private Iterator<E> current = Collections.emptyIterator();
+        private CompletableFuture<Page<E>> pending;
+
+        PartitionSpliterator(final int index, final int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            while (true) {
+                if (current.hasNext()) {
+                    action.accept(current.next());
+                    return true;
+                }
+                if (pending != null) {
+                    Page<E> page = join(pending);
+                    pending = page.getAfter().map(after -> fetch(PageIterator.buildPageQuery(after))).orElse(null);
+                    current = page.getData().iterator();
+                } else if (index < end) {
+                    pending = fetch(partitions.get(index++));
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int remaining = end - index;
+            if (remaining < 2) {
+                return null;
+            }
+            int mid = index + remaining / 2;
+            Spliterator<E> prefix = new PartitionSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.fauna.client;
+
+import com.fauna.types.Page;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Represents the options for prefetching pages in a {@link PageIterator}.
+ * <p>
+ * Pages are fetched ahead of the consumer until {@code depth} pages are buffered or the total weight of the
+ * buffered pages reaches {@code maxBufferedWeight}, whichever comes first. Each page's weight is given by the
+ * weigher, for example an estimate of its size in bytes. Because each page request needs the previous page's
+ * {@code after} token, pages are still fetched one at a time; prefetching only lets those requests run ahead of
+ * the consumer.
+ */
+public final class PrefetchOptions {
+
+    private final int depth;
+    private final long maxBufferedWeight;
+    private final ToLongFunction<Page<?>> weigher;
+
+    /**
+     * Constructs a new {@code PrefetchOptions} from the specified builder.
+     *
+     * @param builder The builder holding the configured options.
+     */
+    private PrefetchOptions(final Builder builder) {
+        this.depth = builder.depth;
+        this.maxBufferedWeight = builder.maxBufferedWeight;
+        this.weigher = builder.weigher;
+    }
+
+    /**
+     * Gets the maximum number of pages buffered ahead of the consumer.
+     *
+     * @return The prefetch depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the maximum total weight of buffered pages.
+     *
+     * @return The maximum buffered weight.
+     */
+    public long getMaxBufferedWeight() {
+        return maxBufferedWeight;
+    }
+
+    /**
+     * Gets the weight of a page.
+     *
+     * @param page The page to weigh.
+     * @return The page's weight, or zero if no weigher is set.
+     */
+    long weigh(final Page<?> page) {
+        return weigher != null ? weigher.applyAsLong(page) : 0;
+    }
+
+    /**
+     * Creates prefetch options with the specified depth and no weight limit.
+     *
+     * @param depth The maximum number of pages buffered ahead of the consumer.
+     * @return A new {@code PrefetchOptions} instance.
+     */
+    public static PrefetchOptions depth(final int depth) {
+        return builder().depth(depth).build();
+    }
+
+    /**
+     * Creates a new builder for {@code PrefetchOptions}.
+     *
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for constructing {@code PrefetchOptions} instances.
+     */
+    public static final class Builder {
+        private int depth = 1;
+        private long maxBufferedWeight = Long.MAX_VALUE;
+        private ToLongFunction<Page<?>> weigher = null;
+
+        /**
+         * Sets the maximum number of pages buffered ahead of the consumer. Defaults to 1.
+         *
+         * @param depth The prefetch depth. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder depth(final int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Limits the total weight of buffered pages. Fetching pauses once the limit is reached, but at least one
+         * page is always fetched ahead regardless of its weight.
+         *
+         * @param maxBufferedWeight The maximum buffered weight. Must be positive.
+         * @param weigher           Computes the weight of a page, for example an estimate of its size in bytes.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxBufferedWeight(final long maxBufferedWeight, final ToLongFunction<Page<?>> weigher) {
+            this.maxBufferedWeight = maxBufferedWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code PrefetchOptions} instance with the configured parameters.
+         *
+         * @return A new {@code PrefetchOptions} instance.
+         * @throws IllegalArgumentException If the depth or maximum weight is not positive.
+         */
+        public PrefetchOptions build() {
+            if (depth <= 0) {
+                throw new IllegalArgumentException("depth must be positive.");
+            }
+            if (maxBufferedWeight <= 0) {
+                throw new IllegalArgumentException("maxBufferedWeight must be positive.");
+            }
+            return new PrefetchOptions(this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fauna.client;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the activity of a prefetching {@link PageIterator}.
+ * <p>
+ * Consumer wait time is how long requests for a page waited because no page was buffered, which suggests a deeper
+ * prefetch would help. Producer wait time is how long fetching was paused because the buffer was full, which means
+ * the consumer is the bottleneck.
+ */
+public final class PrefetchStats {
+
+    private final Duration consumerWaitTime;
+    private final Duration producerWaitTime;
+    private final long pagesFetched;
+    private final int bufferedPages;
+    private final int maxBufferedPages;
+
+    /**
+     * Constructs a {@code PrefetchStats}.
+     *
+     * @param consumerWaitTime The total time the consumer waited for pages.
+     * @param producerWaitTime The total time fetching was paused because the buffer was full.
+     * @param pagesFetched     The number of pages fetched.
+     * @param bufferedPages    The number of pages currently buffered.
+     * @param maxBufferedPages The largest number of pages buffered at once.
+     */
+    PrefetchStats(final Duration consumerWaitTime, final Duration producerWaitTime, final long pagesFetched,
+                  final int bufferedPages, final int maxBufferedPages) {
+        this.consumerWaitTime = consumerWaitTime;
+        this.producerWaitTime = producerWaitTime;
+        this.pagesFetched = pagesFetched;
+        this.bufferedPages = bufferedPages;
+        this.maxBufferedPages = maxBufferedPages;
+    }
+
+    /**
+     * Gets the total time the consumer waited for pages.
+     *
+     * @return The consumer wait time.
+     */
+    public Duration getConsumerWaitTime() {
+        return consumerWaitTime;
+    }
+
+    /**
+     * Gets the total time fetching was paused because the buffer was full.
+     *
+     * @return The producer wait time.
+     */
+    public Duration getProducerWaitTime() {
+        return producerWaitTime;
+    }
+
+    /**
+     * Gets the number of pages fetched.
+     *
+     * @return The number of pages fetched.
+     */
+    public long getPagesFetched() {
+        return pagesFetched;
+    }
+
+    /**
+     * Gets the number of pages currently buffered.
+     *
+     * @return The number of buffered pages.
+     */
+    public int getBufferedPages() {
+        return bufferedPages;
+    }
+
+    /**
+     * Gets the largest number of pages buffered at once.
+     *
+     * @return The maximum number of buffered pages.
+     */
+    public int getMaxBufferedPages() {
+        return maxBufferedPages;
+    }
+
+    @Override
+    public String toString() {
+        return "PrefetchStats{consumerWaitTime=" + consumerWaitTime + ", producerWaitTime=" + producerWaitTime
+                + ", pagesFetched=" + pagesFetched + ", bufferedPages=" + bufferedPages
+                + ", maxBufferedPages=" + maxBufferedPages + "}";
+    }
+}
@@ -3,6 +3,7 @@ package com.fauna.client;
 import com.fauna.codec.Codec;
 import com.fauna.codec.CodecProvider;
 import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.codecs.LazyArrayCodec;
 import com.fauna.env.DriverEnvironment;
 import com.fauna.event.EventSource;
 import com.fauna.event.FeedOptions;
@@ -12,15 +13,23 @@ import com.fauna.event.StreamRequest;
 import com.fauna.exception.ClientException;
 import com.fauna.query.QueryOptions;
 import com.fauna.query.builder.Query;
+import com.fauna.query.builder.QueryArr;
+import com.fauna.query.builder.QueryFragment;
+import com.fauna.query.builder.QueryObj;
+import com.fauna.query.builder.QueryVal;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.text.MessageFormat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import static com.fauna.client.Logging.headersAsString;
+import static com.fauna.constants.Defaults.DEFAULT_TIMEOUT;
 
 /**
  * The RequestBuilder class is responsible for building HTTP requests for communicating with Fauna.
@@ -31,6 +40,7 @@ public final class RequestBuilder {
     private static final String QUERY_PATH = "/query/1";
     private static final String STREAM_PATH = "/stream/1";
     private static final String FEED_PATH = "/feed/1";
+    private static final String STREAMED_BODY = "<streamed>";
 
     private final HttpRequest.Builder baseRequestBuilder;
     private final Duration clientTimeoutBuffer;
@@ -175,6 +185,11 @@ public final class RequestBuilder {
 
     /**
      * Builds and returns an HTTP request for a given Fauna query string (FQL).
+     * <p>
+     * If the query has an {@link java.util.Iterator}, {@link java.util.stream.Stream} or
+     * {@link java.util.function.Supplier} argument, the body is encoded while it is sent, pulling the argument's
+     * elements as it goes, so the whole body is never held in memory. Such a request can only be sent once if any of
+     * those arguments is an iterator or a stream.
      *
      * @param fql        The Fauna query string.
      * @param options    The query options.
@@ -185,12 +200,24 @@ public final class RequestBuilder {
     public HttpRequest buildRequest(final Query fql, final QueryOptions options,
                                     final CodecProvider provider, final Long lastTxnTs) {
         HttpRequest.Builder builder = getBuilder(options, lastTxnTs);
+        Codec<Query> codec = provider.get(Query.class);
+
+        List<Object> lazyValues = new ArrayList<>();
+        findLazyValues(fql, lazyValues);
+        if (!lazyValues.isEmpty()) {
+            boolean replayable = lazyValues.stream().noneMatch(LazyArrayCodec::isOneShot);
+            // A body that is not read for as long as the request may take is no longer being sent.
+            Duration stallTimeout = Optional.ofNullable(options).flatMap(QueryOptions::getTimeoutMillis)
+                    .map(Duration::ofMillis).orElse(DEFAULT_TIMEOUT).plus(clientTimeoutBuffer);
+            StreamingRequestBody body = new StreamingRequestBody(
+                    gen -> writeQueryBody(gen, codec, fql), replayable, stallTimeout);
+            HttpRequest req = builder.POST(body.publisher()).build();
+            logRequest(STREAMED_BODY, req);
+            return req;
+        }
+
         try (UTF8FaunaGenerator gen = UTF8FaunaGenerator.create()) {
-            gen.writeStartObject();
-            gen.writeFieldName(FieldNames.QUERY);
-            Codec<Query> codec = provider.get(Query.class);
-            codec.encode(gen, fql);
-            gen.writeEndObject();
+            writeQueryBody(gen, codec, fql);
             String body = gen.serialize();
             HttpRequest req =
                     builder.POST(HttpRequest.BodyPublishers.ofString(body))
@@ -200,6 +227,45 @@ public final class RequestBuilder {
         }
     }
 
+    private static void writeQueryBody(final UTF8FaunaGenerator gen, final Codec<Query> codec,
+                                       final Query fql) {
+        gen.writeStartObject();
+        gen.writeFieldName(FieldNames.QUERY);
+        codec.encode(gen, fql);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Collects the lazily produced argument values of a query fragment and the fragments nested within it. Values
+     * nested inside other argument values, such as maps and lists, are not inspected.
+     *
+     * @param fragment The fragment to inspect.
+     * @param found    The list to add lazy values to.
+     */
+    @SuppressWarnings("rawtypes")
+    private static void findLazyValues(final QueryFragment fragment, final List<Object> found) {
+        if (fragment instanceof Query) {
+            for (QueryFragment part : ((Query) fragment).get()) {
+                findLazyValues(part, found);
+            }
+        } else if (fragment instanceof QueryArr) {
+            for (Object part : ((QueryArr) fragment).get()) {
+                findLazyValues((QueryFragment) part, found);
+            }
+        } else if (fragment instanceof QueryObj) {
+            for (Object part : ((QueryObj) fragment).get().values()) {
+                findLazyValues((QueryFragment) part, found);
+            }
+        } else if (fragment instanceof QueryVal) {
+            Object value = fragment.get();
+            if (value instanceof Query) {
+                findLazyValues((Query) value, found);
+            } else if (LazyArrayCodec.isLazy(value)) {
+                found.add(value);
+            }
+        }
+    }
+
     /**
      * Builds and returns an HTTP request for a Fauna stream.
      *
@@ -0,0 +1,316 @@
+package com.fauna.client;
+
+import com.fauna.query.AfterToken;
+import com.fauna.query.QueryOptions;
+import com.fauna.query.builder.Query;
+import com.fauna.types.Page;
+import com.fauna.types.RawValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports every element of a Set to a file or channel, page by page.
+ * <p>
+ * Elements are written as their undecoded JSON, in the tagged format returned by Fauna, framed according to
+ * {@link ExportOptions#getFormat()} and optionally gzip-compressed. Records are written through a direct buffer of
+ * {@link ExportOptions#getBufferSize()} bytes. The next page is requested as soon as the current one arrives, so it
+ * is fetched while the current page is written.
+ * <p>
+ * If a checkpoint file is configured, the {@link AfterToken} of the next page and the number of bytes written so
+ * far are saved after each page is written and, for files, forced to disk. An export that starts with an existing
+ * checkpoint resumes from it: {@link #exportTo(Path)} truncates the file to the checkpointed length and appends,
+ * so records from a partially written page are not duplicated. The checkpoint must have been written by an export
+ * of the same query, and is deleted once the export completes.
+ */
+public final class SetExporter {
+
+    private static final String AFTER_KEY = "after";
+    private static final String OFFSET_KEY = "offset";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int LENGTH_PREFIX_BYTES = 4;
+    private static final int BYTE_BITS = 8;
+    private static final byte NEWLINE = '\n';
+    private static final byte[] NULL_JSON = "null".getBytes(UTF_8);
+
+    private final FaunaClient client;
+    private final Query query;
+    private final ExportOptions options;
+
+    /**
+     * Constructs a {@code SetExporter}.
+     *
+     * @param client  The client to query pages with.
+     * @param query   A query that returns a Set.
+     * @param options The export options.
+     */
+    public SetExporter(final FaunaClient client, final Query query, final ExportOptions options) {
+        this.client = client;
+        this.query = query;
+        this.options = options;
+    }
+
+    /**
+     * Exports the Set to a file, creating it if needed. Without a checkpoint, any existing content is replaced.
+     *
+     * @param file The file to write to.
+     * @return The outcome of the export.
+     * @throws IOException If writing the file or the checkpoint fails, or the file is shorter than the checkpoint.
+     */
+    public Result exportTo(final Path file) throws IOException {
+        Checkpoint checkpoint = readCheckpoint();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long offset = checkpoint != null ? checkpoint.offset : 0;
+            if (channel.size() < offset) {
+                throw new IOException("The export file is shorter than its checkpoint: " + file);
+            }
+            channel.truncate(offset);
+            channel.position(offset);
+            return export(channel, checkpoint);
+        }
+    }
+
+    /**
+     * Exports the Set to a channel. When resuming from a checkpoint, the caller is responsible for positioning the
+     * channel after the checkpointed number of bytes.
+     *
+     * @param channel The channel to write to. It is not closed.
+     * @return The outcome of the export.
+     * @throws IOException If writing the channel or the checkpoint fails.
+     */
+    public Result exportTo(final WritableByteChannel channel) throws IOException {
+        return export(channel, readCheckpoint());
+    }
+
+    private Result export(final WritableByteChannel channel, final Checkpoint checkpoint) throws IOException {
+        QueryOptions queryOptions = options.getQueryOptions().orElse(null);
+        PageIterator<RawValue> pages = checkpoint == null
+                ? new PageIterator<>(client, query, RawValue.class, queryOptions)
+                : new PageIterator<>(client, checkpoint.after, RawValue.class, queryOptions);
+        ChannelOutputStream out = new ChannelOutputStream(channel,
+                ByteBuffer.allocateDirect(options.getBufferSize()), checkpoint != null ? checkpoint.offset : 0);
+
+        long recordCount = 0;
+        long pageCount = 0;
+        while (pages.hasNext()) {
+            Page<RawValue> page = pages.next();
+            writePage(out, page.getData());
+            out.drain();
+            if (channel instanceof FileChannel) {
+                ((FileChannel) channel).force(false);
+            }
+            recordCount += page.getData().size();
+            pageCount++;
+
+            Optional<AfterToken> after = page.getAfter();
+            if (after.isPresent()) {
+                saveCheckpoint(new Checkpoint(after.get(), out.position));
+            } else {
+                deleteCheckpoint();
+            }
+        }
+        return new Result(recordCount, pageCount, out.position, checkpoint != null);
+    }
+
+    private void writePage(final OutputStream out, final List<RawValue> elements) throws IOException {
+        GZIPOutputStream gzip = options.isGzip() ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : null;
+        OutputStream target = gzip != null ? gzip : out;
+        boolean lengthPrefixed = options.getFormat() == ExportOptions.Format.LENGTH_PREFIXED;
+
+        for (RawValue element : elements) {
+            byte[] json = element != null ? element.getJson().getBytes(UTF_8) : NULL_JSON;
+            if (lengthPrefixed) {
+                for (int shift = (LENGTH_PREFIX_BYTES - 1) * BYTE_BITS; shift >= 0; shift -= BYTE_BITS) {
+                    target.write(json.length >>> shift);
+                }
+            }
+            target.write(json);
+            if (!lengthPrefixed) {
+                target.write(NEWLINE);
+            }
+        }
+
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private Checkpoint readCheckpoint() throws IOException {
+        Optional<Path> file = options.getCheckpointFile();
+        if (file.isEmpty() || !Files.exists(file.get())) {
+            return null;
+        }
+
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file.get())) {
+            props.load(in);
+        }
+        String after = props.getProperty(AFTER_KEY);
+        String offset = props.getProperty(OFFSET_KEY);
+        if (after == null || offset == null) {
+            throw new IOException("Invalid export checkpoint: " + file.get());
+        }
+        try {
+            return new Checkpoint(new AfterToken(after), Long.parseLong(offset));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid export checkpoint: " + file.get(), e);
+        }
+    }
+
+    private void saveCheckpoint(final Checkpoint checkpoint) throws IOException {
+        Optional<Path> file = options.getCheckpointFile();
+        if (file.isEmpty()) {
+            return;
+        }
+
+        Properties props = new Properties();
+        props.setProperty(AFTER_KEY, checkpoint.after.getToken());
+        props.setProperty(OFFSET_KEY, Long.toString(checkpoint.offset));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        props.store(bytes, null);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+        // The temp file must be on disk before the rename, or a crash could leave an empty checkpoint behind.
+        Path temp = file.get().resolveSibling(file.get().getFileName() + TEMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, file.get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteCheckpoint() throws IOException {
+        Optional<Path> file = options.getCheckpointFile();
+        if (file.isPresent()) {
+            Files.deleteIfExists(file.get());
+        }
+    }
+
+    /**
+     * The outcome of an export.
+     */
+    public static final class Result {
+        private final long recordCount;
+        private final long pageCount;
+        private final long byteCount;
+        private final boolean resumed;
+
+        Result(final long recordCount, final long pageCount, final long byteCount, final boolean resumed) {
+            this.recordCount = recordCount;
+            this.pageCount = pageCount;
+            this.byteCount = byteCount;
+            this.resumed = resumed;
+        }
+
+        /**
+         * Gets the number of records written by this export, excluding any written before it resumed.
+         *
+         * @return The number of records.
+         */
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * Gets the number of pages written by this export.
+         *
+         * @return The number of pages.
+         */
+        public long getPageCount() {
+            return pageCount;
+        }
+
+        /**
+         * Gets the total length of the output in bytes, including any written before the export resumed.
+         *
+         * @return The number of bytes.
+         */
+        public long getByteCount() {
+            return byteCount;
+        }
+
+        /**
+         * Checks whether the export resumed from a checkpoint.
+         *
+         * @return {@code true} if the export resumed.
+         */
+        public boolean isResumed() {
+            return resumed;
+        }
+    }
+
+    private static final class Checkpoint {
+        private final AfterToken after;
+        private final long offset;
+
+        Checkpoint(final AfterToken after, final long offset) {
+            this.after = after;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Writes through a direct buffer to a channel, tracking the number of bytes written.
+     */
+    private static final class ChannelOutputStream extends OutputStream {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        ChannelOutputStream(final WritableByteChannel channel, final ByteBuffer buffer, final long position) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int n = Math.min(remaining, buffer.remaining());
+                buffer.put(b, offset, n);
+                offset += n;
+                remaining -= n;
+            }
+        }
+
+        void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.fauna.client;
+
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.exception.ClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.fauna.constants.Defaults.CLIENT_TIMEOUT_BUFFER;
+import static com.fauna.constants.Defaults.DEFAULT_TIMEOUT;
+
+/**
+ * A request body that is encoded while it is sent, used for queries with lazily produced arguments.
+ * <p>
+ * Each time the body is sent, a thread from a shared daemon pool runs the writer against a generator whose output is
+ * split into chunks of {@link #CHUNK_SIZE} bytes. At most {@link #MAX_PENDING_CHUNKS} chunks are held before the
+ * writer blocks, so memory use does not depend on the size of the body. If the HTTP client stops reading the body
+ * without closing it, for example because the request failed early or timed out, the writer fails once no chunk has
+ * been taken for the stall timeout, which releases the thread and the arguments it was reading. The HTTP client
+ * reads the chunks through {@link HttpRequest.BodyPublishers#ofInputStream}, which sends the body with chunked
+ * transfer encoding.
+ * <p>
+ * A body that is not replayable, because its arguments can only be consumed once, fails with a
+ * {@link ClientException} if it is sent more than once, for example when the request is retried.
+ */
+final class StreamingRequestBody implements Supplier<InputStream> {
+
+    static final int CHUNK_SIZE = 16 * 1024;
+    static final int MAX_PENDING_CHUNKS = 4;
+
+    static final Duration DEFAULT_STALL_TIMEOUT = DEFAULT_TIMEOUT.plus(CLIENT_TIMEOUT_BUFFER);
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final ExecutorService PRODUCERS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "fauna-request-body");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Consumer<UTF8FaunaGenerator> writer;
+    private final boolean replayable;
+    private final Duration stallTimeout;
+    private final AtomicBoolean opened = new AtomicBoolean();
+
+    /**
+     * Constructs a {@code StreamingRequestBody} with the default stall timeout.
+     *
+     * @param writer     Writes the whole body to the generator it is given.
+     * @param replayable Whether the writer produces the same body each time it is run.
+     */
+    StreamingRequestBody(final Consumer<UTF8FaunaGenerator> writer, final boolean replayable) {
+        this(writer, replayable, DEFAULT_STALL_TIMEOUT);
+    }
+
+    /**
+     * Constructs a {@code StreamingRequestBody}.
+     *
+     * @param writer       Writes the whole body to the generator it is given.
+     * @param replayable   Whether the writer produces the same body each time it is run.
+     * @param stallTimeout How long the writer waits for the next chunk to be read before it fails.
+     */
+    StreamingRequestBody(final Consumer<UTF8FaunaGenerator> writer, final boolean replayable,
+                         final Duration stallTimeout) {
+        this.writer = writer;
+        this.replayable = replayable;
+        this.stallTimeout = stallTimeout;
+    }
+
+    /**
+     * Creates a body publisher that sends this body.
+     *
+     * @return A new {@link HttpRequest.BodyPublisher}.
+     */
+    HttpRequest.BodyPublisher publisher() {
+        return HttpRequest.BodyPublishers.ofInputStream(this);
+    }
+
+    /**
+     * Starts encoding the body and returns a stream of the encoded bytes.
+     *
+     * @return A stream of the encoded body.
+     * @throws ClientException If the body is not replayable and has already been sent.
+     */
+    @Override
+    public InputStream get() {
+        if (!opened.compareAndSet(false, true) && !replayable) {
+            throw new ClientException(
+                    "The request body contains an Iterator or Stream argument that has already been consumed, "
+                            + "so the request cannot be sent again.");
+        }
+
+        ChunkPipe pipe = new ChunkPipe(stallTimeout);
+        PRODUCERS.execute(() -> pipe.produce(writer));
+        return pipe;
+    }
+
+    /**
+     * Hands chunks from the producing thread to the reading thread through a bounded queue.
+     */
+    private static final class ChunkPipe extends InputStream {
+
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+        private final Duration stallTimeout;
+        private volatile Throwable failure;
+        private volatile boolean closed;
+
+        private byte[] current;
+        private int position;
+
+        ChunkPipe(final Duration stallTimeout) {
+            this.stallTimeout = stallTimeout;
+        }
+
+        void produce(final Consumer<UTF8FaunaGenerator> bodyWriter) {
+            try (UTF8FaunaGenerator gen = UTF8FaunaGenerator.create(new ChunkOutputStream())) {
+                bodyWriter.accept(gen);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                try {
+                    put(END);
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    // Nobody is reading, or the reader has gone away. Make room for the end, so a late reader fails
+                    // instead of waiting for chunks that will never come.
+                    chunks.clear();
+                    chunks.offer(END);
+                }
+            }
+        }
+
+        private void put(final byte[] chunk) throws IOException {
+            long deadline = System.nanoTime() + stallTimeout.toNanos();
+            try {
+                while (!closed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new IOException("The request body has not been read for " + stallTimeout + ".");
+                    }
+                    long wait = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(OFFER_TIMEOUT_MS));
+                    if (chunks.offer(chunk, wait, TimeUnit.NANOSECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing the request body.");
+            }
+            throw new IOException("The request body is no longer being read.");
+        }
+
+        private boolean nextChunk() throws IOException {
+            if (current == END) {
+                return false;
+            }
+
+            try {
+                current = chunks.take();
+                position = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading the request body.");
+            }
+
+            if (current == END) {
+                if (failure != null) {
+                    throw new IOException("Unable to encode the request body.", failure);
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & BYTE_MASK;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if ((current == null || position == current.length) && !nextChunk()) {
+                return -1;
+            }
+
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            chunks.clear();
+        }
+
+        /**
+         * Collects written bytes into chunks and queues each one once it is full.
+         */
+        private final class ChunkOutputStream extends OutputStream {
+
+            private byte[] buffer = new byte[CHUNK_SIZE];
+            private int count;
+
+            @Override
+            public void write(final int b) throws IOException {
+                if (count == buffer.length) {
+                    emit();
+                }
+                buffer[count++] = (byte) b;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                int offset = off;
+                int remaining = len;
+                while (remaining > 0) {
+                    if (count == buffer.length) {
+                        emit();
+                    }
+                    int n = Math.min(remaining, buffer.length - count);
+                    System.arraycopy(b, offset, buffer, count, n);
+                    count += n;
+                    offset += n;
+                    remaining -= n;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (count > 0) {
+                    emit();
+                }
+            }
+
+            private void emit() throws IOException {
+                byte[] chunk = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+                put(chunk);
+                buffer = new byte[CHUNK_SIZE];
+                count = 0;
+            }
+        }
+    }
+}
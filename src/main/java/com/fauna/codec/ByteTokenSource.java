@@ -0,0 +1,937 @@
+package com.fauna.codec;
+
+import com.fauna.exception.CodecException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads Fauna tokens by scanning UTF-8 encoded tagged JSON in a byte array.
+ * <p>
+ * Tag keys such as {@code "@int"} are recognized by comparing their bytes, so no string is built for them, and the
+ * digits of {@code @int} and {@code @long} values are decoded as they are scanned. Strings are validated when they
+ * are scanned, but only decoded when their value is asked for, so skipped values are never decoded. The input is
+ * held to JSON as strictly as {@link JacksonTokenSource} holds it, including UTF-8 validation. Tagged values must
+ * have the shape Fauna writes them in: a single tag key whose value is a string, or an object for {@code @object},
+ * {@code @doc}, {@code @ref} and {@code @set}, which may also have a string cursor.
+ */
+final class ByteTokenSource implements TokenSource {
+
+    private static final int MAX_DEPTH = 1000;
+    private static final int MAX_CACHED_NAME_LENGTH = 32;
+    private static final int NAME_CACHE_SIZE = 1024;
+
+    // Field names shared by all sources. Entries are immutable strings, so racing writes at most cost a cache miss.
+    private static final String[] NAME_CACHE = new String[NAME_CACHE_SIZE];
+
+    private static final byte[] TRUE_BYTES = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE_BYTES = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+
+    private enum Tag {
+        INT("@int", FaunaTokenType.INT),
+        LONG("@long", FaunaTokenType.LONG),
+        DOUBLE("@double", FaunaTokenType.DOUBLE),
+        DATE("@date", FaunaTokenType.DATE),
+        TIME("@time", FaunaTokenType.TIME),
+        MOD("@mod", FaunaTokenType.MODULE),
+        STREAM("@stream", FaunaTokenType.STREAM),
+        BYTES("@bytes", FaunaTokenType.BYTES),
+        OBJECT("@object", FaunaTokenType.START_OBJECT),
+        DOC("@doc", FaunaTokenType.START_DOCUMENT),
+        REF("@ref", FaunaTokenType.START_REF),
+        SET("@set", FaunaTokenType.START_PAGE);
+
+        private final String name;
+        // The quoted key, as it appears in the input.
+        private final byte[] key;
+        private final FaunaTokenType token;
+
+        Tag(final String name, final FaunaTokenType token) {
+            this.name = name;
+            this.key = ('"' + name + '"').getBytes(UTF_8);
+            this.token = token;
+        }
+    }
+
+    private static final Tag[] TAGS = Tag.values();
+
+    private enum Container {
+        OBJECT(FaunaTokenType.END_OBJECT, false),
+        // Containers wrapped in a tag object, whose closing brace follows their own.
+        ESCAPED_OBJECT(FaunaTokenType.END_OBJECT, true),
+        DOCUMENT(FaunaTokenType.END_DOCUMENT, true),
+        REF(FaunaTokenType.END_REF, true),
+        PAGE(FaunaTokenType.END_PAGE, true),
+        // A page given by its cursor, {"@set":"..."}. Only the closing brace of the tag object follows the cursor.
+        PAGE_CURSOR(FaunaTokenType.END_PAGE, false),
+        ARRAY(FaunaTokenType.END_ARRAY, false);
+
+        private final FaunaTokenType endToken;
+        private final boolean wrapped;
+
+        Container(final FaunaTokenType endToken, final boolean wrapped) {
+            this.endToken = endToken;
+            this.wrapped = wrapped;
+        }
+    }
+
+    // What may follow in the innermost container.
+    private enum Expect {
+        FIRST,
+        NEXT,
+        VALUE
+    }
+
+    private final byte[] buf;
+    private final int end;
+    private int pos;
+
+    private Container[] containers = new Container[16];
+    private int[] containerStarts = new int[16];
+    private int depth;
+    private Expect expect = Expect.FIRST;
+
+    private FaunaTokenType current = FaunaTokenType.NONE;
+    // Where the current scalar value starts, including any tag object around it.
+    private int tokenStart;
+    // The contents of the current string, field name or tagged string, without quotes.
+    private int textStart;
+    private int textEnd;
+    private boolean textEscaped;
+    private boolean textAscii;
+    private String text;
+    private boolean hasLong;
+    private long longValue;
+    private byte[] bytesValue;
+    private boolean pendingCursor;
+    private int tagEnd;
+
+    /**
+     * Constructs a {@code ByteTokenSource} reading a range of a byte array. The array is not copied, so it must not
+     * change while the source is in use.
+     *
+     * @param bytes  The UTF-8 encoded tagged JSON.
+     * @param offset The offset of the JSON in the array.
+     * @param length The length of the JSON in bytes.
+     */
+    ByteTokenSource(final byte[] bytes, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid range " + offset + "+" + length + " of " + bytes.length
+                    + " bytes.");
+        }
+        this.buf = bytes;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    @Override
+    public FaunaTokenType getCurrentTokenType() {
+        return current;
+    }
+
+    @Override
+    public boolean read() throws CodecException {
+        if (pendingCursor) {
+            pendingCursor = false;
+            current = FaunaTokenType.STRING;
+            return true;
+        }
+        text = null;
+        hasLong = false;
+        bytesValue = null;
+
+        skipWhitespace();
+        if (depth == 0) {
+            if (pos >= end) {
+                return false;
+            }
+            readValue();
+            return true;
+        }
+        if (expect == Expect.VALUE) {
+            readValue();
+            return true;
+        }
+        Container container = containers[depth - 1];
+        if (pos >= end) {
+            throw unexpected(container == Container.ARRAY ? "',' or ']'" : "',' or '}'");
+        }
+        byte b = buf[pos];
+        if (container == Container.ARRAY) {
+            if (b == ']') {
+                pos++;
+                close();
+                return true;
+            }
+            if (expect == Expect.NEXT) {
+                consume(',', "',' or ']'");
+            }
+            readValue();
+            return true;
+        }
+        if (b == '}') {
+            pos++;
+            close();
+            return true;
+        }
+        if (container == Container.PAGE_CURSOR) {
+            throw unexpected("'}'");
+        }
+        if (expect == Expect.NEXT) {
+            consume(',', "',' or '}'");
+            skipWhitespace();
+        }
+        readFieldName();
+        return true;
+    }
+
+    @Override
+    public void skip() throws CodecException {
+        skipContainer();
+    }
+
+    @Override
+    public String getValueAsString() {
+        switch (current) {
+            case STRING:
+                return text();
+            case FIELD_NAME:
+                return fieldName();
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean getValueAsBoolean() {
+        switch (current) {
+            case TRUE:
+                return true;
+            case STRING:
+                return "true".equals(text().trim());
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public String getTaggedValue() {
+        switch (current) {
+            case INT:
+            case LONG:
+            case DOUBLE:
+            case DATE:
+            case TIME:
+            case MODULE:
+            case STREAM:
+                return text();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean hasLongValue() {
+        return hasLong;
+    }
+
+    @Override
+    public long getLongValue() {
+        if (!hasLong) {
+            throw new IllegalStateException("CurrentTokenType " + current + " has no decoded value.");
+        }
+        return longValue;
+    }
+
+    @Override
+    public byte[] getBytesValue() {
+        return bytesValue;
+    }
+
+    @Override
+    public String readRawJson() throws CodecException {
+        switch (current) {
+            case STRING:
+                // Also covers the cursor of a page, which starts inside the tag object.
+                return new String(buf, textStart - 1, textEnd - textStart + 2, UTF_8);
+            case NULL:
+            case TRUE:
+            case FALSE:
+            case INT:
+            case LONG:
+            case DOUBLE:
+            case DATE:
+            case TIME:
+            case MODULE:
+            case STREAM:
+            case BYTES:
+                return new String(buf, tokenStart, pos - tokenStart, UTF_8);
+            case START_OBJECT:
+            case START_ARRAY:
+            case START_DOCUMENT:
+            case START_REF:
+            case START_PAGE:
+                int start = containerStarts[depth - 1];
+                skipContainer();
+                return new String(buf, start, pos - start, UTF_8);
+            default:
+                throw new CodecException(
+                        "Unable to capture raw JSON starting at token " + current + ".");
+        }
+    }
+
+    // Skips the container the current token starts by scanning it again from its first byte, without building any
+    // tokens, and leaves the source on its end token.
+    private void skipContainer() {
+        switch (current) {
+            case START_OBJECT:
+            case START_ARRAY:
+            case START_DOCUMENT:
+            case START_REF:
+            case START_PAGE:
+                break;
+            default:
+                return;
+        }
+        pos = containerStarts[depth - 1];
+        skipValue(depth);
+        current = containers[--depth].endToken;
+        expect = Expect.NEXT;
+        pendingCursor = false;
+        text = null;
+    }
+
+    private void readValue() {
+        skipWhitespace();
+        if (pos >= end) {
+            throw unexpected("a value");
+        }
+        tokenStart = pos;
+        switch (buf[pos]) {
+            case '"':
+                scanString();
+                current = FaunaTokenType.STRING;
+                break;
+            case '{':
+                readObject();
+                return;
+            case '[':
+                pos++;
+                open(Container.ARRAY, tokenStart);
+                current = FaunaTokenType.START_ARRAY;
+                return;
+            case 't':
+                scanLiteral(TRUE_BYTES);
+                current = FaunaTokenType.TRUE;
+                break;
+            case 'f':
+                scanLiteral(FALSE_BYTES);
+                current = FaunaTokenType.FALSE;
+                break;
+            case 'n':
+                scanLiteral(NULL_BYTES);
+                current = FaunaTokenType.NULL;
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                boolean isFloat = scanNumber();
+                throw new CodecException("Unhandled JSON token type "
+                        + (isFloat ? "VALUE_NUMBER_FLOAT" : "VALUE_NUMBER_INT") + ".");
+            default:
+                throw unexpected("a value");
+        }
+        expect = Expect.NEXT;
+    }
+
+    private void readObject() {
+        pos++;
+        skipWhitespace();
+        Tag tag = pos < end && buf[pos] == '"' ? tagAt(pos) : null;
+        if (tag == null) {
+            // A plain object. Its first field name, or its end, is read next.
+            open(Container.OBJECT, tokenStart);
+            current = FaunaTokenType.START_OBJECT;
+            return;
+        }
+        pos = tagEnd;
+        skipWhitespace();
+        consume(':', "':'");
+        skipWhitespace();
+        switch (tag) {
+            case OBJECT:
+                consume('{', "'{'");
+                open(Container.ESCAPED_OBJECT, tokenStart);
+                break;
+            case DOC:
+                consume('{', "'{'");
+                open(Container.DOCUMENT, tokenStart);
+                break;
+            case REF:
+                consume('{', "'{'");
+                open(Container.REF, tokenStart);
+                break;
+            case SET:
+                if (pos < end && buf[pos] == '"') {
+                    scanString();
+                    open(Container.PAGE_CURSOR, tokenStart);
+                    expect = Expect.NEXT;
+                    pendingCursor = true;
+                } else {
+                    consume('{', "'{' or a string");
+                    open(Container.PAGE, tokenStart);
+                }
+                break;
+            default:
+                if (pos >= end || buf[pos] != '"') {
+                    throw unexpected("a string value for " + tag.name);
+                }
+                scanString();
+                if (tag == Tag.BYTES) {
+                    bytesValue = decodeBase64();
+                } else if (tag == Tag.INT || tag == Tag.LONG) {
+                    decodeLong();
+                }
+                skipWhitespace();
+                consume('}', "'}'");
+                expect = Expect.NEXT;
+                break;
+        }
+        current = tag.token;
+    }
+
+    private void readFieldName() {
+        if (pos >= end || buf[pos] != '"') {
+            throw unexpected("a field name");
+        }
+        scanString();
+        skipWhitespace();
+        consume(':', "':'");
+        current = FaunaTokenType.FIELD_NAME;
+        expect = Expect.VALUE;
+    }
+
+    private void open(final Container container, final int start) {
+        if (depth == MAX_DEPTH) {
+            throw new CodecException("Maximum nesting depth of " + MAX_DEPTH + " exceeded.");
+        }
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            containerStarts = Arrays.copyOf(containerStarts, depth * 2);
+        }
+        containers[depth] = container;
+        containerStarts[depth] = start;
+        depth++;
+        expect = Expect.FIRST;
+    }
+
+    private void close() {
+        Container container = containers[--depth];
+        if (container.wrapped) {
+            skipWhitespace();
+            consume('}', "'}'");
+        }
+        current = container.endToken;
+        expect = Expect.NEXT;
+    }
+
+    // Recognizes a tag key at the opening quote of a field name. On a match, tagEnd is set past the closing quote.
+    private Tag tagAt(final int at) {
+        if (at + 2 < end && buf[at + 1] == '@') {
+            byte first = buf[at + 2];
+            for (Tag tag : TAGS) {
+                byte[] key = tag.key;
+                if (key[2] == first && regionMatches(key, at)) {
+                    tagEnd = at + key.length;
+                    return tag;
+                }
+            }
+            return null;
+        }
+        if (at + 1 < end && buf[at + 1] == '\\') {
+            // An escaped key could still spell a tag, so decode it.
+            int saved = pos;
+            pos = at;
+            scanString();
+            String key = text();
+            tagEnd = pos;
+            pos = saved;
+            text = null;
+            for (Tag tag : TAGS) {
+                if (tag.name.equals(key)) {
+                    return tag;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean regionMatches(final byte[] key, final int at) {
+        if (at + key.length > end) {
+            return false;
+        }
+        for (int i = 3; i < key.length; i++) {
+            if (buf[at + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Decodes the digits of an @int or @long as Long.parseLong would. Anything else, such as a plus sign or digits
+    // outside ASCII, is left to be parsed from the text, as is negative zero, which parses to -0.0 as a double.
+    private void decodeLong() {
+        int p = textStart;
+        boolean negative = p < textEnd && buf[p] == '-';
+        if (negative) {
+            p++;
+        }
+        if (p == textEnd) {
+            return;
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; p < textEnd; p++) {
+            int digit = buf[p] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                return;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return;
+            }
+            result -= digit;
+        }
+        if (negative && result == 0) {
+            return;
+        }
+        longValue = negative ? result : -result;
+        hasLong = true;
+    }
+
+    private byte[] decodeBase64() {
+        try {
+            if (!textEscaped) {
+                ByteBuffer decoded = Base64.getDecoder().decode(ByteBuffer.wrap(buf, textStart, textEnd - textStart));
+                byte[] bytes = decoded.array();
+                return decoded.remaining() == bytes.length ? bytes : Arrays.copyOf(bytes, decoded.remaining());
+            }
+        } catch (IllegalArgumentException e) {
+            // Retried below, without whitespace.
+        }
+        // Jackson skips whitespace between groups of four Base64 characters, so allow it there as well.
+        String value = text();
+        StringBuilder base64 = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ') {
+                base64.append(c);
+            } else if (base64.length() % 4 != 0) {
+                throw new CodecException("Invalid @bytes value.");
+            }
+        }
+        try {
+            return Base64.getDecoder().decode(base64.toString());
+        } catch (IllegalArgumentException e) {
+            throw new CodecException("Invalid @bytes value.", e);
+        }
+    }
+
+    private String text() {
+        if (text == null) {
+            text = decodeString(textStart, textEnd, textEscaped, textAscii);
+        }
+        return text;
+    }
+
+    private String fieldName() {
+        int length = textEnd - textStart;
+        if (text != null || textEscaped || !textAscii || length > MAX_CACHED_NAME_LENGTH) {
+            return text();
+        }
+        int hash = 0;
+        for (int p = textStart; p < textEnd; p++) {
+            hash = 31 * hash + buf[p];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String cached = NAME_CACHE[slot];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == buf[textStart + i]) {
+                i++;
+            }
+            if (i == length) {
+                text = cached;
+                return cached;
+            }
+        }
+        text = new String(buf, textStart, length, ISO_8859_1);
+        NAME_CACHE[slot] = text;
+        return text;
+    }
+
+    private String decodeString(final int from, final int to, final boolean escaped, final boolean ascii) {
+        if (!escaped) {
+            // ISO-8859-1 copies the bytes as they are, which is exact for ASCII.
+            return new String(buf, from, to - from, ascii ? ISO_8859_1 : UTF_8);
+        }
+        StringBuilder sb = new StringBuilder(to - from);
+        int run = from;
+        int p = from;
+        while (p < to) {
+            if (buf[p] != '\\') {
+                p++;
+                continue;
+            }
+            if (p > run) {
+                sb.append(new String(buf, run, p - run, ascii ? ISO_8859_1 : UTF_8));
+            }
+            byte escape = buf[p + 1];
+            p += 2;
+            switch (escape) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append((char) (hexDigit(buf[p]) << 12 | hexDigit(buf[p + 1]) << 8
+                            | hexDigit(buf[p + 2]) << 4 | hexDigit(buf[p + 3])));
+                    p += 4;
+                    break;
+                default:
+                    // '"', '\\' or '/'.
+                    sb.append((char) escape);
+                    break;
+            }
+            run = p;
+        }
+        if (run < to) {
+            sb.append(new String(buf, run, to - run, ascii ? ISO_8859_1 : UTF_8));
+        }
+        return sb.toString();
+    }
+
+    // Scans the string at pos, validating its escapes and UTF-8, and records where its contents are.
+    private void scanString() {
+        int p = pos + 1;
+        boolean escaped = false;
+        boolean ascii = true;
+        while (true) {
+            if (p >= end) {
+                pos = p;
+                throw unexpected("the end of the string");
+            }
+            int b = buf[p];
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                escaped = true;
+                p = scanEscape(p);
+            } else if (b >= 0x20) {
+                p++;
+            } else if (b >= 0) {
+                pos = p;
+                throw new CodecException(String.format(
+                        "Illegal unquoted control character 0x%02x in a string at offset %d.", b, p));
+            } else {
+                ascii = false;
+                p = scanUtf8(p);
+            }
+        }
+        textStart = pos + 1;
+        textEnd = p;
+        textEscaped = escaped;
+        textAscii = ascii;
+        text = null;
+        pos = p + 1;
+    }
+
+    private int scanEscape(final int p) {
+        if (p + 1 >= end) {
+            pos = p + 1;
+            throw unexpected("an escaped character");
+        }
+        switch (buf[p + 1]) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return p + 2;
+            case 'u':
+                if (p + 6 > end) {
+                    pos = end;
+                    throw unexpected("four hex digits");
+                }
+                for (int i = p + 2; i < p + 6; i++) {
+                    if (hexDigit(buf[i]) < 0) {
+                        pos = i;
+                        throw unexpected("a hex digit");
+                    }
+                }
+                return p + 6;
+            default:
+                pos = p + 1;
+                throw unexpected("a valid escape character");
+        }
+    }
+
+    // Validates the UTF-8 sequence starting at p, rejecting overlong forms, surrogates and code points past U+10FFFF.
+    private int scanUtf8(final int p) {
+        int lead = buf[p] & 0xFF;
+        int length;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            if (lead == 0xE0) {
+                min = 0xA0;
+            } else if (lead == 0xED) {
+                max = 0x9F;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            if (lead == 0xF0) {
+                min = 0x90;
+            } else if (lead == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            throw invalidUtf8(p);
+        }
+        if (p + length > end) {
+            throw invalidUtf8(p);
+        }
+        int second = buf[p + 1] & 0xFF;
+        if (second < min || second > max) {
+            throw invalidUtf8(p);
+        }
+        for (int i = p + 2; i < p + length; i++) {
+            if ((buf[i] & 0xC0) != 0x80) {
+                throw invalidUtf8(p);
+            }
+        }
+        return p + length;
+    }
+
+    private CodecException invalidUtf8(final int p) {
+        pos = p;
+        return new CodecException(String.format("Invalid UTF-8 start byte 0x%02x at offset %d.", buf[p] & 0xFF, p));
+    }
+
+    private static int hexDigit(final byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private void scanLiteral(final byte[] literal) {
+        for (int i = 0; i < literal.length; i++) {
+            if (pos + i >= end || buf[pos + i] != literal[i]) {
+                pos += i;
+                throw unexpected("'" + new String(literal, ISO_8859_1) + "'");
+            }
+        }
+        pos += literal.length;
+        checkDelimiter();
+    }
+
+    // Scans a JSON number, and returns whether it has a fraction or an exponent.
+    private boolean scanNumber() {
+        boolean isFloat = false;
+        if (buf[pos] == '-') {
+            pos++;
+        }
+        if (pos < end && buf[pos] == '0') {
+            pos++;
+        } else {
+            scanDigits();
+        }
+        if (pos < end && buf[pos] == '.') {
+            pos++;
+            scanDigits();
+            isFloat = true;
+        }
+        if (pos < end && (buf[pos] == 'e' || buf[pos] == 'E')) {
+            pos++;
+            if (pos < end && (buf[pos] == '+' || buf[pos] == '-')) {
+                pos++;
+            }
+            scanDigits();
+            isFloat = true;
+        }
+        checkDelimiter();
+        return isFloat;
+    }
+
+    private void scanDigits() {
+        int start = pos;
+        while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+            pos++;
+        }
+        if (pos == start) {
+            throw unexpected("a digit");
+        }
+    }
+
+    private void checkDelimiter() {
+        if (pos < end) {
+            switch (buf[pos]) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                case ',':
+                case ']':
+                case '}':
+                    break;
+                default:
+                    throw unexpected("a delimiter");
+            }
+        }
+    }
+
+    // Skips and validates one JSON value, without interpreting tags.
+    private void skipValue(final int level) {
+        if (level > MAX_DEPTH) {
+            throw new CodecException("Maximum nesting depth of " + MAX_DEPTH + " exceeded.");
+        }
+        skipWhitespace();
+        if (pos >= end) {
+            throw unexpected("a value");
+        }
+        switch (buf[pos]) {
+            case '"':
+                scanString();
+                break;
+            case '{':
+                pos++;
+                skipWhitespace();
+                if (pos < end && buf[pos] == '}') {
+                    pos++;
+                    break;
+                }
+                while (true) {
+                    skipWhitespace();
+                    if (pos >= end || buf[pos] != '"') {
+                        throw unexpected("a field name");
+                    }
+                    scanString();
+                    skipWhitespace();
+                    consume(':', "':'");
+                    skipValue(level + 1);
+                    skipWhitespace();
+                    if (pos < end && buf[pos] == ',') {
+                        pos++;
+                    } else {
+                        consume('}', "',' or '}'");
+                        break;
+                    }
+                }
+                break;
+            case '[':
+                pos++;
+                skipWhitespace();
+                if (pos < end && buf[pos] == ']') {
+                    pos++;
+                    break;
+                }
+                while (true) {
+                    skipValue(level + 1);
+                    skipWhitespace();
+                    if (pos < end && buf[pos] == ',') {
+                        pos++;
+                    } else {
+                        consume(']', "',' or ']'");
+                        break;
+                    }
+                }
+                break;
+            case 't':
+                scanLiteral(TRUE_BYTES);
+                break;
+            case 'f':
+                scanLiteral(FALSE_BYTES);
+                break;
+            case 'n':
+                scanLiteral(NULL_BYTES);
+                break;
+            default:
+                if (buf[pos] == '-' || buf[pos] >= '0' && buf[pos] <= '9') {
+                    scanNumber();
+                } else {
+                    throw unexpected("a value");
+                }
+                break;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < end) {
+            byte b = buf[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void consume(final char expected, final String description) {
+        if (pos >= end || buf[pos] != expected) {
+            throw unexpected(description);
+        }
+        pos++;
+    }
+
+    private CodecException unexpected(final String expected) {
+        if (pos >= end) {
+            return new CodecException("Unexpected end of input, expected " + expected + ".");
+        }
+        int b = buf[pos] & 0xFF;
+        String found = b > 0x20 && b < 0x7F ? "'" + (char) b + "'" : String.format("0x%02x", b);
+        return new CodecException("Unexpected character " + found + " at offset " + pos + ", expected "
+                + expected + ".");
+    }
+}
@@ -20,6 +20,22 @@ public interface Codec<T> {
      */
     T decode(UTF8FaunaParser parser) throws CodecException;
 
+    /**
+     * Decodes an object from the provided {@link UTF8FaunaParser}, populating {@code target} instead of allocating a
+     * new instance where the codec supports it.
+     * <p>
+     * Codecs that cannot populate an existing instance ignore {@code target} and return a newly decoded object, so
+     * callers must always use the returned value. The default implementation delegates to {@link #decode}.
+     *
+     * @param parser The parser to use for reading and decoding the data.
+     * @param target An instance to reuse, or {@code null} to always decode into a new instance.
+     * @return The decoded object of type {@code T}, which is either {@code target} or a new instance.
+     * @throws CodecException If an error occurs during decoding.
+     */
+    default T decodeInto(final UTF8FaunaParser parser, final T target) throws CodecException {
+        return decode(parser);
+    }
+
     /**
      * Encodes the specified object using the provided {@link UTF8FaunaGenerator}.
      *
@@ -1,10 +1,14 @@
 package com.fauna.codec;
 
 import com.fauna.codec.codecs.BaseDocumentCodec;
+import com.fauna.codec.codecs.ByteBufferCodec;
 import com.fauna.codec.codecs.ClassCodec;
 import com.fauna.codec.codecs.DynamicCodec;
+import com.fauna.codec.codecs.EncodeOnlyCodec;
 import com.fauna.codec.codecs.EnumCodec;
 import com.fauna.codec.codecs.EventSourceCodec;
+import com.fauna.codec.codecs.InputStreamCodec;
+import com.fauna.codec.codecs.LazyArrayCodec;
 import com.fauna.codec.codecs.ListCodec;
 import com.fauna.codec.codecs.MapCodec;
 import com.fauna.codec.codecs.NullableDocumentCodec;
@@ -27,7 +31,9 @@ import com.fauna.types.NamedDocument;
 import com.fauna.types.NullableDocument;
 import com.fauna.types.Page;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -147,6 +153,27 @@ public final class DefaultCodecProvider implements CodecProvider {
             return new EnumCodec<>(clazz);
         }
 
+        if (clazz == ByteBuffer.class) {
+            return (Codec<T>) ByteBufferCodec.SINGLETON;
+        }
+
+        if (clazz == InputStream.class) {
+            return (Codec<T>) InputStreamCodec.SINGLETON;
+        }
+
+        // Subclasses can be sent as arguments, but a decoded heap buffer or byte stream cannot be cast to them.
+        if (ByteBuffer.class.isAssignableFrom(clazz)) {
+            return new EncodeOnlyCodec<>(clazz, (Codec<? super T>) (Codec<?>) ByteBufferCodec.SINGLETON);
+        }
+
+        if (InputStream.class.isAssignableFrom(clazz)) {
+            return new EncodeOnlyCodec<>(clazz, (Codec<? super T>) (Codec<?>) InputStreamCodec.SINGLETON);
+        }
+
+        if (LazyArrayCodec.isLazyType(clazz)) {
+            return (Codec<T>) new LazyArrayCodec(this);
+        }
+
         return new ClassCodec<>(clazz, this);
     }
 }
@@ -12,12 +12,14 @@ import com.fauna.codec.codecs.IntCodec;
 import com.fauna.codec.codecs.LocalDateCodec;
 import com.fauna.codec.codecs.LongCodec;
 import com.fauna.codec.codecs.ModuleCodec;
+import com.fauna.codec.codecs.RawValueCodec;
 import com.fauna.codec.codecs.ShortCodec;
 import com.fauna.codec.codecs.StringCodec;
 import com.fauna.types.BaseRef;
 import com.fauna.types.DocumentRef;
 import com.fauna.types.Module;
 import com.fauna.types.NamedDocumentRef;
+import com.fauna.types.RawValue;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -49,6 +51,8 @@ public final class DefaultCodecRegistry implements CodecRegistry {
 
         codecs.put(CodecRegistryKey.from(byte[].class), ByteArrayCodec.SINGLETON);
 
+        codecs.put(CodecRegistryKey.from(RawValue.class), RawValueCodec.SINGLETON);
+
         codecs.put(CodecRegistryKey.from(boolean.class), BoolCodec.SINGLETON);
         codecs.put(CodecRegistryKey.from(Boolean.class), BoolCodec.SINGLETON);
 
@@ -0,0 +1,290 @@
+package com.fauna.codec;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses and formats the fixed ISO-8601 forms Fauna uses for {@code @time} and {@code @date} values.
+ * <p>
+ * Fauna emits times such as {@code 2023-12-15T01:01:01.001001Z} and dates such as {@code 2023-12-15}. Going through
+ * {@link DateTimeFormatter} for these is a noticeable share of decoding time, since every document carries a
+ * {@code ts}. The methods in this class handle those forms directly, without intermediate allocations, and fall back
+ * to the JDK for anything unusual, such as years outside 0000-9999 or leap seconds.
+ */
+final class Iso8601 {
+
+    /** The maximum number of characters written by {@link #formatInstant}. */
+    static final int MAX_INSTANT_LENGTH = 30;
+
+    /** The number of characters written by {@link #formatLocalDate}. */
+    static final int LOCAL_DATE_LENGTH = 10;
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final int NANOS_PER_MICRO = 1_000;
+    private static final int MAX_YEAR = 9999;
+    private static final int MAX_OFFSET_HOURS = 18;
+    private static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000
+    };
+
+    private Iso8601() {
+    }
+
+    /**
+     * Parses an instant such as {@code 2023-12-15T01:01:01.0010010Z} or {@code 2023-12-15T01:01:01-09:00}.
+     *
+     * @param value The string to parse.
+     * @return The parsed {@link Instant}.
+     * @throws java.time.format.DateTimeParseException If the value is not a valid instant.
+     */
+    static Instant parseInstant(final String value) {
+        Instant instant = tryParseInstant(value);
+        return instant != null ? instant : Instant.parse(value);
+    }
+
+    /**
+     * Parses a date such as {@code 2023-12-15}.
+     *
+     * @param value The string to parse.
+     * @return The parsed {@link LocalDate}.
+     * @throws java.time.format.DateTimeParseException If the value is not a valid date.
+     */
+    static LocalDate parseLocalDate(final String value) {
+        if (value.length() == LOCAL_DATE_LENGTH && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            if (year >= 0 && isValidDate(year, month, day)) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(value);
+    }
+
+    /**
+     * Formats an instant the same way as {@link Instant#toString()}.
+     *
+     * @param value  The instant to format.
+     * @param buffer The buffer to write to, at least {@link #MAX_INSTANT_LENGTH} long.
+     * @return The number of characters written, or -1 if the instant must be formatted by the JDK instead.
+     */
+    static int formatInstant(final Instant value, final char[] buffer) {
+        long seconds = value.getEpochSecond();
+        long epochDay = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(seconds, SECONDS_PER_DAY);
+
+        int pos = formatEpochDay(epochDay, buffer);
+        if (pos < 0) {
+            return -1;
+        }
+
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, secondOfDay / SECONDS_PER_HOUR, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay % SECONDS_PER_HOUR / SECONDS_PER_MINUTE, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay % SECONDS_PER_MINUTE, 2);
+
+        // Like Instant.toString, print as many digits as needed, in groups of three.
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[pos++] = '.';
+            if (nano % NANOS_PER_MILLI == 0) {
+                pos = writeDigits(buffer, pos, nano / NANOS_PER_MILLI, 3);
+            } else if (nano % NANOS_PER_MICRO == 0) {
+                pos = writeDigits(buffer, pos, nano / NANOS_PER_MICRO, 6);
+            } else {
+                pos = writeDigits(buffer, pos, nano, 9);
+            }
+        }
+        buffer[pos++] = 'Z';
+        return pos;
+    }
+
+    /**
+     * Formats a date as {@code yyyy-MM-dd}.
+     *
+     * @param value  The date to format.
+     * @param buffer The buffer to write to, at least {@link #LOCAL_DATE_LENGTH} long.
+     * @return The number of characters written.
+     */
+    static int formatLocalDate(final LocalDate value, final char[] buffer) {
+        int year = value.getYear();
+        if (year < 1 || year > MAX_YEAR) {
+            String formatted = value.format(DATE_FORMATTER);
+            formatted.getChars(0, formatted.length(), buffer, 0);
+            return formatted.length();
+        }
+        int pos = writeDigits(buffer, 0, year, 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, value.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        return writeDigits(buffer, pos, value.getDayOfMonth(), 2);
+    }
+
+    private static Instant tryParseInstant(final String s) {
+        int len = s.length();
+        if (len < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return null;
+        }
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || !isValidDate(year, month, day)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        int pos = 19;
+        int nano = 0;
+        if (s.charAt(pos) == '.') {
+            int start = ++pos;
+            while (pos < len && isDigit(s.charAt(pos))) {
+                if (pos - start == 9) {
+                    return null;
+                }
+                nano = nano * 10 + (s.charAt(pos) - '0');
+                pos++;
+            }
+            if (pos == start) {
+                return null;
+            }
+            nano *= POWERS_OF_TEN[9 - (pos - start)];
+        }
+
+        if (pos >= len) {
+            return null;
+        }
+        int offsetSeconds;
+        char c = s.charAt(pos);
+        if (c == 'Z' && pos + 1 == len) {
+            offsetSeconds = 0;
+        } else if ((c == '+' || c == '-') && pos + 6 == len && s.charAt(pos + 3) == ':') {
+            int offsetHours = digits(s, pos + 1, 2);
+            int offsetMinutes = digits(s, pos + 4, 2);
+            if (offsetHours < 0 || offsetHours > MAX_OFFSET_HOURS || offsetMinutes < 0 || offsetMinutes > 59) {
+                return null;
+            }
+            offsetSeconds = offsetHours * SECONDS_PER_HOUR + offsetMinutes * SECONDS_PER_MINUTE;
+            if (c == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        } else {
+            return null;
+        }
+
+        long epochSecond = epochDay(year, month, day) * SECONDS_PER_DAY
+                + hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nano);
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Returns the value of the fixed-width run of digits, or -1 if any character is not a digit.
+    private static int digits(final String s, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int writeDigits(final char[] buffer, final int pos, final int value, final int count) {
+        int v = value;
+        for (int i = pos + count - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return pos + count;
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static boolean isValidDate(final int year, final int month, final int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        switch (month) {
+            case 2:
+                return day <= (isLeapYear(year) ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return day <= 30;
+            default:
+                return day <= 31;
+        }
+    }
+
+    // Same algorithm as LocalDate.toEpochDay, for years 0000-9999.
+    private static long epochDay(final int year, final int month, final int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    // Writes yyyy-MM-dd for the epoch day using the same algorithm as LocalDate.ofEpochDay. Returns the number of
+    // characters written, or -1 if the year is outside 0000-9999.
+    private static int formatEpochDay(final long epochDay, final char[] buffer) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // Adjust to 0000-03-01 so the leap day is at the end of the four year cycle.
+        zeroDay -= 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += adjust + marchMonth0 / 10;
+        if (yearEst < 0 || yearEst > MAX_YEAR) {
+            return -1;
+        }
+
+        int pos = writeDigits(buffer, 0, (int) yearEst, 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, month, 2);
+        buffer[pos++] = '-';
+        return writeDigits(buffer, pos, day, 2);
+    }
+}
@@ -0,0 +1,509 @@
+package com.fauna.codec;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fauna.exception.CodecException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ * Reads Fauna tokens from the JSON tokens of a Jackson {@link JsonParser}. This is the reference implementation of
+ * {@link TokenSource}.
+ */
+final class JacksonTokenSource implements TokenSource {
+
+    private static final String INT_TAG = "@int";
+    private static final String LONG_TAG = "@long";
+    private static final String DOUBLE_TAG = "@double";
+    private static final String TIME_TAG = "@time";
+    private static final String DATE_TAG = "@date";
+    private static final String REF_TAG = "@ref";
+    private static final String DOC_TAG = "@doc";
+    private static final String MOD_TAG = "@mod";
+    private static final String SET_TAG = "@set";
+    private static final String STREAM_TAG = "@stream";
+    private static final String OBJECT_TAG = "@object";
+    private static final String BYTES_TAG = "@bytes";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Standard Base64 with optional padding, as accepted by java.util.Base64.getDecoder().
+    private static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS
+            .withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+    private final JsonParser jsonParser;
+    private final Stack<Object> tokenStack = new Stack<>();
+    private final Set<FaunaTokenType> closers = new HashSet<>(Arrays.asList(
+            FaunaTokenType.END_OBJECT,
+            FaunaTokenType.END_PAGE,
+            FaunaTokenType.END_DOCUMENT,
+            FaunaTokenType.END_REF,
+            FaunaTokenType.END_ARRAY
+    ));
+
+    private FaunaTokenType currentFaunaTokenType = FaunaTokenType.NONE;
+    private FaunaTokenType bufferedFaunaTokenType;
+    private Object bufferedTokenValue;
+    private String taggedTokenValue;
+    private byte[] taggedBytesValue;
+
+    private enum InternalTokenType {
+        START_ESCAPED_OBJECT,
+        START_PAGE_UNMATERIALIZED
+    }
+
+    /**
+     * Constructs a {@code JacksonTokenSource} reading from the given JSON parser.
+     *
+     * @param jsonParser The {@link JsonParser} used to read the JSON data.
+     */
+    JacksonTokenSource(final JsonParser jsonParser) {
+        this.jsonParser = jsonParser;
+    }
+
+    @Override
+    public FaunaTokenType getCurrentTokenType() {
+        return currentFaunaTokenType;
+    }
+
+    @Override
+    public void skip() {
+        int startCount = tokenStack.size();
+        while (read()) {
+            if (tokenStack.size() < startCount) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean read() throws CodecException {
+        taggedTokenValue = null;
+        taggedBytesValue = null;
+
+        if (bufferedFaunaTokenType != null) {
+            currentFaunaTokenType = bufferedFaunaTokenType;
+            bufferedFaunaTokenType = null;
+            if (closers.contains(currentFaunaTokenType)) {
+                tokenStack.pop();
+            }
+            return true;
+        }
+
+        bufferedTokenValue = null;
+
+        if (!advance()) {
+            return false;
+        }
+
+        JsonToken currentToken = jsonParser.currentToken();
+        if (currentToken != null) {
+            switch (currentToken) {
+                case VALUE_STRING:
+                    currentFaunaTokenType = FaunaTokenType.STRING;
+                    break;
+                case START_OBJECT:
+                    handleStartObject();
+                    break;
+                case START_ARRAY:
+                    tokenStack.push(FaunaTokenType.START_ARRAY);
+                    currentFaunaTokenType = FaunaTokenType.START_ARRAY;
+                    break;
+                case END_OBJECT:
+                    handleEndObject();
+                    break;
+                case END_ARRAY:
+                    tokenStack.pop();
+                    currentFaunaTokenType = FaunaTokenType.END_ARRAY;
+                    break;
+                case VALUE_TRUE:
+                    currentFaunaTokenType = FaunaTokenType.TRUE;
+                    break;
+                case VALUE_FALSE:
+                    currentFaunaTokenType = FaunaTokenType.FALSE;
+                    break;
+                case FIELD_NAME:
+                    currentFaunaTokenType = FaunaTokenType.FIELD_NAME;
+                    break;
+                case VALUE_NULL:
+                    currentFaunaTokenType = FaunaTokenType.NULL;
+                    break;
+                default:
+                    throw new CodecException(
+                            "Unhandled JSON token type " + currentToken + ".");
+            }
+        } else {
+            return false;
+        }
+
+        return true;
+    }
+
+    private void handleStartObject() throws CodecException {
+        advanceTrue();
+        switch (jsonParser.currentToken()) {
+            case FIELD_NAME:
+                switch (getText()) {
+                    case BYTES_TAG:
+                        handleTaggedBytes();
+                        break;
+                    case INT_TAG:
+                        handleTaggedString(FaunaTokenType.INT);
+                        break;
+                    case DATE_TAG:
+                        handleTaggedString(FaunaTokenType.DATE);
+                        break;
+                    case TIME_TAG:
+                        handleTaggedString(FaunaTokenType.TIME);
+                        break;
+                    case DOUBLE_TAG:
+                        handleTaggedString(FaunaTokenType.DOUBLE);
+                        break;
+                    case LONG_TAG:
+                        handleTaggedString(FaunaTokenType.LONG);
+                        break;
+                    case MOD_TAG:
+                        handleTaggedString(FaunaTokenType.MODULE);
+                        break;
+                    case STREAM_TAG:
+                        handleTaggedString(FaunaTokenType.STREAM);
+                        break;
+                    case OBJECT_TAG:
+                        advanceTrue();
+                        currentFaunaTokenType = FaunaTokenType.START_OBJECT;
+                        tokenStack.push(InternalTokenType.START_ESCAPED_OBJECT);
+                        break;
+                    case DOC_TAG:
+                        advanceTrue();
+                        currentFaunaTokenType = FaunaTokenType.START_DOCUMENT;
+                        tokenStack.push(FaunaTokenType.START_DOCUMENT);
+                        break;
+                    case SET_TAG:
+                        advanceTrue();
+                        currentFaunaTokenType = FaunaTokenType.START_PAGE;
+                        if (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+                            bufferedFaunaTokenType = FaunaTokenType.STRING;
+
+                            try {
+                                bufferedTokenValue = jsonParser.getValueAsString();
+                            } catch (IOException e) {
+                                throw new CodecException(e.getMessage(), e);
+                            }
+
+                            tokenStack.push(
+                                    InternalTokenType.START_PAGE_UNMATERIALIZED);
+                        } else {
+                            tokenStack.push(FaunaTokenType.START_PAGE);
+                        }
+                        break;
+                    case REF_TAG:
+                        advanceTrue();
+                        currentFaunaTokenType = FaunaTokenType.START_REF;
+                        tokenStack.push(FaunaTokenType.START_REF);
+                        break;
+                    default:
+                        bufferedFaunaTokenType = FaunaTokenType.FIELD_NAME;
+                        tokenStack.push(FaunaTokenType.START_OBJECT);
+                        currentFaunaTokenType = FaunaTokenType.START_OBJECT;
+                        break;
+                }
+                break;
+            case END_OBJECT:
+                bufferedFaunaTokenType = FaunaTokenType.END_OBJECT;
+                tokenStack.push(FaunaTokenType.START_OBJECT);
+                currentFaunaTokenType = FaunaTokenType.START_OBJECT;
+                break;
+            default:
+                throw new CodecException(
+                        "Unexpected token following StartObject: " + jsonParser.currentToken());
+        }
+    }
+
+    private void handleEndObject() {
+        Object startToken = tokenStack.pop();
+        if (startToken.equals(FaunaTokenType.START_DOCUMENT)) {
+            currentFaunaTokenType = FaunaTokenType.END_DOCUMENT;
+            advanceTrue();
+        } else if (startToken.equals(InternalTokenType.START_PAGE_UNMATERIALIZED)) {
+            currentFaunaTokenType = FaunaTokenType.END_PAGE;
+        } else if (startToken.equals(FaunaTokenType.START_PAGE)) {
+            currentFaunaTokenType = FaunaTokenType.END_PAGE;
+            advanceTrue();
+        } else if (startToken.equals(FaunaTokenType.START_REF)) {
+            currentFaunaTokenType = FaunaTokenType.END_REF;
+            advanceTrue();
+        } else if (startToken.equals(InternalTokenType.START_ESCAPED_OBJECT)) {
+            currentFaunaTokenType = FaunaTokenType.END_OBJECT;
+            advanceTrue();
+        } else if (startToken.equals(FaunaTokenType.START_OBJECT)) {
+            currentFaunaTokenType = FaunaTokenType.END_OBJECT;
+        } else {
+            throw new CodecException("Unexpected token " + startToken + ". This might be a bug.");
+        }
+    }
+
+    private void handleTaggedString(final FaunaTokenType token) throws CodecException {
+        try {
+            advanceTrue();
+            currentFaunaTokenType = token;
+            taggedTokenValue = jsonParser.getText();
+            advance();
+        } catch (IOException exc) {
+            throw CodecException.decodingIOException(exc);
+        }
+    }
+
+    // Decodes @bytes values as they are read, so Jackson decodes the Base64 from its input buffer instead of
+    // materializing the text first. The text is only re-encoded if a caller asks for it.
+    private void handleTaggedBytes() throws CodecException {
+        try {
+            advanceTrue();
+            currentFaunaTokenType = FaunaTokenType.BYTES;
+            taggedBytesValue = jsonParser.getBinaryValue(BASE64);
+            advance();
+        } catch (IOException exc) {
+            throw CodecException.decodingIOException(exc);
+        }
+    }
+
+    private String getText() throws CodecException {
+        try {
+            return jsonParser.getText();
+        } catch (IOException exc) {
+            throw CodecException.decodingIOException(exc);
+        }
+    }
+
+    private void advanceTrue() {
+        if (!advance()) {
+            throw new CodecException(
+                    "Unexpected end of underlying JSON reader.");
+        }
+    }
+
+    private boolean advance() {
+        try {
+            return Objects.nonNull(jsonParser.nextToken());
+        } catch (IOException e) {
+            throw new CodecException(
+                    "Failed to advance underlying JSON reader.", e);
+        }
+    }
+
+    @Override
+    public String getValueAsString() {
+        try {
+            if (bufferedTokenValue != null) {
+                return bufferedTokenValue.toString();
+            }
+            return jsonParser.getValueAsString();
+        } catch (IOException e) {
+            throw new CodecException(
+                    "Error getting the current token as String", e);
+        }
+    }
+
+    @Override
+    public boolean getValueAsBoolean() {
+        try {
+            return jsonParser.getValueAsBoolean();
+        } catch (IOException e) {
+            throw new CodecException("Error getting the current token as Boolean", e);
+        }
+    }
+
+    @Override
+    public String getTaggedValue() {
+        return taggedTokenValue;
+    }
+
+    @Override
+    public boolean hasLongValue() {
+        return false;
+    }
+
+    @Override
+    public long getLongValue() {
+        throw new IllegalStateException("Tagged values are not decoded while they are read.");
+    }
+
+    @Override
+    public byte[] getBytesValue() {
+        return taggedBytesValue;
+    }
+
+    @Override
+    public String readRawJson() throws CodecException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            writeRawValue(gen);
+        } catch (IOException exc) {
+            throw CodecException.decodingIOException(exc);
+        }
+        return out.toString();
+    }
+
+    private void writeRawValue(final JsonGenerator gen) throws IOException {
+        switch (currentFaunaTokenType) {
+            case NULL:
+                gen.writeNull();
+                break;
+            case TRUE:
+            case FALSE:
+                gen.writeBoolean(currentFaunaTokenType == FaunaTokenType.TRUE);
+                break;
+            case STRING:
+                gen.writeString(getValueAsString());
+                break;
+            case INT:
+                writeRawTagged(gen, INT_TAG, taggedTokenValue);
+                break;
+            case LONG:
+                writeRawTagged(gen, LONG_TAG, taggedTokenValue);
+                break;
+            case DOUBLE:
+                writeRawTagged(gen, DOUBLE_TAG, taggedTokenValue);
+                break;
+            case DATE:
+                writeRawTagged(gen, DATE_TAG, taggedTokenValue);
+                break;
+            case TIME:
+                writeRawTagged(gen, TIME_TAG, taggedTokenValue);
+                break;
+            case MODULE:
+                writeRawTagged(gen, MOD_TAG, taggedTokenValue);
+                break;
+            case STREAM:
+                writeRawTagged(gen, STREAM_TAG, taggedTokenValue);
+                break;
+            case BYTES:
+                writeRawTagged(gen, BYTES_TAG, Base64.getEncoder().encodeToString(taggedBytesValue));
+                break;
+            case START_ARRAY:
+                copyTokens(gen, 0);
+                closeRaw(FaunaTokenType.END_ARRAY);
+                break;
+            case START_OBJECT:
+                if (tokenStack.peek() == InternalTokenType.START_ESCAPED_OBJECT) {
+                    writeRawWrapped(gen, OBJECT_TAG, FaunaTokenType.END_OBJECT);
+                } else {
+                    // The opening brace has been consumed; the first field name or closing brace is buffered.
+                    gen.writeStartObject();
+                    copyTokens(gen, 1);
+                    closeRaw(FaunaTokenType.END_OBJECT);
+                }
+                break;
+            case START_DOCUMENT:
+                writeRawWrapped(gen, DOC_TAG, FaunaTokenType.END_DOCUMENT);
+                break;
+            case START_REF:
+                writeRawWrapped(gen, REF_TAG, FaunaTokenType.END_REF);
+                break;
+            case START_PAGE:
+                if (tokenStack.peek() == InternalTokenType.START_PAGE_UNMATERIALIZED) {
+                    gen.writeStartObject();
+                    gen.writeFieldName(SET_TAG);
+                    gen.writeString((String) bufferedTokenValue);
+                    gen.writeEndObject();
+                    advanceTrue();
+                    closeRaw(FaunaTokenType.END_PAGE);
+                } else {
+                    writeRawWrapped(gen, SET_TAG, FaunaTokenType.END_PAGE);
+                }
+                break;
+            default:
+                throw new CodecException(
+                        "Unable to capture raw JSON starting at token " + currentFaunaTokenType + ".");
+        }
+    }
+
+    private void writeRawTagged(final JsonGenerator gen, final String tag, final String value) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(tag);
+        gen.writeString(value);
+        gen.writeEndObject();
+    }
+
+    // Copies a tagged container whose tag has been consumed. The underlying reader is on the tagged value.
+    private void writeRawWrapped(final JsonGenerator gen, final String tag, final FaunaTokenType endToken)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(tag);
+        copyTokens(gen, 0);
+        advanceTrue();
+        gen.writeEndObject();
+        closeRaw(endToken);
+    }
+
+    // Copies tokens from the current one until the nesting depth, starting at initialDepth, returns to zero.
+    private void copyTokens(final JsonGenerator gen, final int initialDepth) throws IOException {
+        int depth = initialDepth;
+        JsonToken token = jsonParser.currentToken();
+        while (true) {
+            switch (token) {
+                case START_OBJECT:
+                    gen.writeStartObject();
+                    depth++;
+                    break;
+                case START_ARRAY:
+                    gen.writeStartArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    gen.writeEndObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    gen.writeEndArray();
+                    depth--;
+                    break;
+                case FIELD_NAME:
+                    gen.writeFieldName(jsonParser.getText());
+                    break;
+                case VALUE_STRING:
+                    gen.writeString(jsonParser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    gen.writeNumber(jsonParser.getText());
+                    break;
+                case VALUE_TRUE:
+                    gen.writeBoolean(true);
+                    break;
+                case VALUE_FALSE:
+                    gen.writeBoolean(false);
+                    break;
+                case VALUE_NULL:
+                    gen.writeNull();
+                    break;
+                default:
+                    throw new CodecException("Unhandled JSON token type " + token + ".");
+            }
+            if (depth == 0) {
+                return;
+            }
+            token = jsonParser.nextToken();
+            if (token == null) {
+                throw new CodecException("Unexpected end of underlying JSON reader.");
+            }
+        }
+    }
+
+    private void closeRaw(final FaunaTokenType endToken) {
+        tokenStack.pop();
+        bufferedFaunaTokenType = null;
+        bufferedTokenValue = null;
+        currentFaunaTokenType = endToken;
+    }
+}
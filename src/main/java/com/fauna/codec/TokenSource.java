@@ -0,0 +1,86 @@
+package com.fauna.codec;
+
+import com.fauna.exception.CodecException;
+
+/**
+ * Reads {@link FaunaTokenType Fauna tokens} from tagged JSON for a {@link UTF8FaunaParser}.
+ * <p>
+ * {@link JacksonTokenSource} is the reference implementation. {@link ByteTokenSource} scans a UTF-8 byte array
+ * directly.
+ */
+interface TokenSource {
+
+    /**
+     * Gets the token the source is on.
+     *
+     * @return The current token, or {@link FaunaTokenType#NONE} before the first read.
+     */
+    FaunaTokenType getCurrentTokenType();
+
+    /**
+     * Advances to the next token.
+     *
+     * @return {@code true} if there is another token, {@code false} if there are no more tokens.
+     * @throws CodecException If the input is not valid tagged JSON.
+     */
+    boolean read() throws CodecException;
+
+    /**
+     * Skips the object, array, page, ref or document that the current token starts, leaving the source on the
+     * matching end token.
+     *
+     * @throws CodecException If the input is not valid tagged JSON.
+     */
+    void skip() throws CodecException;
+
+    /**
+     * Gets the current value as a string, as Jackson's {@code getValueAsString} does.
+     *
+     * @return The text of a string or field name, or {@code null} if the value has no text.
+     */
+    String getValueAsString();
+
+    /**
+     * Gets the current value as a boolean, as Jackson's {@code getValueAsBoolean} does.
+     *
+     * @return {@code true} for {@code true}, or for the string {@code "true"}.
+     */
+    boolean getValueAsBoolean();
+
+    /**
+     * Gets the text of the current tagged value, such as the digits of an {@code @int}.
+     *
+     * @return The text, or {@code null} if the current token is not a tagged string value.
+     */
+    String getTaggedValue();
+
+    /**
+     * Checks whether the current {@code @int} or {@code @long} has been decoded while it was read.
+     *
+     * @return {@code true} if {@link #getLongValue()} returns the value.
+     */
+    boolean hasLongValue();
+
+    /**
+     * Gets the current {@code @int} or {@code @long}, if {@link #hasLongValue()} is {@code true}.
+     *
+     * @return The value.
+     */
+    long getLongValue();
+
+    /**
+     * Gets the decoded bytes of the current {@code @bytes} value.
+     *
+     * @return The bytes, or {@code null} if the current token is not {@link FaunaTokenType#BYTES}.
+     */
+    byte[] getBytesValue();
+
+    /**
+     * Captures the current value, including any nested values, as tagged JSON. For containers, the source is left
+     * on the matching end token.
+     *
+     * @return The tagged JSON of the current value.
+     * @throws CodecException If the current token does not start a value or the input cannot be read.
+     */
+    String readRawJson() throws CodecException;
+}
@@ -1,5 +1,7 @@
 package com.fauna.codec;
 
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fauna.exception.CodecException;
@@ -7,11 +9,11 @@ import com.fauna.types.Module;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -20,8 +22,14 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public final class UTF8FaunaGenerator implements AutoCloseable {
 
+    // Standard Base64 with padding and no line breaks, as written by java.util.Base64.getEncoder().
+    private static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS;
+    private static final String BYTES_TAG = "@bytes";
+    private static final int BYTE_MASK = 0xFF;
+
     private final JsonGenerator jsonGenerator;
-    private final ByteArrayOutputStream output;
+    private final OutputStream output;
+    private final char[] scratch = new char[Iso8601.MAX_INSTANT_LENGTH];
 
     /**
      * Initializes a new instance of the {@code UTF8FaunaGenerator} class.
@@ -29,8 +37,21 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
      * @throws IOException If an error occurs during creation of the JSON generator.
      */
     public UTF8FaunaGenerator() throws IOException {
+        this(new ByteArrayOutputStream());
+    }
+
+    /**
+     * Initializes a new instance of the {@code UTF8FaunaGenerator} class that writes directly to {@code output}.
+     * <p>
+     * Generators created this way do not buffer their output, so {@link #serialize()} is not supported. Closing the
+     * generator closes {@code output}.
+     *
+     * @param output The stream to write UTF-8 encoded JSON to.
+     * @throws IOException If an error occurs during creation of the JSON generator.
+     */
+    public UTF8FaunaGenerator(final OutputStream output) throws IOException {
         JsonFactory factory = new JsonFactory();
-        this.output = new ByteArrayOutputStream();
+        this.output = output;
         this.jsonGenerator = factory.createGenerator(this.output);
     }
 
@@ -48,6 +69,21 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
         }
     }
 
+    /**
+     * Creates a new {@code UTF8FaunaGenerator} instance that writes directly to {@code output}.
+     *
+     * @param output The stream to write UTF-8 encoded JSON to.
+     * @return A new instance of the {@code UTF8FaunaGenerator}.
+     * @throws CodecException If an I/O error occurs.
+     */
+    public static UTF8FaunaGenerator create(final OutputStream output) throws CodecException {
+        try {
+            return new UTF8FaunaGenerator(output);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+    }
+
     /**
      * Flushes the written data to the underlying buffer or stream.
      *
@@ -66,10 +102,14 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
      *
      * @return A string representation of the serialized output.
      * @throws CodecException If an I/O error occurs.
+     * @throws IllegalStateException If the generator writes directly to a stream.
      */
     public String serialize() throws CodecException {
+        if (!(this.output instanceof ByteArrayOutputStream)) {
+            throw new IllegalStateException("Cannot serialize a generator that writes directly to a stream.");
+        }
         this.flush();
-        return this.output.toString(UTF_8);
+        return ((ByteArrayOutputStream) this.output).toString(UTF_8);
     }
 
     /**
@@ -307,6 +347,19 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
         writeEndObject();
     }
 
+    // Writes the first length characters of the scratch buffer as a tagged value.
+    private void writeTaggedChars(final String tag, final int length)
+            throws CodecException {
+        writeStartObject();
+        try {
+            jsonGenerator.writeFieldName(tag);
+            jsonGenerator.writeString(scratch, 0, length);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+        writeEndObject();
+    }
+
     /**
      * Writes a double value as a tagged element.
      *
@@ -368,8 +421,7 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
      * @throws CodecException If an I/O error occurs.
      */
     public void writeDateValue(final LocalDate value) throws CodecException {
-        String str = value.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        writeTaggedValue("@date", str);
+        writeTaggedChars("@date", Iso8601.formatLocalDate(value, scratch));
     }
 
     /**
@@ -379,9 +431,12 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
      * @throws CodecException If an I/O error occurs.
      */
     public void writeTimeValue(final Instant value) throws CodecException {
-        Instant instant = value.atZone(ZoneOffset.UTC).toInstant();
-        String formattedTime = instant.toString();
-        writeTaggedValue("@time", formattedTime);
+        int length = Iso8601.formatInstant(value, scratch);
+        if (length < 0) {
+            writeTaggedValue("@time", value.toString());
+        } else {
+            writeTaggedChars("@time", length);
+        }
     }
 
     /**
@@ -438,7 +493,106 @@ public final class UTF8FaunaGenerator implements AutoCloseable {
      * @throws CodecException If an I/O error occurs.
      */
     public void writeBytesValue(final byte[] value) throws CodecException {
-        writeTaggedValue("@bytes", Base64.getEncoder().encodeToString(value));
+        writeBytesValue(value, 0, value.length);
+    }
+
+    /**
+     * Writes a range of a byte array encoded as a base64 string as a tagged element. The bytes are encoded directly
+     * into the output without an intermediate string.
+     *
+     * @param value  The byte array to write from.
+     * @param offset The offset of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws CodecException If an I/O error occurs.
+     */
+    public void writeBytesValue(final byte[] value, final int offset, final int length) throws CodecException {
+        writeStartObject();
+        try {
+            jsonGenerator.writeFieldName(BYTES_TAG);
+            jsonGenerator.writeBinary(BASE64, value, offset, length);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+        writeEndObject();
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer encoded as a base64 string as a tagged element. The buffer's position is
+     * not changed.
+     *
+     * @param value The buffer to write.
+     * @throws CodecException If an I/O error occurs.
+     */
+    public void writeBytesValue(final ByteBuffer value) throws CodecException {
+        if (value.hasArray()) {
+            writeBytesValue(value.array(), value.arrayOffset() + value.position(), value.remaining());
+        } else {
+            writeBytesValue(new ByteBufferInputStream(value.duplicate()), value.remaining());
+        }
+    }
+
+    /**
+     * Writes the contents of a stream encoded as a base64 string as a tagged element. The stream is read to its end
+     * and encoded in chunks, so its contents are never held in memory at once. The stream is not closed.
+     *
+     * @param value The stream to write.
+     * @throws CodecException If an I/O error occurs while reading the stream or writing.
+     */
+    public void writeBytesValue(final InputStream value) throws CodecException {
+        writeBytesValue(value, -1);
+    }
+
+    private void writeBytesValue(final InputStream value, final int length) throws CodecException {
+        writeStartObject();
+        try {
+            jsonGenerator.writeFieldName(BYTES_TAG);
+            jsonGenerator.writeBinary(BASE64, value, length);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+        writeEndObject();
+    }
+
+    /**
+     * Writes a JSON value verbatim. The value must be a single, complete JSON value in Fauna's tagged format; it is
+     * not validated.
+     *
+     * @param json The JSON value to write.
+     * @throws CodecException If an I/O error occurs.
+     */
+    public void writeRawValue(final String json) throws CodecException {
+        try {
+            jsonGenerator.writeRawValue(json);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+    }
+
+    // Reads a buffer that has no accessible array, such as a direct buffer, for streaming encoding.
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & BYTE_MASK : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
     }
 
     /**
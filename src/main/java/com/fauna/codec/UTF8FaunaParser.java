@@ -2,7 +2,6 @@ package com.fauna.codec;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
 import com.fauna.exception.CodecException;
 import com.fauna.types.Module;
 
@@ -15,48 +14,25 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
-import java.util.Stack;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Represents a reader that provides fast, non-cached, forward-only access to serialized data.
+ * <p>
+ * Parsers created from a {@link JsonParser}, an {@link InputStream} or a string read through Jackson. Parsers
+ * created by {@link #fromBytes(byte[])} scan the bytes directly instead.
  */
 public final class UTF8FaunaParser {
 
-    private static final String INT_TAG = "@int";
-    private static final String LONG_TAG = "@long";
-    private static final String DOUBLE_TAG = "@double";
-    private static final String TIME_TAG = "@time";
-    private static final String DATE_TAG = "@date";
-    private static final String REF_TAG = "@ref";
-    private static final String DOC_TAG = "@doc";
-    private static final String MOD_TAG = "@mod";
-    private static final String SET_TAG = "@set";
-    private static final String STREAM_TAG = "@stream";
-    private static final String OBJECT_TAG = "@object";
-    private static final String BYTES_TAG = "@bytes";
-
-    private final JsonParser jsonParser;
-    private final Stack<Object> tokenStack = new Stack<>();
-    private final Set<FaunaTokenType> closers = new HashSet<>(Arrays.asList(
-            FaunaTokenType.END_OBJECT,
-            FaunaTokenType.END_PAGE,
-            FaunaTokenType.END_DOCUMENT,
-            FaunaTokenType.END_REF,
-            FaunaTokenType.END_ARRAY
-    ));
-
-    private FaunaTokenType currentFaunaTokenType = FaunaTokenType.NONE;
-    private FaunaTokenType bufferedFaunaTokenType;
-    private Object bufferedTokenValue;
-    private String taggedTokenValue;
-
-    private enum InternalTokenType {
-        START_ESCAPED_OBJECT,
-        START_PAGE_UNMATERIALIZED
-    }
+    private static final int MAX_DEDUPLICATED_STRINGS = 4096;
+
+    // Shared so the canonicalizing field name table carries over between responses.
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final TokenSource source;
+    private Map<String, String> stringTable;
+    private int maxDeduplicatedLength;
 
     /**
      * Constructs a {@code UTF8FaunaParser} instance with the given JSON parser.
@@ -64,7 +40,28 @@ public final class UTF8FaunaParser {
      * @param jsonParser The {@link JsonParser} used to read the JSON data.
      */
     public UTF8FaunaParser(final JsonParser jsonParser) {
-        this.jsonParser = jsonParser;
+        this(new JacksonTokenSource(jsonParser));
+    }
+
+    private UTF8FaunaParser(final TokenSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Enables deduplication of short string values read by this parser.
+     * <p>
+     * Field names are already canonicalized by the underlying JSON parser, but string values are allocated each time
+     * they are read. When enabled, equal string values of at most {@code maxLength} characters are returned as the
+     * same instance for the lifetime of this parser, which reduces the retained size of decoded results holding
+     * repeated values such as statuses or categories.
+     *
+     * @param maxLength The maximum length of string values to deduplicate.
+     * @return This parser.
+     */
+    public UTF8FaunaParser deduplicateStrings(final int maxLength) {
+        this.stringTable = new HashMap<>();
+        this.maxDeduplicatedLength = maxLength;
+        return this;
     }
 
     /**
@@ -76,9 +73,8 @@ public final class UTF8FaunaParser {
      */
     public static UTF8FaunaParser fromInputStream(final InputStream body)
             throws CodecException {
-        JsonFactory factory = new JsonFactory();
         try {
-            JsonParser jsonParser = factory.createParser(body);
+            JsonParser jsonParser = JSON_FACTORY.createParser(body);
             UTF8FaunaParser faunaParser = new UTF8FaunaParser(jsonParser);
             if (faunaParser.getCurrentTokenType() == FaunaTokenType.NONE) {
                 faunaParser.read();
@@ -100,13 +96,46 @@ public final class UTF8FaunaParser {
                 new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8)));
     }
 
+    /**
+     * Creates a {@code UTF8FaunaParser} that scans UTF-8 encoded JSON in a byte array directly, without Jackson.
+     * <p>
+     * Tags are recognized from their bytes, {@code @int} and {@code @long} values are decoded as they are scanned,
+     * and strings are only decoded when they are read, so skipped values cost no allocations. The array is not
+     * copied, so it must not change while the parser is in use.
+     *
+     * @param bytes The UTF-8 encoded JSON.
+     * @return A {@code UTF8FaunaParser} instance, on the first token.
+     * @throws CodecException If the first token is not valid tagged JSON.
+     */
+    public static UTF8FaunaParser fromBytes(final byte[] bytes) throws CodecException {
+        return fromBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Creates a {@code UTF8FaunaParser} that scans UTF-8 encoded JSON in a range of a byte array directly, without
+     * Jackson.
+     *
+     * @param bytes  The array holding the UTF-8 encoded JSON.
+     * @param offset The offset of the JSON in the array.
+     * @param length The length of the JSON in bytes.
+     * @return A {@code UTF8FaunaParser} instance, on the first token.
+     * @throws CodecException If the first token is not valid tagged JSON.
+     * @see #fromBytes(byte[])
+     */
+    public static UTF8FaunaParser fromBytes(final byte[] bytes, final int offset, final int length)
+            throws CodecException {
+        UTF8FaunaParser faunaParser = new UTF8FaunaParser(new ByteTokenSource(bytes, offset, length));
+        faunaParser.read();
+        return faunaParser;
+    }
+
     /**
      * Retrieves the current Fauna token type.
      *
      * @return The {@link FaunaTokenType} currently being processed.
      */
     public FaunaTokenType getCurrentTokenType() {
-        return currentFaunaTokenType;
+        return source.getCurrentTokenType();
     }
 
     /**
@@ -119,17 +148,8 @@ public final class UTF8FaunaParser {
             case START_PAGE:
             case START_REF:
             case START_DOCUMENT:
-                skipInternal();
-                break;
-        }
-    }
-
-    private void skipInternal() {
-        int startCount = tokenStack.size();
-        while (read()) {
-            if (tokenStack.size() < startCount) {
+                source.skip();
                 break;
-            }
         }
     }
 
@@ -140,218 +160,51 @@ public final class UTF8FaunaParser {
      * @throws CodecException if there is an error reading the token.
      */
     public boolean read() throws CodecException {
-        taggedTokenValue = null;
-
-        if (bufferedFaunaTokenType != null) {
-            currentFaunaTokenType = bufferedFaunaTokenType;
-            bufferedFaunaTokenType = null;
-            if (closers.contains(currentFaunaTokenType)) {
-                tokenStack.pop();
-            }
-            return true;
-        }
-
-        bufferedTokenValue = null;
-
-        if (!advance()) {
-            return false;
-        }
-
-        JsonToken currentToken = jsonParser.currentToken();
-        if (currentToken != null) {
-            switch (currentToken) {
-                case VALUE_STRING:
-                    currentFaunaTokenType = FaunaTokenType.STRING;
-                    break;
-                case START_OBJECT:
-                    handleStartObject();
-                    break;
-                case START_ARRAY:
-                    tokenStack.push(FaunaTokenType.START_ARRAY);
-                    currentFaunaTokenType = FaunaTokenType.START_ARRAY;
-                    break;
-                case END_OBJECT:
-                    handleEndObject();
-                    break;
-                case END_ARRAY:
-                    tokenStack.pop();
-                    currentFaunaTokenType = FaunaTokenType.END_ARRAY;
-                    break;
-                case VALUE_TRUE:
-                    currentFaunaTokenType = FaunaTokenType.TRUE;
-                    break;
-                case VALUE_FALSE:
-                    currentFaunaTokenType = FaunaTokenType.FALSE;
-                    break;
-                case FIELD_NAME:
-                    currentFaunaTokenType = FaunaTokenType.FIELD_NAME;
-                    break;
-                case VALUE_NULL:
-                    currentFaunaTokenType = FaunaTokenType.NULL;
-                    break;
-                default:
-                    throw new CodecException(
-                            "Unhandled JSON token type " + currentToken + ".");
-            }
-        } else {
-            return false;
-        }
-
-        return true;
+        return source.read();
     }
 
-    private void handleStartObject() throws CodecException {
-        advanceTrue();
-        switch (jsonParser.currentToken()) {
-            case FIELD_NAME:
-                switch (getText()) {
-                    case BYTES_TAG:
-                        handleTaggedString(FaunaTokenType.BYTES);
-                        break;
-                    case INT_TAG:
-                        handleTaggedString(FaunaTokenType.INT);
-                        break;
-                    case DATE_TAG:
-                        handleTaggedString(FaunaTokenType.DATE);
-                        break;
-                    case TIME_TAG:
-                        handleTaggedString(FaunaTokenType.TIME);
-                        break;
-                    case DOUBLE_TAG:
-                        handleTaggedString(FaunaTokenType.DOUBLE);
-                        break;
-                    case LONG_TAG:
-                        handleTaggedString(FaunaTokenType.LONG);
-                        break;
-                    case MOD_TAG:
-                        handleTaggedString(FaunaTokenType.MODULE);
-                        break;
-                    case STREAM_TAG:
-                        handleTaggedString(FaunaTokenType.STREAM);
-                        break;
-                    case OBJECT_TAG:
-                        advanceTrue();
-                        currentFaunaTokenType = FaunaTokenType.START_OBJECT;
-                        tokenStack.push(InternalTokenType.START_ESCAPED_OBJECT);
-                        break;
-                    case DOC_TAG:
-                        advanceTrue();
-                        currentFaunaTokenType = FaunaTokenType.START_DOCUMENT;
-                        tokenStack.push(FaunaTokenType.START_DOCUMENT);
-                        break;
-                    case SET_TAG:
-                        advanceTrue();
-                        currentFaunaTokenType = FaunaTokenType.START_PAGE;
-                        if (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
-                            bufferedFaunaTokenType = FaunaTokenType.STRING;
-
-                            try {
-                                bufferedTokenValue = jsonParser.getValueAsString();
-                            } catch (IOException e) {
-                                throw new CodecException(e.getMessage(), e);
-                            }
-
-                            tokenStack.push(
-                                    InternalTokenType.START_PAGE_UNMATERIALIZED);
-                        } else {
-                            tokenStack.push(FaunaTokenType.START_PAGE);
-                        }
-                        break;
-                    case REF_TAG:
-                        advanceTrue();
-                        currentFaunaTokenType = FaunaTokenType.START_REF;
-                        tokenStack.push(FaunaTokenType.START_REF);
-                        break;
-                    default:
-                        bufferedFaunaTokenType = FaunaTokenType.FIELD_NAME;
-                        tokenStack.push(FaunaTokenType.START_OBJECT);
-                        currentFaunaTokenType = FaunaTokenType.START_OBJECT;
-                        break;
-                }
-                break;
-            case END_OBJECT:
-                bufferedFaunaTokenType = FaunaTokenType.END_OBJECT;
-                tokenStack.push(FaunaTokenType.START_OBJECT);
-                currentFaunaTokenType = FaunaTokenType.START_OBJECT;
-                break;
-            default:
-                throw new CodecException(
-                        "Unexpected token following StartObject: " + jsonParser.currentToken());
+    private String deduplicate(final String value) {
+        if (value == null || value.length() > maxDeduplicatedLength) {
+            return value;
         }
-    }
-
-    private void handleEndObject() {
-        Object startToken = tokenStack.pop();
-        if (startToken.equals(FaunaTokenType.START_DOCUMENT)) {
-            currentFaunaTokenType = FaunaTokenType.END_DOCUMENT;
-            advanceTrue();
-        } else if (startToken.equals(InternalTokenType.START_PAGE_UNMATERIALIZED)) {
-            currentFaunaTokenType = FaunaTokenType.END_PAGE;
-        } else if (startToken.equals(FaunaTokenType.START_PAGE)) {
-            currentFaunaTokenType = FaunaTokenType.END_PAGE;
-            advanceTrue();
-        } else if (startToken.equals(FaunaTokenType.START_REF)) {
-            currentFaunaTokenType = FaunaTokenType.END_REF;
-            advanceTrue();
-        } else if (startToken.equals(InternalTokenType.START_ESCAPED_OBJECT)) {
-            currentFaunaTokenType = FaunaTokenType.END_OBJECT;
-            advanceTrue();
-        } else if (startToken.equals(FaunaTokenType.START_OBJECT)) {
-            currentFaunaTokenType = FaunaTokenType.END_OBJECT;
-        } else {
-            throw new CodecException("Unexpected token " + startToken + ". This might be a bug.");
-        }
-    }
-
-    private void handleTaggedString(final FaunaTokenType token) throws CodecException {
-        try {
-            advanceTrue();
-            currentFaunaTokenType = token;
-            taggedTokenValue = jsonParser.getText();
-            advance();
-        } catch (IOException exc) {
-            throw CodecException.decodingIOException(exc);
+        String existing = stringTable.get(value);
+        if (existing != null) {
+            return existing;
         }
-    }
-
-    private String getText() throws CodecException {
-        try {
-            return jsonParser.getText();
-        } catch (IOException exc) {
-            throw CodecException.decodingIOException(exc);
-        }
-    }
-
-    private void advanceTrue() {
-        if (!advance()) {
-            throw new CodecException(
-                    "Unexpected end of underlying JSON reader.");
-        }
-    }
-
-    private boolean advance() {
-        try {
-            return Objects.nonNull(jsonParser.nextToken());
-        } catch (IOException e) {
-            throw new CodecException(
-                    "Failed to advance underlying JSON reader.", e);
+        if (stringTable.size() < MAX_DEDUPLICATED_STRINGS) {
+            stringTable.put(value, value);
         }
+        return value;
     }
 
     private void validateTaggedType(final FaunaTokenType type) {
-        if (currentFaunaTokenType != type || taggedTokenValue == null) {
+        FaunaTokenType current = getCurrentTokenType();
+        if (current != type || !source.hasLongValue() && source.getTaggedValue() == null) {
             throw new IllegalStateException(
-                    "CurrentTokenType is a " + currentFaunaTokenType.toString() + ", not a " + type.toString() + ".");
+                    "CurrentTokenType is a " + current.toString() + ", not a " + type.toString() + ".");
         }
     }
 
     private void validateTaggedTypes(final FaunaTokenType... types) {
-        if (!Arrays.asList(types).contains(currentFaunaTokenType)) {
+        FaunaTokenType current = getCurrentTokenType();
+        if (!Arrays.asList(types).contains(current)) {
             throw new IllegalStateException(
-                    "CurrentTokenType is a " + currentFaunaTokenType.toString() + ", not in " + Arrays.toString(types) + ".");
+                    "CurrentTokenType is a " + current.toString() + ", not in " + Arrays.toString(types) + ".");
         }
     }
 
+    // The current @int or @long as an int, decoded by the token source when it could be, or otherwise parsed from
+    // its text so that out of range values fail as they do with Integer.parseInt.
+    private int intValue() {
+        if (source.hasLongValue()) {
+            long value = source.getLongValue();
+            if ((int) value == value) {
+                return (int) value;
+            }
+        }
+        return Integer.parseInt(source.getTaggedValue());
+    }
+
     // Getters for various token types with appropriate validation
 
     /**
@@ -361,7 +214,7 @@ public final class UTF8FaunaParser {
      */
     public Character getValueAsCharacter() {
         validateTaggedType(FaunaTokenType.INT);
-        return (char) Integer.parseInt(taggedTokenValue);
+        return (char) intValue();
     }
 
     /**
@@ -370,15 +223,11 @@ public final class UTF8FaunaParser {
      * @return The current value as a {@link String}.
      */
     public String getValueAsString() {
-        try {
-            if (bufferedTokenValue != null) {
-                return bufferedTokenValue.toString();
-            }
-            return jsonParser.getValueAsString();
-        } catch (IOException e) {
-            throw new CodecException(
-                    "Error getting the current token as String", e);
+        String value = source.getValueAsString();
+        if (stringTable != null && getCurrentTokenType() == FaunaTokenType.STRING) {
+            return deduplicate(value);
         }
+        return value;
     }
 
     /**
@@ -387,7 +236,12 @@ public final class UTF8FaunaParser {
      * @return The tagged value as a {@link String}.
      */
     public String getTaggedValueAsString() {
-        return taggedTokenValue;
+        String value = source.getTaggedValue();
+        byte[] bytes = source.getBytesValue();
+        if (value == null && bytes != null) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        return value;
     }
 
     /**
@@ -397,7 +251,7 @@ public final class UTF8FaunaParser {
      */
     public byte[] getValueAsByteArray() {
         validateTaggedTypes(FaunaTokenType.BYTES);
-        return Base64.getDecoder().decode(taggedTokenValue.getBytes());
+        return source.getBytesValue();
     }
 
     /**
@@ -408,7 +262,10 @@ public final class UTF8FaunaParser {
     public Byte getValueAsByte() {
         validateTaggedType(FaunaTokenType.INT);
         try {
-            return Byte.parseByte(taggedTokenValue);
+            if (source.hasLongValue() && (byte) source.getLongValue() == source.getLongValue()) {
+                return (byte) source.getLongValue();
+            }
+            return Byte.parseByte(source.getTaggedValue());
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Byte", e);
         }
@@ -422,7 +279,10 @@ public final class UTF8FaunaParser {
     public Short getValueAsShort() {
         validateTaggedType(FaunaTokenType.INT);
         try {
-            return Short.parseShort(taggedTokenValue);
+            if (source.hasLongValue() && (short) source.getLongValue() == source.getLongValue()) {
+                return (short) source.getLongValue();
+            }
+            return Short.parseShort(source.getTaggedValue());
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Short", e);
         }
@@ -436,7 +296,7 @@ public final class UTF8FaunaParser {
     public Integer getValueAsInt() {
         validateTaggedTypes(FaunaTokenType.INT, FaunaTokenType.LONG);
         try {
-            return Integer.parseInt(taggedTokenValue);
+            return intValue();
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Integer", e);
         }
@@ -448,11 +308,7 @@ public final class UTF8FaunaParser {
      * @return The current value as a {@code Boolean}.
      */
     public Boolean getValueAsBoolean() {
-        try {
-            return jsonParser.getValueAsBoolean();
-        } catch (IOException e) {
-            throw new CodecException("Error getting the current token as Boolean", e);
-        }
+        return source.getValueAsBoolean();
     }
 
     /**
@@ -463,7 +319,7 @@ public final class UTF8FaunaParser {
     public LocalDate getValueAsLocalDate() {
         validateTaggedType(FaunaTokenType.DATE);
         try {
-            return LocalDate.parse(taggedTokenValue);
+            return Iso8601.parseLocalDate(source.getTaggedValue());
         } catch (DateTimeParseException e) {
             throw new CodecException("Error getting the current token as LocalDate", e);
         }
@@ -477,7 +333,7 @@ public final class UTF8FaunaParser {
     public Instant getValueAsTime() {
         validateTaggedType(FaunaTokenType.TIME);
         try {
-            return Instant.parse(taggedTokenValue);
+            return Iso8601.parseInstant(source.getTaggedValue());
         } catch (DateTimeParseException e) {
             throw new CodecException("Error getting the current token as LocalDateTime", e);
         }
@@ -492,7 +348,10 @@ public final class UTF8FaunaParser {
     public Float getValueAsFloat() {
         validateTaggedTypes(FaunaTokenType.INT, FaunaTokenType.LONG, FaunaTokenType.DOUBLE);
         try {
-            return Float.parseFloat(taggedTokenValue);
+            if (source.hasLongValue()) {
+                return (float) source.getLongValue();
+            }
+            return Float.parseFloat(source.getTaggedValue());
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Float", e);
         }
@@ -507,7 +366,10 @@ public final class UTF8FaunaParser {
     public Double getValueAsDouble() {
         validateTaggedTypes(FaunaTokenType.INT, FaunaTokenType.LONG, FaunaTokenType.DOUBLE);
         try {
-            return Double.parseDouble(taggedTokenValue);
+            if (source.hasLongValue()) {
+                return (double) source.getLongValue();
+            }
+            return Double.parseDouble(source.getTaggedValue());
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Double", e);
         }
@@ -522,7 +384,10 @@ public final class UTF8FaunaParser {
     public Long getValueAsLong() {
         validateTaggedTypes(FaunaTokenType.INT, FaunaTokenType.LONG);
         try {
-            return Long.parseLong(taggedTokenValue);
+            if (source.hasLongValue()) {
+                return source.getLongValue();
+            }
+            return Long.parseLong(source.getTaggedValue());
         } catch (NumberFormatException e) {
             throw new CodecException("Error getting the current token as Long", e);
         }
@@ -535,9 +400,24 @@ public final class UTF8FaunaParser {
      */
     public Module getValueAsModule() {
         try {
-            return new Module(taggedTokenValue);
+            return Module.of(source.getTaggedValue());
         } catch (Exception e) {
             throw new CodecException("Error getting the current token as Module", e);
         }
     }
+
+    /**
+     * Captures the current value, including any nested values, as tagged JSON without decoding it.
+     * <p>
+     * The underlying JSON tokens are copied as they were read, so strings, numbers and tagged values are not
+     * interpreted. The result is equivalent to the input, although whitespace and string escapes may differ. For
+     * objects, arrays, documents, refs and sets, the parser is left on the matching end token, as if the value had
+     * been read through.
+     *
+     * @return The tagged JSON of the current value.
+     * @throws CodecException If the current token does not start a value or the input cannot be read.
+     */
+    public String readRawJson() throws CodecException {
+        return source.readRawJson();
+    }
 }
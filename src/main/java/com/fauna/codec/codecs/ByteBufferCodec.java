@@ -0,0 +1,78 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for encoding and decoding FQL bytes as {@link ByteBuffer}s.
+ * <p>
+ * Decoded buffers wrap the decoded bytes without copying them. Encoding writes the buffer's remaining bytes directly
+ * to the output as Base64 and leaves its position unchanged.
+ */
+public final class ByteBufferCodec extends BaseCodec<ByteBuffer> {
+
+    public static final ByteBufferCodec SINGLETON = new ByteBufferCodec();
+
+    /**
+     * Decodes a byte buffer from the parser.
+     *
+     * @param parser the parser to read from
+     * @return a buffer wrapping the decoded bytes, or null if the token represents a null value
+     * @throws CodecException if decoding fails due to an unexpected type
+     */
+    @Override
+    public ByteBuffer decode(final UTF8FaunaParser parser) throws CodecException {
+        switch (parser.getCurrentTokenType()) {
+            case NULL:
+                return null;
+            case BYTES:
+                return ByteBuffer.wrap(parser.getValueAsByteArray());
+            default:
+                throw new CodecException(this.unsupportedTypeDecodingMessage(
+                        parser.getCurrentTokenType().getFaunaType(),
+                        getSupportedTypes()));
+        }
+    }
+
+    /**
+     * Encodes the remaining bytes of a buffer to the generator.
+     *
+     * @param gen the generator to write to
+     * @param obj the buffer to encode
+     * @throws CodecException if encoding fails
+     */
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final ByteBuffer obj)
+            throws CodecException {
+        if (obj == null) {
+            gen.writeNullValue();
+            return;
+        }
+
+        gen.writeBytesValue(obj);
+    }
+
+    /**
+     * Returns the class type this codec supports.
+     *
+     * @return byte buffer class
+     */
+    @Override
+    public Class<?> getCodecClass() {
+        return ByteBuffer.class;
+    }
+
+    /**
+     * Returns the Fauna types this codec supports.
+     *
+     * @return supported Fauna types
+     */
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return new FaunaType[] {FaunaType.Bytes, FaunaType.Null};
+    }
+}
@@ -18,19 +18,33 @@ import com.fauna.mapping.FieldInfo;
 import com.fauna.mapping.FieldName;
 import com.fauna.mapping.FieldType;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A codec for encoding and decoding Java classes, handling Fauna-specific annotations and types.
+ * <p>
+ * Classes with a public no-argument constructor are instantiated first and then have their fields set. Classes
+ * without one, such as records and classes with final fields, are decoded through their canonical constructor: the
+ * constructor whose parameter types match the declared instance fields in order (or the record components, for
+ * records). Field values are buffered in parameter order and the constructor is invoked once.
+ * <p>
+ * Classes instantiated through a no-argument constructor also support {@link #decodeInto}, which populates an
+ * existing instance so that high-volume consumers can recycle decoded objects.
  *
  * @param <T> The type of the class to encode/decode.
  */
@@ -41,6 +55,11 @@ public final class ClassCodec<T> extends BaseCodec<T> {
     private final List<FieldInfo> fields;
     private final Map<String, FieldInfo> fieldsByName;
     private final boolean shouldEscapeObject;
+    private final MethodHandle constructor;
+    private final Map<String, Integer> slotsByName;
+    private final Object[] slotDefaults;
+    private final Field[] resetFields;
+    private final Object[] resetValues;
 
     /**
      * Constructs a {@code ClassCodec} for a given type, initializing field mappings based on Fauna annotations.
@@ -92,10 +111,126 @@ public final class ClassCodec<T> extends BaseCodec<T> {
             byNameMap.put(info.getName(), info);
         }
 
+        List<Field> resettable = new ArrayList<>();
+        for (FieldInfo info : fieldsList) {
+            Field field = info.getField();
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                resettable.add(field);
+            }
+        }
+        this.resetFields = resettable.toArray(new Field[0]);
+        this.resetValues = new Object[resetFields.length];
+        for (int i = 0; i < resetFields.length; i++) {
+            resetValues[i] = defaultValue(resetFields[i].getType());
+        }
+
         this.shouldEscapeObject =
                 TAGS.stream().anyMatch(byNameMap.keySet()::contains);
         this.fields = List.copyOf(fieldsList);
         this.fieldsByName = Map.copyOf(byNameMap);
+
+        MethodHandle noArg = findNoArgConstructor(ty);
+        if (noArg != null) {
+            this.constructor = noArg;
+            this.slotsByName = null;
+            this.slotDefaults = null;
+        } else {
+            List<Field> canonicalFields = canonicalFields(ty);
+            Map<String, Integer> slots = new HashMap<>();
+            Object[] defaults = new Object[canonicalFields.size()];
+            for (int i = 0; i < canonicalFields.size(); i++) {
+                defaults[i] = defaultValue(canonicalFields.get(i).getType());
+            }
+            for (FieldInfo info : fieldsList) {
+                int slot = canonicalFields.indexOf(info.getField());
+                if (slot >= 0) {
+                    slots.put(info.getName(), slot);
+                }
+            }
+            this.constructor = canonicalFields.isEmpty()
+                    ? null : findCanonicalConstructor(ty, canonicalFields);
+            this.slotsByName = Map.copyOf(slots);
+            this.slotDefaults = defaults;
+        }
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static MethodHandle findNoArgConstructor(final Class<?> ty) {
+        try {
+            Constructor<?> ctor = ty.getConstructor();
+            return MethodHandles.lookup().unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, 0)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findCanonicalConstructor(final Class<?> ty,
+                                                         final List<Field> canonicalFields) {
+        Class<?>[] paramTypes = canonicalFields.stream()
+                .map(Field::getType).toArray(Class<?>[]::new);
+        for (Constructor<?> ctor : ty.getDeclaredConstructors()) {
+            if (!Arrays.equals(ctor.getParameterTypes(), paramTypes)) {
+                continue;
+            }
+            try {
+                ctor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(ctor)
+                        .asSpreader(Object[].class, paramTypes.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Returns the instance fields that make up the canonical constructor of the class, in parameter order, or an
+    // empty list when the class inherits instance fields and so cannot have one.
+    private static List<Field> canonicalFields(final Class<?> ty) {
+        for (Class<?> c = ty.getSuperclass(); c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return List.of();
+                }
+            }
+        }
+
+        List<Field> result = new ArrayList<>();
+        for (Field field : ty.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                result.add(field);
+            }
+        }
+
+        List<String> components = recordComponentNames(ty);
+        if (components != null) {
+            result.sort(Comparator.comparingInt(f -> components.indexOf(f.getName())));
+        }
+        return result;
+    }
+
+    // Returns the record component names of the class, or null if it is not a record. Records are looked up
+    // reflectively so that the driver keeps running on Java versions that predate them.
+    private static List<String> recordComponentNames(final Class<?> ty) {
+        try {
+            Method isRecord = Class.class.getMethod("isRecord");
+            if (!Boolean.TRUE.equals(isRecord.invoke(ty))) {
+                return null;
+            }
+            Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(ty);
+            List<String> names = new ArrayList<>(components.length);
+            for (Object component : components) {
+                names.add((String) component.getClass().getMethod("getName").invoke(component));
+            }
+            return names;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
     }
 
     private FieldType getFieldType(final Field field) {
@@ -128,17 +263,21 @@ public final class ClassCodec<T> extends BaseCodec<T> {
                 try {
                     FaunaTokenType endToken =
                             parser.getCurrentTokenType().getEndToken();
-                    Object instance = createInstance();
-                    setFields(instance, parser, endToken);
+                    Object instance;
+                    if (slotDefaults == null) {
+                        instance = newInstance(new Object[0]);
+                        setFields(instance, null, parser, endToken);
+                    } else {
+                        Object[] slots = slotDefaults.clone();
+                        setFields(null, slots, parser, endToken);
+                        instance = newInstance(slots);
+                    }
                     @SuppressWarnings("unchecked")
                     T typed = (T) instance;
                     return typed;
-                } catch (IllegalAccessException
-                         | ClassNotFoundException
-                         | InvocationTargetException
-                         | InstantiationException
-                         | NoSuchMethodException e) {
-                    throw new RuntimeException(e);
+                } catch (IllegalAccessException e) {
+                    throw new CodecException(
+                            "Error setting fields of " + type.getName(), e);
                 }
             default:
                 throw new CodecException(this.unsupportedTypeDecodingMessage(
@@ -147,6 +286,45 @@ public final class ClassCodec<T> extends BaseCodec<T> {
         }
     }
 
+    /**
+     * Decodes into {@code target} when this class is instantiated through a public no-argument constructor.
+     * <p>
+     * Every mapped field of the target is first reset to {@code null}, or zero for primitives, so fields missing from
+     * the payload do not keep values from a previous decode. Classes decoded through a canonical constructor, and
+     * null values, are decoded as by {@link #decode}.
+     *
+     * @param parser The parser to use for reading and decoding the data.
+     * @param target An instance to reuse, or {@code null} to decode into a new instance.
+     * @return {@code target} populated from the parser, or the result of {@link #decode}.
+     * @throws CodecException If an error occurs during decoding.
+     */
+    @Override
+    public T decodeInto(final UTF8FaunaParser parser, final T target) throws CodecException {
+        if (target == null || slotDefaults != null) {
+            return decode(parser);
+        }
+        switch (parser.getCurrentTokenType()) {
+            case START_REF:
+            case START_DOCUMENT:
+            case START_OBJECT:
+                try {
+                    FaunaTokenType endToken =
+                            parser.getCurrentTokenType().getEndToken();
+                    for (int i = 0; i < resetFields.length; i++) {
+                        resetFields[i].setAccessible(true);
+                        resetFields[i].set(target, resetValues[i]);
+                    }
+                    setFields(target, null, parser, endToken);
+                    return target;
+                } catch (IllegalAccessException e) {
+                    throw new CodecException(
+                            "Error setting fields of " + type.getName(), e);
+                }
+            default:
+                return decode(parser);
+        }
+    }
+
     @Override
     public void encode(final UTF8FaunaGenerator gen, final T obj) throws CodecException {
         if (shouldEscapeObject) {
@@ -205,17 +383,23 @@ public final class ClassCodec<T> extends BaseCodec<T> {
                 FaunaType.Object, FaunaType.Ref};
     }
 
-    private Object createInstance()
-            throws InvocationTargetException, InstantiationException,
-            IllegalAccessException, ClassNotFoundException,
-            NoSuchMethodException {
-        Class<?> clazz = Class.forName(type.getTypeName());
-        Constructor<?> constructor = clazz.getConstructor();
-        return constructor.newInstance();
+    private Object newInstance(final Object[] args) {
+        if (constructor == null) {
+            throw new CodecException(
+                    "No public no-argument or canonical constructor found for " + type.getName());
+        }
+        try {
+            return (Object) constructor.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new CodecException("Error instantiating " + type.getName(), t);
+        }
     }
 
-    private void setFields(final Object instance, final UTF8FaunaParser parser,
-                           final FaunaTokenType endToken)
+    // Values are set on the instance directly, or, when slots is not null, buffered in canonical constructor order.
+    private void setFields(final Object instance, final Object[] slots,
+                           final UTF8FaunaParser parser, final FaunaTokenType endToken)
             throws IllegalAccessException {
 
         InternalDocument.Builder builder = new InternalDocument.Builder();
@@ -234,11 +418,11 @@ public final class ClassCodec<T> extends BaseCodec<T> {
             }
 
             if (fieldName.equals(ID_FIELD)) {
-                trySetId(fieldName, instance, parser);
+                trySetId(fieldName, instance, slots, parser);
             } else if (fieldName.equals(NAME_FIELD)) {
-                trySetName(fieldName, instance, parser);
+                trySetName(fieldName, instance, slots, parser);
             } else {
-                trySetField(fieldName, instance, parser);
+                trySetField(fieldName, instance, slots, parser);
             }
         }
 
@@ -247,7 +431,7 @@ public final class ClassCodec<T> extends BaseCodec<T> {
     }
 
     private void trySetId(final String fieldName, final Object instance,
-                          final UTF8FaunaParser parser)
+                          final Object[] slots, final UTF8FaunaParser parser)
             throws IllegalAccessException {
         if (parser.getCurrentTokenType() != FaunaTokenType.STRING) {
             return;
@@ -257,18 +441,17 @@ public final class ClassCodec<T> extends BaseCodec<T> {
         if (field != null) {
 
             String id = parser.getValueAsString();
-            field.getField().setAccessible(true);
 
             if (field.getType() == Long.class) {
-                field.getField().set(instance, Long.parseLong(id));
+                setValue(field, instance, slots, Long.parseLong(id));
             } else if (field.getType() == String.class) {
-                field.getField().set(instance, id);
+                setValue(field, instance, slots, id);
             }
         }
     }
 
     private void trySetName(final String fieldName, final Object instance,
-                            final UTF8FaunaParser parser)
+                            final Object[] slots, final UTF8FaunaParser parser)
             throws IllegalAccessException {
         if (parser.getCurrentTokenType() != FaunaTokenType.STRING) {
             return;
@@ -277,22 +460,35 @@ public final class ClassCodec<T> extends BaseCodec<T> {
         FieldInfo field = fieldsByName.get(fieldName);
         if (field != null) {
             String name = parser.getValueAsString();
-            field.getField().setAccessible(true);
             if (field.getType() == String.class) {
-                field.getField().set(instance, name);
+                setValue(field, instance, slots, name);
             }
         }
     }
 
     private void trySetField(final String fieldName, final Object instance,
-                             final UTF8FaunaParser parser)
+                             final Object[] slots, final UTF8FaunaParser parser)
             throws IllegalAccessException {
         FieldInfo field = fieldsByName.get(fieldName);
         if (field == null) {
             parser.skip();
         } else {
+            setValue(field, instance, slots, field.getCodec().decode(parser));
+        }
+    }
+
+    private void setValue(final FieldInfo field, final Object instance,
+                          final Object[] slots, final Object value)
+            throws IllegalAccessException {
+        if (slots == null) {
             field.getField().setAccessible(true);
-            field.getField().set(instance, field.getCodec().decode(parser));
+            field.getField().set(instance, value);
+            return;
+        }
+
+        Integer slot = slotsByName.get(field.getName());
+        if (slot != null) {
+            slots[slot] = value != null ? value : slotDefaults[slot];
         }
     }
 }
@@ -0,0 +1,84 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.CodecProvider;
+
+/**
+ * A per-call-site cache of the codecs for the classes most recently seen at that call site.
+ * <p>
+ * Codecs that dispatch on the runtime class of a value, such as {@link DynamicCodec}, would otherwise look up the
+ * {@link CodecProvider} for every value they encode. Most call sites only ever see one or two classes, so the
+ * cache remembers up to {@link #MAX_ENTRIES} classes and compares them by identity. A call site that sees more
+ * classes than that is treated as megamorphic: the cached entries are kept, and any other class is looked up in the
+ * provider without being cached.
+ */
+final class CodecCache {
+
+    /** The maximum number of classes cached before a call site is treated as megamorphic. */
+    static final int MAX_ENTRIES = 4;
+
+    private final CodecProvider provider;
+
+    // Entries are immutable and replaced as a whole, so a racing reader always sees a consistent snapshot. A lost
+    // update only costs another provider lookup.
+    private Entries entries = Entries.EMPTY;
+
+    /**
+     * Constructs a {@code CodecCache} backed by the specified provider.
+     *
+     * @param provider The codec provider used on a cache miss.
+     */
+    CodecCache(final CodecProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Gets the codec for the specified class.
+     *
+     * @param clazz The runtime class of the value to encode.
+     * @return The codec for the class.
+     */
+    @SuppressWarnings("rawtypes")
+    Codec get(final Class<?> clazz) {
+        Entries current = entries;
+        Class<?>[] classes = current.classes;
+        for (int i = 0; i < classes.length; i++) {
+            if (classes[i] == clazz) {
+                return current.codecs[i];
+            }
+        }
+
+        Codec codec = provider.get(clazz);
+        if (classes.length < MAX_ENTRIES) {
+            entries = current.with(clazz, codec);
+        }
+        return codec;
+    }
+
+    private static final class Entries {
+        private static final Entries EMPTY =
+                new Entries(new Class<?>[0], new Codec<?>[0]);
+
+        private final Class<?>[] classes;
+        @SuppressWarnings("rawtypes")
+        private final Codec[] codecs;
+
+        @SuppressWarnings("rawtypes")
+        private Entries(final Class<?>[] classes, final Codec[] codecs) {
+            this.classes = classes;
+            this.codecs = codecs;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Entries with(final Class<?> clazz, final Codec codec) {
+            int n = classes.length;
+            Class<?>[] newClasses = new Class<?>[n + 1];
+            Codec[] newCodecs = new Codec[n + 1];
+            System.arraycopy(classes, 0, newClasses, 0, n);
+            System.arraycopy(codecs, 0, newCodecs, 0, n);
+            newClasses[n] = clazz;
+            newCodecs[n] = codec;
+            return new Entries(newClasses, newCodecs);
+        }
+    }
+}
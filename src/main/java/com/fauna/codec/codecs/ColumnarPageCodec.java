@@ -0,0 +1,211 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.FaunaTokenType;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+import com.fauna.types.ColumnarPage;
+import com.fauna.types.ColumnarPage.ColumnType;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codec for decoding Fauna's paginated results into a {@link ColumnarPage}.
+ * <p>
+ * Unlike {@link PageCodec}, elements are not decoded into individual objects. Each field declared in the
+ * {@link ColumnarPage.Schema} is written straight into its column as the parser reaches it, and all other fields are
+ * skipped.
+ */
+public final class ColumnarPageCodec extends BaseCodec<ColumnarPage> {
+
+    private final ColumnarPage.Schema schema;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final Map<String, Integer> indexByName = new HashMap<>();
+
+    /**
+     * Constructs a {@code ColumnarPageCodec} for the specified schema.
+     *
+     * @param schema The fields to decode and their column types.
+     */
+    public ColumnarPageCodec(final ColumnarPage.Schema schema) {
+        this.schema = schema;
+        int size = schema.getColumns().size();
+        this.names = new String[size];
+        this.types = new ColumnType[size];
+        int i = 0;
+        for (Map.Entry<String, ColumnType> entry : schema.getColumns().entrySet()) {
+            names[i] = entry.getKey();
+            types[i] = entry.getValue();
+            indexByName.put(entry.getKey(), i);
+            i++;
+        }
+    }
+
+    @Override
+    public ColumnarPage decode(final UTF8FaunaParser parser) throws CodecException {
+        switch (parser.getCurrentTokenType()) {
+            case NULL:
+                return null;
+            case START_PAGE:
+                return decodePage(parser, FaunaTokenType.END_PAGE);
+            case START_OBJECT:
+                // Handles a special case where calls with Set.paginate do not
+                // return an object with a @set tag.
+                return decodePage(parser, FaunaTokenType.END_OBJECT);
+            case START_ARRAY:
+                ColumnarPage.Loader loader = ColumnarPage.loader(schema);
+                return loader.build(decodeData(parser, loader), null);
+            default:
+                throw new CodecException(this.unsupportedTypeDecodingMessage(
+                        parser.getCurrentTokenType().getFaunaType(),
+                        getSupportedTypes()));
+        }
+    }
+
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final ColumnarPage obj) throws CodecException {
+        if (obj == null) {
+            gen.writeNullValue();
+        } else {
+            throw new CodecException(
+                    this.unsupportedTypeMessage(obj.getClass()));
+        }
+    }
+
+    @Override
+    public Class<?> getCodecClass() {
+        return ColumnarPage.class;
+    }
+
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return new FaunaType[] {FaunaType.Array, FaunaType.Null, FaunaType.Object, FaunaType.Set};
+    }
+
+    private ColumnarPage decodePage(final UTF8FaunaParser parser, final FaunaTokenType endToken)
+            throws CodecException {
+        ColumnarPage.Loader loader = ColumnarPage.loader(schema);
+        parser.read();
+        if (parser.getCurrentTokenType() == FaunaTokenType.STRING) {
+            String after = parser.getValueAsString();
+            parser.read();
+            if (parser.getCurrentTokenType() != endToken) {
+                throw new CodecException(unexpectedTokenExceptionMessage(parser.getCurrentTokenType()));
+            }
+            return loader.build(0, after);
+        }
+
+        int rowCount = 0;
+        String after = null;
+        do {
+            String fieldName = parser.getValueAsString();
+            parser.read();
+
+            switch (fieldName) {
+                case "data":
+                    rowCount = decodeData(parser, loader);
+                    break;
+                case "after":
+                    after = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skip();
+                    break;
+            }
+        } while (parser.read() && parser.getCurrentTokenType() != endToken);
+
+        return loader.build(rowCount, after);
+    }
+
+    private int decodeData(final UTF8FaunaParser parser, final ColumnarPage.Loader loader)
+            throws CodecException {
+        if (parser.getCurrentTokenType() != FaunaTokenType.START_ARRAY) {
+            throw new CodecException(unexpectedTokenExceptionMessage(parser.getCurrentTokenType()));
+        }
+
+        int row = 0;
+        while (parser.read() && parser.getCurrentTokenType() != FaunaTokenType.END_ARRAY) {
+            switch (parser.getCurrentTokenType()) {
+                case START_DOCUMENT:
+                    decodeRow(parser, loader, row, FaunaTokenType.END_DOCUMENT);
+                    break;
+                case START_OBJECT:
+                    decodeRow(parser, loader, row, FaunaTokenType.END_OBJECT);
+                    break;
+                case NULL:
+                    break;
+                default:
+                    throw new CodecException(unexpectedTokenExceptionMessage(parser.getCurrentTokenType()));
+            }
+            row++;
+        }
+        return row;
+    }
+
+    private void decodeRow(final UTF8FaunaParser parser, final ColumnarPage.Loader loader, final int row,
+                           final FaunaTokenType endToken) throws CodecException {
+        while (parser.read() && parser.getCurrentTokenType() != endToken) {
+            if (parser.getCurrentTokenType() != FaunaTokenType.FIELD_NAME) {
+                throw new CodecException(unexpectedTokenExceptionMessage(parser.getCurrentTokenType()));
+            }
+
+            Integer index = indexByName.get(parser.getValueAsString());
+            parser.read();
+            if (index == null) {
+                parser.skip();
+            } else if (parser.getCurrentTokenType() != FaunaTokenType.NULL) {
+                decodeValue(parser, loader, index, row);
+            }
+        }
+    }
+
+    private void decodeValue(final UTF8FaunaParser parser, final ColumnarPage.Loader loader, final int column,
+                             final int row) throws CodecException {
+        FaunaTokenType token = parser.getCurrentTokenType();
+        ColumnType type = types[column];
+        switch (type) {
+            case LONG:
+                if (token == FaunaTokenType.INT || token == FaunaTokenType.LONG) {
+                    loader.setLong(column, row, parser.getValueAsLong());
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (token == FaunaTokenType.INT || token == FaunaTokenType.LONG || token == FaunaTokenType.DOUBLE) {
+                    loader.setDouble(column, row, parser.getValueAsDouble());
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (token == FaunaTokenType.TRUE || token == FaunaTokenType.FALSE) {
+                    loader.setBoolean(column, row, parser.getValueAsBoolean());
+                    return;
+                }
+                break;
+            case STRING:
+                if (token == FaunaTokenType.STRING) {
+                    loader.setString(column, row, parser.getValueAsString());
+                    return;
+                }
+                if (token == FaunaTokenType.MODULE) {
+                    loader.setString(column, row, parser.getValueAsModule().getName());
+                    return;
+                }
+                break;
+            case TIME:
+                if (token == FaunaTokenType.TIME) {
+                    loader.setTime(column, row, parser.getValueAsTime());
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        throw new CodecException(MessageFormat.format(
+                "Unable to decode `{0}` into {1} column `{2}`.", token.getFaunaType(), type, names[column]));
+    }
+}
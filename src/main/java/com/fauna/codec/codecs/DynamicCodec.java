@@ -24,6 +24,7 @@ public final class DynamicCodec extends BaseCodec<Object> {
     private final PageCodec<Object, Page<Object>> page = new PageCodec<>(this);
     private final MapCodec<Object, Map<String, Object>> map = new MapCodec<>(this);
     private final CodecProvider provider;
+    private final CodecCache encodeCache;
 
     /**
      * Constructs a {@code DynamicCodec} with the specified {@code CodecProvider}.
@@ -32,6 +33,7 @@ public final class DynamicCodec extends BaseCodec<Object> {
      */
     public DynamicCodec(final CodecProvider provider) {
         this.provider = provider;
+        this.encodeCache = new CodecCache(provider);
     }
 
     @Override
@@ -85,7 +87,7 @@ public final class DynamicCodec extends BaseCodec<Object> {
             throws CodecException {
 
         @SuppressWarnings("rawtypes")
-        Codec codec = provider.get(obj.getClass());
+        Codec codec = encodeCache.get(obj.getClass());
         codec.encode(gen, obj);
     }
 
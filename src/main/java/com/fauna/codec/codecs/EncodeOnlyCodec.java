@@ -0,0 +1,53 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+
+/**
+ * Codec for subclasses of a type that can be encoded like the type itself but not decoded into, such as a direct
+ * {@link java.nio.ByteBuffer} or a {@link java.io.FileInputStream}.
+ *
+ * @param <T> The subclass to encode.
+ */
+public final class EncodeOnlyCodec<T> extends BaseCodec<T> {
+
+    private final Class<T> clazz;
+    private final Codec<? super T> codec;
+
+    /**
+     * Constructs a codec that encodes values of a subclass with the codec of its supertype.
+     *
+     * @param clazz The subclass to encode.
+     * @param codec The codec of the supertype.
+     */
+    public EncodeOnlyCodec(final Class<T> clazz, final Codec<? super T> codec) {
+        this.clazz = clazz;
+        this.codec = codec;
+    }
+
+    @Override
+    public T decode(final UTF8FaunaParser parser) throws CodecException {
+        throw new CodecException(String.format(
+                "Decoding into %s is not supported, decode into %s instead",
+                clazz.getName(), codec.getCodecClass().getName()));
+    }
+
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final T obj)
+            throws CodecException {
+        codec.encode(gen, obj);
+    }
+
+    @Override
+    public Class<?> getCodecClass() {
+        return clazz;
+    }
+
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return codec.getSupportedTypes();
+    }
+}
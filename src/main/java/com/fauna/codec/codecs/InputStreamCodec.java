@@ -0,0 +1,79 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Codec for encoding and decoding FQL bytes as {@link InputStream}s.
+ * <p>
+ * Decoded streams read the decoded bytes without copying them. Encoding reads the stream to its end and writes its
+ * contents to the output as Base64 in chunks, without buffering the whole stream. The stream is not closed.
+ */
+public final class InputStreamCodec extends BaseCodec<InputStream> {
+
+    public static final InputStreamCodec SINGLETON = new InputStreamCodec();
+
+    /**
+     * Decodes an input stream from the parser.
+     *
+     * @param parser the parser to read from
+     * @return a stream over the decoded bytes, or null if the token represents a null value
+     * @throws CodecException if decoding fails due to an unexpected type
+     */
+    @Override
+    public InputStream decode(final UTF8FaunaParser parser) throws CodecException {
+        switch (parser.getCurrentTokenType()) {
+            case NULL:
+                return null;
+            case BYTES:
+                return new ByteArrayInputStream(parser.getValueAsByteArray());
+            default:
+                throw new CodecException(this.unsupportedTypeDecodingMessage(
+                        parser.getCurrentTokenType().getFaunaType(),
+                        getSupportedTypes()));
+        }
+    }
+
+    /**
+     * Encodes the contents of an input stream to the generator.
+     *
+     * @param gen the generator to write to
+     * @param obj the stream to encode
+     * @throws CodecException if reading the stream or encoding fails
+     */
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final InputStream obj)
+            throws CodecException {
+        if (obj == null) {
+            gen.writeNullValue();
+            return;
+        }
+
+        gen.writeBytesValue(obj);
+    }
+
+    /**
+     * Returns the class type this codec supports.
+     *
+     * @return input stream class
+     */
+    @Override
+    public Class<?> getCodecClass() {
+        return InputStream.class;
+    }
+
+    /**
+     * Returns the Fauna types this codec supports.
+     *
+     * @return supported Fauna types
+     */
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return new FaunaType[] {FaunaType.Bytes, FaunaType.Null};
+    }
+}
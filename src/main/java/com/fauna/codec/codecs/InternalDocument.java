@@ -3,6 +3,7 @@ package com.fauna.codec.codecs;
 import com.fauna.codec.FaunaTokenType;
 import com.fauna.codec.UTF8FaunaParser;
 import com.fauna.exception.NullDocumentException;
+import com.fauna.types.CompactMap;
 import com.fauna.types.Document;
 import com.fauna.types.DocumentRef;
 import com.fauna.types.Module;
@@ -26,7 +27,7 @@ class InternalDocument {
         private Boolean exists = null;
         private String cause = null;
         private Instant ts = null;
-        private final Map<String, Object> data = new HashMap<>();
+        private final CompactMap.Builder data = new CompactMap.Builder();
 
         /**
          * Adds a data field to the document.
@@ -125,7 +126,7 @@ class InternalDocument {
                 if (name != null) {
                     data.put("name", name);
                 }
-                return new Document(id, coll, ts, data);
+                return new Document(id, coll, ts, data.build());
             }
 
             if (id != null && coll != null) {
@@ -133,38 +134,39 @@ class InternalDocument {
             }
 
             if (name != null && coll != null && ts != null) {
-                return new NamedDocument(name, coll, ts, data);
+                return new NamedDocument(name, coll, ts, data.build());
             }
 
             if (name != null && coll != null) {
                 return new NamedDocumentRef(name, coll);
             }
 
+            Map<String, Object> map = new HashMap<>(data.build());
             if (id != null) {
-                data.put("id", id);
+                map.put("id", id);
             }
 
             if (name != null) {
-                data.put("name", name);
+                map.put("name", name);
             }
 
             if (coll != null) {
-                data.put("coll", coll);
+                map.put("coll", coll);
             }
 
             if (ts != null) {
-                data.put("ts", ts);
+                map.put("ts", ts);
             }
 
             if (exists != null) {
-                data.put("exists", exists);
+                map.put("exists", exists);
             }
 
             if (cause != null) {
-                data.put("cause", cause);
+                map.put("cause", cause);
             }
 
-            return data;
+            return map;
         }
     }
 }
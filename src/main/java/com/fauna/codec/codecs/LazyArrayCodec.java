@@ -0,0 +1,127 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.CodecProvider;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+/**
+ * Codec for encoding lazily produced values, such as {@link Iterator}s, {@link java.util.stream.Stream}s and
+ * {@link Supplier}s, as FQL arrays.
+ * <p>
+ * Elements are pulled one at a time while encoding, so a generator that writes to a stream never holds the whole
+ * collection in memory. Iterators and streams can only be encoded once; streams are closed once consumed. A
+ * supplier is called each time it is encoded and may return an iterator, a stream, an {@link Iterable}, or any other
+ * value, which is encoded as is. Decoding is not supported.
+ */
+@SuppressWarnings("rawtypes")
+public final class LazyArrayCodec extends BaseCodec<Object> {
+
+    private final CodecCache codecCache;
+
+    /**
+     * Creates a new instance of the {@link LazyArrayCodec}.
+     *
+     * @param provider The codec provider to retrieve codecs for the elements.
+     */
+    public LazyArrayCodec(final CodecProvider provider) {
+        this.codecCache = new CodecCache(provider);
+    }
+
+    /**
+     * Determines whether values of a type are produced lazily and are encoded by this codec. These are the
+     * {@link Iterator}, {@link BaseStream} and {@link Supplier} interfaces, and their JDK, lambda and anonymous
+     * implementations. Other classes that implement them, such as a POJO that is also a {@link Supplier}, are
+     * encoded and decoded by their own codecs.
+     *
+     * @param clazz The type to check.
+     * @return {@code true} if the type is an iterator, a stream, or a supplier to encode lazily.
+     */
+    public static boolean isLazyType(final Class<?> clazz) {
+        if (!Iterator.class.isAssignableFrom(clazz) && !BaseStream.class.isAssignableFrom(clazz)
+                && !Supplier.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        return clazz.isInterface() || clazz.getClassLoader() == null || clazz.isSynthetic()
+                || clazz.isAnonymousClass();
+    }
+
+    /**
+     * Determines whether a value is produced lazily and would be encoded by this codec.
+     *
+     * @param value The value to check.
+     * @return {@code true} if the value is an iterator, a stream, or a supplier to encode lazily.
+     */
+    public static boolean isLazy(final Object value) {
+        return value != null && isLazyType(value.getClass());
+    }
+
+    /**
+     * Determines whether a value can only be encoded once.
+     *
+     * @param value The value to check.
+     * @return {@code true} if the value is an iterator or a stream.
+     */
+    public static boolean isOneShot(final Object value) {
+        return value instanceof Iterator || value instanceof BaseStream;
+    }
+
+    @Override
+    public Object decode(final UTF8FaunaParser parser) throws CodecException {
+        throw new CodecException("Decoding into an Iterator, Stream or Supplier is not supported");
+    }
+
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final Object obj) throws CodecException {
+        Object value = obj instanceof Supplier ? ((Supplier) obj).get() : obj;
+
+        if (value instanceof BaseStream) {
+            try (BaseStream stream = (BaseStream) value) {
+                encodeElements(gen, stream.iterator());
+            }
+        } else if (value instanceof Iterator) {
+            encodeElements(gen, (Iterator) value);
+        } else if (value instanceof Iterable) {
+            encodeElements(gen, ((Iterable) value).iterator());
+        } else {
+            encodeValue(gen, value);
+        }
+    }
+
+    private void encodeElements(final UTF8FaunaGenerator gen, final Iterator elements)
+            throws CodecException {
+        gen.writeStartArray();
+        while (elements.hasNext()) {
+            encodeValue(gen, elements.next());
+        }
+        gen.writeEndArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void encodeValue(final UTF8FaunaGenerator gen, final Object value)
+            throws CodecException {
+        if (value == null) {
+            gen.writeNullValue();
+            return;
+        }
+
+        Codec codec = codecCache.get(value.getClass());
+        codec.encode(gen, value);
+    }
+
+    @Override
+    public Class<?> getCodecClass() {
+        return Object.class;
+    }
+
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return new FaunaType[] {FaunaType.Array, FaunaType.Null};
+    }
+}
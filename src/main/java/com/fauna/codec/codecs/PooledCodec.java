@@ -0,0 +1,64 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+
+import java.util.function.Supplier;
+
+/**
+ * A codec that decodes into instances obtained from a supplier, such as an object pool, using
+ * {@link Codec#decodeInto}. Encoding is delegated unchanged.
+ *
+ * @param <T> The type of the value that the codec encodes and decodes.
+ */
+public final class PooledCodec<T> extends BaseCodec<T> {
+
+    private final Codec<T> codec;
+    private final Supplier<?> instances;
+
+    /**
+     * Constructs a {@code PooledCodec}.
+     *
+     * @param codec     The codec to delegate to.
+     * @param instances A supplier of instances to decode into. It may return {@code null} to decode into a new
+     *                  instance.
+     */
+    public PooledCodec(final Codec<T> codec, final Supplier<?> instances) {
+        this.codec = codec;
+        this.instances = instances;
+    }
+
+    @Override
+    public T decode(final UTF8FaunaParser parser) throws CodecException {
+        Object instance = instances.get();
+        if (instance != null && !codec.getCodecClass().isInstance(instance)) {
+            throw new CodecException(unexpectedTypeWhileDecoding(instance.getClass()));
+        }
+        @SuppressWarnings("unchecked")
+        T target = (T) instance;
+        return codec.decodeInto(parser, target);
+    }
+
+    @Override
+    public T decodeInto(final UTF8FaunaParser parser, final T target) throws CodecException {
+        return codec.decodeInto(parser, target);
+    }
+
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final T obj) throws CodecException {
+        codec.encode(gen, obj);
+    }
+
+    @Override
+    public Class<?> getCodecClass() {
+        return codec.getCodecClass();
+    }
+
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return codec.getSupportedTypes();
+    }
+}
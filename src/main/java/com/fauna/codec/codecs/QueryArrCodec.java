@@ -14,7 +14,7 @@ import com.fauna.query.builder.QueryArr;
 @SuppressWarnings("rawtypes")
 public final class QueryArrCodec extends BaseCodec<QueryArr> {
 
-    private final CodecProvider provider;
+    private final CodecCache codecCache;
 
     /**
      * Creates a new instance of the {@link QueryArrCodec}.
@@ -22,7 +22,7 @@ public final class QueryArrCodec extends BaseCodec<QueryArr> {
      * @param provider The codec provider used to retrieve codecs for object types.
      */
     public QueryArrCodec(final CodecProvider provider) {
-        this.provider = provider;
+        this.codecCache = new CodecCache(provider);
     }
 
     @Override
@@ -40,7 +40,7 @@ public final class QueryArrCodec extends BaseCodec<QueryArr> {
             gen.writeStartObject();
             gen.writeFieldName("array");
             Object unwrapped = obj.get();
-            Codec codec = provider.get(unwrapped.getClass());
+            Codec codec = codecCache.get(unwrapped.getClass());
             //noinspection unchecked
             codec.encode(gen, unwrapped);
             gen.writeEndObject();
@@ -14,7 +14,7 @@ import com.fauna.query.builder.QueryFragment;
  */
 public final class QueryCodec extends BaseCodec<Query> {
 
-    private final CodecProvider provider;
+    private final CodecCache codecCache;
 
     /**
      * Creates a new instance of the {@link QueryCodec}.
@@ -22,7 +22,7 @@ public final class QueryCodec extends BaseCodec<Query> {
      * @param provider The codec provider used to retrieve codecs for object types.
      */
     public QueryCodec(final CodecProvider provider) {
-        this.provider = provider;
+        this.codecCache = new CodecCache(provider);
     }
 
     @Override
@@ -39,7 +39,7 @@ public final class QueryCodec extends BaseCodec<Query> {
         gen.writeFieldName("fql");
         gen.writeStartArray();
         for (QueryFragment f : obj.get()) {
-            Codec codec = provider.get(f.getClass());
+            Codec codec = codecCache.get(f.getClass());
             //noinspection unchecked
             codec.encode(gen, f);
         }
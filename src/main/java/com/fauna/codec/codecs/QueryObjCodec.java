@@ -14,7 +14,7 @@ import com.fauna.query.builder.QueryObj;
 @SuppressWarnings("rawtypes")
 public final class QueryObjCodec extends BaseCodec<QueryObj> {
 
-    private final CodecProvider provider;
+    private final CodecCache codecCache;
 
     /**
      * Creates a new instance of the {@link QueryObjCodec}.
@@ -22,7 +22,7 @@ public final class QueryObjCodec extends BaseCodec<QueryObj> {
      * @param provider The codec provider to retrieve codecs for the underlying object types.
      */
     public QueryObjCodec(final CodecProvider provider) {
-        this.provider = provider;
+        this.codecCache = new CodecCache(provider);
     }
 
     @Override
@@ -40,7 +40,7 @@ public final class QueryObjCodec extends BaseCodec<QueryObj> {
             gen.writeStartObject();
             gen.writeFieldName("object");
             Object unwrapped = obj.get();
-            Codec codec = provider.get(unwrapped.getClass());
+            Codec codec = codecCache.get(unwrapped.getClass());
             //noinspection unchecked
             codec.encode(gen, unwrapped);
             gen.writeEndObject();
@@ -14,7 +14,7 @@ import com.fauna.query.builder.QueryVal;
 @SuppressWarnings("rawtypes")
 public final class QueryValCodec extends BaseCodec<QueryVal> {
 
-    private final CodecProvider provider;
+    private final CodecCache codecCache;
 
     /**
      * Creates a new instance of the {@link QueryValCodec}.
@@ -22,7 +22,7 @@ public final class QueryValCodec extends BaseCodec<QueryVal> {
      * @param provider The codec provider to retrieve codecs for the underlying object types.
      */
     public QueryValCodec(final CodecProvider provider) {
-        this.provider = provider;
+        this.codecCache = new CodecCache(provider);
     }
 
     @Override
@@ -40,7 +40,7 @@ public final class QueryValCodec extends BaseCodec<QueryVal> {
             gen.writeStartObject();
             gen.writeFieldName("value");
             Object unwrapped = obj.get();
-            Codec codec = provider.get(unwrapped.getClass());
+            Codec codec = codecCache.get(unwrapped.getClass());
             //noinspection unchecked
             codec.encode(gen, unwrapped);
             gen.writeEndObject();
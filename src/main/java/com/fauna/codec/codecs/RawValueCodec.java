@@ -0,0 +1,218 @@
+package com.fauna.codec.codecs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaGenerator;
+import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
+import com.fauna.types.RawValue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Codec for capturing and re-emitting undecoded tagged JSON as {@link RawValue}s.
+ */
+public final class RawValueCodec extends BaseCodec<RawValue> {
+
+    public static final RawValueCodec SINGLETON = new RawValueCodec();
+
+    private static final String DOC_TAG = "@doc";
+    private static final String SET_TAG = "@set";
+    private static final String REF_TAG = "@ref";
+    private static final String MOD_TAG = "@mod";
+    private static final String OBJECT_TAG = "@object";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Captures the current value from the parser without decoding it.
+     *
+     * @param parser the parser to read from
+     * @return the captured value, or null if the token represents a null value
+     * @throws CodecException if the current token does not start a value
+     */
+    @Override
+    public RawValue decode(final UTF8FaunaParser parser) throws CodecException {
+        switch (parser.getCurrentTokenType()) {
+            case NULL:
+                return null;
+            case NONE:
+            case FIELD_NAME:
+            case END_OBJECT:
+            case END_ARRAY:
+            case END_DOCUMENT:
+            case END_REF:
+            case END_PAGE:
+                throw new CodecException(unexpectedTokenExceptionMessage(
+                        parser.getCurrentTokenType()));
+            default:
+                return RawValue.of(parser.readRawJson());
+        }
+    }
+
+    /**
+     * Writes the tagged JSON of a raw value to the generator. Fauna does not accept documents and sets as input, so
+     * captured {@code @doc} values are written as {@code @ref}s to the same document, as for decoded documents.
+     *
+     * @param gen the generator to write to
+     * @param obj the raw value to write
+     * @throws CodecException if the value contains a {@code @set}, or encoding fails
+     */
+    @Override
+    public void encode(final UTF8FaunaGenerator gen, final RawValue obj)
+            throws CodecException {
+        if (obj == null) {
+            gen.writeNullValue();
+            return;
+        }
+
+        String json = obj.getJson();
+        if (json.contains("\"" + DOC_TAG + "\"") || json.contains("\"" + SET_TAG + "\"")) {
+            json = toInput(json);
+        }
+        gen.writeRawValue(json);
+    }
+
+    /**
+     * Rewrites tagged JSON captured from a response into JSON that Fauna accepts as input.
+     *
+     * @param json the captured JSON
+     * @return the JSON with documents replaced by refs
+     * @throws CodecException if the JSON contains a set or cannot be read
+     */
+    private static String toInput(final String json) throws CodecException {
+        StringWriter out = new StringWriter();
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            parser.nextToken();
+            copyValue(parser, gen);
+        } catch (IOException exc) {
+            throw CodecException.encodingIOException(exc);
+        }
+        return out.toString();
+    }
+
+    private static void copyValue(final JsonParser parser, final JsonGenerator gen) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                copyObject(parser, gen);
+                break;
+            case START_ARRAY:
+                gen.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    copyValue(parser, gen);
+                }
+                gen.writeEndArray();
+                break;
+            default:
+                gen.copyCurrentEvent(parser);
+                break;
+        }
+    }
+
+    private static void copyObject(final JsonParser parser, final JsonGenerator gen) throws IOException {
+        if (parser.nextToken() == JsonToken.FIELD_NAME) {
+            switch (parser.currentName()) {
+                case DOC_TAG:
+                    parser.nextToken();
+                    writeRef(parser, gen);
+                    parser.nextToken();
+                    return;
+                case SET_TAG:
+                    throw new CodecException("A RawValue holding a set cannot be used as a query argument.");
+                case OBJECT_TAG:
+                    // The keys of an escaped object are field names, not tags.
+                    gen.writeStartObject();
+                    gen.writeFieldName(OBJECT_TAG);
+                    parser.nextToken();
+                    gen.writeStartObject();
+                    parser.nextToken();
+                    copyFields(parser, gen);
+                    gen.writeEndObject();
+                    parser.nextToken();
+                    gen.writeEndObject();
+                    return;
+                default:
+                    break;
+            }
+        }
+        gen.writeStartObject();
+        copyFields(parser, gen);
+        gen.writeEndObject();
+    }
+
+    private static void copyFields(final JsonParser parser, final JsonGenerator gen) throws IOException {
+        while (parser.currentToken() == JsonToken.FIELD_NAME) {
+            gen.writeFieldName(parser.currentName());
+            parser.nextToken();
+            copyValue(parser, gen);
+            parser.nextToken();
+        }
+    }
+
+    private static void writeRef(final JsonParser parser, final JsonGenerator gen) throws IOException {
+        String id = null;
+        String name = null;
+        String coll = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                id = parser.getValueAsString();
+            } else if ("name".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                name = parser.getValueAsString();
+            } else if ("coll".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                parser.nextToken();
+                if (MOD_TAG.equals(parser.currentName())) {
+                    parser.nextToken();
+                    coll = parser.getValueAsString();
+                }
+                parser.nextToken();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (coll == null || (id == null && name == null)) {
+            throw new CodecException("A RawValue holding a document without an id or name and a collection cannot "
+                    + "be used as a query argument.");
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(REF_TAG);
+        gen.writeStartObject();
+        if (id != null) {
+            gen.writeStringField("id", id);
+        } else {
+            gen.writeStringField("name", name);
+        }
+        gen.writeFieldName("coll");
+        gen.writeStartObject();
+        gen.writeStringField(MOD_TAG, coll);
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    /**
+     * Returns the class type this codec supports.
+     *
+     * @return raw value class
+     */
+    @Override
+    public Class<?> getCodecClass() {
+        return RawValue.class;
+    }
+
+    /**
+     * Returns the Fauna types this codec supports.
+     *
+     * @return all Fauna types
+     */
+    @Override
+    public FaunaType[] getSupportedTypes() {
+        return FaunaType.values();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fauna.event;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * An {@link EventDataPool} backed by a bounded queue. Instances released while the queue is full are dropped.
+ *
+ * @param <E> The type of event data held by this pool.
+ */
+final class BoundedEventDataPool<E> implements EventDataPool<E> {
+
+    private final Supplier<? extends E> factory;
+    private final BlockingQueue<E> released;
+
+    BoundedEventDataPool(final Supplier<? extends E> factory, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        this.factory = Objects.requireNonNull(factory, "factory cannot be null.");
+        this.released = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public E acquire() {
+        E data = released.poll();
+        return data != null ? data : factory.get();
+    }
+
+    @Override
+    public void release(final E data) {
+        if (data != null) {
+            released.offer(data);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.fauna.event;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commits the cursor of one feed or stream to a {@link CursorStore} as its events are processed.
+ * <p>
+ * A cursor is acknowledged once the events up to it have been processed: a {@link FeedIterator} acknowledges a page
+ * when the next page is requested, and a {@link FaunaStream} acknowledges an event when the subscriber's
+ * {@code onNext} returns. Acknowledgements are batched, so the store only sees every {@code batchSize}-th cursor,
+ * or the latest cursor once {@code maxDelay} has passed since the first pending acknowledgement, even if no further
+ * events arrive. Pending acknowledgements are also committed when the stream terminates, or when {@link #commit()}
+ * or {@link #close()} is called. A delayed commit that fails is retried by the next acknowledgement. After a restart,
+ * the feed or stream resumes from the committed cursor, so at most one batch of events is processed again.
+ */
+public final class CursorCheckpoint implements AutoCloseable {
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(1);
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "fauna-cursor-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CursorStore store;
+    private final String key;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private String latest;
+    private int pending;
+    private long lastCommitNanos = System.nanoTime();
+    private ScheduledFuture<?> delayedCommit;
+
+    /**
+     * Constructs a {@code CursorCheckpoint} that commits every 100 acknowledgements, or after 1 second.
+     *
+     * @param store The cursor store.
+     * @param key   The key identifying the feed or stream in the store.
+     */
+    public CursorCheckpoint(final CursorStore store, final String key) {
+        this(store, key, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Constructs a {@code CursorCheckpoint}.
+     *
+     * @param store     The cursor store.
+     * @param key       The key identifying the feed or stream in the store.
+     * @param batchSize The number of acknowledgements batched into one commit. One commits every cursor.
+     * @param maxDelay  The longest an acknowledged cursor waits for its batch to fill before it is committed.
+     * @throws IllegalArgumentException If the store or key is null, the batch size is not positive, or the delay
+     *                                  is negative.
+     */
+    public CursorCheckpoint(final CursorStore store, final String key, final int batchSize,
+                            final Duration maxDelay) {
+        if (store == null || key == null) {
+            throw new IllegalArgumentException("store and key must not be null.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must not be negative.");
+        }
+        this.store = store;
+        this.key = key;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /**
+     * Gets the key identifying the feed or stream in the store.
+     *
+     * @return The key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Loads the cursor last committed to the store.
+     *
+     * @return The cursor, or empty if none was committed.
+     */
+    public Optional<String> getCommittedCursor() {
+        return store.load(key);
+    }
+
+    /**
+     * Acknowledges that the events up to a cursor have been processed, committing it if the batch is full or the
+     * maximum delay has passed, and otherwise scheduling it to be committed once the maximum delay has passed.
+     *
+     * @param cursor The cursor.
+     */
+    public synchronized void acknowledge(final String cursor) {
+        if (cursor == null) {
+            return;
+        }
+        latest = cursor;
+        pending++;
+        if (pending >= batchSize || System.nanoTime() - lastCommitNanos >= maxDelayNanos) {
+            commit();
+        } else if (delayedCommit == null) {
+            delayedCommit = TIMER.schedule(this::commit, maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Commits the latest acknowledged cursor, if it was not committed yet.
+     */
+    public synchronized void commit() {
+        if (delayedCommit != null) {
+            delayedCommit.cancel(false);
+            delayedCommit = null;
+        }
+        if (pending > 0) {
+            store.commit(key, latest);
+            pending = 0;
+            lastCommitNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Commits the latest acknowledged cursor. The store is not closed.
+     */
+    @Override
+    public void close() {
+        commit();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fauna.event;
+
+import java.util.Optional;
+
+/**
+ * Persists the cursors of event feeds and streams, so a consumer that restarts can resume where it left off instead
+ * of replaying events from a start timestamp.
+ * <p>
+ * Cursors are committed through a {@link CursorCheckpoint}, which batches the cursors of processed events. Set a
+ * checkpoint with {@link FeedOptions.Builder#checkpoint(CursorCheckpoint)} or
+ * {@link StreamOptions.Builder#checkpoint(CursorCheckpoint)}. {@link FileCursorStore} is a file-backed
+ * implementation. Implementations must be safe to use from multiple threads.
+ */
+public interface CursorStore extends AutoCloseable {
+
+    /**
+     * Loads the last cursor committed for a key.
+     *
+     * @param key The key identifying the feed or stream.
+     * @return The cursor, or empty if none was committed.
+     * @throws com.fauna.exception.ClientException If the store cannot be read.
+     */
+    Optional<String> load(String key);
+
+    /**
+     * Commits a cursor for a key, replacing the cursor committed before. The commit may only become durable once
+     * {@link #flush()} is called, depending on the implementation.
+     *
+     * @param key    The key identifying the feed or stream.
+     * @param cursor The cursor of the last processed event or page.
+     * @throws com.fauna.exception.ClientException If the cursor cannot be written.
+     */
+    void commit(String key, String cursor);
+
+    /**
+     * Makes every commit so far durable.
+     *
+     * @throws com.fauna.exception.ClientException If the commits cannot be written.
+     */
+    void flush();
+
+    /**
+     * Flushes and releases the store. Does nothing else by default.
+     *
+     * @throws com.fauna.exception.ClientException If the commits cannot be written.
+     */
+    @Override
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,45 @@
+package com.fauna.event;
+
+import java.util.function.Supplier;
+
+/**
+ * A source of reusable instances into which event data is decoded.
+ * <p>
+ * Set a pool with {@link FeedOptions.Builder#dataPool} or {@link StreamOptions.Builder#dataPool} to have feeds and
+ * streams decode each event's data into an instance taken from the pool instead of a new one. Only codecs that
+ * support {@link com.fauna.codec.Codec#decodeInto} reuse the instance, such as those for classes with a public
+ * no-argument constructor. Once an event has been processed, call {@link #release} to make its data available for
+ * reuse. Released instances must no longer be referenced by the caller.
+ *
+ * @param <E> The type of event data held by this pool.
+ */
+public interface EventDataPool<E> {
+
+    /**
+     * Takes an instance from the pool.
+     *
+     * @return An instance to decode event data into, or {@code null} to decode into a new instance.
+     */
+    E acquire();
+
+    /**
+     * Returns an instance to the pool once its event has been processed.
+     *
+     * @param data The event data to recycle.
+     */
+    void release(E data);
+
+    /**
+     * Creates a thread-safe pool that retains at most {@code capacity} released instances and creates new ones with
+     * {@code factory} when empty.
+     *
+     * @param factory  A supplier of new instances.
+     * @param capacity The maximum number of released instances to retain.
+     * @param <E>      The type of event data held by the pool.
+     * @return A new {@code EventDataPool}.
+     * @throws IllegalArgumentException If {@code capacity} is not positive.
+     */
+    static <E> EventDataPool<E> bounded(final Supplier<? extends E> factory, final int capacity) {
+        return new BoundedEventDataPool<>(factory, capacity);
+    }
+}
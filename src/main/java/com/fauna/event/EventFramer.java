@@ -0,0 +1,111 @@
+package com.fauna.event;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits the body of an event stream into newline-delimited frames, one per event.
+ * <p>
+ * Incoming bytes are appended to a single growable buffer and each byte is scanned for a newline only once, so an
+ * event split across many chunks costs time linear in its size. The bytes of a frame are handed to the consumer in
+ * place; only a trailing partial frame is moved to the front of the buffer when complete frames are removed.
+ */
+final class EventFramer {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int scanned;
+
+    /**
+     * Receives a complete frame.
+     */
+    @FunctionalInterface
+    interface FrameConsumer {
+        /**
+         * Accepts a frame, without its trailing newline. The bytes are only valid for the duration of the call.
+         *
+         * @param frame  The buffer holding the frame.
+         * @param offset The offset of the frame in the buffer.
+         * @param len    The length of the frame.
+         * @throws IOException If the frame cannot be processed.
+         */
+        void accept(byte[] frame, int offset, int len) throws IOException;
+    }
+
+    /**
+     * Appends a chunk of the stream body. The buffer's position is advanced to its limit.
+     *
+     * @param buffer The chunk.
+     */
+    void add(final ByteBuffer buffer) {
+        int n = buffer.remaining();
+        if (length + n > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + n));
+        }
+        buffer.get(bytes, length, n);
+        length += n;
+    }
+
+    /**
+     * Hands every complete frame received so far to the consumer, in order, skipping blank lines. If the consumer
+     * throws, the frames after the failed one are kept.
+     *
+     * @param consumer The frame consumer.
+     * @return The number of frames consumed.
+     * @throws IOException If the consumer fails.
+     */
+    int drain(final FrameConsumer consumer) throws IOException {
+        int start = 0;
+        int frames = 0;
+        try {
+            for (int i = scanned; i < length; i++) {
+                if (bytes[i] == NEWLINE) {
+                    int end = i;
+                    if (end > start && bytes[end - 1] == '\r') {
+                        end--;
+                    }
+                    int frameStart = start;
+                    start = i + 1;
+                    if (!isBlank(frameStart, end)) {
+                        frames++;
+                        consumer.accept(bytes, frameStart, end - frameStart);
+                    }
+                }
+            }
+            scanned = length;
+        } finally {
+            compact(start);
+        }
+        return frames;
+    }
+
+    /**
+     * Discards all pending bytes, for example when the connection is replaced.
+     */
+    void clear() {
+        length = 0;
+        scanned = 0;
+    }
+
+    private boolean isBlank(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void compact(final int start) {
+        if (start == 0) {
+            return;
+        }
+        length -= start;
+        scanned = Math.max(0, scanned - start);
+        System.arraycopy(bytes, start, bytes, 0, length);
+    }
+}
@@ -0,0 +1,310 @@
+package com.fauna.event;
+
+import com.fauna.exception.ClientException;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Delivers a stream's events to one subscriber from a bounded buffer, applying the stream's
+ * {@link StreamOptions.OverflowPolicy} when the buffer is full.
+ * <p>
+ * Signals to the subscriber are made by a single task on the delivery executor at a time, so they never overlap and
+ * never run on the thread reading the connection.
+ *
+ * @param <E> The type of document data contained in the events.
+ */
+final class EventSubscription<E> implements Flow.Subscription {
+
+    /**
+     * The outcome of offering an event to the subscription.
+     */
+    enum Offer {
+        /** The event was buffered. */
+        BUFFERED,
+        /** The event, or an older one, was dropped. */
+        DROPPED,
+        /** The subscription overflowed and was terminated, or is already terminated. */
+        TERMINATED
+    }
+
+    private final Flow.Subscriber<? super FaunaEvent<E>> subscriber;
+    private final Executor executor;
+    private final int capacity;
+    private final StreamOptions.OverflowPolicy policy;
+    private final StreamOptions options;
+    private final CursorCheckpoint checkpoint;
+    private final Consumer<FaunaEvent<E>> delivered;
+
+    // Keyed by conflation key, or by a fresh object for events that are not conflated.
+    private final Map<Object, FaunaEvent<E>> buffer = new LinkedHashMap<>();
+    private long demand;
+    private boolean subscribed;
+    private boolean scheduled;
+    private boolean cancelled;
+    private boolean completing;
+    private Throwable error;
+
+    /**
+     * Constructs an {@code EventSubscription}. Call {@link #start()} to signal {@code onSubscribe}.
+     *
+     * @param subscriber The subscriber.
+     * @param options    The stream options that configure delivery.
+     * @param delivered  Called with each event after the subscriber's {@code onNext} returns.
+     */
+    EventSubscription(final Flow.Subscriber<? super FaunaEvent<E>> subscriber, final StreamOptions options,
+                      final Consumer<FaunaEvent<E>> delivered) {
+        this.subscriber = subscriber;
+        this.delivered = delivered;
+        this.executor = options.getExecutor();
+        this.capacity = options.getMaxBufferCapacity();
+        this.policy = options.getOverflowPolicy();
+        this.options = options;
+        this.checkpoint = options.getCheckpoint().orElse(null);
+    }
+
+    Flow.Subscriber<? super FaunaEvent<E>> getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * Signals {@code onSubscribe} to the subscriber.
+     */
+    synchronized void start() {
+        schedule();
+    }
+
+    /**
+     * Buffers events for delivery regardless of the buffer's capacity, such as the events replayed to a new
+     * subscriber.
+     *
+     * @param events The events, oldest first.
+     */
+    synchronized void preload(final Collection<FaunaEvent<E>> events) {
+        for (FaunaEvent<E> event : events) {
+            buffer.put(new Object(), event);
+        }
+    }
+
+    /**
+     * Buffers an event for delivery, applying the overflow policy if the buffer is full. With
+     * {@link StreamOptions.OverflowPolicy#BLOCK}, waits for room.
+     *
+     * @param event The event.
+     * @return The outcome.
+     * @throws InterruptedException If interrupted while waiting for room.
+     */
+    synchronized Offer offer(final FaunaEvent<E> event) throws InterruptedException {
+        if (isTerminated()) {
+            return Offer.TERMINATED;
+        }
+        Object key = policy == StreamOptions.OverflowPolicy.CONFLATE
+                ? event.getData().map(options::conflationKey).orElse(null) : null;
+        Offer result = Offer.BUFFERED;
+        if (key != null && buffer.containsKey(key)) {
+            buffer.put(key, event);
+            return Offer.DROPPED;
+        }
+        if (buffer.size() >= capacity) {
+            switch (policy) {
+                case BLOCK:
+                    while (buffer.size() >= capacity && !isTerminated()) {
+                        wait();
+                    }
+                    if (isTerminated()) {
+                        return Offer.TERMINATED;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    return Offer.DROPPED;
+                case FAIL:
+                    error = new ClientException(
+                            "Subscriber fell behind the stream by more than " + capacity + " events.");
+                    buffer.clear();
+                    schedule();
+                    return Offer.TERMINATED;
+                default:
+                    Iterator<FaunaEvent<E>> oldest = buffer.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    result = Offer.DROPPED;
+                    break;
+            }
+        }
+        buffer.put(key != null ? key : new Object(), event);
+        schedule();
+        return result;
+    }
+
+    /**
+     * Signals {@code onComplete} once the buffered events are delivered.
+     */
+    synchronized void complete() {
+        completing = true;
+        schedule();
+    }
+
+    /**
+     * Signals {@code onError} after discarding the buffered events.
+     *
+     * @param throwable The error.
+     */
+    synchronized void completeExceptionally(final Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        buffer.clear();
+        notifyAll();
+        schedule();
+    }
+
+    /**
+     * Gets the number of buffered events.
+     *
+     * @return The subscriber's lag.
+     */
+    synchronized int lag() {
+        return buffer.size();
+    }
+
+    /**
+     * Gets the number of events requested but not yet delivered.
+     *
+     * @return The subscriber's outstanding demand.
+     */
+    synchronized long demand() {
+        return demand;
+    }
+
+    /**
+     * Checks whether the subscription was cancelled or has failed.
+     *
+     * @return True if no more events will be delivered.
+     */
+    synchronized boolean isTerminated() {
+        return cancelled || error != null;
+    }
+
+    @Override
+    public synchronized void request(final long n) {
+        if (cancelled) {
+            return;
+        }
+        if (n <= 0) {
+            completeExceptionally(new IllegalArgumentException("The number of events requested must be positive."));
+            return;
+        }
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+            buffer.clear();
+            notifyAll();
+        }
+        commitCheckpoint();
+    }
+
+    private void commitCheckpoint() {
+        if (checkpoint != null) {
+            checkpoint.commit();
+        }
+    }
+
+    private void schedule() {
+        if (!scheduled && !cancelled) {
+            scheduled = true;
+            executor.execute(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        while (true) {
+            FaunaEvent<E> next = null;
+            Throwable failure = null;
+            boolean subscribe = false;
+            boolean done = false;
+            synchronized (this) {
+                if (cancelled) {
+                    scheduled = false;
+                    return;
+                }
+                if (!subscribed) {
+                    subscribed = true;
+                    subscribe = true;
+                } else if (error != null) {
+                    failure = error;
+                    cancelled = true;
+                } else if (demand > 0 && !buffer.isEmpty()) {
+                    Iterator<FaunaEvent<E>> oldest = buffer.values().iterator();
+                    next = oldest.next();
+                    oldest.remove();
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                    notifyAll();
+                } else if (completing && buffer.isEmpty()) {
+                    done = true;
+                    cancelled = true;
+                } else {
+                    scheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                if (subscribe) {
+                    subscriber.onSubscribe(this);
+                } else if (failure != null) {
+                    commitCheckpoint();
+                    subscriber.onError(failure);
+                } else if (done) {
+                    commitCheckpoint();
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onNext(next);
+                    delivered.accept(next);
+                    if (checkpoint != null) {
+                        checkpoint.acknowledge(next.getCursor());
+                    }
+                }
+            } catch (Throwable t) {
+                abort(t, failure == null && !done);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cancels the subscription after a signal to the subscriber threw, as
+     * {@link java.util.concurrent.SubmissionPublisher} does, so a producer waiting for room is released and no further
+     * events are delivered.
+     *
+     * @param t           What the subscriber threw.
+     * @param signalError Whether to pass the error to the subscriber's {@code onError}.
+     */
+    private void abort(final Throwable t, final boolean signalError) {
+        synchronized (this) {
+            cancelled = true;
+            scheduled = false;
+            buffer.clear();
+            notifyAll();
+        }
+        if (signalError) {
+            try {
+                commitCheckpoint();
+                subscriber.onError(t);
+            } catch (Throwable ignored) {
+                // The subscriber is already cancelled, so there is nothing left to signal.
+            }
+        }
+    }
+}
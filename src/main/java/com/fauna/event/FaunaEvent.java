@@ -1,15 +1,20 @@
 package com.fauna.event;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fauna.codec.Codec;
 import com.fauna.codec.FaunaTokenType;
 import com.fauna.codec.UTF8FaunaParser;
+import com.fauna.exception.CodecException;
 import com.fauna.exception.ClientResponseException;
 import com.fauna.response.ErrorInfo;
 import com.fauna.response.QueryStats;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static com.fauna.constants.ResponseFields.CURSOR_FIELD_NAME;
@@ -35,9 +40,13 @@ public final class FaunaEvent<E> {
     private final EventType type;
     private final String cursor;
     private final Long txnTs;
-    private final E data;
     private final QueryStats stats;
     private final ErrorInfo error;
+    private final Codec<E> dataCodec;
+    private volatile byte[] rawData;
+    private E data;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     /**
      * Constructs a new {@code FaunaEvent} with the specified properties.
@@ -57,6 +66,19 @@ public final class FaunaEvent<E> {
         this.data = data;
         this.stats = stats;
         this.error = error;
+        this.dataCodec = null;
+        this.rawData = null;
+    }
+
+    private FaunaEvent(final Builder<E> builder) {
+        this.type = builder.eventType;
+        this.cursor = builder.cursor;
+        this.txnTs = builder.txnTs;
+        this.data = builder.data;
+        this.stats = builder.stats;
+        this.error = builder.errorInfo;
+        this.dataCodec = builder.dataCodec;
+        this.rawData = builder.rawData;
     }
 
     /**
@@ -69,14 +91,43 @@ public final class FaunaEvent<E> {
     }
 
     /**
-     * Retrieves the Fauna document data associated with this event.
+     * Retrieves the Fauna document data associated with this event. If the event was parsed with lazy decoding,
+     * the data is decoded on the first call, and later calls return the same instance.
      *
      * @return An {@link Optional} containing the event data, or empty if no data is available.
+     * @throws com.fauna.exception.CodecException If lazily decoded data cannot be decoded.
      */
     public Optional<E> getData() {
+        if (rawData != null) {
+            decodeData();
+        }
         return Optional.ofNullable(data);
     }
 
+    /**
+     * Checks whether the data of this event has been decoded. Only events parsed with lazy decoding defer it, until
+     * the first call to {@link #getData()}.
+     *
+     * @return {@code true} if the data has been decoded or the event has no data.
+     */
+    public boolean isDataDecoded() {
+        return rawData == null;
+    }
+
+    private synchronized void decodeData() {
+        if (rawData != null) {
+            try (JsonParser parser = JSON_FACTORY.createParser(rawData)) {
+                UTF8FaunaParser faunaParser = new UTF8FaunaParser(parser);
+                faunaParser.read();
+                this.data = dataCodec.decode(faunaParser);
+            } catch (IOException e) {
+                throw CodecException.decodingIOException(e);
+            }
+            // Written last, so that readers who see no raw data also see the decoded data.
+            this.rawData = null;
+        }
+    }
+
     /**
      * Retrieves the transaction timestamp for the document change that triggered the event.
      *
@@ -124,6 +175,10 @@ public final class FaunaEvent<E> {
         private FaunaEvent.EventType eventType = null;
         private QueryStats stats = null;
         private E data = null;
+        private byte[] rawData = null;
+        private boolean lazyDecoding = false;
+        private byte[] frame = null;
+        private int frameOffset = 0;
         private Long txnTs = null;
         private ErrorInfo errorInfo = null;
 
@@ -170,20 +225,100 @@ public final class FaunaEvent<E> {
         }
 
         /**
-         * Parses and sets the event data from the given JSON parser.
+         * Sets whether {@link #parseData} defers decoding. With lazy decoding, the JSON of the data is kept as bytes
+         * and only decoded by the first call to {@link FaunaEvent#getData()}, so events that are discarded without
+         * reading their data are never decoded.
+         *
+         * @param lazyDecoding Whether to defer decoding the event data.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> lazyDecoding(final boolean lazyDecoding) {
+            this.lazyDecoding = lazyDecoding;
+            return this;
+        }
+
+        /**
+         * Parses and sets the event data from the given JSON parser. With lazy decoding, the data is only read from
+         * the parser and decoded later.
          *
          * @param parser The {@link JsonParser} to decode the data from.
          * @return This {@code Builder} instance.
          */
         public Builder<E> parseData(final JsonParser parser) {
+            if (lazyDecoding) {
+                this.rawData = frame != null ? sliceValue(parser) : captureValue(parser);
+                this.data = null;
+                return this;
+            }
             UTF8FaunaParser faunaParser = new UTF8FaunaParser(parser);
             if (faunaParser.getCurrentTokenType() == FaunaTokenType.NONE) {
                 faunaParser.read();
             }
             this.data = dataCodec.decode(faunaParser);
+            this.rawData = null;
             return this;
         }
 
+        /**
+         * Sets the frame the parser reads from, so that lazily decoded data is sliced from it by token offsets
+         * rather than copied token by token.
+         *
+         * @param bytes  The bytes the parser was created on.
+         * @param offset The offset in the bytes at which the parser starts.
+         * @return This {@code Builder} instance.
+         */
+        Builder<E> frame(final byte[] bytes, final int offset) {
+            this.frame = bytes;
+            this.frameOffset = offset;
+            return this;
+        }
+
+        /**
+         * Copies the bytes of the JSON value at the parser's position, or after the field name it is on, out of the
+         * frame the parser reads from, and skips the parser past the value.
+         *
+         * @param parser The {@link JsonParser} created on the frame.
+         * @return The UTF-8 encoded JSON of the value.
+         */
+        private byte[] sliceValue(final JsonParser parser) {
+            try {
+                if (parser.currentToken() == null || parser.currentToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                }
+                // Byte offsets are relative to where the parser starts in the frame.
+                long start = parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                // Scalar values are only read up to their end on demand.
+                parser.finishToken();
+                long end = parser.currentLocation().getByteOffset();
+                return Arrays.copyOfRange(frame, frameOffset + (int) start, frameOffset + (int) end);
+            } catch (IOException e) {
+                throw new ClientResponseException("Unable to read event data.", e);
+            }
+        }
+
+        /**
+         * Copies the JSON value at the parser's position, or after the field name it is on, into a byte array. Used
+         * when the parser reads from a stream, such as a feed page, whose bytes cannot be sliced.
+         *
+         * @param parser The {@link JsonParser} to read the value from.
+         * @return The UTF-8 encoded JSON of the value.
+         */
+        private static byte[] captureValue(final JsonParser parser) {
+            try {
+                if (parser.currentToken() == null || parser.currentToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                    generator.copyCurrentStructure(parser);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClientResponseException("Unable to read event data.", e);
+            }
+        }
+
         /**
          * Sets the transaction timestamp for the event.
          *
@@ -213,7 +348,7 @@ public final class FaunaEvent<E> {
          * @return A new {@code FaunaEvent} instance.
          */
         public FaunaEvent<E> build() {
-            return new FaunaEvent<>(eventType, cursor, txnTs, data, stats, errorInfo);
+            return new FaunaEvent<>(this);
         }
     }
 
@@ -291,8 +426,46 @@ public final class FaunaEvent<E> {
      */
     public static <E> FaunaEvent<E> parse(final JsonParser parser, final Codec<E> dataCodec)
             throws IOException {
+        return parse(parser, dataCodec, false);
+    }
+
+    /**
+     * Parses a {@code FaunaEvent} from the JSON parser using the specified codec, optionally deferring decoding of
+     * the event data until it is first read.
+     *
+     * @param parser       The {@link JsonParser} positioned at the start of the event.
+     * @param dataCodec    The {@link Codec} used to decode event data.
+     * @param lazyDecoding Whether to defer decoding the event data until {@link FaunaEvent#getData()} is called.
+     * @param <E>          The type of data contained in the event.
+     * @return The parsed {@code FaunaEvent}.
+     * @throws IOException If an error occurs while parsing.
+     */
+    public static <E> FaunaEvent<E> parse(final JsonParser parser, final Codec<E> dataCodec,
+                                          final boolean lazyDecoding) throws IOException {
+        return parse(parser, FaunaEvent.builder(dataCodec).lazyDecoding(lazyDecoding));
+    }
+
+    /**
+     * Parses a {@code FaunaEvent} from a parser created on a frame of bytes, as done for each event of a stream.
+     * With lazy decoding, the event data is sliced from the frame instead of being copied token by token.
+     *
+     * @param parser       The {@link JsonParser} created on the frame.
+     * @param frame        The bytes the parser was created on.
+     * @param offset       The offset in the bytes at which the parser starts.
+     * @param dataCodec    The {@link Codec} used to decode event data.
+     * @param lazyDecoding Whether to defer decoding the event data until {@link FaunaEvent#getData()} is called.
+     * @param <E>          The type of data contained in the event.
+     * @return The parsed {@code FaunaEvent}.
+     * @throws IOException If an error occurs while parsing.
+     */
+    static <E> FaunaEvent<E> parse(final JsonParser parser, final byte[] frame, final int offset,
+                                   final Codec<E> dataCodec, final boolean lazyDecoding) throws IOException {
+        return parse(parser, FaunaEvent.builder(dataCodec).lazyDecoding(lazyDecoding).frame(frame, offset));
+    }
+
+    private static <E> FaunaEvent<E> parse(final JsonParser parser, final Builder<E> initial) throws IOException {
         if (parser.currentToken() == JsonToken.START_OBJECT || parser.nextToken() == JsonToken.START_OBJECT) {
-            Builder<E> builder = FaunaEvent.builder(dataCodec);
+            Builder<E> builder = initial;
             while (parser.nextToken() == JsonToken.FIELD_NAME) {
                 builder = parseField(builder, parser);
             }
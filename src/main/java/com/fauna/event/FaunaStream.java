@@ -2,40 +2,112 @@ package com.fauna.event;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fauna.client.RetryStrategy;
 import com.fauna.client.StatsCollector;
 import com.fauna.codec.Codec;
 import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.codecs.PooledCodec;
 import com.fauna.exception.ClientException;
 import com.fauna.response.ErrorInfo;
-import com.fauna.response.MultiByteBufferInputStream;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Processor;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
-import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * A processor for handling and decoding Fauna <a href="https://docs.fauna.com/fauna/current/reference/cdc/#event-streaming">event streams</a>.
  * <p>
- * The {@code FaunaStream} class extends {@link SubmissionPublisher} to process
- * incoming ByteBuffers, decode them into {@link FaunaEvent} objects, and forward
+ * The {@code FaunaStream} class is a {@link Processor} that processes
+ * incoming ByteBuffers, decodes them into {@link FaunaEvent} objects, and forwards
  * them to subscribers.
+ * <p>
+ * Events are delivered on the executor configured in the {@link StreamOptions}, from a buffer of at most
+ * {@code maxBufferCapacity} events. When the subscriber falls that far behind, the stream's
+ * {@link StreamOptions.OverflowPolicy} decides whether to wait, drop or conflate events, or fail the subscriber.
+ * {@link #estimateMaximumLag()} and {@link #getDroppedEventCount()} report how far behind the subscriber is.
+ * <p>
+ * Events are only published from the stream's connection. {@link #consume} subscribes like any other subscriber.
+ * <p>
+ * A stream accepts one subscriber unless {@link StreamOptions.Builder#multicast(int)} is set, in which case any number
+ * of subscribers share the connection and each decoded event, each with its own buffer and demand.
+ * <p>
+ * If the {@link StreamOptions} carry a {@link RetryStrategy}, a dropped connection is re-opened from the cursor of
+ * the last event received, waiting between attempts as the strategy specifies. Events already received before the
+ * connection dropped are not delivered again, and those still buffered are delivered as usual.
  *
  * @param <E> The type of document data contained in the Fauna events.
  */
-public class FaunaStream<E> extends SubmissionPublisher<FaunaEvent<E>>
-        implements Processor<List<ByteBuffer>, FaunaEvent<E>> {
+public class FaunaStream<E> implements Processor<List<ByteBuffer>, FaunaEvent<E>>, AutoCloseable {
 
     private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DEDUPE_WINDOW = 1024;
     private final Codec<E> dataCodec;
     private Subscription subscription;
-    private Subscriber<? super FaunaEvent<E>> eventSubscriber;
-    private MultiByteBufferInputStream buffer = null;
+    private final EventFramer framer = new EventFramer();
     private final StatsCollector statsCollector;
+    private final RetryStrategy retryStrategy;
+    private final Reconnector reconnector;
+    private final StreamOptions options;
+    private final List<EventSubscription<E>> subscriptions = new CopyOnWriteArrayList<>();
+    // Guards subscribing and the replay buffer, so a new subscriber misses no events between its replay and the live
+    // events. Events are offered outside it, because the overflow policy may block until a subscriber catches up.
+    private final Object dispatchLock = new Object();
+    private final Deque<FaunaEvent<E>> replay = new ArrayDeque<>();
+    private boolean subscribed;
+    private final List<FaunaEvent<E>> decoded = new ArrayList<>();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private final Map<String, Boolean> deliveredCursors = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            return size() > DEDUPE_WINDOW;
+        }
+    };
+    // The cursor of the last event received, which a new connection resumes from.
+    private String resumeCursor;
+    // The cursor of the last event a subscriber's onNext returned from.
+    private volatile String lastCursor;
+    private volatile boolean closed;
+    private volatile Throwable closedException;
+    private boolean reconnecting;
+    private int reconnectAttempt;
+    private long disconnectedAt;
+    private volatile long reconnectCount;
+    private volatile long reconnectGapNanos;
+
+    /**
+     * Opens a new connection to the stream endpoint.
+     */
+    @FunctionalInterface
+    public interface Reconnector {
+        /**
+         * Opens a new connection that resumes the stream after the specified cursor.
+         *
+         * @param cursor The cursor of the last delivered event, or {@code null} if no event has been delivered.
+         * @return A CompletableFuture that completes with the publisher of the new connection's body.
+         */
+        CompletableFuture<Flow.Publisher<List<ByteBuffer>>> reconnect(String cursor);
+    }
 
     /**
      * Constructs a {@code FaunaStream} instance with the specified event data type and stats collector.
@@ -44,24 +116,76 @@ public class FaunaStream<E> extends SubmissionPublisher<FaunaEvent<E>>
      * @param statsCollector The {@link StatsCollector} to track statistics for events.
      */
     public FaunaStream(final Class<E> elementClass, final StatsCollector statsCollector) {
+        this(elementClass, statsCollector, null);
+    }
+
+    /**
+     * Constructs a {@code FaunaStream} instance that decodes event data into instances taken from a pool.
+     *
+     * @param elementClass   The class of the event data type.
+     * @param statsCollector The {@link StatsCollector} to track statistics for events.
+     * @param dataPool       The {@link EventDataPool} supplying instances to decode event data into, or
+     *                       {@code null} to always decode into new instances.
+     */
+    public FaunaStream(final Class<E> elementClass, final StatsCollector statsCollector,
+                       final EventDataPool<?> dataPool) {
+        this.options = StreamOptions.DEFAULT;
+        this.statsCollector = statsCollector;
+        Codec<E> codec = DefaultCodecProvider.SINGLETON.get(elementClass);
+        this.dataCodec = dataPool != null ? new PooledCodec<>(codec, dataPool::acquire) : codec;
+        this.retryStrategy = null;
+        this.reconnector = null;
+    }
+
+    /**
+     * Constructs a {@code FaunaStream} instance that re-opens its connection when it drops, if the stream options
+     * carry a retry strategy.
+     *
+     * @param elementClass   The class of the event data type.
+     * @param statsCollector The {@link StatsCollector} to track statistics for events.
+     * @param streamOptions  The {@link StreamOptions} the stream was opened with.
+     * @param reconnector    Opens a new connection that resumes the stream from a cursor.
+     */
+    public FaunaStream(final Class<E> elementClass, final StatsCollector statsCollector,
+                       final StreamOptions streamOptions, final Reconnector reconnector) {
+        this.options = streamOptions;
         this.statsCollector = statsCollector;
-        this.dataCodec = DefaultCodecProvider.SINGLETON.get(elementClass);
+        Codec<E> codec = DefaultCodecProvider.SINGLETON.get(elementClass);
+        EventDataPool<?> dataPool = streamOptions.getDataPool().orElse(null);
+        this.dataCodec = dataPool != null ? new PooledCodec<>(codec, dataPool::acquire) : codec;
+        this.retryStrategy = streamOptions.getRetryStrategy().orElse(null);
+        this.reconnector = reconnector;
     }
 
     /**
-     * Subscribes a single subscriber to this stream.
+     * Subscribes a subscriber to this stream. Unless the stream is multicast, only one subscriber is supported. A new
+     * subscriber to a multicast stream first receives the recent events kept for replay.
      *
      * @param subscriber The {@link Subscriber} to subscribe to this stream.
-     * @throws ClientException if more than one subscriber attempts to subscribe.
+     * @throws ClientException if more than one subscriber attempts to subscribe to a stream that is not multicast.
      */
     @Override
     public void subscribe(final Subscriber<? super FaunaEvent<E>> subscriber) {
-        if (this.eventSubscriber == null) {
-            this.eventSubscriber = subscriber;
-            super.subscribe(subscriber);
+        Objects.requireNonNull(subscriber, "subscriber");
+        EventSubscription<E> eventSubscription = new EventSubscription<>(subscriber, options, this::onDelivered);
+        boolean first;
+        synchronized (dispatchLock) {
+            if (subscribed && !options.isMulticast()) {
+                throw new ClientException("Only one subscriber is supported.");
+            }
+            first = !subscribed;
+            subscribed = true;
+            eventSubscription.preload(replay);
+            subscriptions.add(eventSubscription);
+        }
+        eventSubscription.start();
+        Throwable error = getClosedException();
+        if (error != null) {
+            eventSubscription.completeExceptionally(error);
+        } else if (isClosed()) {
+            eventSubscription.complete();
+        } else if (first) {
             this.subscription.request(1);
-        } else {
-            throw new ClientException("Only one subscriber is supported.");
         }
     }
 
@@ -72,70 +196,415 @@ public class FaunaStream<E> extends SubmissionPublisher<FaunaEvent<E>>
      */
     @Override
     public void onSubscribe(final Subscription subscription) {
-        this.subscription = subscription;
+        boolean resumed;
+        synchronized (this) {
+            if (closed) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            resumed = reconnecting;
+            if (resumed) {
+                reconnecting = false;
+                reconnectCount++;
+                reconnectGapNanos += System.nanoTime() - disconnectedAt;
+            }
+        }
+        if (resumed) {
+            subscription.request(1);
+        }
     }
 
     /**
-     * Processes incoming ByteBuffers, decodes them into Fauna events, and submits the events to subscribers.
+     * Processes incoming ByteBuffers, decodes each complete newline-delimited event in them into a Fauna event, and
+     * submits the events to subscribers. A partial event is kept until the rest of it arrives.
+     * <p>
+     * If an event can't be decoded, or the stream reports an error event, the stream is closed exceptionally with a
+     * {@link ClientException}.
      *
      * @param buffers The list of {@link ByteBuffer}s containing encoded event data.
-     * @throws ClientException if there is an error decoding the stream or processing events.
      */
     @Override
     public void onNext(final List<ByteBuffer> buffers) {
-        try {
-            synchronized (this) {
-                if (this.buffer == null) {
-                    this.buffer = new MultiByteBufferInputStream(buffers);
-                } else {
-                    this.buffer.add(buffers);
-                }
+        ClientException failure = null;
+        List<FaunaEvent<E>> events;
+        synchronized (this) {
+            for (ByteBuffer buffer : buffers) {
+                framer.add(buffer);
+            }
+            try {
+                framer.drain(this::onFrame);
+            } catch (ClientException e) {
+                failure = e;
+            } catch (IOException | RuntimeException e) {
+                failure = new ClientException("Unable to decode stream", e);
+            }
+            events = List.copyOf(decoded);
+            decoded.clear();
+        }
+        // Delivered outside the lock, because the overflow policy may block until a subscriber catches up.
+        for (FaunaEvent<E> event : events) {
+            dispatch(event);
+        }
+        if (failure != null) {
+            this.closeExceptionally(failure);
+        } else if (!isClosed()) {
+            this.subscription.request(1);
+        }
+    }
 
-                try {
-                    JsonParser parser = JSON_FACTORY.createParser(buffer);
-                    FaunaEvent<E> event = FaunaEvent.parse(parser, dataCodec);
-
-                    statsCollector.add(event.getStats());
-
-                    if (event.getType() == FaunaEvent.EventType.ERROR) {
-                        ErrorInfo error = event.getError();
-                        this.onComplete();
-                        this.close();
-                        throw new ClientException(MessageFormat.format(
-                                "Stream stopped due to error {0} {1}",
-                                error.getCode(), error.getMessage()));
-                    }
-                    this.submit(event);
-                    this.buffer = null;
-                } catch (ClientException e) {
-                    this.buffer.reset(); // Handles partial event decoding
-                } catch (IOException e) {
-                    throw new ClientException("Unable to decode stream", e);
+    private void dispatch(final FaunaEvent<E> event) {
+        List<EventSubscription<E>> targets;
+        synchronized (dispatchLock) {
+            if (options.getReplayCapacity() > 0) {
+                if (replay.size() == options.getReplayCapacity()) {
+                    replay.poll();
                 }
+                replay.add(event);
             }
-        } catch (Exception e) {
-            throw new ClientException("Unable to decode stream", e);
-        } finally {
-            this.subscription.request(1);
+            // A subscriber added after this point gets the event from the replay buffer instead.
+            targets = List.copyOf(subscriptions);
+        }
+        for (EventSubscription<E> eventSubscription : targets) {
+            offer(eventSubscription, event);
+        }
+    }
+
+    private void offer(final EventSubscription<E> eventSubscription, final FaunaEvent<E> event) {
+        EventSubscription.Offer offer;
+        try {
+            offer = eventSubscription.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeExceptionally(new ClientException("Interrupted while delivering stream events.", e));
+            return;
+        }
+        if (offer == EventSubscription.Offer.DROPPED) {
+            droppedEvents.increment();
+        } else if (offer == EventSubscription.Offer.TERMINATED) {
+            subscriptions.remove(eventSubscription);
+            if (subscriptions.isEmpty() && !options.isMulticast()) {
+                // Nobody is listening anymore, so stop reading from the connection.
+                close();
+            }
+        }
+    }
+
+    private void onFrame(final byte[] frame, final int offset, final int length) throws IOException {
+        if (closed) {
+            return;
+        }
+        FaunaEvent<E> event;
+        try (JsonParser parser = JSON_FACTORY.createParser(frame, offset, length)) {
+            event = FaunaEvent.parse(parser, frame, offset, dataCodec, options.isLazyDecoding());
+        }
+
+        statsCollector.add(event.getStats());
+
+        if (event.getType() == FaunaEvent.EventType.ERROR) {
+            ErrorInfo error = event.getError();
+            throw new ClientException(MessageFormat.format(
+                    "Stream stopped due to error {0} {1}",
+                    error.getCode(), error.getMessage()));
+        }
+        // Every new connection starts with a status event, so only a data event shows that it stayed up. Otherwise a
+        // connection that drops right after it opens would never use up the retry strategy's attempts.
+        if (event.getType() != FaunaEvent.EventType.STATUS) {
+            reconnectAttempt = 0;
+        }
+        String cursor = event.getCursor();
+        if (cursor == null || deliveredCursors.put(cursor, Boolean.TRUE) == null) {
+            decoded.add(event);
+            if (cursor != null) {
+                resumeCursor = cursor;
+            }
+        }
+    }
+
+    private void onDelivered(final FaunaEvent<E> event) {
+        if (event.getCursor() != null) {
+            lastCursor = event.getCursor();
         }
     }
 
     /**
-     * Handles errors by canceling the subscription and closing the stream.
+     * Handles a dropped connection by re-opening it, if a retry strategy is configured. Otherwise, or once the
+     * strategy gives up, closes the stream exceptionally with the error.
      *
      * @param throwable The {@link Throwable} encountered during stream processing.
      */
     @Override
     public void onError(final Throwable throwable) {
-        this.subscription.cancel();
-        this.close();
+        if (!reconnect()) {
+            this.closeExceptionally(throwable);
+        }
     }
 
     /**
-     * Completes the stream by canceling the subscription.
+     * Handles the connection being closed by the server by re-opening it, if a retry strategy is configured.
+     * Otherwise, cancels the subscription.
      */
     @Override
     public void onComplete() {
-        this.subscription.cancel();
+        if (!reconnect()) {
+            this.subscription.cancel();
+        }
+    }
+
+    /**
+     * Closes the stream and its connection. The stream is not re-opened after this.
+     */
+    @Override
+    public void close() {
+        Subscription current;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = this.subscription;
+        }
+        if (current != null) {
+            current.cancel();
+        }
+        subscriptions.forEach(EventSubscription::complete);
+    }
+
+    /**
+     * Closes the stream and its connection, signalling the error to subscribers. The stream is not re-opened after
+     * this.
+     *
+     * @param error The error to signal.
+     */
+    public void closeExceptionally(final Throwable error) {
+        Objects.requireNonNull(error, "error");
+        Subscription current;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closedException = error;
+            closed = true;
+            current = this.subscription;
+        }
+        if (current != null) {
+            current.cancel();
+        }
+        subscriptions.forEach(s -> s.completeExceptionally(error));
+    }
+
+    /**
+     * Checks whether the stream has been closed, either by {@link #close()}, by a subscriber cancelling a stream that
+     * is not multicast, or because of an error.
+     *
+     * @return True if the stream is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the error the stream was closed with.
+     *
+     * @return The error, or {@code null} if the stream is open or was closed without an error.
+     */
+    public Throwable getClosedException() {
+        return closedException;
+    }
+
+    /**
+     * Processes every event with a consumer, as a subscriber that requests all events.
+     *
+     * @param consumer The function to call with each event.
+     * @return A future that completes when the stream is closed, or exceptionally if the stream fails or the
+     *         consumer throws. Cancelling the future cancels the subscription.
+     */
+    public CompletableFuture<Void> consume(final Consumer<? super FaunaEvent<E>> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        CompletableFuture<Void> status = new CompletableFuture<>();
+        subscribe(new Subscriber<FaunaEvent<E>>() {
+            @Override
+            public void onSubscribe(final Subscription s) {
+                status.whenComplete((v, t) -> s.cancel());
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final FaunaEvent<E> event) {
+                try {
+                    consumer.accept(event);
+                } catch (RuntimeException e) {
+                    status.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                status.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                status.complete(null);
+            }
+        });
+        return status;
+    }
+
+    /**
+     * Gets the largest number of events buffered for a subscriber.
+     *
+     * @return The maximum lag.
+     */
+    public int estimateMaximumLag() {
+        int lag = 0;
+        for (EventSubscription<E> eventSubscription : subscriptions) {
+            lag = Math.max(lag, eventSubscription.lag());
+        }
+        return lag;
+    }
+
+    /**
+     * Gets the smallest number of events requested but not yet delivered among the subscribers.
+     *
+     * @return The minimum demand, or 0 if there are no subscribers.
+     */
+    public long estimateMinimumDemand() {
+        long demand = Long.MAX_VALUE;
+        for (EventSubscription<E> eventSubscription : subscriptions) {
+            demand = Math.min(demand, eventSubscription.demand());
+        }
+        return subscriptions.isEmpty() ? 0 : demand;
+    }
+
+    /**
+     * Gets the number of events dropped or conflated because a subscriber fell behind.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Gets the maximum number of events buffered for each subscriber.
+     *
+     * @return The maximum buffer capacity.
+     */
+    public int getMaxBufferCapacity() {
+        return options.getMaxBufferCapacity();
+    }
+
+    /**
+     * Gets the executor events are delivered on.
+     *
+     * @return The executor.
+     */
+    public Executor getExecutor() {
+        return options.getExecutor();
+    }
+
+    /**
+     * Checks whether this stream has any subscribers.
+     *
+     * @return True if there is at least one subscriber.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Gets the number of current subscribers.
+     *
+     * @return The number of subscribers.
+     */
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Gets the current subscribers.
+     *
+     * @return A list of the subscribers.
+     */
+    public List<Subscriber<? super FaunaEvent<E>>> getSubscribers() {
+        return subscriptions.stream().map(EventSubscription::getSubscriber).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether the specified subscriber is subscribed to this stream.
+     *
+     * @param subscriber The subscriber to check.
+     * @return True if the subscriber is subscribed.
+     */
+    public boolean isSubscribed(final Subscriber<? super FaunaEvent<E>> subscriber) {
+        return subscriptions.stream().anyMatch(s -> s.getSubscriber().equals(subscriber));
+    }
+
+    private boolean reconnect() {
+        String cursor;
+        int attempt;
+        synchronized (this) {
+            if (closed || retryStrategy == null || reconnector == null) {
+                return false;
+            }
+            attempt = ++reconnectAttempt;
+            if (!retryStrategy.canRetry(attempt)) {
+                return false;
+            }
+            if (!reconnecting) {
+                reconnecting = true;
+                disconnectedAt = System.nanoTime();
+            }
+            framer.clear();
+            cursor = resumeCursor;
+        }
+
+        CompletableFuture.delayedExecutor(retryStrategy.getDelayMillis(attempt), TimeUnit.MILLISECONDS)
+                .execute(() -> {
+                    CompletableFuture<Flow.Publisher<List<ByteBuffer>>> connection;
+                    try {
+                        connection = reconnector.reconnect(cursor);
+                    } catch (RuntimeException e) {
+                        connection = CompletableFuture.failedFuture(e);
+                    }
+                    connection.whenComplete((body, throwable) -> {
+                        if (throwable != null) {
+                            onError(throwable);
+                        } else {
+                            body.subscribe(this);
+                        }
+                    });
+                });
+        return true;
+    }
+
+    /**
+     * Gets the cursor of the last event delivered to a subscriber, once its {@code onNext} has returned. Use it to
+     * restart the stream later. Events that are still buffered do not move the cursor, so they are not skipped when
+     * the stream is restarted from it.
+     *
+     * @return An {@link Optional} containing the cursor, or empty if no event has been delivered.
+     */
+    public Optional<String> getLastCursor() {
+        return Optional.ofNullable(lastCursor);
+    }
+
+    /**
+     * Gets the number of times the connection was re-opened after dropping.
+     *
+     * @return The number of reconnects.
+     */
+    public long getReconnectCount() {
+        return reconnectCount;
+    }
+
+    /**
+     * Gets the total time the stream was disconnected before its connection was re-opened.
+     *
+     * @return The total reconnect gap.
+     */
+    public Duration getReconnectGap() {
+        return Duration.ofNanos(reconnectGapNanos);
     }
 }
@@ -20,9 +20,11 @@ public final class FeedIterator<E> implements Iterator<FeedPage<E>> {
     private final EventSource eventSource;
     private FeedOptions latestOptions;
     private CompletableFuture<FeedPage<E>> feedFuture;
+    private volatile String unacknowledged;
 
     /**
-     * Construct a new PageIterator.
+     * Construct a new PageIterator. If the options have a {@link CursorCheckpoint} but no cursor, the feed resumes
+     * from the checkpoint's committed cursor, if there is one.
      *
      * @param client      A client that makes requests to Fauna.
      * @param eventSource The Fauna Event Source.
@@ -34,8 +36,13 @@ public final class FeedIterator<E> implements Iterator<FeedPage<E>> {
         this.client = client;
         this.resultClass = resultClass;
         this.eventSource = eventSource;
-        this.latestOptions = feedOptions;
-        this.feedFuture = client.poll(eventSource, feedOptions, resultClass);
+        FeedOptions options = feedOptions;
+        if (feedOptions != null && feedOptions.getCursor().isEmpty()) {
+            options = feedOptions.getCheckpoint().flatMap(CursorCheckpoint::getCommittedCursor)
+                    .map(feedOptions::withCursor).orElse(feedOptions);
+        }
+        this.latestOptions = options;
+        this.feedFuture = client.poll(eventSource, options, resultClass);
     }
 
     @Override
@@ -45,13 +52,16 @@ public final class FeedIterator<E> implements Iterator<FeedPage<E>> {
 
     /**
      * Returns a CompletableFuture that will complete with the next page (or throw a FaunaException).
-     * When the future completes, the next page will be fetched in the background.
+     * When the future completes, the next page will be fetched in the background. With a {@link CursorCheckpoint},
+     * requesting the next page acknowledges the page returned before it.
      *
      * @return A CompletableFuture that completes with a new FeedPage instance.
      */
     public CompletableFuture<FeedPage<E>> nextAsync() {
         if (this.feedFuture != null) {
+            acknowledge();
             return this.feedFuture.thenApply(fs -> {
+                this.unacknowledged = fs.getCursor();
                 if (fs.hasNext()) {
                     FeedOptions options = this.latestOptions.nextPage(fs);
                     this.latestOptions = options;
@@ -68,6 +78,18 @@ public final class FeedIterator<E> implements Iterator<FeedPage<E>> {
     }
 
 
+    /**
+     * Acknowledges the last page returned, so its cursor is committed to the options' {@link CursorCheckpoint}.
+     * Pages are otherwise acknowledged when the next page is requested. Does nothing without a checkpoint.
+     */
+    public void acknowledge() {
+        String cursor = this.unacknowledged;
+        this.unacknowledged = null;
+        if (cursor != null && this.latestOptions != null) {
+            this.latestOptions.getCheckpoint().ifPresent(checkpoint -> checkpoint.acknowledge(cursor));
+        }
+    }
+
     /**
      * Get the next Page (synchronously).
      *
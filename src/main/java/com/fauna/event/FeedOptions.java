@@ -17,6 +17,9 @@ public class FeedOptions {
     private final Long startTs;
     private final Integer pageSize;
     private final Duration timeout;
+    private final EventDataPool<?> dataPool;
+    private final CursorCheckpoint checkpoint;
+    private final boolean lazyDecoding;
 
     /**
      * The default {@code FeedOptions} instance with default settings.
@@ -38,10 +41,70 @@ public class FeedOptions {
      */
     public FeedOptions(final String cursor, final Long startTs, final Integer pageSize,
                        final Duration timeout) {
+        this(cursor, startTs, pageSize, timeout, null);
+    }
+
+    /**
+     * Constructs a new {@code FeedOptions} with the specified parameters and event data pool.
+     *
+     * @param cursor   A {@code String} representing the cursor in the feed. Cannot be provided with a
+     *                 {@code startTs}.
+     * @param startTs  A {@code Long} representing the start timestamp for the feed. Cannot be provided with a
+     *                 {@code cursor}.
+     * @param pageSize An {@code Integer} specifying the maximum number of events returned per page.
+     * @param timeout  A {@code Duration} specifying the timeout for the feed request.
+     * @param dataPool An {@link EventDataPool} supplying instances to decode event data into, or {@code null}.
+     * @throws IllegalArgumentException if both {@code cursor} and {@code startTs} are set.
+     */
+    public FeedOptions(final String cursor, final Long startTs, final Integer pageSize,
+                       final Duration timeout, final EventDataPool<?> dataPool) {
+        this(cursor, startTs, pageSize, timeout, dataPool, null);
+    }
+
+    /**
+     * Constructs a new {@code FeedOptions} with the specified parameters, event data pool and cursor checkpoint.
+     *
+     * @param cursor     A {@code String} representing the cursor in the feed. Cannot be provided with a
+     *                   {@code startTs}.
+     * @param startTs    A {@code Long} representing the start timestamp for the feed. Cannot be provided with a
+     *                   {@code cursor}.
+     * @param pageSize   An {@code Integer} specifying the maximum number of events returned per page.
+     * @param timeout    A {@code Duration} specifying the timeout for the feed request.
+     * @param dataPool   An {@link EventDataPool} supplying instances to decode event data into, or {@code null}.
+     * @param checkpoint A {@link CursorCheckpoint} that persists the feed's cursor, or {@code null}.
+     * @throws IllegalArgumentException if both {@code cursor} and {@code startTs} are set.
+     */
+    public FeedOptions(final String cursor, final Long startTs, final Integer pageSize,
+                       final Duration timeout, final EventDataPool<?> dataPool,
+                       final CursorCheckpoint checkpoint) {
+        this(cursor, startTs, pageSize, timeout, dataPool, checkpoint, false);
+    }
+
+    /**
+     * Constructs a new {@code FeedOptions} with the specified parameters, event data pool, cursor checkpoint and
+     * decoding mode.
+     *
+     * @param cursor       A {@code String} representing the cursor in the feed. Cannot be provided with a
+     *                     {@code startTs}.
+     * @param startTs      A {@code Long} representing the start timestamp for the feed. Cannot be provided with a
+     *                     {@code cursor}.
+     * @param pageSize     An {@code Integer} specifying the maximum number of events returned per page.
+     * @param timeout      A {@code Duration} specifying the timeout for the feed request.
+     * @param dataPool     An {@link EventDataPool} supplying instances to decode event data into, or {@code null}.
+     * @param checkpoint   A {@link CursorCheckpoint} that persists the feed's cursor, or {@code null}.
+     * @param lazyDecoding Whether event data is decoded on the first call to {@link FaunaEvent#getData()}.
+     * @throws IllegalArgumentException if both {@code cursor} and {@code startTs} are set.
+     */
+    public FeedOptions(final String cursor, final Long startTs, final Integer pageSize,
+                       final Duration timeout, final EventDataPool<?> dataPool,
+                       final CursorCheckpoint checkpoint, final boolean lazyDecoding) {
         this.cursor = cursor;
         this.startTs = startTs;
         this.pageSize = pageSize;
         this.timeout = timeout;
+        this.dataPool = dataPool;
+        this.checkpoint = checkpoint;
+        this.lazyDecoding = lazyDecoding;
         if (cursor != null && startTs != null) {
             throw new IllegalArgumentException(
                     "Only one of cursor and startTs can be set.");
@@ -84,6 +147,33 @@ public class FeedOptions {
         return Optional.ofNullable(timeout);
     }
 
+    /**
+     * Retrieves the pool that supplies instances to decode event data into.
+     *
+     * @return An {@link Optional} containing the {@link EventDataPool}, or empty if not set.
+     */
+    public Optional<EventDataPool<?>> getDataPool() {
+        return Optional.ofNullable(dataPool);
+    }
+
+    /**
+     * Retrieves the checkpoint that persists the feed's cursor.
+     *
+     * @return An {@link Optional} containing the {@link CursorCheckpoint}, or empty if not set.
+     */
+    public Optional<CursorCheckpoint> getCheckpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    /**
+     * Checks whether event data is decoded lazily.
+     *
+     * @return {@code true} if event data is decoded on the first call to {@link FaunaEvent#getData()}.
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
     /**
      * Builder class for constructing {@code FeedOptions} instances.
      */
@@ -92,6 +182,9 @@ public class FeedOptions {
         private Long startTs = null;
         private Integer pageSize = null;
         private Duration timeout = DEFAULT_TIMEOUT;
+        private EventDataPool<?> dataPool = null;
+        private CursorCheckpoint checkpoint = null;
+        private boolean lazyDecoding = false;
 
         /**
          * Sets the cursor.
@@ -147,6 +240,43 @@ public class FeedOptions {
             return this;
         }
 
+        /**
+         * Sets a pool that supplies instances to decode event data into. See {@link EventDataPool}.
+         *
+         * @param dataPool An {@link EventDataPool} whose instances match the feed's element class.
+         * @return This {@code Builder} instance.
+         */
+        public Builder dataPool(final EventDataPool<?> dataPool) {
+            this.dataPool = dataPool;
+            return this;
+        }
+
+        /**
+         * Sets a checkpoint that persists the feed's cursor. A {@link FeedIterator} without a cursor resumes from
+         * the checkpoint's committed cursor, if there is one, instead of the start timestamp, and acknowledges each
+         * page's cursor to the checkpoint when the next page is requested.
+         *
+         * @param checkpoint A {@link CursorCheckpoint}.
+         * @return This {@code Builder} instance.
+         */
+        public Builder checkpoint(final CursorCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Sets whether event data is decoded lazily. With lazy decoding, each event keeps the JSON of its data and
+         * decodes it on the first call to {@link FaunaEvent#getData()}, so consumers that filter events by type or
+         * cursor skip decoding the ones they discard.
+         *
+         * @param lazyDecoding Whether to defer decoding event data.
+         * @return This {@code Builder} instance.
+         */
+        public Builder lazyDecoding(final boolean lazyDecoding) {
+            this.lazyDecoding = lazyDecoding;
+            return this;
+        }
+
         /**
          * Builds a new {@code FeedOptions} instance with the configured parameters.
          *
@@ -154,7 +284,7 @@ public class FeedOptions {
          * @throws IllegalArgumentException if both {@code cursor} and {@code startTs} are set.
          */
         public FeedOptions build() {
-            return new FeedOptions(cursor, startTs, pageSize, timeout);
+            return new FeedOptions(cursor, startTs, pageSize, timeout, dataPool, checkpoint, lazyDecoding);
         }
     }
 
@@ -170,17 +300,31 @@ public class FeedOptions {
     /**
      * Returns the {@code FeedOptions} for the next page, based on the cursor of the given page.
      * <p>
-     * This method copies options like page size and timeout, but does not set or copy {@code startTs},
-     * because it uses the cursor.
+     * This method copies options like page size, timeout, data pool, checkpoint and decoding mode, but does not set or
+     * copy {@code startTs}, because it uses the cursor.
      *
      * @param page The current or latest {@code FeedPage}.
      * @return A new {@code FeedOptions} instance configured for the next page.
      */
     public FeedOptions nextPage(final FeedPage<?> page) {
-        FeedOptions.Builder builder = FeedOptions.builder().cursor(page.getCursor());
+        return withCursor(page.getCursor());
+    }
+
+    /**
+     * Returns a copy of these options that starts the feed after the specified cursor, instead of at the cursor or
+     * start timestamp set on these options.
+     *
+     * @param cursor A {@code String} representing the cursor.
+     * @return A new {@code FeedOptions} instance.
+     */
+    public FeedOptions withCursor(final String cursor) {
+        FeedOptions.Builder builder = FeedOptions.builder().cursor(cursor);
         // Do not set or copy startTs, because we are using cursor.
         getPageSize().ifPresent(builder::pageSize);
         getTimeout().ifPresent(builder::timeout);
+        getDataPool().ifPresent(builder::dataPool);
+        getCheckpoint().ifPresent(builder::checkpoint);
+        builder.lazyDecoding(lazyDecoding);
         return builder.build();
     }
 }
@@ -106,6 +106,7 @@ public class FeedPage<E> {
         private String cursor = "";
         private Boolean hasNext = false;
         private QueryStats stats = null;
+        private boolean lazyDecoding = false;
 
         /**
          * Constructs a {@code Builder} with the specified codec and stats collector.
@@ -162,6 +163,18 @@ public class FeedPage<E> {
             return this;
         }
 
+        /**
+         * Sets whether event data is decoded lazily, on the first call to {@link FaunaEvent#getData()}, instead of
+         * while the events are parsed.
+         *
+         * @param lazyDecoding Whether to defer decoding event data.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> lazyDecoding(final boolean lazyDecoding) {
+            this.lazyDecoding = lazyDecoding;
+            return this;
+        }
+
         /**
          * Parses and sets the list of events from the provided JSON parser.
          *
@@ -173,7 +186,7 @@ public class FeedPage<E> {
             if (parser.nextToken() == START_ARRAY) {
                 List<FaunaEvent<E>> events = new ArrayList<>();
                 while (parser.nextToken() != END_ARRAY) {
-                    events.add(FaunaEvent.parse(parser, elementCodec));
+                    events.add(FaunaEvent.parse(parser, elementCodec, lazyDecoding));
                 }
                 this.events = events;
             } else {
@@ -243,6 +256,25 @@ public class FeedPage<E> {
     public static <E> FeedPage<E> parseResponse(final HttpResponse<InputStream> response,
                                                 final Codec<E> elementCodec,
                                                 final StatsCollector statsCollector) {
+        return parseResponse(response, elementCodec, statsCollector, false);
+    }
+
+    /**
+     * Parses an HTTP response and constructs a {@code FeedPage} instance, optionally deferring decoding of event data
+     * until it is first read.
+     *
+     * @param response       The {@link HttpResponse} containing the feed data.
+     * @param elementCodec   The {@link Codec} used to decode events.
+     * @param statsCollector The {@link StatsCollector} to gather statistics.
+     * @param lazyDecoding   Whether to defer decoding event data until {@link FaunaEvent#getData()} is called.
+     * @param <E>            The type of data contained in each event.
+     * @return The parsed {@code FeedPage}.
+     * @throws ClientResponseException if an error occurs while parsing the feed response.
+     */
+    public static <E> FeedPage<E> parseResponse(final HttpResponse<InputStream> response,
+                                                final Codec<E> elementCodec,
+                                                final StatsCollector statsCollector,
+                                                final boolean lazyDecoding) {
         try {
             if (response.statusCode() >= 400) {
                 QueryResponse.parseResponse(response, elementCodec, statsCollector);
@@ -251,7 +283,7 @@ public class FeedPage<E> {
             if (parser.nextToken() != START_OBJECT) {
                 throw new ClientResponseException("Invalid event starting with: " + parser.currentToken());
             }
-            Builder<E> builder = FeedPage.builder(elementCodec, statsCollector);
+            Builder<E> builder = FeedPage.builder(elementCodec, statsCollector).lazyDecoding(lazyDecoding);
             while (parser.nextToken() == FIELD_NAME) {
                 builder = builder.parseField(parser);
             }
@@ -0,0 +1,318 @@
+package com.fauna.event;
+
+import com.fauna.client.FaunaClient;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the <a href="https://docs.fauna.com/fauna/current/reference/cdc/#event-feeds">event feeds</a> of many
+ * sources on a shared scheduler, adapting each source's poll interval and page size to its activity.
+ * <p>
+ * A source with more events waiting is polled again right away. After a full page, the source's interval drops to
+ * the minimum interval and its page size doubles, up to the maximum page size. After an empty page, or a failed poll,
+ * the interval grows by the backoff factor, up to the maximum interval, and after an empty page the page size
+ * halves, down to the minimum page size. Busy sources are therefore polled often with large pages, while quiet
+ * sources cost few requests.
+ * <p>
+ * At most {@code maxConcurrentPolls} polls are in flight at once. Sources that fall due while every slot is taken
+ * are polled in the order they fell due.
+ *
+ * @param <E> The type of document data contained in the events.
+ */
+public final class FeedPoller<E> implements AutoCloseable {
+
+    /**
+     * Receives the pages polled from every source of a {@link FeedPoller}.
+     *
+     * @param <E> The type of document data contained in the events.
+     */
+    @FunctionalInterface
+    public interface PageListener<E> {
+        /**
+         * Handles a page with at least one event. Pages of one source are handled in order, one at a time; pages of
+         * different sources may be handled concurrently.
+         *
+         * @param key  The key the page's source was added under.
+         * @param page The page.
+         */
+        void onPage(String key, FeedPage<E> page);
+
+        /**
+         * Handles a failed poll, or an exception thrown by {@link #onPage}. The source keeps being polled. Does
+         * nothing by default.
+         *
+         * @param key   The key of the source that failed.
+         * @param error The error.
+         */
+        default void onError(final String key, final Throwable error) {
+        }
+    }
+
+    private final class Source extends FeedSource {
+        private long intervalNanos;
+        private int pageSize;
+        private volatile boolean removed;
+        private ScheduledFuture<?> next;
+
+        Source(final String key, final EventSource eventSource, final String cursor) {
+            super(key, eventSource, cursor, options.getFeedOptions());
+            FeedOptions feedOptions = options.getFeedOptions();
+            this.intervalNanos = options.getMinInterval().toNanos();
+            this.pageSize = Math.max(options.getMinPageSize(), Math.min(options.getMaxPageSize(),
+                    feedOptions.getPageSize().orElse(options.getMinPageSize())));
+        }
+    }
+
+    private final FaunaClient client;
+    private final Class<E> elementClass;
+    private final FeedPollerOptions options;
+    private final PageListener<E> listener;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Source> sources = new HashMap<>();
+    private final Deque<Source> waiting = new ArrayDeque<>();
+    private int inFlight;
+    private boolean closed;
+
+    /**
+     * Constructs a {@code FeedPoller}.
+     *
+     * @param client       A client that makes requests to Fauna.
+     * @param elementClass The class of the event data.
+     * @param options      The poller options.
+     * @param listener     Receives the pages of every source.
+     */
+    public FeedPoller(final FaunaClient client, final Class<E> elementClass,
+                      final FeedPollerOptions options, final PageListener<E> listener) {
+        this.client = client;
+        this.elementClass = elementClass;
+        this.options = options;
+        this.listener = listener;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fauna-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a source and polls it right away, from the feed's start timestamp if one is set, or from the source's
+     * creation otherwise.
+     *
+     * @param key         A unique key for the source, passed to the listener with each page.
+     * @param eventSource The event source.
+     * @throws IllegalArgumentException If a source with the same key was already added.
+     * @throws IllegalStateException    If the poller is closed.
+     */
+    public void add(final String key, final EventSource eventSource) {
+        add(key, eventSource, null);
+    }
+
+    /**
+     * Adds a source and polls it right away, resuming after the specified cursor.
+     *
+     * @param key         A unique key for the source, passed to the listener with each page.
+     * @param eventSource The event source.
+     * @param cursor      The cursor to resume after, or {@code null} to start from the beginning.
+     * @throws IllegalArgumentException If a source with the same key was already added.
+     * @throws IllegalStateException    If the poller is closed.
+     */
+    public synchronized void add(final String key, final EventSource eventSource, final String cursor) {
+        if (closed) {
+            throw new IllegalStateException("The feed poller is closed.");
+        }
+        if (sources.containsKey(key)) {
+            throw new IllegalArgumentException("A source with key " + key + " was already added.");
+        }
+        Source source = new Source(key, eventSource, cursor);
+        sources.put(key, source);
+        source.next = scheduler.schedule(() -> due(source), 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes a source. A poll already in flight may still deliver a page to the listener.
+     *
+     * @param key The key of the source.
+     * @return The source's last cursor, or empty if it was not added or has no cursor yet.
+     */
+    public synchronized Optional<String> remove(final String key) {
+        Source source = sources.remove(key);
+        if (source == null) {
+            return Optional.empty();
+        }
+        source.removed = true;
+        waiting.remove(source);
+        if (source.next != null) {
+            source.next.cancel(false);
+        }
+        return Optional.ofNullable(source.getCursor());
+    }
+
+    /**
+     * Gets the cursor of the last page polled for a source, for example to checkpoint it.
+     *
+     * @param key The key of the source.
+     * @return The cursor, or empty if the source was not added or has no cursor yet.
+     */
+    public synchronized Optional<String> getCursor(final String key) {
+        Source source = sources.get(key);
+        return source != null ? Optional.ofNullable(source.getCursor()) : Optional.empty();
+    }
+
+    /**
+     * Gets the current delay between polls of a source.
+     *
+     * @param key The key of the source.
+     * @return The poll interval, or empty if the source was not added.
+     */
+    public synchronized Optional<Duration> getInterval(final String key) {
+        Source source = sources.get(key);
+        return source != null ? Optional.of(Duration.ofNanos(source.intervalNanos)) : Optional.empty();
+    }
+
+    /**
+     * Gets the page size requested by the next poll of a source.
+     *
+     * @param key The key of the source.
+     * @return The page size, or empty if the source was not added.
+     */
+    public synchronized Optional<Integer> getPageSize(final String key) {
+        Source source = sources.get(key);
+        return source != null ? Optional.of(source.pageSize) : Optional.empty();
+    }
+
+    /**
+     * Gets the number of sources.
+     *
+     * @return The number of sources.
+     */
+    public synchronized int getSourceCount() {
+        return sources.size();
+    }
+
+    /**
+     * Stops polling. Polls already in flight may still deliver pages to the listener.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            waiting.clear();
+        }
+        scheduler.shutdownNow();
+    }
+
+    private void due(final Source source) {
+        synchronized (this) {
+            source.next = null;
+            if (closed || source.removed) {
+                return;
+            }
+            if (inFlight >= options.getMaxConcurrentPolls()) {
+                waiting.add(source);
+                return;
+            }
+            inFlight++;
+        }
+        poll(source);
+    }
+
+    private void poll(final Source source) {
+        int pageSize;
+        synchronized (this) {
+            pageSize = source.pageSize;
+        }
+
+        CompletableFuture<FeedPage<E>> future;
+        try {
+            future = client.poll(source.getEventSource(),
+                    source.nextOptions(options.getFeedOptions(), pageSize), elementClass);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((page, throwable) -> completed(source, pageSize, page, throwable));
+    }
+
+    private void completed(final Source source, final int pageSize, final FeedPage<E> page,
+                           final Throwable throwable) {
+        try {
+            if (throwable != null) {
+                reportError(source, FeedSource.unwrap(throwable));
+            } else if (!page.getEvents().isEmpty() && !source.removed) {
+                try {
+                    listener.onPage(source.getKey(), page);
+                } catch (RuntimeException e) {
+                    reportError(source, e);
+                }
+            }
+        } finally {
+            // Even if the listener fails, the poll's slot is released and the source is polled again.
+            reschedule(source, pageSize, page);
+        }
+    }
+
+    private void reportError(final Source source, final Throwable error) {
+        try {
+            listener.onError(source.getKey(), error);
+        } catch (RuntimeException ignored) {
+            // There is nowhere left to report the listener's own failure, and the source keeps being polled.
+        }
+    }
+
+    private void reschedule(final Source source, final int pageSize, final FeedPage<E> page) {
+        Source handover;
+        synchronized (this) {
+            long delay = adapt(source, pageSize, page);
+            handover = closed ? null : waiting.poll();
+            if (handover == null) {
+                inFlight--;
+            }
+            if (!closed && !source.removed) {
+                source.next = scheduler.schedule(() -> due(source), delay, TimeUnit.NANOSECONDS);
+            }
+            if (handover != null) {
+                // The finished poll's slot passes to the source that has waited longest.
+                scheduler.execute(() -> poll(handover));
+            }
+        }
+    }
+
+    /**
+     * Updates a source's cursor, interval and page size after a poll.
+     *
+     * @param source   The source.
+     * @param pageSize The page size the poll requested.
+     * @param page     The page, or {@code null} if the poll failed.
+     * @return The delay before the source's next poll.
+     */
+    private long adapt(final Source source, final int pageSize, final FeedPage<E> page) {
+        long minNanos = options.getMinInterval().toNanos();
+        long maxNanos = options.getMaxInterval().toNanos();
+        if (page == null || page.getEvents().isEmpty()) {
+            source.intervalNanos = (long) Math.min(maxNanos, source.intervalNanos * options.getBackoffFactor());
+            if (page != null) {
+                source.pageSize = Math.max(options.getMinPageSize(), source.pageSize / 2);
+            }
+        } else if (page.hasNext() || page.getEvents().size() >= pageSize) {
+            source.intervalNanos = minNanos;
+            source.pageSize = Math.min(options.getMaxPageSize(), source.pageSize * 2);
+        }
+        if (page != null) {
+            source.advance(page.getCursor());
+        }
+        return page != null && page.hasNext() ? 0 : source.intervalNanos;
+    }
+}
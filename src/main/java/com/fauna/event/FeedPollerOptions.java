@@ -0,0 +1,243 @@
+package com.fauna.event;
+
+import java.time.Duration;
+
+/**
+ * Represents the options for a {@link FeedPoller}.
+ */
+public final class FeedPollerOptions {
+
+    private static final Duration DEFAULT_MIN_INTERVAL = Duration.ofMillis(100);
+    private static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(30);
+    private static final double DEFAULT_BACKOFF_FACTOR = 2.0;
+    private static final int DEFAULT_MIN_PAGE_SIZE = 16;
+    private static final int DEFAULT_MAX_PAGE_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 16000;
+    private static final int DEFAULT_MAX_CONCURRENT_POLLS = 8;
+
+    /**
+     * The default {@code FeedPollerOptions} instance with default settings.
+     */
+    public static final FeedPollerOptions DEFAULT = FeedPollerOptions.builder().build();
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double backoffFactor;
+    private final int minPageSize;
+    private final int maxPageSize;
+    private final int maxConcurrentPolls;
+    private final FeedOptions feedOptions;
+
+    /**
+     * Constructs a new {@code FeedPollerOptions} from the specified builder.
+     *
+     * @param builder The builder holding the configured options.
+     */
+    private FeedPollerOptions(final Builder builder) {
+        this.minInterval = builder.minInterval;
+        this.maxInterval = builder.maxInterval;
+        this.backoffFactor = builder.backoffFactor;
+        this.minPageSize = builder.minPageSize;
+        this.maxPageSize = builder.maxPageSize;
+        this.maxConcurrentPolls = builder.maxConcurrentPolls;
+        this.feedOptions = builder.feedOptions;
+    }
+
+    /**
+     * Gets the delay between polls of a source that returns full pages.
+     *
+     * @return The minimum poll interval.
+     */
+    public Duration getMinInterval() {
+        return minInterval;
+    }
+
+    /**
+     * Gets the longest delay between polls of a source that keeps returning empty pages.
+     *
+     * @return The maximum poll interval.
+     */
+    public Duration getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * Gets the factor a source's poll interval grows by after each empty page.
+     *
+     * @return The backoff factor.
+     */
+    public double getBackoffFactor() {
+        return backoffFactor;
+    }
+
+    /**
+     * Gets the page size requested from a quiet source.
+     *
+     * @return The minimum page size.
+     */
+    public int getMinPageSize() {
+        return minPageSize;
+    }
+
+    /**
+     * Gets the largest page size requested from a busy source.
+     *
+     * @return The maximum page size.
+     */
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    /**
+     * Gets the maximum number of polls in flight at once, across all sources.
+     *
+     * @return The maximum number of concurrent polls.
+     */
+    public int getMaxConcurrentPolls() {
+        return maxConcurrentPolls;
+    }
+
+    /**
+     * Gets the options used to poll sources, such as the request timeout.
+     *
+     * @return The feed options.
+     */
+    public FeedOptions getFeedOptions() {
+        return feedOptions;
+    }
+
+    /**
+     * Creates a new builder for {@code FeedPollerOptions}.
+     *
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for constructing {@code FeedPollerOptions} instances.
+     */
+    public static final class Builder {
+        private Duration minInterval = DEFAULT_MIN_INTERVAL;
+        private Duration maxInterval = DEFAULT_MAX_INTERVAL;
+        private double backoffFactor = DEFAULT_BACKOFF_FACTOR;
+        private int minPageSize = DEFAULT_MIN_PAGE_SIZE;
+        private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+        private int maxConcurrentPolls = DEFAULT_MAX_CONCURRENT_POLLS;
+        private FeedOptions feedOptions = FeedOptions.DEFAULT;
+
+        /**
+         * Sets the delay between polls of a source that returns full pages. A source with more events waiting is
+         * polled again right away. Defaults to 100 milliseconds.
+         *
+         * @param minInterval The minimum poll interval. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder minInterval(final Duration minInterval) {
+            this.minInterval = minInterval;
+            return this;
+        }
+
+        /**
+         * Sets the longest delay between polls of a source that keeps returning empty pages. Defaults to 30
+         * seconds.
+         *
+         * @param maxInterval The maximum poll interval. Must not be less than the minimum interval.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxInterval(final Duration maxInterval) {
+            this.maxInterval = maxInterval;
+            return this;
+        }
+
+        /**
+         * Sets the factor a source's poll interval grows by after each empty page. Defaults to 2.
+         *
+         * @param backoffFactor The backoff factor. Must be at least 1.
+         * @return This {@code Builder} instance.
+         */
+        public Builder backoffFactor(final double backoffFactor) {
+            this.backoffFactor = backoffFactor;
+            return this;
+        }
+
+        /**
+         * Sets the page size requested from a quiet source. A source's page size doubles after each full page and
+         * halves after each empty page. Defaults to 16.
+         *
+         * @param minPageSize The minimum page size. Must be in the range 1 to 16000 (inclusive).
+         * @return This {@code Builder} instance.
+         */
+        public Builder minPageSize(final int minPageSize) {
+            this.minPageSize = minPageSize;
+            return this;
+        }
+
+        /**
+         * Sets the largest page size requested from a busy source. Defaults to 1000.
+         *
+         * @param maxPageSize The maximum page size. Must be in the range of the minimum page size to 16000
+         *                    (inclusive).
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxPageSize(final int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of polls in flight at once, across all sources. Sources that fall due while
+         * every slot is taken are polled in the order they fell due. Defaults to 8.
+         *
+         * @param maxConcurrentPolls The maximum number of concurrent polls. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxConcurrentPolls(final int maxConcurrentPolls) {
+            this.maxConcurrentPolls = maxConcurrentPolls;
+            return this;
+        }
+
+        /**
+         * Sets the options used to poll sources, such as the request timeout. The cursor and page size are managed
+         * per source.
+         *
+         * @param feedOptions The feed options.
+         * @return This {@code Builder} instance.
+         */
+        public Builder feedOptions(final FeedOptions feedOptions) {
+            this.feedOptions = feedOptions;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code FeedPollerOptions} instance with the configured parameters.
+         *
+         * @return A new {@code FeedPollerOptions} instance.
+         * @throws IllegalArgumentException If an interval, page size or limit is out of range, or the feed options
+         *                                  are null.
+         */
+        public FeedPollerOptions build() {
+            if (minInterval == null || minInterval.isNegative() || minInterval.isZero()) {
+                throw new IllegalArgumentException("minInterval must be positive.");
+            }
+            if (maxInterval == null || maxInterval.compareTo(minInterval) < 0) {
+                throw new IllegalArgumentException("maxInterval must not be less than minInterval.");
+            }
+            if (!(backoffFactor >= 1.0)) {
+                throw new IllegalArgumentException("backoffFactor must be at least 1.");
+            }
+            if (minPageSize < 1 || maxPageSize < minPageSize || maxPageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException(
+                        "Page sizes must satisfy 1 <= minPageSize <= maxPageSize <= " + MAX_PAGE_SIZE + ".");
+            }
+            if (maxConcurrentPolls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentPolls must be positive.");
+            }
+            if (feedOptions == null) {
+                throw new IllegalArgumentException("feedOptions must not be null.");
+            }
+            return new FeedPollerOptions(this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fauna.event;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * A source consumed by polling its event feed, as done by {@link FeedPoller} and {@link StreamManager}. Tracks where
+ * the feed resumes, and builds the feed options for the next poll.
+ */
+class FeedSource {
+    private final String key;
+    private final EventSource eventSource;
+    private volatile String cursor;
+    private volatile Long startTs;
+
+    /**
+     * Constructs a {@code FeedSource} that resumes after the specified cursor, or otherwise from the feed's start
+     * timestamp, if one is set.
+     *
+     * @param key         The key the source was added under.
+     * @param eventSource The event source.
+     * @param cursor      The cursor to resume after, or {@code null} to start from the beginning.
+     * @param feedOptions The feed options the source is polled with.
+     */
+    FeedSource(final String key, final EventSource eventSource, final String cursor, final FeedOptions feedOptions) {
+        this.key = key;
+        this.eventSource = eventSource;
+        this.cursor = cursor;
+        this.startTs = cursor == null ? feedOptions.getStartTs().orElse(null) : null;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    EventSource getEventSource() {
+        return eventSource;
+    }
+
+    String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Moves the source past an event or page, so the next poll resumes after it.
+     *
+     * @param newCursor The cursor of the event or page.
+     */
+    void advance(final String newCursor) {
+        this.cursor = newCursor;
+        this.startTs = null;
+    }
+
+    /**
+     * Builds the options for the next poll of the source, resuming where the last one stopped.
+     *
+     * @param base     The feed options the source is polled with.
+     * @param pageSize The page size to request, or {@code null} to use the base options' page size.
+     * @return The feed options.
+     */
+    FeedOptions nextOptions(final FeedOptions base, final Integer pageSize) {
+        FeedOptions.Builder builder = FeedOptions.builder();
+        String resumeCursor = cursor;
+        Long resumeTs = startTs;
+        if (resumeCursor != null) {
+            builder.cursor(resumeCursor);
+        } else if (resumeTs != null) {
+            builder.startTs(resumeTs);
+        }
+        if (pageSize != null) {
+            builder.pageSize(pageSize);
+        } else {
+            base.getPageSize().ifPresent(builder::pageSize);
+        }
+        base.getTimeout().ifPresent(builder::timeout);
+        base.getDataPool().ifPresent(builder::dataPool);
+        builder.lazyDecoding(base.isLazyDecoding());
+        return builder.build();
+    }
+
+    /**
+     * Gets the error a failed poll completed with.
+     *
+     * @param throwable The throwable the poll's future completed with.
+     * @return The cause of a {@link CompletionException}, or the throwable itself.
+     */
+    static Throwable unwrap(final Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+    }
+}
@@ -0,0 +1,334 @@
+package com.fauna.event;
+
+import com.fauna.exception.ClientException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link CursorStore} backed by an append-only log file.
+ * <p>
+ * Each commit appends one record with the key and cursor to the log, and the latest cursor of every key is kept in
+ * memory, so loads never touch the disk. When the log holds at least {@code compactionThreshold} records and more
+ * than twice as many records as keys, it is compacted: the latest cursors are written to a new file, which then
+ * atomically replaces the log.
+ * <p>
+ * Each record is framed by its length and a CRC32 checksum. When the log is opened, it is read up to the first record
+ * that is incomplete or fails its checksum, such as a record torn by a crash, and the rest of the log is discarded.
+ * <p>
+ * The {@link SyncPolicy} controls how often writes are forced to disk, trading commit latency for how many commits a
+ * crash of the machine can lose. A crash of only the process loses no commits.
+ */
+public final class FileCursorStore implements CursorStore {
+
+    /**
+     * How often a {@link FileCursorStore} forces its writes to disk.
+     */
+    public enum SyncPolicy {
+        /**
+         * Forces every commit to disk before it returns.
+         */
+        ALWAYS,
+        /**
+         * Forces writes to disk on the first commit after the sync interval has passed, and on flush.
+         */
+        INTERVAL,
+        /**
+         * Forces writes to disk only on flush and close.
+         */
+        NONE
+    }
+
+    private static final SyncPolicy DEFAULT_SYNC_POLICY = SyncPolicy.INTERVAL;
+    private static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+    // The length and CRC32 of the payload.
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path path;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final int compactionThreshold;
+
+    private final Map<String, String> cursors = new HashMap<>();
+    private FileChannel log;
+    private int records;
+    private boolean dirty;
+    private long lastSyncNanos = System.nanoTime();
+
+    private FileCursorStore(final Builder builder) throws IOException {
+        this.path = builder.path;
+        this.syncPolicy = builder.syncPolicy;
+        this.syncIntervalNanos = builder.syncInterval.toNanos();
+        this.compactionThreshold = builder.compactionThreshold;
+
+        long valid = read();
+        this.log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (log.size() > valid) {
+            // Drop a record torn by a crash, so new records are not appended after garbage.
+            log.truncate(valid);
+            log.force(false);
+        }
+        log.position(valid);
+        if (shouldCompact()) {
+            compact();
+        }
+    }
+
+    /**
+     * Opens a {@code FileCursorStore} with the default settings, creating the log file if it does not exist.
+     *
+     * @param path The path of the log file.
+     * @return The store.
+     * @throws ClientException If the log cannot be read or opened.
+     */
+    public static FileCursorStore open(final Path path) {
+        return builder(path).build();
+    }
+
+    /**
+     * Creates a new builder for a {@code FileCursorStore}.
+     *
+     * @param path The path of the log file.
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder(final Path path) {
+        return new Builder(path);
+    }
+
+    @Override
+    public synchronized Optional<String> load(final String key) {
+        return Optional.ofNullable(cursors.get(key));
+    }
+
+    @Override
+    public synchronized void commit(final String key, final String cursor) {
+        ensureOpen();
+        try {
+            write(log, key, cursor);
+            cursors.put(key, cursor);
+            records++;
+            dirty = true;
+            if (syncPolicy == SyncPolicy.ALWAYS
+                    || syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+                sync();
+            }
+            if (shouldCompact()) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new ClientException("Unable to commit cursor to " + path + ".", e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        ensureOpen();
+        try {
+            sync();
+        } catch (IOException e) {
+            throw new ClientException("Unable to flush cursors to " + path + ".", e);
+        }
+    }
+
+    /**
+     * Flushes and closes the log.
+     */
+    @Override
+    public synchronized void close() {
+        if (log == null) {
+            return;
+        }
+        try {
+            sync();
+            log.close();
+        } catch (IOException e) {
+            throw new ClientException("Unable to close " + path + ".", e);
+        } finally {
+            log = null;
+        }
+    }
+
+    /**
+     * Gets the number of records in the log, including records for cursors that were since replaced.
+     *
+     * @return The number of records.
+     */
+    public synchronized int getRecordCount() {
+        return records;
+    }
+
+    private void ensureOpen() {
+        if (log == null) {
+            throw new ClientException("The cursor store " + path + " is closed.");
+        }
+    }
+
+    /**
+     * Reads the log into memory, up to the first record that is incomplete or fails its checksum.
+     *
+     * @return The length of the log up to the end of the last valid record.
+     */
+    private long read() throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        long valid = 0;
+        try {
+            while (bytes.remaining() >= RECORD_HEADER_BYTES) {
+                int length = bytes.getInt();
+                int checksum = bytes.getInt();
+                if (length <= 0 || length > bytes.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                bytes.get(payload);
+                if (checksum != crc(payload)) {
+                    break;
+                }
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+                cursors.put(in.readUTF(), in.readUTF());
+                records++;
+                valid = bytes.position();
+            }
+        } catch (BufferUnderflowException | IOException e) {
+            // A record that passed its checksum but does not parse; everything before it is valid.
+        }
+        return valid;
+    }
+
+    private static void write(final FileChannel channel, final String key, final String cursor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(key);
+        out.writeUTF(cursor);
+        byte[] payload = bytes.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int crc(final byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void sync() throws IOException {
+        if (dirty) {
+            log.force(false);
+            dirty = false;
+        }
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private boolean shouldCompact() {
+        return records >= compactionThreshold && records > 2 * cursors.size();
+    }
+
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, String> entry : cursors.entrySet()) {
+                write(out, entry.getKey(), entry.getValue());
+            }
+            out.force(false);
+        }
+        log.close();
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = cursors.size();
+        dirty = false;
+    }
+
+    /**
+     * Builder class for constructing {@code FileCursorStore} instances.
+     */
+    public static final class Builder {
+        private final Path path;
+        private SyncPolicy syncPolicy = DEFAULT_SYNC_POLICY;
+        private Duration syncInterval = DEFAULT_SYNC_INTERVAL;
+        private int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+        private Builder(final Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Sets how often writes are forced to disk. Defaults to {@link SyncPolicy#INTERVAL}.
+         *
+         * @param syncPolicy The sync policy.
+         * @return This {@code Builder} instance.
+         */
+        public Builder syncPolicy(final SyncPolicy syncPolicy) {
+            this.syncPolicy = syncPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the interval for {@link SyncPolicy#INTERVAL}. Defaults to 1 second.
+         *
+         * @param syncInterval The sync interval. Must not be negative.
+         * @return This {@code Builder} instance.
+         */
+        public Builder syncInterval(final Duration syncInterval) {
+            this.syncInterval = syncInterval;
+            return this;
+        }
+
+        /**
+         * Sets the number of records the log must hold before it is compacted. Defaults to 10000.
+         *
+         * @param compactionThreshold The compaction threshold. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder compactionThreshold(final int compactionThreshold) {
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Opens the store, creating the log file if it does not exist.
+         *
+         * @return The store.
+         * @throws IllegalArgumentException If the path or sync policy is null, the sync interval is negative, or
+         *                                  the compaction threshold is not positive.
+         * @throws ClientException          If the log cannot be read or opened.
+         */
+        public FileCursorStore build() {
+            if (path == null || syncPolicy == null) {
+                throw new IllegalArgumentException("path and syncPolicy must not be null.");
+            }
+            if (syncInterval == null || syncInterval.isNegative()) {
+                throw new IllegalArgumentException("syncInterval must not be negative.");
+            }
+            if (compactionThreshold <= 0) {
+                throw new IllegalArgumentException("compactionThreshold must be positive.");
+            }
+            try {
+                return new FileCursorStore(this);
+            } catch (IOException e) {
+                throw new ClientException("Unable to open cursor store " + path + ".", e);
+            }
+        }
+    }
+}
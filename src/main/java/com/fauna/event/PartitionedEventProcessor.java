@@ -0,0 +1,568 @@
+package com.fauna.event;
+
+import com.fauna.exception.ClientException;
+import com.fauna.types.Document;
+import com.fauna.types.DocumentRef;
+import com.fauna.types.NamedDocument;
+import com.fauna.types.NamedDocumentRef;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes stream or feed events in parallel on a fixed number of lanes, keeping the events of each document in
+ * order.
+ * <p>
+ * Each event is assigned to a lane by hashing its partition key, which by default is the collection and ID or name
+ * of the {@link Document}, {@link NamedDocument}, {@link DocumentRef} or {@link NamedDocumentRef} in its data.
+ * Events with no key, such as events whose data is of another type, all go to the first lane. Each lane handles one
+ * event at a time in arrival order, so events for the same document are handled strictly in order, while events for
+ * different documents are handled concurrently.
+ * <p>
+ * Subscribe the processor to a {@link FaunaStream}, or {@link #submit} the events of feed pages. At most
+ * {@code maxInFlight} events are queued or being handled at once: the processor requests no more from a stream,
+ * and {@link #submit} blocks.
+ * <p>
+ * Because events complete out of order, a {@link CursorCheckpoint} is only acknowledged up to the low-water mark:
+ * the cursor of the latest event such that it and every event before it have been handled. After a restart, no
+ * event before the committed cursor is handled again. If the handler throws, the processor fails: it stops taking
+ * events and the low-water mark never passes the failed event.
+ *
+ * @param <E> The type of document data contained in the events.
+ */
+public final class PartitionedEventProcessor<E> implements Flow.Subscriber<FaunaEvent<E>>, AutoCloseable {
+
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    private static final int HASH_SPREAD_SHIFT = 16;
+
+    /**
+     * An event waiting for, or being handled by, a lane. Kept in arrival order to track the low-water mark.
+     *
+     * @param <E> The type of document data contained in the event.
+     */
+    private static final class Slot<E> {
+        private final FaunaEvent<E> event;
+        private boolean done;
+
+        Slot(final FaunaEvent<E> event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * Runs the events assigned to it one at a time on the executor.
+     */
+    private final class Lane implements Runnable {
+        private final Deque<Slot<E>> queue = new ArrayDeque<>();
+        private boolean running;
+
+        /**
+         * Queues an event.
+         *
+         * @param slot The event's slot.
+         * @return True if the lane was idle and must be started on the executor.
+         */
+        synchronized boolean add(final Slot<E> slot) {
+            queue.add(slot);
+            boolean start = !running;
+            running = true;
+            return start;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Slot<E> slot;
+                synchronized (this) {
+                    slot = queue.poll();
+                    if (slot == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    handle(slot);
+                } catch (Throwable t) {
+                    // Keep draining the lane, so its events stop counting as in flight and close() returns.
+                    fail(t);
+                }
+            }
+        }
+    }
+
+    private final Consumer<FaunaEvent<E>> handler;
+    private final Function<Object, ?> partitionKey;
+    private final CursorCheckpoint checkpoint;
+    private final int maxInFlight;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final List<Lane> lanes;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // Guarded by this.
+    private final Deque<Slot<E>> pending = new ArrayDeque<>();
+    private int active;
+    private String lowWaterCursor;
+    private Flow.Subscription subscription;
+    private boolean upstreamDone;
+    private boolean closed;
+    private Throwable failure;
+
+    private PartitionedEventProcessor(final Builder<E> builder) {
+        this.handler = builder.handler;
+        this.partitionKey = builder.partitionKey != null ? builder.partitionKey
+                : PartitionedEventProcessor::documentKey;
+        this.checkpoint = builder.checkpoint;
+        this.maxInFlight = builder.maxInFlight;
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            this.ownedExecutor = Executors.newFixedThreadPool(builder.lanes, r -> {
+                Thread thread = new Thread(r, "fauna-event-lane-" + threads.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        }
+        this.lanes = new ArrayList<>(builder.lanes);
+        for (int i = 0; i < builder.lanes; i++) {
+            lanes.add(new Lane());
+        }
+    }
+
+    /**
+     * Creates a new builder for a {@code PartitionedEventProcessor}.
+     *
+     * @param handler Handles each event. Called concurrently for events on different lanes.
+     * @param <E>     The type of document data contained in the events.
+     * @return A new {@link Builder} instance.
+     */
+    public static <E> Builder<E> builder(final Consumer<FaunaEvent<E>> handler) {
+        return new Builder<>(handler);
+    }
+
+    /**
+     * Requests the first {@code maxInFlight} events from the stream.
+     *
+     * @param s The stream's subscription.
+     */
+    @Override
+    public void onSubscribe(final Flow.Subscription s) {
+        boolean cancel;
+        synchronized (this) {
+            cancel = subscription != null || closed || failure != null;
+            if (!cancel) {
+                subscription = s;
+            }
+        }
+        if (cancel) {
+            s.cancel();
+        } else {
+            s.request(maxInFlight);
+        }
+    }
+
+    /**
+     * Queues a stream event on its lane. Ignored once the processor is closed or has failed.
+     *
+     * @param event The event.
+     */
+    @Override
+    public void onNext(final FaunaEvent<E> event) {
+        Slot<E> slot = new Slot<>(event);
+        Lane lane = laneOf(event);
+        boolean start;
+        synchronized (this) {
+            if (closed || failure != null) {
+                return;
+            }
+            start = admit(slot, lane);
+        }
+        if (start) {
+            executor.execute(lane);
+        }
+    }
+
+    /**
+     * Fails the processor. Queued events that were not handled yet are skipped, so the low-water mark stays before
+     * them.
+     *
+     * @param throwable The stream's error.
+     */
+    @Override
+    public void onError(final Throwable throwable) {
+        synchronized (this) {
+            if (failure == null) {
+                failure = throwable;
+            }
+            upstreamDone = true;
+        }
+        finishIfIdle();
+    }
+
+    /**
+     * Completes the processor once the events already queued are handled.
+     */
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            upstreamDone = true;
+        }
+        finishIfIdle();
+    }
+
+    /**
+     * Queues an event on its lane, for example an event from a feed page. Waits while {@code maxInFlight} events are
+     * queued or being handled.
+     *
+     * @param event The event.
+     * @throws ClientException      If the processor was closed or has failed.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void submit(final FaunaEvent<E> event) throws InterruptedException {
+        Slot<E> slot = new Slot<>(event);
+        Lane lane = laneOf(event);
+        boolean start;
+        synchronized (this) {
+            while (active >= maxInFlight && !closed && failure == null) {
+                wait();
+            }
+            if (closed || failure != null) {
+                throw new ClientException("The event processor is " + (failure != null ? "failed." : "closed."));
+            }
+            start = admit(slot, lane);
+        }
+        if (start) {
+            executor.execute(lane);
+        }
+    }
+
+    /**
+     * Queues every event of a feed page. See {@link #submit(FaunaEvent)}.
+     *
+     * @param page The page.
+     * @throws ClientException      If the processor was closed or has failed.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void submit(final FeedPage<E> page) throws InterruptedException {
+        for (FaunaEvent<E> event : page.getEvents()) {
+            submit(event);
+        }
+    }
+
+    /**
+     * Gets the cursor of the latest event such that it and every event before it have been handled.
+     *
+     * @return The low-water mark cursor, or empty if no event was handled yet.
+     */
+    public synchronized Optional<String> getLowWaterCursor() {
+        return Optional.ofNullable(lowWaterCursor);
+    }
+
+    /**
+     * Gets the number of events queued or being handled.
+     *
+     * @return The number of events in flight.
+     */
+    public synchronized int getInFlightCount() {
+        return active;
+    }
+
+    /**
+     * Gets a future that completes once the stream completes and every event is handled, or completes exceptionally
+     * if the handler throws or the stream fails.
+     *
+     * @return The completion future.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Stops taking events, cancelling the stream subscription, and waits for the events in flight to be handled.
+     * Then commits the checkpoint and stops the lane threads the processor created.
+     *
+     * @throws ClientException If interrupted while waiting.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription current;
+        synchronized (this) {
+            closed = true;
+            current = subscription;
+            notifyAll();
+        }
+        if (current != null) {
+            current.cancel();
+        }
+        try {
+            synchronized (this) {
+                while (active > 0 && failure == null) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("Interrupted while closing the event processor.", e);
+        } finally {
+            if (checkpoint != null) {
+                checkpoint.commit();
+            }
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+            completion.complete(null);
+        }
+    }
+
+    private Lane laneOf(final FaunaEvent<E> event) {
+        Object key = event.getData().map(partitionKey).orElse(null);
+        return lanes.get(key == null ? 0 : Math.floorMod(spread(key.hashCode()), lanes.size()));
+    }
+
+    /**
+     * Counts an event as in flight and queues it on its lane. Called holding the lock, so events of a key reach
+     * their lane in the same order as the low-water mark tracks them.
+     *
+     * @param slot The event's slot.
+     * @param lane The event's lane.
+     * @return True if the lane must be started on the executor.
+     */
+    private boolean admit(final Slot<E> slot, final Lane lane) {
+        pending.add(slot);
+        active++;
+        return lane.add(slot);
+    }
+
+    private void handle(final Slot<E> slot) {
+        Throwable error = null;
+        synchronized (this) {
+            if (failure != null) {
+                // Events after a failure are not handled, and keep the low-water mark where it is.
+                active--;
+                notifyAll();
+                return;
+            }
+        }
+        try {
+            handler.accept(slot.event);
+        } catch (Throwable t) {
+            error = t;
+        }
+        completed(slot, error);
+    }
+
+    private void fail(final Throwable error) {
+        Flow.Subscription current;
+        synchronized (this) {
+            if (failure == null) {
+                failure = error;
+            }
+            current = subscription;
+            notifyAll();
+        }
+        if (current != null) {
+            current.cancel();
+        }
+        finishIfIdle();
+    }
+
+    private void completed(final Slot<E> slot, final Throwable error) {
+        String advanced = null;
+        Flow.Subscription current;
+        boolean requestMore;
+        synchronized (this) {
+            active--;
+            current = subscription;
+            requestMore = error == null && failure == null && !closed;
+            if (error != null) {
+                if (failure == null) {
+                    failure = error;
+                }
+            } else {
+                slot.done = true;
+                while (!pending.isEmpty() && pending.peek().done) {
+                    Slot<E> head = pending.poll();
+                    if (head.event.getCursor() != null) {
+                        advanced = head.event.getCursor();
+                    }
+                }
+                if (advanced != null) {
+                    lowWaterCursor = advanced;
+                    // Acknowledged under the lock, so lanes acknowledge in order and close() commits the latest.
+                    if (checkpoint != null) {
+                        checkpoint.acknowledge(advanced);
+                    }
+                }
+            }
+            notifyAll();
+        }
+        if (current != null) {
+            if (error != null) {
+                current.cancel();
+            } else if (requestMore) {
+                current.request(1);
+            }
+        }
+        finishIfIdle();
+    }
+
+    private void finishIfIdle() {
+        Throwable error;
+        synchronized (this) {
+            if (failure == null && !(upstreamDone && active == 0)) {
+                return;
+            }
+            error = failure;
+        }
+        if (checkpoint != null) {
+            checkpoint.commit();
+        }
+        if (error != null) {
+            completion.completeExceptionally(error);
+        } else {
+            completion.complete(null);
+        }
+    }
+
+    private static int spread(final int hash) {
+        // Mixes the high bits into the low ones, as HashMap does, so keys differing only in high bits spread.
+        return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+    }
+
+    /**
+     * Gets the default partition key of event data: the collection and ID or name of a document or document
+     * reference.
+     *
+     * @param data The event data.
+     * @return The key, or {@code null} if the data is not a document or document reference.
+     */
+    static Object documentKey(final Object data) {
+        if (data instanceof Document) {
+            Document doc = (Document) data;
+            return doc.getCollection().getName() + "/" + doc.getId();
+        }
+        if (data instanceof NamedDocument) {
+            NamedDocument doc = (NamedDocument) data;
+            return doc.getCollection().getName() + "/" + doc.getName();
+        }
+        if (data instanceof DocumentRef) {
+            DocumentRef ref = (DocumentRef) data;
+            return ref.getCollection().getName() + "/" + ref.getId();
+        }
+        if (data instanceof NamedDocumentRef) {
+            NamedDocumentRef ref = (NamedDocumentRef) data;
+            return ref.getCollection().getName() + "/" + ref.getName();
+        }
+        return null;
+    }
+
+    /**
+     * Builder class for constructing {@code PartitionedEventProcessor} instances.
+     *
+     * @param <E> The type of document data contained in the events.
+     */
+    public static final class Builder<E> {
+        private final Consumer<FaunaEvent<E>> handler;
+        private int lanes = Runtime.getRuntime().availableProcessors();
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private Function<Object, ?> partitionKey = null;
+        private CursorCheckpoint checkpoint = null;
+        private Executor executor = null;
+
+        private Builder(final Consumer<FaunaEvent<E>> handler) {
+            this.handler = handler;
+        }
+
+        /**
+         * Sets the number of lanes. Defaults to the number of available processors.
+         *
+         * @param lanes The number of lanes. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> lanes(final int lanes) {
+            this.lanes = lanes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events queued or being handled at once. Defaults to 1024.
+         *
+         * @param maxInFlight The maximum number of events in flight. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> maxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets how events are partitioned onto lanes. Events with equal keys are handled in order.
+         *
+         * @param partitionKey Computes the key from an event's data, or returns {@code null} to use the first
+         *                     lane.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> partitionKey(final Function<Object, ?> partitionKey) {
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * Sets a checkpoint that is acknowledged up to the low-water mark of handled events.
+         *
+         * @param checkpoint A {@link CursorCheckpoint}.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> checkpoint(final CursorCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the lanes. By default, the processor creates one daemon thread per lane and
+         * stops them on {@link PartitionedEventProcessor#close()}. A lane occupies at most one executor thread at a
+         * time.
+         *
+         * @param executor The lane executor.
+         * @return This {@code Builder} instance.
+         */
+        public Builder<E> executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code PartitionedEventProcessor}.
+         *
+         * @return A new {@code PartitionedEventProcessor} instance.
+         * @throws IllegalArgumentException If the handler is null, or the number of lanes or the maximum number of
+         *                                  events in flight is not positive.
+         */
+        public PartitionedEventProcessor<E> build() {
+            if (handler == null) {
+                throw new IllegalArgumentException("handler must not be null.");
+            }
+            if (lanes <= 0) {
+                throw new IllegalArgumentException("lanes must be positive.");
+            }
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive.");
+            }
+            return new PartitionedEventProcessor<>(this);
+        }
+    }
+}
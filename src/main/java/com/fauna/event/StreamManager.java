@@ -0,0 +1,425 @@
+package com.fauna.event;
+
+import com.fauna.client.FaunaClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes many event sources through a bounded number of connections.
+ * <p>
+ * Every source starts out polled through its
+ * <a href="https://docs.fauna.com/fauna/current/reference/cdc/#event-feeds">event feed</a>. Sources are polled in
+ * round-robin order once per poll interval, with at most {@code maxConcurrentPolls} polls in flight. A source whose
+ * poll returns at least {@code promoteThreshold} events is promoted to a live {@link FaunaStream}, resuming from its
+ * cursor, as long as fewer than {@code maxStreams} sources are streaming. A stream that goes {@code idleTimeout}
+ * without events, or whose connection fails, is closed and the source goes back to polling from the stream's last
+ * cursor.
+ * <p>
+ * Events from every source are delivered to a single {@link EventListener}, together with the key the source was
+ * added under. Events of one source are delivered in order, one at a time; events of different sources may be
+ * delivered concurrently. A source's cursor only advances once the listener returns for the event.
+ *
+ * @param <E> The type of document data contained in the events.
+ */
+public final class StreamManager<E> implements AutoCloseable {
+
+    /**
+     * Receives the events of every source managed by a {@link StreamManager}.
+     *
+     * @param <E> The type of document data contained in the events.
+     */
+    @FunctionalInterface
+    public interface EventListener<E> {
+        /**
+         * Handles an event.
+         *
+         * @param key   The key the event's source was added under.
+         * @param event The event.
+         */
+        void onEvent(String key, FaunaEvent<E> event);
+
+        /**
+         * Handles a failed poll or stream, or an exception thrown by {@link #onEvent}. The source keeps being
+         * consumed. Does nothing by default.
+         *
+         * @param key   The key of the source that failed.
+         * @param error The error.
+         */
+        default void onError(final String key, final Throwable error) {
+        }
+    }
+
+    private enum Mode {
+        POLLING, PROMOTING, STREAMING, DEMOTING, REMOVED
+    }
+
+    private final class Source extends FeedSource {
+        private Mode mode = Mode.POLLING;
+        private boolean polling;
+        private FaunaStream<E> stream;
+        private volatile long lastEventNanos;
+
+        Source(final String key, final EventSource eventSource, final String cursor) {
+            super(key, eventSource, cursor, options.getFeedOptions());
+        }
+    }
+
+    private final FaunaClient client;
+    private final Class<E> elementClass;
+    private final StreamManagerOptions options;
+    private final EventListener<E> listener;
+    private final Semaphore pollPermits;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Source> sources = new HashMap<>();
+    private final Deque<Source> pollOrder = new ArrayDeque<>();
+    private int streams;
+    private boolean closed;
+
+    /**
+     * Constructs a {@code StreamManager} and starts polling.
+     *
+     * @param client       A client that makes requests to Fauna.
+     * @param elementClass The class of the event data.
+     * @param options      The manager options.
+     * @param listener     Receives the events of every source.
+     */
+    public StreamManager(final FaunaClient client, final Class<E> elementClass,
+                         final StreamManagerOptions options, final EventListener<E> listener) {
+        this.client = client;
+        this.elementClass = elementClass;
+        this.options = options;
+        this.listener = listener;
+        this.pollPermits = new Semaphore(options.getMaxConcurrentPolls());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fauna-stream-manager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = options.getPollInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds a source, consumed from the feed's start timestamp if one is set, or from the source's creation
+     * otherwise.
+     *
+     * @param key         A unique key for the source, passed to the listener with each event.
+     * @param eventSource The event source.
+     * @throws IllegalArgumentException If a source with the same key was already added.
+     * @throws IllegalStateException    If the manager is closed.
+     */
+    public void add(final String key, final EventSource eventSource) {
+        add(key, eventSource, null);
+    }
+
+    /**
+     * Adds a source, resuming after the specified cursor.
+     *
+     * @param key         A unique key for the source, passed to the listener with each event.
+     * @param eventSource The event source.
+     * @param cursor      The cursor to resume after, or {@code null} to start from the beginning.
+     * @throws IllegalArgumentException If a source with the same key was already added.
+     * @throws IllegalStateException    If the manager is closed.
+     */
+    public synchronized void add(final String key, final EventSource eventSource, final String cursor) {
+        if (closed) {
+            throw new IllegalStateException("The stream manager is closed.");
+        }
+        if (sources.containsKey(key)) {
+            throw new IllegalArgumentException("A source with key " + key + " was already added.");
+        }
+        Source source = new Source(key, eventSource, cursor);
+        sources.put(key, source);
+        pollOrder.add(source);
+    }
+
+    /**
+     * Removes a source, closing its stream if it has one. Events already being delivered may still reach the
+     * listener.
+     *
+     * @param key The key of the source.
+     * @return The source's last cursor, or empty if it was not added or has no cursor yet.
+     */
+    public Optional<String> remove(final String key) {
+        Source source;
+        FaunaStream<E> stream = null;
+        synchronized (this) {
+            source = sources.remove(key);
+            if (source == null) {
+                return Optional.empty();
+            }
+            if (source.mode == Mode.POLLING) {
+                pollOrder.remove(source);
+            } else {
+                streams--;
+                stream = source.stream;
+            }
+            source.mode = Mode.REMOVED;
+        }
+        if (stream != null) {
+            stream.close();
+        }
+        return Optional.ofNullable(source.getCursor());
+    }
+
+    /**
+     * Gets the cursor of the last event delivered for a source, for example to checkpoint it.
+     *
+     * @param key The key of the source.
+     * @return The cursor, or empty if the source was not added or has no cursor yet.
+     */
+    public synchronized Optional<String> getCursor(final String key) {
+        Source source = sources.get(key);
+        return source != null ? Optional.ofNullable(source.getCursor()) : Optional.empty();
+    }
+
+    /**
+     * Checks whether a source is currently consumed through a live stream.
+     *
+     * @param key The key of the source.
+     * @return True if the source is streaming.
+     */
+    public synchronized boolean isStreaming(final String key) {
+        Source source = sources.get(key);
+        return source != null && source.mode == Mode.STREAMING;
+    }
+
+    /**
+     * Gets the number of sources that are streaming or being promoted to a stream.
+     *
+     * @return The number of streams.
+     */
+    public synchronized int getStreamCount() {
+        return streams;
+    }
+
+    /**
+     * Gets the number of sources.
+     *
+     * @return The number of sources.
+     */
+    public synchronized int getSourceCount() {
+        return sources.size();
+    }
+
+    /**
+     * Stops polling and closes every stream.
+     */
+    @Override
+    public void close() {
+        List<FaunaStream<E>> open = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Source source : sources.values()) {
+                if (source.stream != null) {
+                    open.add(source.stream);
+                }
+            }
+        }
+        scheduler.shutdownNow();
+        open.forEach(FaunaStream::close);
+    }
+
+    private void tick() {
+        List<Source> toPoll = new ArrayList<>();
+        List<FaunaStream<E>> toDemote = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // Visit each polling source once, resuming next time where this tick ran out of poll slots.
+            for (int i = pollOrder.size(); i > 0; i--) {
+                Source source = pollOrder.peek();
+                if (!source.polling) {
+                    if (!pollPermits.tryAcquire()) {
+                        break;
+                    }
+                    source.polling = true;
+                    toPoll.add(source);
+                }
+                pollOrder.add(pollOrder.poll());
+            }
+
+            long idleNanos = options.getIdleTimeout().toNanos();
+            long now = System.nanoTime();
+            for (Source source : sources.values()) {
+                if (source.mode == Mode.STREAMING && now - source.lastEventNanos > idleNanos) {
+                    source.mode = Mode.DEMOTING;
+                    toDemote.add(source.stream);
+                }
+            }
+        }
+        toPoll.forEach(this::poll);
+        toDemote.forEach(FaunaStream::close);
+    }
+
+    private void poll(final Source source) {
+        FeedIterator<E> pages;
+        try {
+            pages = new FeedIterator<>(client, source.getEventSource(),
+                    source.nextOptions(options.getFeedOptions(), null), elementClass);
+        } catch (RuntimeException e) {
+            finishPoll(source, 0, e);
+            return;
+        }
+        drain(source, pages, 0);
+    }
+
+    private void drain(final Source source, final FeedIterator<E> pages, final int count) {
+        pages.nextAsync().whenComplete((page, throwable) -> {
+            if (throwable != null) {
+                finishPoll(source, count, throwable);
+                return;
+            }
+            for (FaunaEvent<E> event : page.getEvents()) {
+                deliver(source, event);
+            }
+            source.advance(page.getCursor());
+            int total = count + page.getEvents().size();
+            if (pages.hasNext() && source.mode == Mode.POLLING) {
+                drain(source, pages, total);
+            } else {
+                finishPoll(source, total, null);
+            }
+        });
+    }
+
+    private void finishPoll(final Source source, final int count, final Throwable throwable) {
+        pollPermits.release();
+        if (throwable != null) {
+            reportError(source, FeedSource.unwrap(throwable));
+        }
+        boolean promote;
+        synchronized (this) {
+            source.polling = false;
+            promote = throwable == null && !closed && source.mode == Mode.POLLING
+                    && count >= options.getPromoteThreshold() && streams < options.getMaxStreams();
+            if (promote) {
+                source.mode = Mode.PROMOTING;
+                streams++;
+                pollOrder.remove(source);
+            }
+        }
+        if (promote) {
+            promote(source);
+        }
+    }
+
+    private void promote(final Source source) {
+        String cursor = source.getCursor();
+        StreamOptions streamOptions = cursor != null
+                ? options.getStreamOptions().withCursor(cursor) : options.getStreamOptions();
+        client.asyncStream(source.getEventSource(), streamOptions, elementClass).whenComplete((stream, throwable) -> {
+            if (throwable != null) {
+                reportError(source, FeedSource.unwrap(throwable));
+                demoted(source);
+                return;
+            }
+            boolean active;
+            synchronized (this) {
+                active = source.mode == Mode.PROMOTING && !closed;
+                if (active) {
+                    // Set now so that removing the source or closing the manager closes the stream.
+                    source.stream = stream;
+                }
+            }
+            if (!active) {
+                // Removed, or the manager was closed, while the stream was opening.
+                stream.close();
+                return;
+            }
+            // Subscribe before the source counts as streaming, so no event arrives before there is a subscriber.
+            stream.subscribe(new SourceSubscriber(source));
+            synchronized (this) {
+                if (source.mode == Mode.PROMOTING && !closed) {
+                    source.mode = Mode.STREAMING;
+                    source.lastEventNanos = System.nanoTime();
+                }
+            }
+        });
+    }
+
+    private void demoted(final Source source) {
+        synchronized (this) {
+            if (source.mode == Mode.REMOVED || source.mode == Mode.POLLING) {
+                return;
+            }
+            streams--;
+            source.mode = Mode.POLLING;
+            source.stream = null;
+            if (!closed) {
+                pollOrder.add(source);
+            }
+        }
+    }
+
+    private void deliver(final Source source, final FaunaEvent<E> event) {
+        if (source.mode == Mode.REMOVED) {
+            return;
+        }
+        try {
+            listener.onEvent(source.getKey(), event);
+        } catch (RuntimeException e) {
+            reportError(source, e);
+        }
+        if (event.getCursor() != null) {
+            source.advance(event.getCursor());
+        }
+    }
+
+    private void reportError(final Source source, final Throwable error) {
+        try {
+            listener.onError(source.getKey(), error);
+        } catch (RuntimeException ignored) {
+            // There is nowhere left to report the listener's own failure, and the source keeps being consumed.
+        }
+    }
+
+    /**
+     * Forwards a stream's events to the listener, and puts the source back to polling when the stream ends.
+     */
+    private final class SourceSubscriber implements Flow.Subscriber<FaunaEvent<E>> {
+        private final Source source;
+
+        SourceSubscriber(final Source source) {
+            this.source = source;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final FaunaEvent<E> event) {
+            source.lastEventNanos = System.nanoTime();
+            deliver(source, event);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            reportError(source, throwable);
+            demoted(source);
+        }
+
+        @Override
+        public void onComplete() {
+            demoted(source);
+        }
+    }
+}
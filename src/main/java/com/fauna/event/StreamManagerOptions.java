@@ -0,0 +1,238 @@
+package com.fauna.event;
+
+import java.time.Duration;
+
+/**
+ * Represents the options for a {@link StreamManager}.
+ */
+public final class StreamManagerOptions {
+
+    private static final int DEFAULT_MAX_STREAMS = 100;
+    private static final int DEFAULT_MAX_CONCURRENT_POLLS = 8;
+    private static final int DEFAULT_PROMOTE_THRESHOLD = 16;
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * The default {@code StreamManagerOptions} instance with default settings.
+     */
+    public static final StreamManagerOptions DEFAULT = StreamManagerOptions.builder().build();
+
+    private final int maxStreams;
+    private final int maxConcurrentPolls;
+    private final Duration pollInterval;
+    private final int promoteThreshold;
+    private final Duration idleTimeout;
+    private final FeedOptions feedOptions;
+    private final StreamOptions streamOptions;
+
+    /**
+     * Constructs a new {@code StreamManagerOptions} from the specified builder.
+     *
+     * @param builder The builder holding the configured options.
+     */
+    private StreamManagerOptions(final Builder builder) {
+        this.maxStreams = builder.maxStreams;
+        this.maxConcurrentPolls = builder.maxConcurrentPolls;
+        this.pollInterval = builder.pollInterval;
+        this.promoteThreshold = builder.promoteThreshold;
+        this.idleTimeout = builder.idleTimeout;
+        this.feedOptions = builder.feedOptions;
+        this.streamOptions = builder.streamOptions;
+    }
+
+    /**
+     * Gets the maximum number of sources that are live streams at once.
+     *
+     * @return The maximum number of streams.
+     */
+    public int getMaxStreams() {
+        return maxStreams;
+    }
+
+    /**
+     * Gets the maximum number of feed polls in flight at once.
+     *
+     * @return The maximum number of concurrent polls.
+     */
+    public int getMaxConcurrentPolls() {
+        return maxConcurrentPolls;
+    }
+
+    /**
+     * Gets how often polling sources are polled.
+     *
+     * @return The poll interval.
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * Gets the number of events one poll of a source must return for the source to be promoted to a live stream.
+     *
+     * @return The promotion threshold.
+     */
+    public int getPromoteThreshold() {
+        return promoteThreshold;
+    }
+
+    /**
+     * Gets how long a live stream may go without events before it is demoted back to polling.
+     *
+     * @return The idle timeout.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Gets the options used to poll sources, such as the page size.
+     *
+     * @return The feed options.
+     */
+    public FeedOptions getFeedOptions() {
+        return feedOptions;
+    }
+
+    /**
+     * Gets the options used to open live streams, such as the retry strategy.
+     *
+     * @return The stream options.
+     */
+    public StreamOptions getStreamOptions() {
+        return streamOptions;
+    }
+
+    /**
+     * Creates a new builder for {@code StreamManagerOptions}.
+     *
+     * @return A new {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for constructing {@code StreamManagerOptions} instances.
+     */
+    public static final class Builder {
+        private int maxStreams = DEFAULT_MAX_STREAMS;
+        private int maxConcurrentPolls = DEFAULT_MAX_CONCURRENT_POLLS;
+        private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+        private int promoteThreshold = DEFAULT_PROMOTE_THRESHOLD;
+        private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private FeedOptions feedOptions = FeedOptions.DEFAULT;
+        private StreamOptions streamOptions = StreamOptions.DEFAULT;
+
+        /**
+         * Sets the maximum number of sources that are live streams at once. Defaults to 100. Zero polls every
+         * source.
+         *
+         * @param maxStreams The maximum number of streams.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxStreams(final int maxStreams) {
+            this.maxStreams = maxStreams;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of feed polls in flight at once. Defaults to 8.
+         *
+         * @param maxConcurrentPolls The maximum number of concurrent polls. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxConcurrentPolls(final int maxConcurrentPolls) {
+            this.maxConcurrentPolls = maxConcurrentPolls;
+            return this;
+        }
+
+        /**
+         * Sets how often polling sources are polled. Each source is polled at most once per interval, in
+         * round-robin order, as long as poll slots are free. Defaults to 1 second.
+         *
+         * @param pollInterval The poll interval. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder pollInterval(final Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * Sets the number of events one poll of a source must return for the source to be promoted to a live
+         * stream. Defaults to 16, the default feed page size.
+         *
+         * @param promoteThreshold The promotion threshold. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder promoteThreshold(final int promoteThreshold) {
+            this.promoteThreshold = promoteThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long a live stream may go without events before it is demoted back to polling. Defaults to
+         * 1 minute.
+         *
+         * @param idleTimeout The idle timeout. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder idleTimeout(final Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the options used to poll sources, such as the page size. The cursor is managed per source.
+         *
+         * @param feedOptions The feed options.
+         * @return This {@code Builder} instance.
+         */
+        public Builder feedOptions(final FeedOptions feedOptions) {
+            this.feedOptions = feedOptions;
+            return this;
+        }
+
+        /**
+         * Sets the options used to open live streams, such as the retry strategy. The cursor is managed per source.
+         *
+         * @param streamOptions The stream options.
+         * @return This {@code Builder} instance.
+         */
+        public Builder streamOptions(final StreamOptions streamOptions) {
+            this.streamOptions = streamOptions;
+            return this;
+        }
+
+        /**
+         * Builds a new {@code StreamManagerOptions} instance with the configured parameters.
+         *
+         * @return A new {@code StreamManagerOptions} instance.
+         * @throws IllegalArgumentException If a limit, interval or threshold is out of range, or an options
+         *                                  object is null.
+         */
+        public StreamManagerOptions build() {
+            if (maxStreams < 0) {
+                throw new IllegalArgumentException("maxStreams must not be negative.");
+            }
+            if (maxConcurrentPolls <= 0) {
+                throw new IllegalArgumentException("maxConcurrentPolls must be positive.");
+            }
+            if (pollInterval == null || pollInterval.isNegative() || pollInterval.isZero()) {
+                throw new IllegalArgumentException("pollInterval must be positive.");
+            }
+            if (promoteThreshold <= 0) {
+                throw new IllegalArgumentException("promoteThreshold must be positive.");
+            }
+            if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalArgumentException("idleTimeout must be positive.");
+            }
+            if (feedOptions == null || streamOptions == null) {
+                throw new IllegalArgumentException("feedOptions and streamOptions must not be null.");
+            }
+            return new StreamManagerOptions(this);
+        }
+    }
+}
@@ -1,23 +1,65 @@
 package com.fauna.event;
 
 import com.fauna.client.RetryStrategy;
+import com.fauna.types.Document;
+import com.fauna.types.NamedDocument;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * Represents configuration options for a Fauna <a href="https://docs.fauna.com/fauna/current/reference/cdc/#event-streaming">event stream</a>.
  * <p>
  * The {@code StreamOptions} class allows customization of the stream request, including cursor,
- * retry strategy, start timestamp, status events, and timeout.
+ * retry strategy, start timestamp, status events, and timeout, and of how events are delivered to subscribers.
  */
 public class StreamOptions {
 
+    /**
+     * What a stream does with a new event when a subscriber's buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Waits for the subscriber to take an event. This also stops reading from the connection.
+         */
+        BLOCK,
+        /**
+         * Drops the oldest buffered event to make room.
+         */
+        DROP_OLDEST,
+        /**
+         * Drops the new event.
+         */
+        DROP_NEWEST,
+        /**
+         * Keeps only the latest buffered event for each document, so a new event replaces a buffered event for the
+         * same document. If the buffer is full of events for other documents, drops the oldest.
+         */
+        CONFLATE,
+        /**
+         * Signals a {@link com.fauna.exception.ClientException} to the subscriber and cancels its subscription.
+         */
+        FAIL
+    }
+
     private final String cursor;
     private final RetryStrategy retryStrategy;
     private final Long startTimestamp;
     private final Boolean statusEvents;
     private final Duration timeout;
+    private final EventDataPool<?> dataPool;
+    private final Executor executor;
+    private final int maxBufferCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Function<Object, ?> conflationKey;
+    private final boolean multicast;
+    private final int replayCapacity;
+    private final CursorCheckpoint checkpoint;
+    private final boolean lazyDecoding;
 
     /**
      * Default {@code StreamOptions} instance with defaults.
@@ -35,6 +77,15 @@ public class StreamOptions {
         this.startTimestamp = builder.startTimestamp;
         this.statusEvents = builder.statusEvents;
         this.timeout = builder.timeout;
+        this.dataPool = builder.dataPool;
+        this.executor = builder.executor;
+        this.maxBufferCapacity = builder.maxBufferCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.conflationKey = builder.conflationKey;
+        this.multicast = builder.multicast;
+        this.replayCapacity = builder.replayCapacity;
+        this.checkpoint = builder.checkpoint;
+        this.lazyDecoding = builder.lazyDecoding;
     }
 
     /**
@@ -82,6 +133,124 @@ public class StreamOptions {
         return Optional.ofNullable(timeout);
     }
 
+    /**
+     * Retrieves the pool that supplies instances to decode event data into.
+     *
+     * @return An {@link Optional} containing the {@link EventDataPool}, or empty if not set.
+     */
+    public Optional<EventDataPool<?>> getDataPool() {
+        return Optional.ofNullable(dataPool);
+    }
+
+    /**
+     * Retrieves the executor that delivers events to subscribers.
+     *
+     * @return The delivery executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Retrieves the maximum number of events buffered for each subscriber.
+     *
+     * @return The maximum buffer capacity.
+     */
+    public int getMaxBufferCapacity() {
+        return maxBufferCapacity;
+    }
+
+    /**
+     * Retrieves what the stream does with a new event when a subscriber's buffer is full.
+     *
+     * @return The overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Checks whether the stream accepts more than one subscriber.
+     *
+     * @return True if the stream is multicast.
+     */
+    public boolean isMulticast() {
+        return multicast;
+    }
+
+    /**
+     * Retrieves the number of recent events a multicast stream replays to each new subscriber.
+     *
+     * @return The replay capacity.
+     */
+    public int getReplayCapacity() {
+        return replayCapacity;
+    }
+
+    /**
+     * Retrieves the checkpoint that persists the stream's cursor.
+     *
+     * @return An {@link Optional} containing the {@link CursorCheckpoint}, or empty if not set.
+     */
+    public Optional<CursorCheckpoint> getCheckpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    /**
+     * Checks whether event data is decoded lazily.
+     *
+     * @return {@code true} if event data is decoded on the first call to {@link FaunaEvent#getData()}.
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Gets the key that identifies the document an event's data belongs to, for {@link OverflowPolicy#CONFLATE}.
+     * By default, {@link com.fauna.types.Document} and {@link com.fauna.types.NamedDocument} data is keyed by its
+     * collection and ID or name, and other data is never conflated.
+     *
+     * @param data The event data.
+     * @return The key, or {@code null} if the event should not be conflated.
+     */
+    Object conflationKey(final Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (conflationKey != null) {
+            return conflationKey.apply(data);
+        }
+        if (data instanceof Document) {
+            Document doc = (Document) data;
+            return doc.getCollection().getName() + "/" + doc.getId();
+        }
+        if (data instanceof NamedDocument) {
+            NamedDocument doc = (NamedDocument) data;
+            return doc.getCollection().getName() + "/" + doc.getName();
+        }
+        return null;
+    }
+
+    /**
+     * Creates a copy of these options that starts the stream from the specified cursor. A cursor takes precedence
+     * over a start timestamp.
+     *
+     * @param cursor A {@code String} representing the cursor position.
+     * @return A new {@code StreamOptions} instance.
+     */
+    public StreamOptions withCursor(final String cursor) {
+        Builder builder = builder().cursor(cursor).retryStrategy(retryStrategy).statusEvents(statusEvents)
+                .timeout(timeout).dataPool(dataPool).executor(executor).maxBufferCapacity(maxBufferCapacity)
+                .overflowPolicy(overflowPolicy);
+        builder.startTimestamp = startTimestamp;
+        builder.conflationKey = conflationKey;
+        builder.multicast = multicast;
+        builder.replayCapacity = replayCapacity;
+        builder.checkpoint = checkpoint;
+        builder.lazyDecoding = lazyDecoding;
+        return builder.build();
+    }
+
     /**
      * Builder class for constructing {@code StreamOptions} instances.
      */
@@ -91,6 +260,15 @@ public class StreamOptions {
         private Long startTimestamp = null;
         private Boolean statusEvents = null;
         private Duration timeout = null;
+        private EventDataPool<?> dataPool = null;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int maxBufferCapacity = Flow.defaultBufferSize();
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private Function<Object, ?> conflationKey = null;
+        private boolean multicast = false;
+        private int replayCapacity = 0;
+        private CursorCheckpoint checkpoint = null;
+        private boolean lazyDecoding = false;
 
         /**
          * Sets the cursor for the stream.
@@ -104,7 +282,8 @@ public class StreamOptions {
         }
 
         /**
-         * Sets the retry strategy for the stream.
+         * Sets the retry strategy for the stream. When set, a stream whose connection drops is re-opened from the
+         * cursor of the last delivered event, waiting between attempts as the strategy specifies.
          *
          * @param retryStrategy The {@link RetryStrategy} for managing retries.
          * @return This {@code Builder} instance.
@@ -147,12 +326,137 @@ public class StreamOptions {
             return this;
         }
 
+        /**
+         * Sets a pool that supplies instances to decode event data into. See {@link EventDataPool}.
+         *
+         * @param dataPool An {@link EventDataPool} whose instances match the stream's element class.
+         * @return This {@code Builder} instance.
+         */
+        public Builder dataPool(final EventDataPool<?> dataPool) {
+            this.dataPool = dataPool;
+            return this;
+        }
+
+        /**
+         * Sets the executor that delivers events to subscribers. Defaults to {@link ForkJoinPool#commonPool()}.
+         *
+         * @param executor The delivery executor.
+         * @return This {@code Builder} instance.
+         */
+        public Builder executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events buffered for each subscriber. Defaults to
+         * {@link Flow#defaultBufferSize()}.
+         *
+         * @param maxBufferCapacity The maximum buffer capacity. Must be positive.
+         * @return This {@code Builder} instance.
+         */
+        public Builder maxBufferCapacity(final int maxBufferCapacity) {
+            this.maxBufferCapacity = maxBufferCapacity;
+            return this;
+        }
+
+        /**
+         * Sets what the stream does with a new event when a subscriber's buffer is full. Defaults to
+         * {@link OverflowPolicy#BLOCK}.
+         *
+         * @param overflowPolicy The overflow policy.
+         * @return This {@code Builder} instance.
+         */
+        public Builder overflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Conflates events with {@link OverflowPolicy#CONFLATE}, keying each event by the document its data
+         * belongs to.
+         *
+         * @param conflationKey Computes the key from an event's data, or returns {@code null} if the event should
+         *                      not be conflated.
+         * @return This {@code Builder} instance.
+         */
+        public Builder conflate(final Function<Object, ?> conflationKey) {
+            this.overflowPolicy = OverflowPolicy.CONFLATE;
+            this.conflationKey = conflationKey;
+            return this;
+        }
+
+        /**
+         * Lets any number of subscribers share the stream's connection. Each event is decoded once and buffered
+         * separately for each subscriber, so a slow subscriber does not hold up the others unless the overflow
+         * policy is {@link OverflowPolicy#BLOCK}. A new subscriber first receives up to {@code replayCapacity} of
+         * the most recently delivered events.
+         *
+         * @param replayCapacity The number of recent events replayed to new subscribers. Zero disables replay.
+         * @return This {@code Builder} instance.
+         */
+        public Builder multicast(final int replayCapacity) {
+            this.multicast = true;
+            this.replayCapacity = replayCapacity;
+            return this;
+        }
+
+        /**
+         * Sets a checkpoint that persists the stream's cursor. A stream opened without a cursor resumes from the
+         * checkpoint's committed cursor, if there is one, instead of the start timestamp. Each event's cursor is
+         * acknowledged to the checkpoint once the subscriber's {@code onNext} returns for it, and pending
+         * acknowledgements are committed when the subscription terminates.
+         *
+         * @param checkpoint A {@link CursorCheckpoint}.
+         * @return This {@code Builder} instance.
+         */
+        public Builder checkpoint(final CursorCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Sets whether event data is decoded lazily. With lazy decoding, each event keeps the JSON of its data and
+         * decodes it on the first call to {@link FaunaEvent#getData()}, so subscribers that filter events by type or
+         * cursor skip decoding the ones they discard. Conflation reads the data of buffered events, so it decodes
+         * them before they are delivered.
+         *
+         * @param lazyDecoding Whether to defer decoding event data.
+         * @return This {@code Builder} instance.
+         */
+        public Builder lazyDecoding(final boolean lazyDecoding) {
+            this.lazyDecoding = lazyDecoding;
+            return this;
+        }
+
         /**
          * Builds a new {@code StreamOptions} instance with the configured parameters.
          *
          * @return A new {@code StreamOptions} instance.
+         * @throws IllegalArgumentException If the executor or overflow policy is null, the maximum buffer capacity
+         *                                  is not positive, the replay capacity is negative, or a data pool or
+         *                                  checkpoint is combined with multicast, whose subscribers share event
+         *                                  data and process events at their own pace.
          */
         public StreamOptions build() {
+            if (executor == null) {
+                throw new IllegalArgumentException("executor must not be null.");
+            }
+            if (maxBufferCapacity <= 0) {
+                throw new IllegalArgumentException("maxBufferCapacity must be positive.");
+            }
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("overflowPolicy must not be null.");
+            }
+            if (replayCapacity < 0) {
+                throw new IllegalArgumentException("replayCapacity must not be negative.");
+            }
+            if (multicast && dataPool != null) {
+                throw new IllegalArgumentException("A dataPool cannot be used with a multicast stream.");
+            }
+            if (multicast && checkpoint != null) {
+                throw new IllegalArgumentException("A checkpoint cannot be used with a multicast stream.");
+            }
             return new StreamOptions(this);
         }
     }
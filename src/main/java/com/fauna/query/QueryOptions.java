@@ -16,6 +16,7 @@ public class QueryOptions {
     private final Duration timeout;
     private final QueryTags queryTags;
     private final String traceParent;
+    private final Integer deduplicatedStringLength;
 
     /**
      * Creates an instance of QueryOptions using the specified builder.
@@ -28,6 +29,7 @@ public class QueryOptions {
         this.timeout = builder.timeout;
         this.queryTags = builder.queryTags;
         this.traceParent = builder.traceParent;
+        this.deduplicatedStringLength = builder.deduplicatedStringLength;
     }
 
     /**
@@ -88,6 +90,15 @@ public class QueryOptions {
         return Optional.ofNullable(this.traceParent);
     }
 
+    /**
+     * Returns an Optional of the maximum length of string values that are deduplicated while decoding the response.
+     *
+     * @return an Optional containing the maximum length, or empty if string values are not deduplicated.
+     */
+    public Optional<Integer> getDeduplicatedStringLength() {
+        return Optional.ofNullable(this.deduplicatedStringLength);
+    }
+
     /**
      * Builder class for constructing instances of QueryOptions.
      */
@@ -97,6 +108,7 @@ public class QueryOptions {
         private Duration timeout = DEFAULT_TIMEOUT;
         private QueryTags queryTags = null;
         private String traceParent = null;
+        private Integer deduplicatedStringLength = null;
 
         /**
          * If true, read-only transactions that don't read indexes are <a
@@ -181,12 +193,29 @@ public class QueryOptions {
             return this;
         }
 
+        /**
+         * Deduplicates short string values while decoding the query result. Equal string values of at most
+         * {@code maxLength} characters, such as statuses or categories repeated across the documents of a page, are
+         * decoded as the same instance, which reduces the retained size of results that are kept around.
+         *
+         * @param maxLength the maximum length of string values to deduplicate.
+         * @return this Builder instance for chaining.
+         */
+        public Builder deduplicateStrings(final int maxLength) {
+            this.deduplicatedStringLength = maxLength;
+            return this;
+        }
+
         /**
          * Builds and returns a new instance of QueryOptions.
          *
          * @return a new QueryOptions instance with the configured settings.
+         * @throws IllegalArgumentException if the deduplicated string length is not positive.
          */
         public QueryOptions build() {
+            if (deduplicatedStringLength != null && deduplicatedStringLength <= 0) {
+                throw new IllegalArgumentException("deduplicateStrings maxLength must be positive.");
+            }
             return new QueryOptions(this);
         }
 
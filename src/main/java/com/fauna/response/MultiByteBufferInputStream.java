@@ -11,7 +11,11 @@ import java.util.List;
  * <p>
  * The reset method is supported, and always resets to restart the stream at the beginning of the first buffer,
  * although markSupported() returns false for this class.
+ * <p>
+ * The driver no longer reads event streams through this class, since {@code FaunaStream} now frames events as they
+ * arrive. It is kept because it is public, so applications may still use it, and will be removed in a major release.
  */
+@Deprecated
 public class MultiByteBufferInputStream extends InputStream {
     private final int ff = 0xFF;
     private final List<ByteBuffer> buffers;
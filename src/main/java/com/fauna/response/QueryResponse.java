@@ -98,11 +98,33 @@ public abstract class QueryResponse {
     public static <T> QuerySuccess<T> parseResponse(
             final HttpResponse<InputStream> response, final Codec<T> codec,
             final StatsCollector statsCollector) throws FaunaException {
+        return parseResponse(response, codec, statsCollector, 0);
+    }
+
+    /**
+     * A helper method to adapt an HTTP response into a QuerySuccess or throw
+     * the appropriate FaunaException, deduplicating short string values in
+     * the decoded data.
+     *
+     * @param response                 The HTTP response to adapt.
+     * @param codec                    The codec to use when reading the HTTP response body.
+     * @param statsCollector           The stats collector to accumulate stats against.
+     * @param deduplicatedStringLength The maximum length of string values to deduplicate, or 0 to not
+     *                                 deduplicate them.
+     * @param <T>                      The response type on success.
+     * @return A QuerySuccess instance.
+     * @throws FaunaException Thrown on non-200 responses.
+     */
+    public static <T> QuerySuccess<T> parseResponse(
+            final HttpResponse<InputStream> response, final Codec<T> codec,
+            final StatsCollector statsCollector,
+            final int deduplicatedStringLength) throws FaunaException {
         try {
             JsonParser parser = JSON_FACTORY.createParser(response.body());
 
             JsonToken firstToken = parser.nextToken();
-            Builder<T> builder = QueryResponse.builder(codec);
+            Builder<T> builder = QueryResponse.builder(codec)
+                    .deduplicateStrings(deduplicatedStringLength);
             if (firstToken != JsonToken.START_OBJECT) {
                 throw new ClientResponseException(
                         "Response must be JSON object.");
@@ -186,6 +208,7 @@ public abstract class QueryResponse {
         private String staticType;
         private ErrorInfo error;
         private T data;
+        private int deduplicatedStringLength;
 
         /**
          * Initializes a QueryResponse.Builder.
@@ -218,6 +241,17 @@ public abstract class QueryResponse {
             return this;
         }
 
+        /**
+         * Deduplicate string values of at most the given length when decoding the data.
+         *
+         * @param maxLength The maximum length of string values to deduplicate, or 0 to not deduplicate them.
+         * @return This
+         */
+        public Builder<T> deduplicateStrings(final int maxLength) {
+            this.deduplicatedStringLength = maxLength;
+            return this;
+        }
+
         /**
          * Set the data on the builder by consuming the provided JsonParser with
          * the configured codec.
@@ -227,6 +261,9 @@ public abstract class QueryResponse {
          */
         public Builder<T> data(final JsonParser parser) {
             UTF8FaunaParser faunaParser = new UTF8FaunaParser(parser);
+            if (deduplicatedStringLength > 0) {
+                faunaParser.deduplicateStrings(deduplicatedStringLength);
+            }
             faunaParser.read();
             this.data = this.codec.decode(faunaParser);
             return this;
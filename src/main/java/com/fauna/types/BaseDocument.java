@@ -1,8 +1,6 @@
 package com.fauna.types;
 
 import java.time.Instant;
-import java.util.Enumeration;
-import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -12,7 +10,7 @@ import java.util.Map;
  */
 public abstract class BaseDocument implements Iterable<BaseDocument.Entry> {
 
-    private final Hashtable<String, Object> data = new Hashtable<>();
+    private final CompactMap data;
     private final Instant ts;
     private final Module collection;
 
@@ -24,8 +22,7 @@ public abstract class BaseDocument implements Iterable<BaseDocument.Entry> {
      * @param ts   The timestamp indicating when the document was created or last modified.
      */
     public BaseDocument(final Module coll, final Instant ts) {
-        this.collection = coll;
-        this.ts = ts;
+        this(coll, ts, CompactMap.empty());
     }
 
     /**
@@ -40,8 +37,9 @@ public abstract class BaseDocument implements Iterable<BaseDocument.Entry> {
             final Module coll,
             final Instant ts,
             final Map<String, Object> data) {
-        this(coll, ts);
-        this.data.putAll(data);
+        this.collection = coll;
+        this.ts = ts;
+        this.data = CompactMap.copyOf(data);
     }
 
     /**
@@ -53,17 +51,17 @@ public abstract class BaseDocument implements Iterable<BaseDocument.Entry> {
     @Override
     public Iterator<Entry> iterator() {
         return new Iterator<>() {
-            private final Enumeration<String> keys = data.keys();
+            private final Iterator<Map.Entry<String, Object>> entries = data.entrySet().iterator();
 
             @Override
             public boolean hasNext() {
-                return keys.hasMoreElements();
+                return entries.hasNext();
             }
 
             @Override
             public Entry next() {
-                String key = keys.nextElement();
-                return new Entry(key, data.get(key));
+                Map.Entry<String, Object> entry = entries.next();
+                return new Entry(entry.getKey(), entry.getValue());
             }
         };
     }
@@ -125,9 +123,9 @@ public abstract class BaseDocument implements Iterable<BaseDocument.Entry> {
     }
 
     /**
-     * Retrieves a copy of the document's data as a {@code Map}.
+     * Retrieves the document's data as a read-only {@code Map}.
      *
-     * @return A {@code Map<String, Object>} containing the document's key-value pairs.
+     * @return An unmodifiable {@code Map<String, Object>} containing the document's key-value pairs.
      */
     public Map<String, Object> getData() {
         return data;
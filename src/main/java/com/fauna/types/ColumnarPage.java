@@ -0,0 +1,728 @@
+package com.fauna.types;
+
+import com.fauna.query.AfterToken;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents a page of data in a Fauna Set, decoded into one typed column per declared field rather than one object
+ * per element.
+ * <p>
+ * A {@code ColumnarPage} is an alternative to {@link Page} for analytic scans. Numeric, boolean and time fields are
+ * stored in primitive arrays, strings are dictionary-encoded, and missing or null values are tracked in a bitmap, so
+ * decoding a page allocates per column rather than per element. Fields of an element that are not declared in the
+ * {@link Schema} are skipped.
+ */
+public final class ColumnarPage {
+
+    /**
+     * The types of column a {@link Schema} can declare.
+     */
+    public enum ColumnType {
+        /** An {@code @int} or {@code @long} field, stored as a {@code long[]}. */
+        LONG,
+        /** An {@code @int}, {@code @long} or {@code @double} field, stored as a {@code double[]}. */
+        DOUBLE,
+        /** A boolean field, stored as a bitmap. */
+        BOOLEAN,
+        /** A string or module field, stored as dictionary codes. */
+        STRING,
+        /** A {@code @time} field, stored as epoch seconds and nanoseconds. */
+        TIME
+    }
+
+    private static final int WORD_SHIFT = 6;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int rowCount;
+    private final Map<String, Column> columns;
+    private final String after;
+
+    /**
+     * Constructs a {@code ColumnarPage} with the specified columns and an optional after token.
+     *
+     * @param rowCount The number of elements in the page.
+     * @param columns  The columns of the page, keyed by field name.
+     * @param after    The after token for pagination, which may be null if there are no more pages.
+     */
+    public ColumnarPage(final int rowCount, final Map<String, Column> columns, final String after) {
+        this.rowCount = rowCount;
+        this.columns = Collections.unmodifiableMap(columns);
+        this.after = after;
+    }
+
+    /**
+     * Gets the number of elements in this page.
+     *
+     * @return The number of rows in each column.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the columns of this page, in the order they were declared in the schema.
+     *
+     * @return The columns keyed by field name.
+     */
+    public Map<String, Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column, or {@code null} if the schema does not declare the field.
+     */
+    public Column getColumn(final String name) {
+        return columns.get(name);
+    }
+
+    /**
+     * Gets the {@link ColumnType#LONG} column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is not declared as a {@code LONG} column.
+     */
+    public LongColumn getLongColumn(final String name) {
+        return typedColumn(name, LongColumn.class);
+    }
+
+    /**
+     * Gets the {@link ColumnType#DOUBLE} column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is not declared as a {@code DOUBLE} column.
+     */
+    public DoubleColumn getDoubleColumn(final String name) {
+        return typedColumn(name, DoubleColumn.class);
+    }
+
+    /**
+     * Gets the {@link ColumnType#BOOLEAN} column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is not declared as a {@code BOOLEAN} column.
+     */
+    public BooleanColumn getBooleanColumn(final String name) {
+        return typedColumn(name, BooleanColumn.class);
+    }
+
+    /**
+     * Gets the {@link ColumnType#STRING} column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is not declared as a {@code STRING} column.
+     */
+    public StringColumn getStringColumn(final String name) {
+        return typedColumn(name, StringColumn.class);
+    }
+
+    /**
+     * Gets the {@link ColumnType#TIME} column for the specified field.
+     *
+     * @param name The field name.
+     * @return The column.
+     * @throws IllegalArgumentException If the field is not declared as a {@code TIME} column.
+     */
+    public TimeColumn getTimeColumn(final String name) {
+        return typedColumn(name, TimeColumn.class);
+    }
+
+    /**
+     * Retrieves the optional after token for pagination. If present, this token can be used to
+     * request the next page of results from Fauna.
+     *
+     * @return An {@code Optional<AfterToken>} representing the after token, or an empty {@code Optional} if no token
+     * is present.
+     */
+    public Optional<AfterToken> getAfter() {
+        return AfterToken.fromString(after);
+    }
+
+    private <C extends Column> C typedColumn(final String name, final Class<C> columnClass) {
+        Column column = columns.get(name);
+        if (!columnClass.isInstance(column)) {
+            throw new IllegalArgumentException(
+                    "Field '" + name + "' is not declared as a " + columnClass.getSimpleName() + ".");
+        }
+        return columnClass.cast(column);
+    }
+
+    /**
+     * Declares the fields to decode into columns, and their types.
+     */
+    public static final class Schema {
+
+        private final Map<String, ColumnType> columns;
+
+        private Schema(final Map<String, ColumnType> columns) {
+            this.columns = Collections.unmodifiableMap(columns);
+        }
+
+        /**
+         * Creates a new builder for a {@code Schema}.
+         *
+         * @return A new builder.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Gets the declared columns in declaration order.
+         *
+         * @return The column types keyed by field name.
+         */
+        public Map<String, ColumnType> getColumns() {
+            return columns;
+        }
+
+        /**
+         * Builds a {@link Schema}.
+         */
+        public static final class Builder {
+
+            private final Map<String, ColumnType> columns = new LinkedHashMap<>();
+
+            /**
+             * Declares a column.
+             *
+             * @param name The field name.
+             * @param type The type of the column.
+             * @return This builder.
+             */
+            public Builder column(final String name, final ColumnType type) {
+                this.columns.put(name, type);
+                return this;
+            }
+
+            /**
+             * Builds the schema.
+             *
+             * @return A new {@code Schema}.
+             */
+            public Schema build() {
+                return new Schema(new LinkedHashMap<>(columns));
+            }
+        }
+    }
+
+    /**
+     * Creates a loader that fills the columns of a new page declared by the specified schema.
+     *
+     * @param schema The fields to decode and their column types.
+     * @return A new {@code Loader}.
+     */
+    public static Loader loader(final Schema schema) {
+        return new Loader(schema);
+    }
+
+    /**
+     * Fills the columns of a new {@link ColumnarPage} row by row. Columns are addressed by their index in the
+     * {@link Schema}. Once {@link #build} returns the page, the loader rejects further values, so a decoded page cannot
+     * be changed.
+     */
+    public static final class Loader {
+
+        private final Column[] columns;
+        private boolean built;
+
+        private Loader(final Schema schema) {
+            this.columns = new Column[schema.getColumns().size()];
+            int i = 0;
+            for (Map.Entry<String, ColumnType> entry : schema.getColumns().entrySet()) {
+                columns[i++] = newColumn(entry.getKey(), entry.getValue());
+            }
+        }
+
+        private static Column newColumn(final String name, final ColumnType type) {
+            switch (type) {
+                case LONG:
+                    return new LongColumn(name);
+                case DOUBLE:
+                    return new DoubleColumn(name);
+                case BOOLEAN:
+                    return new BooleanColumn(name);
+                case STRING:
+                    return new StringColumn(name);
+                default:
+                    return new TimeColumn(name);
+            }
+        }
+
+        /**
+         * Sets a value in a {@link ColumnType#LONG} column.
+         *
+         * @param column The index of the column in the schema.
+         * @param row    The row index.
+         * @param value  The value.
+         */
+        public void setLong(final int column, final int row, final long value) {
+            column(column, LongColumn.class).set(row, value);
+        }
+
+        /**
+         * Sets a value in a {@link ColumnType#DOUBLE} column.
+         *
+         * @param column The index of the column in the schema.
+         * @param row    The row index.
+         * @param value  The value.
+         */
+        public void setDouble(final int column, final int row, final double value) {
+            column(column, DoubleColumn.class).set(row, value);
+        }
+
+        /**
+         * Sets a value in a {@link ColumnType#BOOLEAN} column.
+         *
+         * @param column The index of the column in the schema.
+         * @param row    The row index.
+         * @param value  The value.
+         */
+        public void setBoolean(final int column, final int row, final boolean value) {
+            column(column, BooleanColumn.class).set(row, value);
+        }
+
+        /**
+         * Sets a value in a {@link ColumnType#STRING} column.
+         *
+         * @param column The index of the column in the schema.
+         * @param row    The row index.
+         * @param value  The value.
+         */
+        public void setString(final int column, final int row, final String value) {
+            column(column, StringColumn.class).set(row, value);
+        }
+
+        /**
+         * Sets a value in a {@link ColumnType#TIME} column.
+         *
+         * @param column The index of the column in the schema.
+         * @param row    The row index.
+         * @param value  The value.
+         */
+        public void setTime(final int column, final int row, final Instant value) {
+            column(column, TimeColumn.class).set(row, value);
+        }
+
+        /**
+         * Builds the page from the loaded columns. The loader cannot be used afterwards.
+         *
+         * @param rowCount The number of elements in the page.
+         * @param after    The after token for pagination, which may be null if there are no more pages.
+         * @return A new {@code ColumnarPage}.
+         */
+        public ColumnarPage build(final int rowCount, final String after) {
+            checkOpen();
+            built = true;
+            Map<String, Column> byName = new LinkedHashMap<>();
+            for (Column column : columns) {
+                byName.put(column.getName(), column);
+            }
+            return new ColumnarPage(rowCount, byName, after);
+        }
+
+        private <C extends Column> C column(final int index, final Class<C> columnClass) {
+            checkOpen();
+            Column column = columns[index];
+            if (!columnClass.isInstance(column)) {
+                throw new IllegalArgumentException(
+                        "Field '" + column.getName() + "' is not declared as a " + columnClass.getSimpleName() + ".");
+            }
+            return columnClass.cast(column);
+        }
+
+        private void checkOpen() {
+            if (built) {
+                throw new IllegalStateException("The page has already been built.");
+            }
+        }
+    }
+
+    /**
+     * A column of values for one field, with a bitmap recording which rows are null.
+     */
+    public abstract static class Column {
+
+        private final String name;
+        private long[] present = new long[1];
+
+        Column(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the field this column holds.
+         *
+         * @return The field name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the type of this column.
+         *
+         * @return The column type.
+         */
+        public abstract ColumnType getType();
+
+        /**
+         * Determines whether the value in the specified row is null or missing.
+         *
+         * @param row The row index.
+         * @return {@code true} if the row has no value.
+         */
+        public boolean isNull(final int row) {
+            int word = row >>> WORD_SHIFT;
+            return word >= present.length || (present[word] & (1L << row)) == 0;
+        }
+
+        /**
+         * Gets the value in the specified row as an object.
+         *
+         * @param row The row index.
+         * @return The value, or {@code null} if the row has no value.
+         */
+        public abstract Object getObject(int row);
+
+        final void markPresent(final int row) {
+            int word = row >>> WORD_SHIFT;
+            if (word >= present.length) {
+                present = Arrays.copyOf(present, Math.max(word + 1, present.length * 2));
+            }
+            present[word] |= 1L << row;
+        }
+
+        static int grow(final int length, final int row) {
+            return Math.max(row + 1, Math.max(MIN_CAPACITY, length * 2));
+        }
+    }
+
+    /**
+     * A {@link ColumnType#LONG} column.
+     */
+    public static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        /**
+         * Constructs an empty column.
+         *
+         * @param name The field name.
+         */
+        LongColumn(final String name) {
+            super(name);
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.LONG;
+        }
+
+        /**
+         * Gets the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The value, or {@code 0} if the row is null.
+         */
+        public long get(final int row) {
+            return row < values.length ? values[row] : 0L;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * Sets the value in the specified row.
+         *
+         * @param row   The row index.
+         * @param value The value.
+         */
+        void set(final int row, final long value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = value;
+            markPresent(row);
+        }
+    }
+
+    /**
+     * A {@link ColumnType#DOUBLE} column.
+     */
+    public static final class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        /**
+         * Constructs an empty column.
+         *
+         * @param name The field name.
+         */
+        DoubleColumn(final String name) {
+            super(name);
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.DOUBLE;
+        }
+
+        /**
+         * Gets the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The value, or {@code 0.0} if the row is null.
+         */
+        public double get(final int row) {
+            return row < values.length ? values[row] : 0.0;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * Sets the value in the specified row.
+         *
+         * @param row   The row index.
+         * @param value The value.
+         */
+        void set(final int row, final double value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = value;
+            markPresent(row);
+        }
+    }
+
+    /**
+     * A {@link ColumnType#BOOLEAN} column.
+     */
+    public static final class BooleanColumn extends Column {
+
+        private long[] bits = new long[0];
+
+        /**
+         * Constructs an empty column.
+         *
+         * @param name The field name.
+         */
+        BooleanColumn(final String name) {
+            super(name);
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.BOOLEAN;
+        }
+
+        /**
+         * Gets the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The value, or {@code false} if the row is null.
+         */
+        public boolean get(final int row) {
+            int word = row >>> WORD_SHIFT;
+            return word < bits.length && (bits[word] & (1L << row)) != 0;
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return isNull(row) ? null : get(row);
+        }
+
+        /**
+         * Sets the value in the specified row.
+         *
+         * @param row   The row index.
+         * @param value The value.
+         */
+        void set(final int row, final boolean value) {
+            int word = row >>> WORD_SHIFT;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            }
+            if (value) {
+                bits[word] |= 1L << row;
+            } else {
+                bits[word] &= ~(1L << row);
+            }
+            markPresent(row);
+        }
+    }
+
+    /**
+     * A {@link ColumnType#STRING} column. Each distinct value is stored once in a dictionary, and each row holds
+     * the index of its value in the dictionary.
+     */
+    public static final class StringColumn extends Column {
+
+        private int[] codes = new int[0];
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+
+        /**
+         * Constructs an empty column.
+         *
+         * @param name The field name.
+         */
+        StringColumn(final String name) {
+            super(name);
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.STRING;
+        }
+
+        /**
+         * Gets the dictionary code of the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The index of the value in {@link #getDictionary()}, or {@code -1} if the row is null.
+         */
+        public int getCode(final int row) {
+            return isNull(row) ? -1 : codes[row];
+        }
+
+        /**
+         * Gets the distinct values of this column, indexed by dictionary code.
+         *
+         * @return The dictionary of values.
+         */
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(dictionary);
+        }
+
+        /**
+         * Gets the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The value, or {@code null} if the row is null.
+         */
+        public String get(final int row) {
+            return isNull(row) ? null : dictionary.get(codes[row]);
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return get(row);
+        }
+
+        /**
+         * Sets the value in the specified row.
+         *
+         * @param row   The row index.
+         * @param value The value.
+         */
+        void set(final int row, final String value) {
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codesByValue.put(value, code);
+            }
+            if (row >= codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, row));
+            }
+            codes[row] = code;
+            markPresent(row);
+        }
+    }
+
+    /**
+     * A {@link ColumnType#TIME} column.
+     */
+    public static final class TimeColumn extends Column {
+
+        private long[] epochSeconds = new long[0];
+        private int[] nanos = new int[0];
+
+        /**
+         * Constructs an empty column.
+         *
+         * @param name The field name.
+         */
+        TimeColumn(final String name) {
+            super(name);
+        }
+
+        @Override
+        public ColumnType getType() {
+            return ColumnType.TIME;
+        }
+
+        /**
+         * Gets the seconds since the epoch of the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The epoch second, or {@code 0} if the row is null.
+         */
+        public long getEpochSecond(final int row) {
+            return row < epochSeconds.length ? epochSeconds[row] : 0L;
+        }
+
+        /**
+         * Gets the nanosecond of second of the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The nanosecond of second, or {@code 0} if the row is null.
+         */
+        public int getNano(final int row) {
+            return row < nanos.length ? nanos[row] : 0;
+        }
+
+        /**
+         * Gets the value in the specified row.
+         *
+         * @param row The row index.
+         * @return The value, or {@code null} if the row is null.
+         */
+        public Instant get(final int row) {
+            return isNull(row) ? null : Instant.ofEpochSecond(epochSeconds[row], nanos[row]);
+        }
+
+        @Override
+        public Object getObject(final int row) {
+            return get(row);
+        }
+
+        /**
+         * Sets the value in the specified row.
+         *
+         * @param row   The row index.
+         * @param value The value.
+         */
+        void set(final int row, final Instant value) {
+            if (row >= epochSeconds.length) {
+                int length = grow(epochSeconds.length, row);
+                epochSeconds = Arrays.copyOf(epochSeconds, length);
+                nanos = Arrays.copyOf(nanos, length);
+            }
+            epochSeconds[row] = value.getEpochSecond();
+            nanos[row] = value.getNano();
+            markPresent(row);
+        }
+    }
+}
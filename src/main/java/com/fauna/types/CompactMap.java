@@ -0,0 +1,208 @@
+package com.fauna.types;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An immutable, array-backed map used to hold the data of decoded documents.
+ * <p>
+ * Keys are kept sorted in one array and values in another, so a document holds two arrays instead of a table of
+ * entry objects, and lookups and iteration need no locking. Documents with the same set of fields, such as the
+ * documents in a page from one collection, share a single key array.
+ */
+public final class CompactMap extends AbstractMap<String, Object> {
+
+    private static final CompactMap EMPTY = new CompactMap(new String[0], new Object[0]);
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int SHAPE_CACHE_SIZE = 64;
+    private static final AtomicReferenceArray<String[]> SHAPES =
+            new AtomicReferenceArray<>(SHAPE_CACHE_SIZE);
+
+    private final String[] keys;
+    private final Object[] values;
+
+    private CompactMap(final String[] keys, final Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns an empty {@code CompactMap}.
+     *
+     * @return An empty map.
+     */
+    public static CompactMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a {@code CompactMap} with the same entries as the specified map.
+     *
+     * @param map The map to copy.
+     * @return A {@code CompactMap} with the entries of {@code map}.
+     */
+    public static CompactMap copyOf(final Map<String, Object> map) {
+        if (map instanceof CompactMap) {
+            return (CompactMap) map;
+        }
+        Builder builder = new Builder(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (index >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, Object> entry =
+                                new SimpleImmutableEntry<>(keys[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    private int indexOf(final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return Arrays.binarySearch(keys, key);
+    }
+
+    // Returns an equal key array already held by another map when there is one, so maps of the same shape share it.
+    private static String[] shareKeys(final String[] keys) {
+        int slot = Arrays.hashCode(keys) & (SHAPE_CACHE_SIZE - 1);
+        String[] shared = SHAPES.get(slot);
+        if (shared != null && Arrays.equals(shared, keys)) {
+            return shared;
+        }
+        SHAPES.set(slot, keys);
+        return keys;
+    }
+
+    /**
+     * Builds a {@link CompactMap}. If a key is put more than once, the last value wins.
+     */
+    public static final class Builder {
+
+        private String[] keys;
+        private Object[] values;
+        private int size = 0;
+
+        /**
+         * Initializes a new builder.
+         */
+        public Builder() {
+            this(0);
+        }
+
+        /**
+         * Initializes a new builder sized for the specified number of entries.
+         *
+         * @param expectedSize The expected number of entries.
+         */
+        public Builder(final int expectedSize) {
+            this.keys = new String[expectedSize];
+            this.values = new Object[expectedSize];
+        }
+
+        /**
+         * Adds an entry to the map being built.
+         *
+         * @param key   The key of the entry.
+         * @param value The value of the entry.
+         * @return This builder.
+         */
+        public Builder put(final String key, final Object value) {
+            if (size == keys.length) {
+                int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the map. The builder should not be used afterward.
+         *
+         * @return A new {@code CompactMap}.
+         */
+        public CompactMap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            // Documents are small, so an insertion sort on the two arrays is cheaper than anything more general.
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                String key = keys[i];
+                Object value = values[i];
+                int j = count - 1;
+                while (j >= 0 && keys[j].compareTo(key) > 0) {
+                    j--;
+                }
+                if (j >= 0 && keys[j].equals(key)) {
+                    values[j] = value;
+                    continue;
+                }
+                System.arraycopy(keys, j + 1, keys, j + 2, count - j - 1);
+                System.arraycopy(values, j + 1, values, j + 2, count - j - 1);
+                keys[j + 1] = key;
+                values[j + 1] = value;
+                count++;
+            }
+
+            String[] sortedKeys = shareKeys(Arrays.copyOf(keys, count));
+            Object[] sortedValues = count == values.length ? values : Arrays.copyOf(values, count);
+            return new CompactMap(sortedKeys, sortedValues);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.fauna.types;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a module in Fauna Query Language (FQL), which serves as a symbolic object
@@ -20,6 +22,9 @@ import java.util.Objects;
  */
 public final class Module {
 
+    private static final int MAX_INTERNED = 1024;
+    private static final Map<String, Module> INTERNED = new ConcurrentHashMap<>();
+
     private final String name;
 
     /**
@@ -31,6 +36,27 @@ public final class Module {
         this.name = name;
     }
 
+    /**
+     * Returns a shared {@code Module} instance for the specified name.
+     * <p>
+     * Decoded documents reference their collection as a module, so a page of documents would otherwise hold one
+     * {@code Module} per document. Instances are cached for the first {@value #MAX_INTERNED} distinct names; beyond
+     * that a new instance is returned.
+     *
+     * @param name The name of the module.
+     * @return A {@code Module} with the specified name.
+     */
+    public static Module of(final String name) {
+        Module module = INTERNED.get(name);
+        if (module != null) {
+            return module;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return new Module(name);
+        }
+        return INTERNED.computeIfAbsent(name, Module::new);
+    }
+
     /**
      * Gets the name of this module as a string representation.
      *
@@ -0,0 +1,67 @@
+package com.fauna.types;
+
+import java.util.Objects;
+
+/**
+ * Represents a value held as undecoded tagged JSON in Fauna's wire format.
+ * <p>
+ * Declare a field, list element or result type as {@code RawValue} to capture a subtree of a response without
+ * decoding it. A {@code RawValue} used as a query argument is written back out as it was captured, so values can be
+ * forwarded without being interpreted:
+ * <pre>
+ *     RawValue details = client.query(fql("Product.byId('123')!.details"), RawValue.class).getData();
+ *     other.query(fql("Archive.create({ details: ${d} })", Map.of("d", details)));
+ * </pre>
+ * Documents are written as refs to the same document, because Fauna does not accept documents as input, and sets
+ * cannot be used as query arguments at all. The JSON is not validated when a {@code RawValue} is created from a
+ * string, and it must be in the tagged format that Fauna accepts at the position where it is used.
+ */
+public final class RawValue {
+
+    private final String json;
+
+    private RawValue(final String json) {
+        this.json = json;
+    }
+
+    /**
+     * Creates a {@code RawValue} from tagged JSON.
+     *
+     * @param json A single JSON value in Fauna's tagged format.
+     * @return A new {@code RawValue}.
+     * @throws NullPointerException If {@code json} is null.
+     */
+    public static RawValue of(final String json) {
+        return new RawValue(Objects.requireNonNull(json, "json cannot be null."));
+    }
+
+    /**
+     * Gets the tagged JSON of this value.
+     *
+     * @return The tagged JSON as a string.
+     */
+    public String getJson() {
+        return json;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return json.equals(((RawValue) o).json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
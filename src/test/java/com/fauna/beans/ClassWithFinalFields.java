@@ -0,0 +1,71 @@
+package com.fauna.beans;
+
+import com.fauna.annotation.FaunaField;
+import com.fauna.annotation.FaunaId;
+
+import java.util.Objects;
+
+public final class ClassWithFinalFields {
+
+    @FaunaId
+    private final String id;
+
+    @FaunaField(name = "first_name")
+    private final String firstName;
+
+    @FaunaField(name = "last_name")
+    private final String lastName;
+
+    @FaunaField(name = "age")
+    private final int age;
+
+    public ClassWithFinalFields(String id, String firstName, String lastName, int age) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.age = age;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null) {
+            return false;
+        }
+
+        if (getClass() != o.getClass()) {
+            return false;
+        }
+
+        ClassWithFinalFields c = (ClassWithFinalFields) o;
+
+        return Objects.equals(id, c.id)
+                && firstName.equals(c.firstName)
+                && lastName.equals(c.lastName)
+                && age == c.age;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName, age);
+    }
+}
@@ -0,0 +1,42 @@
+package com.fauna.beans;
+
+import com.fauna.annotation.FaunaField;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class ClassWithSupplier implements Supplier<String> {
+    @FaunaField(name = "name")
+    private String name;
+
+    public ClassWithSupplier(String name) {
+        this.name = name;
+    }
+
+    public ClassWithSupplier() {
+
+    }
+
+    @Override
+    public String get() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        return Objects.equals(name, ((ClassWithSupplier) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+}
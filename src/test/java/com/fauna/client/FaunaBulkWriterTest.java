@@ -0,0 +1,254 @@
+package com.fauna.client;
+
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.exception.ClientException;
+import com.fauna.exception.InvalidRequestException;
+import com.fauna.exception.ThrottlingException;
+import com.fauna.query.builder.Query;
+import com.fauna.response.ErrorInfo;
+import com.fauna.response.QueryFailure;
+import com.fauna.response.QueryResponse;
+import com.fauna.response.QueryStats;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.RawValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.fauna.query.builder.Query.fql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FaunaBulkWriterTest {
+
+    @Mock
+    private FaunaClient client;
+
+    private final List<List<?>> batches = new CopyOnWriteArrayList<>();
+
+    private static final RetryStrategy FAST_RETRY = ExponentialBackoffStrategy.builder()
+            .maxAttempts(2).initialIntervalMillis(1).build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(client.getCodecProvider()).thenReturn(DefaultCodecProvider.SINGLETON);
+    }
+
+    private static CompletableFuture<QuerySuccess<Object>> success(final int writeOps) {
+        QueryResponse.Builder<Object> builder = QueryResponse.builder(null);
+        builder.stats(new QueryStats(0, 0, writeOps, 0, 0, 0, 0, 0, null));
+        return CompletableFuture.completedFuture(new QuerySuccess<>(builder));
+    }
+
+    private static QueryFailure failure(final String code) {
+        return new QueryFailure(400, QueryResponse.builder(null)
+                .error(ErrorInfo.builder().code(code).build()));
+    }
+
+    private static BulkWriteOptions.Builder options() {
+        return BulkWriteOptions.builder().statsCollector(new StatsCollectorImpl()).retryStrategy(FAST_RETRY);
+    }
+
+    private FaunaBulkWriter<Object> writer(final BulkWriteOptions options) {
+        return FaunaBulkWriter.forDocuments(client, docs -> {
+            batches.add(docs);
+            return fql("${docs}", Map.of("docs", docs));
+        }, options);
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_batchesByOpCount() {
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY))).thenAnswer(i -> success(2));
+
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchOps(2).build());
+        writer.addAll(List.of(1, 2, 3, 4, 5));
+        BulkWriteResult<Object> result = writer.complete().join();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(RawValue.of("{\"@int\":\"1\"}"), batches.get(0).get(0));
+        assertEquals(5, result.getWrittenCount());
+        assertEquals(3, result.getBatchCount());
+        assertEquals(6, result.getStats().getWriteOps());
+        assertTrue(result.isSuccessful());
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_batchesByEncodedBytes() {
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY))).thenAnswer(i -> success(1));
+
+        // Each string encodes to 12 bytes including its quotes.
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchBytes(30).build());
+        writer.addAll(IntStream.range(0, 5).mapToObj(i -> "0123456789"));
+        writer.complete().join();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).collect(Collectors.toList()));
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_retriesThrottledBatches() {
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY)))
+                .thenReturn(CompletableFuture.failedFuture(new ThrottlingException(failure("limit_exceeded"))))
+                .thenAnswer(i -> success(1));
+
+        FaunaBulkWriter<Object> writer = writer(options().build());
+        writer.add("doc");
+        BulkWriteResult<Object> result = writer.complete().join();
+
+        assertEquals(1, result.getWrittenCount());
+        assertEquals(1, result.getRetryCount());
+        verify(client, times(2)).asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY));
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_reportsFailedBatches() {
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY)))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidRequestException(failure("invalid_query"))))
+                .thenAnswer(i -> success(1));
+
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchOps(2).build());
+        writer.addAll(List.of("a", "b", "c"));
+        BulkWriteResult<Object> result = writer.complete().join();
+
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getWrittenCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals(List.of("a", "b"), result.getFailures().get(0).getItems());
+        assertTrue(result.getFailures().get(0).getCause() instanceof InvalidRequestException);
+        assertEquals(0, result.getRetryCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_limitsBatchesInFlight() throws Exception {
+        List<CompletableFuture<QuerySuccess<Object>>> pending = new CopyOnWriteArrayList<>();
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY))).thenAnswer(i -> {
+            CompletableFuture<QuerySuccess<Object>> f = new CompletableFuture<>();
+            pending.add(f);
+            return f;
+        });
+
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchOps(1).maxInFlight(2).build());
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writer.addAll(List.of(1, 2, 3)));
+
+        while (pending.size() < 2) {
+            Thread.sleep(1);
+        }
+        assertThrows(Exception.class, () -> producer.get(100, TimeUnit.MILLISECONDS));
+        assertEquals(2, pending.size());
+
+        pending.get(0).complete(success(1).join());
+        producer.get();
+        pending.forEach(f -> f.complete(success(1).join()));
+        assertEquals(3, writer.complete().join().getWrittenCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_acceptsItemsWhileProducerWaitsForPermit() throws Exception {
+        CompletableFuture<QuerySuccess<Object>> pending = new CompletableFuture<>();
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY)))
+                .thenReturn(pending);
+
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchOps(2).maxInFlight(1).build());
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writer.addAll(List.of(1, 2, 3, 4)));
+        while (batches.size() < 1) {
+            Thread.sleep(1);
+        }
+        assertThrows(Exception.class, () -> producer.get(100, TimeUnit.MILLISECONDS));
+
+        // The producer waits for a permit without holding the lock, so this add starts the next batch at once.
+        CompletableFuture.runAsync(() -> writer.add(5)).get(5, TimeUnit.SECONDS);
+
+        pending.complete(success(1).join());
+        producer.get();
+        assertEquals(5, writer.complete().join().getWrittenCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkWriter_failsBothBatchesWhenInterrupted() {
+        CompletableFuture<QuerySuccess<Object>> pending = new CompletableFuture<>();
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY)))
+                .thenReturn(pending);
+
+        FaunaBulkWriter<Object> writer = writer(options().maxBatchBytes(30).maxInFlight(1).build());
+        writer.add("a");
+        writer.flush();
+        writer.add("b");
+
+        // The large item takes the batch holding "b" and a batch of its own. Both wait for the only permit.
+        String large = "0123456789".repeat(3);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ClientException.class, () -> writer.add(large));
+        } finally {
+            Thread.interrupted();
+        }
+
+        pending.complete(success(1).join());
+        BulkWriteResult<Object> result = writer.complete().join();
+        assertEquals(1, result.getWrittenCount());
+        assertEquals(List.of(List.of("b"), List.of(large)), result.getFailures().stream()
+                .map(BulkWriteResult.Failure::getItems).collect(Collectors.toList()));
+        assertTrue(result.getFailures().get(1).getCause() instanceof ClientException);
+    }
+
+    @Test
+    @Timeout(10)
+    void bulkQueryWriter_runsBatchAsArray() throws Exception {
+        when(client.asyncQuery(any(Query.class), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY))).thenAnswer(i -> success(2));
+
+        FaunaBulkWriter<Query> writer = FaunaBulkWriter.forQueries(client, options().build());
+        Query first = fql("Product.create(${doc})", Map.of("doc", Map.of("name", "a")));
+        Query second = fql("Product.create(${doc})", Map.of("doc", Map.of("name", "b")));
+        writer.add(first);
+        writer.add(second);
+        writer.close();
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(client).asyncQuery(captor.capture(), eq(Object.class), any(), eq(FaunaClient.NO_RETRY_STRATEGY));
+        var codec = DefaultCodecProvider.SINGLETON.get(Query.class);
+        assertEquals(Helpers.encode(codec, fql("[${a},${b}]", Map.of("a", first, "b", second))),
+                Helpers.encode(codec, captor.getValue()));
+    }
+
+    @Test
+    void bulkWriter_rejectsItemsAfterCompletion() {
+        FaunaBulkWriter<Object> writer = writer(options().build());
+        writer.complete().join();
+        assertThrows(IllegalStateException.class, () -> writer.add(1));
+    }
+
+    @Test
+    void bulkWriteOptions_rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> BulkWriteOptions.builder().maxInFlight(0).build());
+        assertThrows(IllegalArgumentException.class, () -> BulkWriteOptions.builder().maxBatchOps(0).build());
+        assertThrows(IllegalArgumentException.class, () -> BulkWriteOptions.builder().maxBatchBytes(-1).build());
+    }
+}
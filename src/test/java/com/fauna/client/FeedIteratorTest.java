@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fauna.codec.Codec;
 import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.event.CursorCheckpoint;
+import com.fauna.event.CursorStore;
 import com.fauna.event.EventSource;
 import com.fauna.event.FaunaEvent;
 import com.fauna.event.FeedIterator;
@@ -19,10 +21,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -189,4 +195,43 @@ public class FeedIteratorTest {
                         () -> feedIterator.next());
         assertEquals("invalid_query", exc.getResponse().getErrorCode());
     }
+
+    @Test
+    public void test_checkpoint_resumes_and_acknowledges() throws IOException {
+        Map<String, String> committed = new HashMap<>();
+        CursorStore store = new CursorStore() {
+            @Override
+            public Optional<String> load(final String key) {
+                return Optional.ofNullable(committed.get(key));
+            }
+
+            @Override
+            public void commit(final String key, final String cursor) {
+                committed.put(key, cursor);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        committed.put("feed", "stored");
+        FeedOptions options = FeedOptions.builder().startTs(1L)
+                .checkpoint(new CursorCheckpoint(store, "feed", 1, Duration.ofHours(1))).build();
+        when(client.poll(argThat(source::equals),
+                argThat(opts -> opts.getCursor().equals(Optional.of("stored")) && opts.getStartTs().isEmpty()),
+                any(Class.class))).thenReturn(successFuture(true, 0));
+        when(client.poll(argThat(source::equals),
+                argThat(opts -> opts.getCursor().equals(Optional.of(CURSOR_0))),
+                any(Class.class))).thenReturn(successFuture(false, 1));
+
+        FeedIterator<String> feedIterator = new FeedIterator<>(client, source, options, String.class);
+        feedIterator.next();
+        assertEquals("stored", committed.get("feed"));
+        feedIterator.next();
+        // Requesting the second page acknowledged the first.
+        assertEquals(CURSOR_0, committed.get("feed"));
+        assertFalse(feedIterator.hasNext());
+        feedIterator.acknowledge();
+        assertEquals(CURSOR_0, committed.get("feed"));
+    }
 }
@@ -0,0 +1,181 @@
+package com.fauna.client;
+
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.event.EventSource;
+import com.fauna.event.FaunaEvent;
+import com.fauna.event.FeedOptions;
+import com.fauna.event.FeedPage;
+import com.fauna.event.FeedPoller;
+import com.fauna.event.FeedPollerOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedPollerTest {
+    private static final EventSource SOURCE = EventSource.fromToken("token");
+
+    @Mock
+    private FaunaClient client;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private FeedPoller<String> poller;
+
+    @AfterEach
+    public void closePoller() {
+        if (poller != null) {
+            poller.close();
+        }
+    }
+
+    private static FeedPage<String> page(final int round, final int count, final boolean hasNext) {
+        List<FaunaEvent<String>> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new FaunaEvent<>(FaunaEvent.EventType.ADD, "c" + round + "-" + i, 1L,
+                    round + "-" + i, null, null));
+        }
+        return FeedPage.builder(DefaultCodecProvider.SINGLETON.get(String.class), new StatsCollectorImpl())
+                .events(events).cursor("c" + round).hasNext(hasNext).build();
+    }
+
+    private FeedPoller<String> start(final FeedPollerOptions.Builder options) {
+        poller = new FeedPoller<>(client, String.class, options.build(),
+                (key, page) -> page.getEvents().forEach(e -> received.add(key + ":" + e.getData().orElse(""))));
+        return poller;
+    }
+
+    @Test
+    public void backsOffOnEmptyPages() throws InterruptedException {
+        AtomicInteger rounds = new AtomicInteger();
+        when(client.poll(eq(SOURCE), any(FeedOptions.class), eq(String.class))).thenAnswer(
+                invocation -> CompletableFuture.completedFuture(page(rounds.incrementAndGet(), 0, false)));
+        start(FeedPollerOptions.builder().minInterval(Duration.ofMillis(5)).maxInterval(Duration.ofMillis(40))
+                .minPageSize(8)).add("a", SOURCE);
+
+        Helpers.await(() -> poller.getInterval("a").equals(Optional.of(Duration.ofMillis(40))));
+        assertEquals(Optional.of(8), poller.getPageSize("a"));
+        // 5 -> 10 -> 20 -> 40ms takes three empty pages.
+        assertTrue(rounds.get() >= 3);
+    }
+
+    @Test
+    public void growsPageSizeAndDrainsBusySource() throws InterruptedException {
+        AtomicInteger rounds = new AtomicInteger();
+        when(client.poll(eq(SOURCE), any(FeedOptions.class), eq(String.class))).thenAnswer(invocation -> {
+            FeedOptions options = invocation.getArgument(1);
+            int round = rounds.incrementAndGet();
+            int size = round <= 3 ? options.getPageSize().orElseThrow() : 0;
+            return CompletableFuture.completedFuture(page(round, size, round <= 2));
+        });
+        start(FeedPollerOptions.builder().minInterval(Duration.ofMillis(5)).minPageSize(2).maxPageSize(4))
+                .add("a", SOURCE, "c0");
+
+        verify(client, timeout(5000)).poll(eq(SOURCE), argThat(o -> o.getCursor().equals(Optional.of("c0"))
+                && o.getPageSize().equals(Optional.of(2))), eq(String.class));
+        verify(client, timeout(5000)).poll(eq(SOURCE), argThat(o -> o.getCursor().equals(Optional.of("c1"))
+                && o.getPageSize().equals(Optional.of(4))), eq(String.class));
+        verify(client, timeout(5000)).poll(eq(SOURCE), argThat(o -> o.getCursor().equals(Optional.of("c2"))
+                && o.getPageSize().equals(Optional.of(4))), eq(String.class));
+        Helpers.await(() -> received.size() == 10);
+        assertEquals("a:1-0", received.peek());
+        // The empty fourth page still moves the cursor, which the next poll resumes from.
+        verify(client, timeout(5000)).poll(eq(SOURCE), argThat(o -> o.getCursor().equals(Optional.of("c4"))),
+                eq(String.class));
+    }
+
+    @Test
+    public void limitsConcurrentPolls() throws InterruptedException {
+        List<CompletableFuture<FeedPage<String>>> pending = new ArrayList<>();
+        when(client.poll(any(EventSource.class), any(FeedOptions.class), eq(String.class))).thenAnswer(
+                invocation -> {
+                    CompletableFuture<FeedPage<String>> future = new CompletableFuture<>();
+                    synchronized (pending) {
+                        pending.add(future);
+                    }
+                    return future;
+                });
+        start(FeedPollerOptions.builder().maxConcurrentPolls(2).maxInterval(Duration.ofMinutes(1))
+                .minInterval(Duration.ofMinutes(1)));
+        poller.add("a", EventSource.fromToken("a"));
+        poller.add("b", EventSource.fromToken("b"));
+        poller.add("c", EventSource.fromToken("c"));
+
+        verify(client, timeout(5000).times(2)).poll(any(EventSource.class), any(FeedOptions.class),
+                eq(String.class));
+        Thread.sleep(50);
+        verify(client, times(2)).poll(any(EventSource.class), any(FeedOptions.class), eq(String.class));
+
+        synchronized (pending) {
+            pending.get(0).complete(page(1, 1, false));
+        }
+        verify(client, timeout(5000)).poll(eq(EventSource.fromToken("c")), any(FeedOptions.class),
+                eq(String.class));
+        assertEquals(3, poller.getSourceCount());
+    }
+
+    @Test
+    public void keepsPollingWhenListenerErrorHandlerThrows() throws InterruptedException {
+        AtomicInteger rounds = new AtomicInteger();
+        when(client.poll(eq(SOURCE), any(FeedOptions.class), eq(String.class))).thenAnswer(
+                invocation -> CompletableFuture.completedFuture(page(rounds.incrementAndGet(), 1, false)));
+        poller = new FeedPoller<>(client, String.class, FeedPollerOptions.builder().maxConcurrentPolls(1)
+                .minInterval(Duration.ofMillis(5)).maxInterval(Duration.ofMillis(5)).build(),
+                new FeedPoller.PageListener<>() {
+                    @Override
+                    public void onPage(final String key, final FeedPage<String> page) {
+                        throw new IllegalStateException("onPage failed");
+                    }
+
+                    @Override
+                    public void onError(final String key, final Throwable error) {
+                        throw new IllegalStateException("onError failed");
+                    }
+                });
+        poller.add("a", SOURCE);
+
+        // The cursor advances and the only poll slot is released even though both callbacks throw.
+        Helpers.await(() -> rounds.get() >= 3);
+        Helpers.await(() -> poller.getCursor("a").filter(c -> !c.equals("c1")).isPresent());
+    }
+
+        @Test
+    public void addRejectsDuplicateKeys() {
+        start(FeedPollerOptions.builder().minInterval(Duration.ofMinutes(1)).maxInterval(Duration.ofMinutes(1)));
+        when(client.poll(any(EventSource.class), any(FeedOptions.class), eq(String.class))).thenReturn(
+                new CompletableFuture<>());
+        poller.add("a", SOURCE);
+        assertThrows(IllegalArgumentException.class, () -> poller.add("a", SOURCE));
+        verify(client, timeout(5000)).poll(eq(SOURCE), any(FeedOptions.class), eq(String.class));
+    }
+
+    @Test
+    public void optionsRejectInvalidPageSizes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FeedPollerOptions.builder().minPageSize(32).maxPageSize(16).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> FeedPollerOptions.builder().maxPageSize(16001).build());
+    }
+}
@@ -30,6 +30,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -142,4 +145,81 @@ public class PageIteratorTest {
                         () -> pageIterator.next());
         assertEquals("invalid_query", exc.getResponse().getErrorCode());
     }
+
+    @Test
+    public void test_prefetch_buffers_up_to_depth() throws Exception {
+        when(client.asyncQuery(any(), any(ParameterizedOf.class),
+                any())).thenReturn(successFuture(true, 0),
+                successFuture(true, 1), successFuture(true, 2),
+                successFuture(false, 3));
+        PageIterator<String> pageIterator = new PageIterator<>(client,
+                fql("hello"), String.class, null, PrefetchOptions.depth(2));
+
+        verify(client, timeout(1000).times(2)).asyncQuery(any(),
+                any(ParameterizedOf.class), any());
+        Thread.sleep(50);
+        verify(client, times(2)).asyncQuery(any(),
+                any(ParameterizedOf.class), any());
+
+        List<String> products = new ArrayList<>();
+        pageIterator.flatten().forEachRemaining(products::add);
+        assertEquals(List.of("0-a", "0-b", "1-a", "1-b", "2-a", "2-b",
+                "3-a", "3-b"), products);
+        assertFalse(pageIterator.hasNext());
+
+        PrefetchStats stats = pageIterator.getPrefetchStats().orElseThrow();
+        assertEquals(4, stats.getPagesFetched());
+        assertEquals(0, stats.getBufferedPages());
+        assertTrue(stats.getMaxBufferedPages() <= 2);
+        assertTrue(stats.getProducerWaitTime().toMillis() >= 50);
+    }
+
+    @Test
+    public void test_prefetch_respects_weight_limit() throws Exception {
+        when(client.asyncQuery(any(), any(ParameterizedOf.class),
+                any())).thenReturn(successFuture(true, 0),
+                successFuture(false, 1));
+        PageIterator<String> pageIterator = new PageIterator<>(client,
+                fql("hello"), String.class, null, PrefetchOptions.builder()
+                .depth(10).maxBufferedWeight(2, page -> page.getData().size())
+                .build());
+
+        verify(client, timeout(1000).times(1)).asyncQuery(any(),
+                any(ParameterizedOf.class), any());
+        Thread.sleep(50);
+        verify(client, times(1)).asyncQuery(any(),
+                any(ParameterizedOf.class), any());
+
+        assertEquals(List.of("0-a", "0-b"), pageIterator.next().getData());
+        assertEquals(List.of("1-a", "1-b"), pageIterator.next().getData());
+        assertFalse(pageIterator.hasNext());
+    }
+
+    @Test
+    public void test_prefetch_delivers_error_after_buffered_pages()
+            throws Exception {
+        when(client.asyncQuery(any(), any(ParameterizedOf.class),
+                any())).thenReturn(successFuture(true, 0), failureFuture());
+        PageIterator<String> pageIterator = new PageIterator<>(client,
+                fql("hello"), String.class, null, PrefetchOptions.depth(3));
+
+        assertEquals(List.of("0-a", "0-b"), pageIterator.next().getData());
+        assertTrue(pageIterator.hasNext());
+        assertThrows(InvalidRequestException.class, pageIterator::next);
+        assertFalse(pageIterator.hasNext());
+        assertThrows(NoSuchElementException.class, pageIterator::next);
+    }
+
+    @Test
+    public void test_prefetch_options_validation() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> PrefetchOptions.depth(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PrefetchOptions.builder().maxBufferedWeight(0, p -> 1)
+                        .build());
+        when(client.asyncQuery(any(), any(ParameterizedOf.class),
+                any())).thenReturn(successFuture(false, 0));
+        assertTrue(new PageIterator<>(client, fql("hello"), String.class,
+                null).getPrefetchStats().isEmpty());
+    }
 }
@@ -0,0 +1,147 @@
+package com.fauna.client;
+
+import com.fauna.codec.Helpers;
+import com.fauna.codec.ParameterizedOf;
+import com.fauna.exception.InvalidRequestException;
+import com.fauna.query.builder.Query;
+import com.fauna.response.ErrorInfo;
+import com.fauna.response.QueryFailure;
+import com.fauna.response.QueryResponse;
+import com.fauna.response.QuerySuccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static com.fauna.query.builder.Query.fql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PagePublisherTest {
+
+
+    @Mock
+    private FaunaClient client;
+
+    private final List<CompletableFuture<QuerySuccess<Object>>> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any())).thenAnswer(inv -> {
+            CompletableFuture<QuerySuccess<Object>> future = new CompletableFuture<>();
+            requests.add(future);
+            return future;
+        });
+    }
+
+    private static final class Recorder implements Flow.Subscriber<String> {
+        private final List<String> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean complete;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s) {
+            this.subscription = s;
+        }
+
+        @Override
+        public void onNext(final String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+
+    private Recorder subscribe() {
+        Recorder recorder = new Recorder();
+        new PagePublisher<>(client, fql("Product.all()"), String.class, null).subscribe(recorder);
+        return recorder;
+    }
+
+    @Test
+    void publisher_fetchesPagesOnDemand() throws IOException {
+        Recorder recorder = subscribe();
+        verify(client, never()).asyncQuery(any(Query.class), any(ParameterizedOf.class), any());
+
+        recorder.subscription.request(1);
+        assertEquals(1, requests.size());
+        requests.get(0).complete(Helpers.page(String.class, "{\"data\":[\"a\",\"b\"],\"after\":\"tok\"}"));
+        assertEquals(List.of("a"), recorder.items);
+
+        // The rest of the page satisfies the next request without fetching.
+        recorder.subscription.request(1);
+        assertEquals(List.of("a", "b"), recorder.items);
+        assertEquals(1, requests.size());
+
+        recorder.subscription.request(5);
+        assertEquals(2, requests.size());
+        requests.get(1).complete(Helpers.page(String.class, "{\"data\":[\"c\"]}"));
+        assertEquals(List.of("a", "b", "c"), recorder.items);
+        assertTrue(recorder.complete);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void publisher_stopsOnCancel() throws IOException {
+        Recorder recorder = subscribe();
+        recorder.subscription.request(Long.MAX_VALUE);
+        recorder.subscription.cancel();
+        assertTrue(requests.get(0).isCancelled());
+
+        recorder.subscription.request(1);
+        assertTrue(recorder.items.isEmpty());
+        assertFalse(recorder.complete);
+        verify(client, times(1)).asyncQuery(any(Query.class), any(ParameterizedOf.class), any());
+    }
+
+    @Test
+    void publisher_signalsQueryFailure() {
+        Recorder recorder = subscribe();
+        recorder.subscription.request(1);
+        QueryFailure failure = new QueryFailure(400, QueryResponse.builder(null)
+                .error(ErrorInfo.builder().code("invalid_query").build()));
+        requests.get(0).completeExceptionally(new InvalidRequestException(failure));
+
+        assertInstanceOf(InvalidRequestException.class, recorder.error);
+        assertFalse(recorder.complete);
+    }
+
+    @Test
+    void publisher_rejectsNonPositiveRequest() {
+        Recorder recorder = subscribe();
+        recorder.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, recorder.error);
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void publisher_rejectsNullSubscriber() {
+        assertThrows(NullPointerException.class,
+                () -> new PagePublisher<>(client, fql("Product.all()"), String.class, null).subscribe(null));
+    }
+}
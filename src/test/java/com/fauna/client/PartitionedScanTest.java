@@ -0,0 +1,136 @@
+package com.fauna.client;
+
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.codec.ParameterizedOf;
+import com.fauna.exception.InvalidRequestException;
+import com.fauna.query.builder.Query;
+import com.fauna.response.ErrorInfo;
+import com.fauna.response.QueryFailure;
+import com.fauna.response.QueryResponse;
+import com.fauna.response.QuerySuccess;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.fauna.query.builder.Query.fql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedScanTest {
+
+    @Mock
+    private FaunaClient client;
+
+    /**
+     * Answers a partition query {@code Part<n>} with one page ending in token {@code tok<n>}, and the page query
+     * for that token with a last page.
+     */
+    private static QuerySuccess<Object> answer(final Query query) {
+        try {
+            String encoded = Helpers.encode(DefaultCodecProvider.SINGLETON.get(Query.class), query);
+            for (int i = 0; i < 10; i++) {
+                if (encoded.contains("Part" + i)) {
+                    return Helpers.page(String.class, "{\"data\":[\"" + i + "-a\"],\"after\":\"tok" + i + "\"}");
+                }
+                if (encoded.contains("tok" + i)) {
+                    return Helpers.page(String.class, "{\"data\":[\"" + i + "-b\",\"" + i + "-c\"]}");
+                }
+            }
+            throw new IllegalArgumentException(encoded);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Query> partitions(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> fql("Part" + i)).collect(Collectors.toList());
+    }
+
+    private static List<String> expected(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> List.of(i + "-a", i + "-b", i + "-c"))
+                .flatMap(List::stream).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void scan_returnsUnionOfAllPartitions() {
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenAnswer(inv -> CompletableFuture.supplyAsync(() -> answer(inv.getArgument(0))));
+
+        List<String> elements = new PartitionedScan<>(client, partitions(5), String.class, null, 3)
+                .stream().sorted().collect(Collectors.toList());
+
+        assertEquals(expected(5), elements);
+    }
+
+    @Test
+    void scan_boundsRequestsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any())).thenAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Query query = inv.getArgument(0);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return answer(query);
+            });
+        });
+
+        List<String> elements = new PartitionedScan<>(client, partitions(8), String.class, null, 2)
+                .stream().sorted().collect(Collectors.toList());
+
+        assertEquals(expected(8), elements);
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void scan_propagatesFailures() {
+        QueryFailure failure = new QueryFailure(400, QueryResponse.builder(null)
+                .error(ErrorInfo.builder().code("invalid_query").build()));
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidRequestException(failure)));
+
+        PartitionedScan<String> scan = new PartitionedScan<>(client, partitions(1), String.class, null, 1);
+        assertThrows(InvalidRequestException.class, () -> scan.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void spliterator_splitsBetweenPartitions() {
+        PartitionedScan<String> scan = new PartitionedScan<>(client, partitions(4), String.class, null, 1);
+        Spliterator<String> rest = scan.spliterator();
+        Spliterator<String> prefix = rest.trySplit();
+        assertNotNull(prefix);
+        assertNotNull(prefix.trySplit());
+        assertNull(prefix.trySplit());
+        assertNotNull(rest.trySplit());
+        assertNull(rest.trySplit());
+    }
+
+    @Test
+    void scan_rejectsNonPositiveMaxInFlight() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedScan<>(client, partitions(1), String.class, null, 0));
+    }
+}
@@ -0,0 +1,155 @@
+package com.fauna.client;
+
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.codec.ParameterizedOf;
+import com.fauna.exception.InvalidRequestException;
+import com.fauna.query.builder.Query;
+import com.fauna.response.ErrorInfo;
+import com.fauna.response.QueryFailure;
+import com.fauna.response.QueryResponse;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.RawValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static com.fauna.query.builder.Query.fql;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SetExporterTest {
+
+    private static final String FIRST_PAGE = "{\"data\":[{\"@int\":\"1\"},\"a\\nb\"],\"after\":\"tok\"}";
+    private static final String LAST_PAGE = "{\"data\":[{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"P\"}}}]}";
+    private static final String NDJSON = "{\"@int\":\"1\"}\n\"a\\nb\"\n{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"P\"}}}\n";
+
+    @Mock
+    private FaunaClient client;
+
+    @TempDir
+    private Path dir;
+
+    private static CompletableFuture<QuerySuccess<Object>> failure() {
+        QueryFailure failure = new QueryFailure(400, QueryResponse.builder(null)
+                .error(ErrorInfo.builder().code("invalid_query").build()));
+        return CompletableFuture.failedFuture(new InvalidRequestException(failure));
+    }
+
+    private SetExporter exporter(final ExportOptions options) {
+        return new SetExporter(client, fql("Product.all()"), options);
+    }
+
+    @Test
+    void export_writesNdjson() throws IOException {
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenReturn(completedFuture(Helpers.page(RawValue.class, FIRST_PAGE)),
+                        completedFuture(Helpers.page(RawValue.class, LAST_PAGE)));
+
+        Path out = dir.resolve("out.ndjson");
+        SetExporter.Result result = exporter(ExportOptions.DEFAULT).exportTo(out);
+
+        assertEquals(NDJSON, Files.readString(out));
+        assertEquals(3, result.getRecordCount());
+        assertEquals(2, result.getPageCount());
+        assertEquals(Files.size(out), result.getByteCount());
+        assertFalse(result.isResumed());
+    }
+
+    @Test
+    void export_writesLengthPrefixedFramesToChannel() throws IOException {
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenReturn(completedFuture(Helpers.page(RawValue.class, FIRST_PAGE)),
+                        completedFuture(Helpers.page(RawValue.class, LAST_PAGE)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        exporter(ExportOptions.builder().format(ExportOptions.Format.LENGTH_PREFIXED).bufferSize(7).build())
+                .exportTo(Channels.newChannel(bytes));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        StringBuilder lines = new StringBuilder();
+        while (in.available() > 0) {
+            byte[] frame = new byte[in.readInt()];
+            in.readFully(frame);
+            lines.append(new String(frame, UTF_8)).append('\n');
+        }
+        assertEquals(NDJSON, lines.toString());
+    }
+
+    @Test
+    void export_writesGzipMembersPerPage() throws IOException {
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenReturn(completedFuture(Helpers.page(RawValue.class, FIRST_PAGE)),
+                        completedFuture(Helpers.page(RawValue.class, LAST_PAGE)));
+
+        Path out = dir.resolve("out.ndjson.gz");
+        exporter(ExportOptions.builder().gzip(true).build()).exportTo(out);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(out))) {
+            assertEquals(NDJSON, new String(in.readAllBytes(), UTF_8));
+        }
+    }
+
+    @Test
+    void export_resumesFromCheckpoint() throws IOException {
+        when(client.asyncQuery(any(Query.class), any(ParameterizedOf.class), any()))
+                .thenReturn(completedFuture(Helpers.page(RawValue.class, FIRST_PAGE)), failure(),
+                        completedFuture(Helpers.page(RawValue.class, LAST_PAGE)));
+
+        Path out = dir.resolve("out.ndjson");
+        Path checkpoint = dir.resolve("export.checkpoint");
+        ExportOptions options = ExportOptions.builder().checkpointFile(checkpoint).build();
+
+        assertThrows(InvalidRequestException.class, () -> exporter(options).exportTo(out));
+        assertTrue(Files.exists(checkpoint));
+
+        // Simulate a partially written page after the checkpoint.
+        Files.writeString(out, "partial", StandardOpenOption.APPEND);
+
+        SetExporter.Result result = exporter(options).exportTo(out);
+        assertTrue(result.isResumed());
+        assertEquals(1, result.getRecordCount());
+        assertEquals(NDJSON, Files.readString(out));
+        assertFalse(Files.exists(checkpoint));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(client, times(3)).asyncQuery(queries.capture(), any(ParameterizedOf.class), any());
+        var codec = DefaultCodecProvider.SINGLETON.get(Query.class);
+        assertEquals(Helpers.encode(codec, fql("Set.paginate(${token})", Map.of("token", "tok"))),
+                Helpers.encode(codec, queries.getAllValues().get(2)));
+    }
+
+    @Test
+    void exportOptions_rejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> ExportOptions.builder().bufferSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> ExportOptions.builder().format(null).build());
+        assertEquals(List.of(ExportOptions.Format.NDJSON, ExportOptions.Format.LENGTH_PREFIXED),
+                List.of(ExportOptions.Format.values()));
+    }
+}
@@ -0,0 +1,242 @@
+package com.fauna.client;
+
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.event.EventSource;
+import com.fauna.event.FaunaEvent;
+import com.fauna.event.FaunaStream;
+import com.fauna.event.FeedOptions;
+import com.fauna.event.FeedPage;
+import com.fauna.event.StreamManager;
+import com.fauna.event.StreamManagerOptions;
+import com.fauna.event.StreamOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamManagerTest {
+    private static final EventSource HOT = EventSource.fromToken("hot");
+    private static final EventSource COLD = EventSource.fromToken("cold");
+
+    @Mock
+    private FaunaClient client;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private StreamManager<String> manager;
+
+    @AfterEach
+    public void closeManager() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    private static CompletableFuture<FeedPage<String>> page(final String prefix, final int count,
+                                                            final AtomicInteger round) {
+        int n = round.incrementAndGet();
+        List<FaunaEvent<String>> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new FaunaEvent<>(FaunaEvent.EventType.ADD, prefix + n + "-" + i, 1L,
+                    prefix + n + "-" + i, null, null));
+        }
+        return CompletableFuture.completedFuture(FeedPage.builder(
+                        DefaultCodecProvider.SINGLETON.get(String.class), new StatsCollectorImpl())
+                .events(events).cursor(prefix + n).hasNext(false).build());
+    }
+
+    private void stubPolls(final int hotEvents) {
+        AtomicInteger hotRounds = new AtomicInteger();
+        AtomicInteger coldRounds = new AtomicInteger();
+        when(client.poll(any(EventSource.class), any(FeedOptions.class), eq(String.class))).thenAnswer(
+                invocation -> invocation.getArgument(0) == HOT
+                        ? page("hot", hotEvents, hotRounds) : page("cold", 0, coldRounds));
+    }
+
+    private StreamManager<String> start(final StreamManagerOptions.Builder options) {
+        manager = new StreamManager<>(client, String.class,
+                options.pollInterval(Duration.ofMillis(10)).build(), (key, event) -> received.add(key + ":"
+                + event.getData().orElse("")));
+        return manager;
+    }
+
+    /**
+     * A connection body that feeds a stream when the test sends events, once the stream has requested them.
+     */
+    private static final class Connection implements Flow.Publisher<List<ByteBuffer>> {
+        private final Semaphore demand = new Semaphore(0);
+        private final Queue<String> queued = new ConcurrentLinkedQueue<>();
+        private volatile Flow.Subscriber<? super List<ByteBuffer>> subscriber;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super List<ByteBuffer>> s) {
+            this.subscriber = s;
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    demand.release((int) Math.min(n, Integer.MAX_VALUE));
+                    String json = queued.poll();
+                    if (json != null) {
+                        deliver(json);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        void send(final String cursor, final String data) throws InterruptedException {
+            if (!demand.tryAcquire(5, TimeUnit.SECONDS)) {
+                fail("The stream did not request more events.");
+            }
+            subscriber.onNext(List.of(ByteBuffer.wrap(event(cursor, data).getBytes(UTF_8))));
+        }
+
+        /**
+         * Sends an event from the stream's first request, so it arrives before the stream can become idle however
+         * late the test thread runs.
+         */
+        void sendOnRequest(final String cursor, final String data) {
+            queued.add(event(cursor, data));
+        }
+
+        private void deliver(final String json) {
+            if (demand.tryAcquire()) {
+                subscriber.onNext(List.of(ByteBuffer.wrap(json.getBytes(UTF_8))));
+            }
+        }
+
+        private static String event(final String cursor, final String data) {
+            return "{\"type\":\"add\",\"cursor\":\"" + cursor + "\",\"txn_ts\":1,\"data\":\"" + data
+                    + "\",\"stats\":{\"read_ops\":1,\"storage_bytes_read\":0,\"compute_ops\":1,"
+                    + "\"processing_time_ms\":0,\"rate_limits_hit\":[]}}\n";
+        }
+    }
+
+    private Connection stubStream() {
+        Connection connection = new Connection();
+        when(client.asyncStream(any(EventSource.class), any(StreamOptions.class), eq(String.class))).thenAnswer(
+                invocation -> {
+                    FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+                    connection.subscribe(stream);
+                    return CompletableFuture.completedFuture(stream);
+                });
+        return connection;
+    }
+
+    @Test
+    public void pollsEverySourceAndAdvancesCursors() throws InterruptedException {
+        stubPolls(2);
+        start(StreamManagerOptions.builder().maxStreams(0)).add("a", HOT);
+        manager.add("b", COLD);
+
+        assertEquals("a:hot1-0", received.poll(5, TimeUnit.SECONDS));
+        assertEquals("a:hot1-1", received.poll(5, TimeUnit.SECONDS));
+        verify(client, timeout(5000)).poll(eq(HOT),
+                argThat(o -> o.getCursor().equals(Optional.of("hot1"))), eq(String.class));
+        verify(client, timeout(5000).atLeastOnce()).poll(eq(COLD), any(FeedOptions.class), eq(String.class));
+        assertEquals(0, manager.getStreamCount());
+        assertFalse(manager.isStreaming("a"));
+    }
+
+    @Test
+    public void addRejectsDuplicateKeys() {
+        start(StreamManagerOptions.builder()).add("a", HOT);
+        assertThrows(IllegalArgumentException.class, () -> manager.add("a", COLD));
+        assertEquals(1, manager.getSourceCount());
+    }
+
+    @Test
+    public void promotesBusySourceToStreamFromItsCursor() throws InterruptedException {
+        stubPolls(2);
+        Connection connection = stubStream();
+        start(StreamManagerOptions.builder().promoteThreshold(2)).add("a", HOT);
+        manager.add("b", COLD);
+
+        Helpers.await(() -> manager.isStreaming("a"));
+        verify(client).asyncStream(eq(HOT), argThat(o -> o.getCursor().equals(Optional.of("hot1"))),
+                eq(String.class));
+        assertFalse(manager.isStreaming("b"));
+        assertEquals(1, manager.getStreamCount());
+
+        connection.send("live1", "live");
+        Helpers.await(() -> received.contains("a:live"));
+        assertEquals(Optional.of("live1"), manager.getCursor("a"));
+    }
+
+    @Test
+    public void limitsNumberOfStreams() throws InterruptedException {
+        stubPolls(2);
+        stubStream();
+        start(StreamManagerOptions.builder().promoteThreshold(2).maxStreams(1)).add("a", HOT);
+        manager.add("b", HOT);
+
+        Helpers.await(() -> manager.getStreamCount() == 1);
+        // The other hot source keeps being polled instead of streamed.
+        verify(client, timeout(5000).atLeast(3)).poll(eq(HOT), any(FeedOptions.class), eq(String.class));
+        verify(client, times(1)).asyncStream(any(EventSource.class), any(StreamOptions.class), eq(String.class));
+        assertEquals(1, manager.getStreamCount());
+    }
+
+    @Test
+    public void demotesIdleStreamBackToPolling() throws InterruptedException {
+        AtomicInteger rounds = new AtomicInteger();
+        when(client.poll(any(EventSource.class), any(FeedOptions.class), eq(String.class))).thenAnswer(
+                invocation -> page("hot", rounds.get() == 0 ? 2 : 0, rounds));
+        stubStream().sendOnRequest("live1", "live");
+        start(StreamManagerOptions.builder().promoteThreshold(2).idleTimeout(Duration.ofMillis(200)))
+                .add("a", HOT);
+
+        // The stream may already be demoted by the time this thread checks, so wait for its outcome instead.
+        verify(client, timeout(5000)).poll(eq(HOT), argThat(o -> o.getCursor().equals(Optional.of("live1"))),
+                eq(String.class));
+        assertTrue(received.contains("a:live"));
+        Helpers.await(() -> !manager.isStreaming("a") && manager.getStreamCount() == 0);
+        verify(client, times(1)).asyncStream(any(EventSource.class), any(StreamOptions.class), eq(String.class));
+    }
+
+    @Test
+    public void removeStopsPolling() throws InterruptedException {
+        stubPolls(0);
+        start(StreamManagerOptions.builder()).add("a", COLD);
+        Helpers.await(() -> manager.getCursor("a").isPresent());
+
+        assertTrue(manager.remove("a").orElseThrow().startsWith("cold"));
+        assertEquals(0, manager.getSourceCount());
+        verify(client, never()).asyncStream(any(EventSource.class), any(StreamOptions.class), eq(String.class));
+    }
+}
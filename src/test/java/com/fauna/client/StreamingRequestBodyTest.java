@@ -0,0 +1,164 @@
+package com.fauna.client;
+
+import com.fauna.codec.CodecProvider;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.DefaultCodecRegistry;
+import com.fauna.exception.ClientException;
+import com.fauna.query.builder.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.fauna.query.builder.Query.fql;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingRequestBodyTest {
+
+    private final RequestBuilder requestBuilder = RequestBuilder.queryRequestBuilder(
+            FaunaConfig.builder().endpoint(FaunaConfig.FaunaEndpoint.LOCAL).secret("secret").build(),
+            Logger.getGlobal());
+
+    private final CodecProvider codecProvider = new DefaultCodecProvider(new DefaultCodecRegistry());
+
+    private static CompletableFuture<String> readBody(final HttpRequest.BodyPublisher publisher) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(out.toString(UTF_8));
+            }
+        });
+        return result;
+    }
+
+    private String bufferedBody(final Query query) throws Exception {
+        HttpRequest req = requestBuilder.buildRequest(query, null, codecProvider, null);
+        return readBody(req.bodyPublisher().orElseThrow()).get();
+    }
+
+    @Test
+    @Timeout(10)
+    void buildRequest_streamsIteratorArgument() throws Exception {
+        List<Integer> values = IntStream.range(0, 20_000).boxed().collect(Collectors.toList());
+        HttpRequest req = requestBuilder.buildRequest(
+                fql("${values}.length", Map.of("values", values.iterator())), null, codecProvider, null);
+        HttpRequest.BodyPublisher publisher = req.bodyPublisher().orElseThrow();
+
+        assertEquals(-1, publisher.contentLength());
+        assertEquals(bufferedBody(fql("${values}.length", Map.of("values", values))),
+                readBody(publisher).get());
+    }
+
+    @Test
+    @Timeout(10)
+    void buildRequest_oneShotArgumentCannotBeResent() throws Exception {
+        HttpRequest req = requestBuilder.buildRequest(
+                fql("${values}", Map.of("values", Stream.of(1, 2))), null, codecProvider, null);
+        HttpRequest.BodyPublisher publisher = req.bodyPublisher().orElseThrow();
+
+        readBody(publisher).get();
+        assertThrows(ClientException.class, () -> readBody(publisher).get());
+    }
+
+    @Test
+    @Timeout(10)
+    void buildRequest_supplierArgumentIsReplayable() throws Exception {
+        Supplier<Stream<Integer>> values = () -> Stream.of(1, 2);
+        Query query = fql("${inner}", Map.of("inner", fql("${values}", Map.of("values", values))));
+        HttpRequest.BodyPublisher publisher =
+                requestBuilder.buildRequest(query, null, codecProvider, null).bodyPublisher().orElseThrow();
+
+        String expected = bufferedBody(fql("${inner}", Map.of("inner", fql("${values}", Map.of("values",
+                List.of(1, 2))))));
+        assertEquals(expected, readBody(publisher).get());
+        assertEquals(expected, readBody(publisher).get());
+    }
+
+    @Test
+    @Timeout(10)
+    void streamingBody_propagatesEncodingFailure() {
+        StreamingRequestBody body = new StreamingRequestBody(gen -> {
+            gen.writeStartArray();
+            throw new IllegalStateException("boom");
+        }, true);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> readBody(body.publisher()).get());
+        assertEquals("boom", rootCause(ex).getMessage());
+    }
+
+    @Test
+    @Timeout(10)
+    void streamingBody_splitsLargeBodiesIntoChunks() throws Exception {
+        String big = "x".repeat(StreamingRequestBody.CHUNK_SIZE * 3 + 17);
+        StreamingRequestBody body = new StreamingRequestBody(gen -> gen.writeStringValue(big), false);
+        assertEquals("\"" + big + "\"", readBody(body.publisher()).get());
+    }
+
+    @Test
+    @Timeout(10)
+    void streamingBody_failsWriterWhenBodyIsNotRead() throws Exception {
+        String big = "x".repeat(StreamingRequestBody.CHUNK_SIZE * (StreamingRequestBody.MAX_PENDING_CHUNKS + 2));
+        CompletableFuture<Throwable> stopped = new CompletableFuture<>();
+        StreamingRequestBody body = new StreamingRequestBody(gen -> {
+            try {
+                gen.writeStringValue(big);
+                gen.flush();
+            } catch (RuntimeException e) {
+                stopped.complete(e);
+                throw e;
+            }
+        }, true, Duration.ofMillis(200));
+
+        InputStream in = body.get();
+        // The reader never takes a chunk, so the writer gives up rather than waiting forever.
+        assertEquals("The request body has not been read for PT0.2S.",
+                rootCause(stopped.get(5, TimeUnit.SECONDS)).getMessage());
+        // A reader that comes back late sees the failure instead of blocking.
+        assertThrows(IOException.class, in::readAllBytes);
+    }
+
+    private static Throwable rootCause(final Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,496 @@
+package com.fauna.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fauna.exception.CodecException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Differential tests of parsers created by {@link UTF8FaunaParser#fromBytes(byte[])} against the Jackson reference
+ * implementation.
+ */
+public class ByteTokenSourceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] WHITESPACE = {"", "", "", " ", "\n", "\t", "\r\n  "};
+    private static final String[] STRINGS = {
+        "", "a", "hello world", "caf\u00e9", "\u65e5\u672c\u8a9e", "\uD83D\uDE00 emoji", "quote \" inside",
+        "back\\slash", "line\nbreak", "tab\tcontrol\u0001", "slash/", "@int", "@notatag", "true"
+    };
+    private static final String[] NUMBERS = {
+        "0", "-0", "7", "007", "+5", "-12", "127", "128", "-129", "32767", "32768", "65535", "2147483647",
+        "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "-9223372036854775808",
+        "9223372036854775808", "-9223372036854775809", "99999999999999999999", "", "-", "1.5", "1e3", "12a",
+        "\u0661\u0662", " 1"
+    };
+
+    private final Random random = new Random(1234);
+    // Whether to only generate values that decode to comparable objects: no byte arrays, and no invalid numbers.
+    private boolean decodable = false;
+
+    @Test
+    public void tokens_matchJacksonOnRandomFaunaValues() {
+        for (int i = 0; i < 3000; i++) {
+            String json = randomFaunaValue();
+            assertSameTokens(json, json.getBytes(UTF_8), true);
+        }
+    }
+
+    @Test
+    public void decoded_matchJacksonOnRandomFaunaValues() {
+        Codec<Object> codec = DefaultCodecProvider.SINGLETON.get(Object.class);
+        decodable = true;
+        for (int i = 0; i < 2000; i++) {
+            String json = randomFaunaValue();
+            Object expected = getOrThrown(codec::decode, UTF8FaunaParser.fromString(json));
+            assertEquals(expected, getOrThrown(codec::decode, UTF8FaunaParser.fromBytes(json.getBytes(UTF_8))), json);
+        }
+    }
+
+    @Test
+    public void mutatedInput_neverAcceptedWhenJacksonRejectsIt() {
+        int rejectedByBoth = 0;
+        for (int i = 0; i < 5000; i++) {
+            byte[] bytes = mutate(randomFaunaValue().getBytes(UTF_8));
+            Throwable expected = readAll(bytes, true);
+            Throwable actual = readAll(bytes, false);
+            if (actual == null) {
+                // The byte scanner may reject tagged values Jackson lets through, but never the other way around.
+                assertEquals(null, expected, () -> "Accepted input rejected by Jackson: " + show(bytes));
+                assertSameTokens(show(bytes), bytes, false);
+            } else {
+                assertTrue(actual instanceof CodecException, () -> show(bytes) + ": " + actual);
+                if (expected != null) {
+                    rejectedByBoth++;
+                }
+            }
+        }
+        assertTrue(rejectedByBoth > 1000, "Too few invalid inputs: " + rejectedByBoth);
+    }
+
+    @Test
+    public void numbers_decodeAsWithJackson() {
+        List<Function<UTF8FaunaParser, Object>> getters = List.of(
+                UTF8FaunaParser::getValueAsInt, UTF8FaunaParser::getValueAsLong, UTF8FaunaParser::getValueAsShort,
+                UTF8FaunaParser::getValueAsByte, UTF8FaunaParser::getValueAsCharacter,
+                UTF8FaunaParser::getValueAsFloat, UTF8FaunaParser::getValueAsDouble,
+                UTF8FaunaParser::getTaggedValueAsString);
+        for (String tag : new String[] {"@int", "@long"}) {
+            for (String number : NUMBERS) {
+                String json = "{\"" + tag + "\":\"" + number + "\"}";
+                for (Function<UTF8FaunaParser, Object> getter : getters) {
+                    Object expected = getOrThrown(getter, UTF8FaunaParser.fromString(json));
+                    Object actual = getOrThrown(getter, UTF8FaunaParser.fromBytes(json.getBytes(UTF_8)));
+                    assertEquals(expected, actual, json);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bytes_matchJacksonDecoding() {
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String encoded = Base64.getEncoder().encodeToString(bytes);
+            String unpadded = Base64.getEncoder().withoutPadding().encodeToString(bytes);
+            for (String wire : new String[] {encoded, unpadded, encoded.replace("/", "\\/"), " " + encoded}) {
+                String json = "{\"@bytes\":\"" + wire + "\"}";
+                UTF8FaunaParser reference = UTF8FaunaParser.fromString(json);
+                UTF8FaunaParser candidate = UTF8FaunaParser.fromBytes(json.getBytes(UTF_8));
+                assertArrayEquals(reference.getValueAsByteArray(), candidate.getValueAsByteArray(), json);
+                assertArrayEquals(bytes, candidate.getValueAsByteArray(), json);
+                assertEquals(reference.getTaggedValueAsString(), candidate.getTaggedValueAsString(), json);
+            }
+        }
+
+        String invalid = "{\"@bytes\":\"not base64!\"}";
+        assertThrows(CodecException.class, () -> UTF8FaunaParser.fromString(invalid));
+        assertThrows(CodecException.class, () -> UTF8FaunaParser.fromBytes(invalid.getBytes(UTF_8)));
+    }
+
+    @Test
+    public void invalidJson_rejectedByBoth() {
+        String[] inputs = {
+            "{", "[\"a\",]", "{\"a\"}", "{\"a\":true,}", "{,}", "[01]", "[1.]", "[-]", "[tru]", "[nul]", "\"abc",
+            "\"bad \\q escape\"", "\"\\u12\"", "{\"a\" true}", "[true false]", "{\"a\":true \"b\":null}",
+            "[\"\u0001\"]", "[1e]", "[truex]", "{1:2}", "{\"a\":1}", "[1.5]", "{\"@int\":\"1\"", "{\"@doc\":{}",
+            "{\"@set\":\"c\"", "]", "{\"a\":{\"b\":[}}",
+        };
+        for (String input : inputs) {
+            byte[] bytes = input.getBytes(UTF_8);
+            assertTrue(readAll(bytes, true) instanceof CodecException, "jackson: " + input);
+            assertTrue(readAll(bytes, false) instanceof CodecException, "bytes: " + input);
+        }
+    }
+
+    @Test
+    public void invalidUtf8_rejectedByBoth() {
+        byte[][] strings = {
+            {'"', (byte) 0x80, '"'},
+            {'"', (byte) 0xC3, '"'},
+            {'"', (byte) 0xFF, '"'},
+            {'"', 'a', (byte) 0xE2, (byte) 0x82, '"'},
+            {'"', (byte) 0xF0, (byte) 0x9F, (byte) 0x98, '"'},
+        };
+        for (byte[] bytes : strings) {
+            assertTrue(readAll(bytes, true) instanceof CodecException, () -> "jackson: " + show(bytes));
+            assertTrue(readAll(bytes, false) instanceof CodecException, () -> "bytes: " + show(bytes));
+        }
+    }
+
+    @Test
+    public void rawJson_slicesTheInput() throws IOException {
+        String json = "[ {\"@doc\": {\"id\": \"1\", \"n\": 1.5}}, {\"@set\": \"cursor\"}, {\"@int\": \"5\"}, \"s\" ]";
+        UTF8FaunaParser parser = UTF8FaunaParser.fromBytes(json.getBytes(UTF_8));
+        parser.read();
+        assertEquals("{\"@doc\": {\"id\": \"1\", \"n\": 1.5}}", parser.readRawJson());
+        assertEquals(FaunaTokenType.END_DOCUMENT, parser.getCurrentTokenType());
+        parser.read();
+        assertEquals("{\"@set\": \"cursor\"}", parser.readRawJson());
+        assertEquals(FaunaTokenType.END_PAGE, parser.getCurrentTokenType());
+        parser.read();
+        assertEquals("{\"@int\": \"5\"}", parser.readRawJson());
+        parser.read();
+        assertEquals("\"s\"", parser.readRawJson());
+        parser.read();
+        assertEquals(FaunaTokenType.END_ARRAY, parser.getCurrentTokenType());
+    }
+
+    @Test
+    public void fieldNames_areShared() {
+        String json = "{\"name\":\"a\"}";
+        UTF8FaunaParser first = UTF8FaunaParser.fromBytes(json.getBytes(UTF_8));
+        UTF8FaunaParser second = UTF8FaunaParser.fromBytes(json.getBytes(UTF_8));
+        first.read();
+        second.read();
+        assertEquals(FaunaTokenType.FIELD_NAME, first.getCurrentTokenType());
+        assertSame(first.getValueAsString(), second.getValueAsString());
+    }
+
+    // Reads both parsers to the end, comparing each token and its value. When randomOps is set, values are also
+    // captured as raw JSON or skipped at random points.
+    private void assertSameTokens(final String message, final byte[] bytes, final boolean randomOps) {
+        UTF8FaunaParser reference = UTF8FaunaParser.fromInputStream(new ByteArrayInputStream(bytes));
+        UTF8FaunaParser candidate = UTF8FaunaParser.fromBytes(bytes);
+        while (true) {
+            FaunaTokenType token = reference.getCurrentTokenType();
+            assertEquals(token, candidate.getCurrentTokenType(), message);
+            assertSameValue(message, token, reference, candidate);
+            if (randomOps && isValue(token) && random.nextInt(8) == 0) {
+                try {
+                    assertEquals(MAPPER.readTree(reference.readRawJson()), MAPPER.readTree(candidate.readRawJson()),
+                            message);
+                } catch (IOException e) {
+                    fail(e);
+                }
+                assertEquals(reference.getCurrentTokenType(), candidate.getCurrentTokenType(), message);
+            } else if (randomOps && random.nextInt(8) == 0) {
+                reference.skip();
+                candidate.skip();
+                assertEquals(reference.getCurrentTokenType(), candidate.getCurrentTokenType(), message);
+            }
+            boolean more = reference.read();
+            assertEquals(more, candidate.read(), message);
+            if (!more) {
+                return;
+            }
+        }
+    }
+
+    private static void assertSameValue(final String message, final FaunaTokenType token,
+                                        final UTF8FaunaParser reference, final UTF8FaunaParser candidate) {
+        switch (token) {
+            case STRING:
+            case FIELD_NAME:
+                assertEquals(reference.getValueAsString(), candidate.getValueAsString(), message);
+                assertEquals(reference.getValueAsBoolean(), candidate.getValueAsBoolean(), message);
+                break;
+            case TRUE:
+            case FALSE:
+                assertEquals(reference.getValueAsBoolean(), candidate.getValueAsBoolean(), message);
+                break;
+            case BYTES:
+                assertArrayEquals(reference.getValueAsByteArray(), candidate.getValueAsByteArray(), message);
+                break;
+            case INT:
+            case LONG:
+                assertEquals(getOrThrown(UTF8FaunaParser::getValueAsLong, reference),
+                        getOrThrown(UTF8FaunaParser::getValueAsLong, candidate), message);
+                assertEquals(reference.getTaggedValueAsString(), candidate.getTaggedValueAsString(), message);
+                break;
+            case DOUBLE:
+            case DATE:
+            case TIME:
+            case MODULE:
+            case STREAM:
+                assertEquals(reference.getTaggedValueAsString(), candidate.getTaggedValueAsString(), message);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isValue(final FaunaTokenType token) {
+        switch (token) {
+            case NONE:
+            case FIELD_NAME:
+            case END_OBJECT:
+            case END_ARRAY:
+            case END_PAGE:
+            case END_REF:
+            case END_DOCUMENT:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static Object getOrThrown(final Function<UTF8FaunaParser, Object> getter, final UTF8FaunaParser parser) {
+        try {
+            return getter.apply(parser);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    // Reads all tokens and their values, and returns the exception it failed with, if any.
+    private static Throwable readAll(final byte[] bytes, final boolean jackson) {
+        try {
+            UTF8FaunaParser parser = jackson ? UTF8FaunaParser.fromInputStream(new ByteArrayInputStream(bytes))
+                    : UTF8FaunaParser.fromBytes(bytes);
+            int count = 0;
+            do {
+                if (parser.getCurrentTokenType() == FaunaTokenType.STRING
+                        || parser.getCurrentTokenType() == FaunaTokenType.FIELD_NAME) {
+                    Objects.requireNonNull(parser.getValueAsString());
+                }
+                if (++count > 10_000) {
+                    fail("Too many tokens");
+                }
+            } while (parser.read());
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private byte[] mutate(final byte[] bytes) {
+        byte[] replacements = {'{', '}', '[', ']', '"', ',', ':', '\\', '@', 'x', '1', ' ', (byte) 0xC3, (byte) 0x80};
+        List<Byte> out = new ArrayList<>();
+        for (byte b : bytes) {
+            out.add(b);
+        }
+        int mutations = 1 + random.nextInt(2);
+        for (int i = 0; i < mutations && !out.isEmpty(); i++) {
+            int at = random.nextInt(out.size());
+            byte replacement = replacements[random.nextInt(replacements.length)];
+            switch (random.nextInt(3)) {
+                case 0:
+                    out.remove(at);
+                    break;
+                case 1:
+                    out.add(at, replacement);
+                    break;
+                default:
+                    out.set(at, replacement);
+                    break;
+            }
+        }
+        byte[] result = new byte[out.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = out.get(i);
+        }
+        return result;
+    }
+
+    private static String show(final byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(b >= 0x20 && b < 0x7F ? String.valueOf((char) b) : String.format("\\x%02x", b & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    private String randomFaunaValue() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ws());
+        writeFaunaValue(sb, 0);
+        sb.append(ws());
+        return sb.toString();
+    }
+
+    private String ws() {
+        return WHITESPACE[random.nextInt(WHITESPACE.length)];
+    }
+
+    private void writeFaunaValue(final StringBuilder sb, final int depth) {
+        int choice = random.nextInt(depth > 3 ? 12 : 18);
+        switch (choice) {
+            case 0:
+            case 1:
+                writeString(sb, STRINGS[random.nextInt(STRINGS.length)]);
+                break;
+            case 2:
+                writeTagged(sb, "@int", Integer.toString(random.nextInt()));
+                break;
+            case 3:
+                writeTagged(sb, "@long", decodable || random.nextBoolean() ? Long.toString(random.nextLong())
+                        : NUMBERS[random.nextInt(NUMBERS.length)]);
+                break;
+            case 4:
+                writeTagged(sb, "@double", Double.toString(random.nextDouble() * 1e6));
+                break;
+            case 5:
+                writeTagged(sb, "@time",
+                        Instant.ofEpochSecond(random.nextInt(), random.nextInt(1_000_000_000)).toString());
+                break;
+            case 6:
+                writeTagged(sb, "@date", LocalDate.ofEpochDay(random.nextInt(100_000)).toString());
+                break;
+            case 7:
+                writeTagged(sb, "@mod", "Coll" + random.nextInt(3));
+                break;
+            case 8:
+                if (decodable) {
+                    writeTagged(sb, "@stream", "stream" + random.nextInt(100));
+                    break;
+                }
+                byte[] bytes = new byte[random.nextInt(12)];
+                random.nextBytes(bytes);
+                writeTagged(sb, "@bytes", Base64.getEncoder().encodeToString(bytes));
+                break;
+            case 9:
+                writeTagged(sb, "@stream", "stream" + random.nextInt(100));
+                break;
+            case 10:
+                sb.append(random.nextBoolean() ? "true" : "null");
+                break;
+            case 11:
+                sb.append("false");
+                break;
+            case 12:
+                sb.append("{\"@doc\":").append(ws()).append("{\"id\":\"").append(random.nextInt(1000))
+                        .append("\",\"coll\":{\"@mod\":\"Product\"},\"ts\":{\"@time\":\"2023-12-15T01:01:01.001001Z\"}");
+                writeFaunaFields(sb, depth, true, false);
+                sb.append("}").append(ws()).append("}");
+                break;
+            case 13:
+                sb.append("{\"@ref\":{\"id\":\"").append(random.nextInt(1000))
+                        .append("\",\"coll\":{\"@mod\":\"Product\"}");
+                writeFaunaFields(sb, depth, true, false);
+                sb.append("}}");
+                break;
+            case 14:
+                if (random.nextBoolean()) {
+                    writeTagged(sb, "@set", "cursor" + random.nextInt(100));
+                } else {
+                    sb.append("{\"@set\":{\"data\":[");
+                    writeFaunaValue(sb, depth + 1);
+                    sb.append("],\"after\":\"token\"}}");
+                }
+                break;
+            case 15:
+                sb.append("{\"@object\":{");
+                writeFaunaFields(sb, depth, false, false);
+                sb.append("}}");
+                break;
+            case 16:
+                sb.append('{').append(ws());
+                writeFaunaFields(sb, depth, false, true);
+                sb.append(ws()).append('}');
+                break;
+            default:
+                sb.append('[');
+                int elements = random.nextInt(4);
+                for (int i = 0; i < elements; i++) {
+                    if (i > 0) {
+                        sb.append(ws()).append(',');
+                    }
+                    sb.append(ws());
+                    writeFaunaValue(sb, depth + 1);
+                }
+                sb.append(ws()).append(']');
+                break;
+        }
+    }
+
+    // Writes fields of an object. The first field of a plain object must not be a tag key, or it would be a tag.
+    private void writeFaunaFields(final StringBuilder sb, final int depth, final boolean leadingComma,
+                                  final boolean plain) {
+        int fields = random.nextInt(4);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < fields; i++) {
+            String name = random.nextInt(4) == 0 ? STRINGS[random.nextInt(STRINGS.length)]
+                    : "field" + random.nextInt(10) + (random.nextBoolean() ? "\u00e9" : "");
+            if (names.contains(name) || plain && names.isEmpty() && name.equals("@int")) {
+                continue;
+            }
+            names.add(name);
+            if (leadingComma || names.size() > 1) {
+                sb.append(ws()).append(',');
+            }
+            sb.append(ws());
+            writeString(sb, name);
+            sb.append(ws()).append(':').append(ws());
+            writeFaunaValue(sb, depth + 1);
+        }
+    }
+
+    private void writeTagged(final StringBuilder sb, final String tag, final String value) {
+        sb.append('{').append(ws());
+        writeString(sb, tag);
+        sb.append(ws()).append(':').append(ws());
+        writeString(sb, value);
+        sb.append(ws()).append('}');
+    }
+
+    private void writeString(final StringBuilder sb, final String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '/':
+                    sb.append("\\/");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7f && random.nextBoolean() || c == '@' && random.nextInt(4) == 0) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
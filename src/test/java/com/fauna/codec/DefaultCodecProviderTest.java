@@ -1,16 +1,22 @@
 package com.fauna.codec;
 
 import com.fauna.beans.Circular;
+import com.fauna.codec.codecs.ByteBufferCodec;
+import com.fauna.codec.codecs.InputStreamCodec;
 import com.fauna.codec.codecs.ListCodec;
 import com.fauna.codec.codecs.MapCodec;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class DefaultCodecProviderTest {
 
@@ -24,6 +30,21 @@ public class DefaultCodecProviderTest {
         assertEquals(Integer.class, codec.getCodecClass());
     }
 
+    @Test
+    public void get_returnsBinaryCodecsOnlyForExactTypes() {
+        assertSame(ByteBufferCodec.SINGLETON, cp.get(ByteBuffer.class, null));
+        assertSame(InputStreamCodec.SINGLETON, cp.get(InputStream.class, null));
+        // InputStreamCodec decodes into a ByteArrayInputStream, which a subclass cannot hold.
+        assertNotSame(InputStreamCodec.SINGLETON, cp.get(EmptyStream.class, null));
+    }
+
+    public static class EmptyStream extends InputStream {
+        @Override
+        public int read() {
+            return -1;
+        }
+    }
+
     @Test
     @SuppressWarnings({"rawtypes", "unchecked"})
     public void get_generatesListCodec() {
@@ -1,9 +1,21 @@
 package com.fauna.codec;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fauna.response.QueryResponse;
+import com.fauna.response.QuerySuccess;
+import com.fauna.types.Page;
+
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class Helpers {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     public static <T> T decode(Codec<T> codec, String val) {
         var parser = UTF8FaunaParser.fromString(val);
         return codec.decode(parser);
@@ -15,6 +27,24 @@ public class Helpers {
         return gen.serialize();
     }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static QuerySuccess<Object> page(Class<?> elementType, String json) throws IOException {
+        QueryResponse.Builder builder = QueryResponse.builder(
+                DefaultCodecProvider.SINGLETON.get(Page.class, new Type[] {elementType}))
+                .data(MAPPER.createParser(json));
+        return new QuerySuccess<>(builder);
+    }
+
+    public static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the condition.");
+            }
+            Thread.sleep(5);
+        }
+    }
+
     public static String getWire(FaunaType type) {
         switch (type) {
             case Int:
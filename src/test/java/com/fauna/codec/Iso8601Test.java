@@ -0,0 +1,113 @@
+package com.fauna.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Iso8601Test {
+
+    private static final long MIN_SECOND = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+    private static final long MAX_SECOND = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+
+    private final Random random = new Random(42);
+    private final char[] buffer = new char[Iso8601.MAX_INSTANT_LENGTH];
+
+    @Test
+    public void parseInstant_matchesJdk() {
+        String[] values = {
+            "2023-12-15T01:01:01.0010010Z",
+            "2024-01-23T13:33:10.300Z",
+            "2024-02-29T23:59:59.999999999Z",
+            "1970-01-01T00:00:00Z",
+            "1969-12-31T23:59:59.1Z",
+            "0000-01-01T00:00:00Z",
+            "0000-03-01T00:00:00Z",
+            "9999-12-31T23:59:59Z",
+        };
+        for (String value : values) {
+            assertEquals(Instant.parse(value), Iso8601.parseInstant(value), value);
+        }
+    }
+
+    @Test
+    public void parseInstant_withOffset() {
+        String value = "2023-12-03T05:52:10.000001-09:00";
+        assertEquals(OffsetDateTime.parse(value).toInstant(), Iso8601.parseInstant(value));
+        value = "2023-12-03T05:52:10+05:30";
+        assertEquals(OffsetDateTime.parse(value).toInstant(), Iso8601.parseInstant(value));
+    }
+
+    @Test
+    public void parseInstant_invalid() {
+        String[] values = {
+            "2023-02-29T00:00:00Z",
+            "2023-12-15T25:00:00Z",
+            "2023-12-15T01:01:01.0000000001Z",
+            "2023-12-15T01:01:01",
+            "2023-12-15 01:01:01Z",
+            "2023-1a-15T01:01:01Z",
+        };
+        for (String value : values) {
+            assertThrows(DateTimeParseException.class, () -> Iso8601.parseInstant(value), value);
+        }
+    }
+
+    @Test
+    public void parseLocalDate_matchesJdk() {
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(2_932_896) - 719_162);
+            assertEquals(date, Iso8601.parseLocalDate(date.toString()));
+        }
+        assertEquals(LocalDate.of(2020, 10, 10), Iso8601.parseLocalDate("2020-10-10"));
+        assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDate("2021-02-29"));
+        assertThrows(DateTimeParseException.class, () -> Iso8601.parseLocalDate("2021-13-01"));
+    }
+
+    @Test
+    public void formatAndParseInstant_matchesJdk() {
+        for (int i = 0; i < 100_000; i++) {
+            long second = MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND));
+            int nano;
+            switch (i % 4) {
+                case 0:
+                    nano = 0;
+                    break;
+                case 1:
+                    nano = random.nextInt(1000) * 1_000_000;
+                    break;
+                case 2:
+                    nano = random.nextInt(1_000_000) * 1000;
+                    break;
+                default:
+                    nano = random.nextInt(1_000_000_000);
+            }
+            Instant instant = Instant.ofEpochSecond(second, nano);
+            String expected = instant.toString();
+            assertEquals(expected, new String(buffer, 0, Iso8601.formatInstant(instant, buffer)));
+            assertEquals(instant, Iso8601.parseInstant(expected));
+        }
+    }
+
+    @Test
+    public void formatInstant_outOfRangeYears() {
+        assertEquals(-1, Iso8601.formatInstant(Instant.parse("-0001-12-31T23:59:59Z"), buffer));
+        assertEquals(-1, Iso8601.formatInstant(Instant.parse("+10000-01-01T00:00:00Z"), buffer));
+    }
+
+    @Test
+    public void formatLocalDate_matchesJdk() {
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(2_932_896) - 719_162);
+            assertEquals(date.toString(), new String(buffer, 0, Iso8601.formatLocalDate(date, buffer)));
+        }
+        assertEquals("2023-01-01",
+                new String(buffer, 0, Iso8601.formatLocalDate(LocalDate.of(2023, 1, 1), buffer)));
+    }
+}
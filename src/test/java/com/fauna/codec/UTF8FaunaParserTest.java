@@ -16,7 +16,9 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -36,6 +38,23 @@ class UTF8FaunaParserTest {
         assertReader(reader, expectedTokens);
     }
 
+    @Test
+    public void testGetValueAsStringDeduplicated() {
+        String s = "[\"active\",\"active\",\"a much longer value\",\"a much longer value\"]";
+        UTF8FaunaParser reader = UTF8FaunaParser.fromString(s).deduplicateStrings(8);
+
+        String[] values = new String[4];
+        for (int i = 0; i < values.length; i++) {
+            reader.read();
+            values[i] = reader.getValueAsString();
+        }
+
+        assertEquals("active", values[0]);
+        assertSame(values[0], values[1]);
+        assertEquals(values[2], values[3]);
+        assertNotSame(values[2], values[3]);
+    }
+
     @Test
     public void testGetValueAsByteArray() throws IOException {
         String s = "{\"@bytes\": \"RmF1bmE=\"}";
@@ -277,6 +296,14 @@ class UTF8FaunaParserTest {
                 ex.getMessage());
     }
 
+    @Test
+    public void testGetValueAsModuleInterned() {
+        UTF8FaunaParser first = UTF8FaunaParser.fromString("{\"@mod\": \"Interned\"}");
+        UTF8FaunaParser second = UTF8FaunaParser.fromString("{\"@mod\": \"Interned\"}");
+
+        assertSame(first.getValueAsModule(), second.getValueAsModule());
+    }
+
     @Test
     public void testGetValueAsModule() throws IOException {
         String s = "{\"@mod\": \"MyModule\"}";
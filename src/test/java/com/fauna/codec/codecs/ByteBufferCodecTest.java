@@ -0,0 +1,86 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.Helpers;
+import com.fauna.exception.CodecException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ByteBufferCodecTest extends TestBase {
+    public static final Codec<ByteBuffer> BYTE_BUFFER_CODEC =
+            DefaultCodecProvider.SINGLETON.get(ByteBuffer.class);
+
+    public static Stream<Arguments> testCases() {
+        return Stream.of(
+                Arguments.of(TestType.RoundTrip, BYTE_BUFFER_CODEC,
+                        "{\"@bytes\":\"RmF1bmE=\"}",
+                        ByteBuffer.wrap(new byte[] {70, 97, 117, 110, 97}), null),
+                Arguments.of(TestType.RoundTrip, BYTE_BUFFER_CODEC, "null", null,
+                        null)
+        );
+    }
+
+    @ParameterizedTest(name = "ByteBufferCodec({index}) -> {0}:{1}:{2}:{3}:{4}")
+    @MethodSource("testCases")
+    public <T, E extends Exception> void byteBuffer_runTestCases(
+            TestType testType, Codec<T> codec, String wire, Object obj,
+            E exception) throws IOException {
+        runCase(testType, codec, wire, obj, exception);
+    }
+
+    @Test
+    public void byteBuffer_encodesRemainingBytesOfHeapAndDirectBuffers() throws IOException {
+        byte[] bytes = new byte[100_003];
+        new Random(42).nextBytes(bytes);
+        String expected = "{\"@bytes\":\""
+                + Base64.getEncoder().encodeToString(Arrays.copyOfRange(bytes, 7, bytes.length)) + "\"}";
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes).position(7);
+        assertEquals(expected, Helpers.encode(BYTE_BUFFER_CODEC, heap));
+        assertEquals(7, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).position(7);
+        assertEquals(expected, Helpers.encode(BYTE_BUFFER_CODEC, direct));
+        assertEquals(7, direct.position());
+    }
+
+    @Test
+    public void byteBuffer_subclassesEncodeButDoNotDecode() throws IOException {
+        ByteBuffer direct = ByteBuffer.allocateDirect(3).put(new byte[] {1, 2, 3}).flip();
+        Codec codec = DefaultCodecProvider.SINGLETON.get(direct.getClass());
+
+        assertEquals("{\"@bytes\":\"AQID\"}", Helpers.encode(codec, direct));
+        assertThrows(CodecException.class, () -> Helpers.decode(codec, "{\"@bytes\":\"AQID\"}"));
+    }
+
+    public static Stream<Arguments> unsupportedTypeCases() {
+        return unsupportedTypeCases(BYTE_BUFFER_CODEC);
+    }
+
+    @ParameterizedTest(name = "ByteBufferCodecUnsupportedTypes({index}) -> {0}:{1}")
+    @MethodSource("unsupportedTypeCases")
+    public void byteBuffer_runUnsupportedTypeTestCases(String wire,
+                                                       FaunaType type)
+            throws IOException {
+        var exMsg = MessageFormat.format(
+                "Unable to decode `{0}` with `ByteBufferCodec<ByteBuffer>`. Supported types for codec are [Bytes, Null].",
+                type);
+        runCase(TestType.Decode, BYTE_BUFFER_CODEC, wire, null,
+                new CodecException(exMsg));
+    }
+}
@@ -3,6 +3,7 @@ package com.fauna.codec.codecs;
 import com.fauna.beans.ClassWithAttributes;
 import com.fauna.beans.ClassWithClientGeneratedIdCollTsAnnotations;
 import com.fauna.beans.ClassWithFaunaIgnore;
+import com.fauna.beans.ClassWithFinalFields;
 import com.fauna.beans.ClassWithIdCollTsAnnotations;
 import com.fauna.beans.ClassWithInheritanceL2;
 import com.fauna.beans.ClassWithParameterizedFields;
@@ -10,6 +11,7 @@ import com.fauna.beans.ClassWithRefTagCollision;
 import com.fauna.codec.Codec;
 import com.fauna.codec.DefaultCodecProvider;
 import com.fauna.codec.FaunaType;
+import com.fauna.codec.UTF8FaunaParser;
 import com.fauna.exception.CodecException;
 import com.fauna.exception.NullDocumentException;
 import com.fauna.types.Module;
@@ -27,6 +29,10 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.fauna.codec.codecs.Fixtures.ESCAPED_OBJECT_WIRE_WITH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 public class ClassCodecTest extends TestBase {
@@ -170,6 +176,55 @@ public class ClassCodecTest extends TestBase {
         runCase(TestType.RoundTrip, codec, wire, obj, null);
     }
 
+    @Test
+    public void class_decodeWithCanonicalConstructor() throws IOException {
+        var codec = DefaultCodecProvider.SINGLETON.get(
+                ClassWithFinalFields.class);
+        var obj = new ClassWithFinalFields("123", "foo", "bar", 42);
+        runCase(TestType.Decode, codec, DOCUMENT_WIRE, obj, null);
+    }
+
+    @Test
+    public void class_decodeWithCanonicalConstructorMissingFields() throws IOException {
+        var codec = DefaultCodecProvider.SINGLETON.get(
+                ClassWithFinalFields.class);
+        var wire = "{\"first_name\":\"foo\",\"last_name\":\"bar\",\"unknown\":[{\"@int\":\"1\"}]}";
+        var obj = new ClassWithFinalFields(null, "foo", "bar", 0);
+        runCase(TestType.Decode, codec, wire, obj, null);
+    }
+
+    @Test
+    public void class_decodeIntoReusesTarget() {
+        var target = new ClassWithAttributes("old", "old", 1);
+        var decoded = CLASS_WITH_ATTRIBUTES_CODEC.decodeInto(
+                UTF8FaunaParser.fromString(DOCUMENT_WIRE), target);
+        assertSame(target, decoded);
+        assertEquals(CLASS_WITH_ATTRIBUTES, decoded);
+    }
+
+    @Test
+    public void class_decodeIntoResetsMissingFields() {
+        var target = new ClassWithAttributes("old", "old", 1);
+        var wire = "{\"first_name\":\"foo\",\"last_name\":\"bar\"}";
+        var decoded = CLASS_WITH_ATTRIBUTES_CODEC.decodeInto(
+                UTF8FaunaParser.fromString(wire), target);
+        assertSame(target, decoded);
+        assertNull(decoded.getAge());
+    }
+
+    @Test
+    public void class_decodeIntoNullTargetOrCanonicalConstructorDecodesNewInstance() {
+        var decoded = CLASS_WITH_ATTRIBUTES_CODEC.decodeInto(
+                UTF8FaunaParser.fromString(DOCUMENT_WIRE), null);
+        assertEquals(CLASS_WITH_ATTRIBUTES, decoded);
+
+        var codec = DefaultCodecProvider.SINGLETON.get(ClassWithFinalFields.class);
+        var target = new ClassWithFinalFields(null, null, null, 0);
+        var obj = codec.decodeInto(UTF8FaunaParser.fromString(DOCUMENT_WIRE), target);
+        assertNotSame(target, obj);
+        assertEquals(new ClassWithFinalFields("123", "foo", "bar", 42), obj);
+    }
+
     public static Stream<Arguments> unsupportedTypeCases() {
         return unsupportedTypeCases(CLASS_WITH_ATTRIBUTES_CODEC);
     }
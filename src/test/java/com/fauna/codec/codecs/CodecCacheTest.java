@@ -0,0 +1,63 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.CodecProvider;
+import com.fauna.codec.DefaultCodecProvider;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CodecCacheTest {
+
+    private static class CountingProvider implements CodecProvider {
+        private final List<Class<?>> lookups = new ArrayList<>();
+
+        @Override
+        public <T> Codec<T> get(Class<T> clazz) {
+            lookups.add(clazz);
+            return DefaultCodecProvider.SINGLETON.get(clazz);
+        }
+
+        @Override
+        public <T> Codec<T> get(Class<T> clazz, Type[] typeArgs) {
+            return get(clazz);
+        }
+    }
+
+    @Test
+    public void get_looksUpEachClassOnce() {
+        var provider = new CountingProvider();
+        var cache = new CodecCache(provider);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(StringCodec.SINGLETON, cache.get(String.class));
+            assertSame(IntCodec.SINGLETON, cache.get(Integer.class));
+        }
+
+        assertEquals(List.of(String.class, Integer.class), provider.lookups);
+    }
+
+    @Test
+    public void get_fallsBackToProviderWhenMegamorphic() {
+        var provider = new CountingProvider();
+        var cache = new CodecCache(provider);
+        var classes = List.of(String.class, Integer.class, Long.class,
+                Double.class, Instant.class, LocalDate.class);
+
+        for (int i = 0; i < 2; i++) {
+            for (Class<?> clazz : classes) {
+                assertSame(DefaultCodecProvider.SINGLETON.get(clazz), cache.get(clazz));
+            }
+        }
+
+        // The first MAX_ENTRIES classes stay cached, the rest always go to the provider.
+        assertEquals(classes.size() * 2 - CodecCache.MAX_ENTRIES, provider.lookups.size());
+    }
+}
@@ -0,0 +1,120 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Helpers;
+import com.fauna.exception.CodecException;
+import com.fauna.types.ColumnarPage;
+import com.fauna.types.ColumnarPage.ColumnType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarPageCodecTest extends TestBase {
+
+    private static final String PAGE_WIRE = "{\"@set\":{\"data\":["
+            + "{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"Product\"},\"ts\":{\"@time\":\"2023-12-15T01:01:01.0010010Z\"},"
+            + "\"status\":\"active\",\"price\":{\"@double\":\"9.5\"},\"stock\":{\"@int\":\"3\"},\"sale\":true,"
+            + "\"tags\":[\"a\",\"b\"],\"owner\":{\"@ref\":{\"id\":\"9\",\"coll\":{\"@mod\":\"User\"}}}}},"
+            + "{\"@doc\":{\"id\":\"2\",\"coll\":{\"@mod\":\"Product\"},\"ts\":{\"@time\":\"2023-12-16T01:01:01Z\"},"
+            + "\"status\":\"retired\",\"price\":{\"@int\":\"10\"},\"stock\":null}},"
+            + "{\"@doc\":{\"id\":\"3\",\"coll\":{\"@mod\":\"Product\"},\"ts\":{\"@time\":\"2023-12-17T01:01:01Z\"},"
+            + "\"status\":\"active\",\"stock\":{\"@long\":\"5000000000\"},\"sale\":false}}"
+            + "],\"after\":\"next\"}}";
+
+    private static final ColumnarPage.Schema SCHEMA = ColumnarPage.Schema.builder()
+            .column("id", ColumnType.STRING)
+            .column("coll", ColumnType.STRING)
+            .column("ts", ColumnType.TIME)
+            .column("status", ColumnType.STRING)
+            .column("price", ColumnType.DOUBLE)
+            .column("stock", ColumnType.LONG)
+            .column("sale", ColumnType.BOOLEAN)
+            .build();
+
+    private final ColumnarPageCodec codec = new ColumnarPageCodec(SCHEMA);
+
+    @Test
+    public void columnarPage_decodesDeclaredFieldsIntoColumns() {
+        ColumnarPage page = Helpers.decode(codec, PAGE_WIRE);
+
+        assertEquals(3, page.getRowCount());
+        assertEquals("next", page.getAfter().get().getToken());
+        assertEquals(List.of("id", "coll", "ts", "status", "price", "stock", "sale"),
+                List.copyOf(page.getColumns().keySet()));
+
+        var status = page.getStringColumn("status");
+        assertEquals(List.of("active", "retired"), status.getDictionary());
+        assertEquals(0, status.getCode(0));
+        assertEquals(1, status.getCode(1));
+        assertEquals("active", status.get(2));
+        assertEquals("Product", page.getStringColumn("coll").get(2));
+
+        assertEquals(Instant.parse("2023-12-16T01:01:01Z"), page.getTimeColumn("ts").get(1));
+
+        var price = page.getDoubleColumn("price");
+        assertEquals(9.5, price.get(0));
+        assertEquals(10.0, price.get(1));
+        assertTrue(price.isNull(2));
+
+        var stock = page.getLongColumn("stock");
+        assertEquals(3L, stock.get(0));
+        assertTrue(stock.isNull(1));
+        assertEquals(5_000_000_000L, stock.get(2));
+
+        var sale = page.getBooleanColumn("sale");
+        assertTrue(sale.get(0));
+        assertTrue(sale.isNull(1));
+        assertFalse(sale.get(2));
+        assertFalse(sale.isNull(2));
+        assertNull(sale.getObject(1));
+    }
+
+    @Test
+    public void columnarPage_decodeArray() {
+        ColumnarPage page = Helpers.decode(codec, "[{\"status\":\"x\"},null]");
+
+        assertEquals(2, page.getRowCount());
+        assertEquals("x", page.getStringColumn("status").get(0));
+        assertTrue(page.getStringColumn("status").isNull(1));
+        assertTrue(page.getAfter().isEmpty());
+    }
+
+    @Test
+    public void columnarPage_decodeUnmaterializedSet() {
+        ColumnarPage page = Helpers.decode(codec, "{\"@set\":\"aftertoken\"}");
+
+        assertEquals(0, page.getRowCount());
+        assertEquals("aftertoken", page.getAfter().get().getToken());
+    }
+
+    @Test
+    public void columnarPage_typeMismatchThrows() {
+        var ex = assertThrows(CodecException.class,
+                () -> Helpers.decode(codec, "[{\"stock\":\"many\"}]"));
+        assertEquals("Unable to decode `String` into LONG column `stock`.", ex.getMessage());
+    }
+
+    @Test
+    public void columnarPage_wrongColumnTypeThrows() {
+        ColumnarPage page = Helpers.decode(codec, "[]");
+        assertThrows(IllegalArgumentException.class, () -> page.getLongColumn("status"));
+    }
+
+    @Test
+    public void columnarPage_loaderRejectsValuesAfterBuild() {
+        ColumnarPage.Loader loader = ColumnarPage.loader(SCHEMA);
+        loader.setLong(5, 0, 7L);
+        ColumnarPage page = loader.build(1, null);
+
+        assertEquals(7L, page.getLongColumn("stock").get(0));
+        assertThrows(IllegalStateException.class, () -> loader.setLong(5, 0, 8L));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarPage.loader(SCHEMA).setLong(0, 0, 1L));
+        assertEquals(7L, page.getLongColumn("stock").get(0));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.FaunaType;
+import com.fauna.codec.Helpers;
+import com.fauna.exception.CodecException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class InputStreamCodecTest extends TestBase {
+    public static final Codec<InputStream> INPUT_STREAM_CODEC =
+            DefaultCodecProvider.SINGLETON.get(InputStream.class);
+
+    @Test
+    public void inputStream_roundTripLargeValue() throws IOException {
+        byte[] bytes = new byte[1_000_001];
+        new Random(42).nextBytes(bytes);
+        String wire = "{\"@bytes\":\"" + Base64.getEncoder().encodeToString(bytes) + "\"}";
+
+        assertEquals(wire, Helpers.encode(INPUT_STREAM_CODEC, new ByteArrayInputStream(bytes)));
+        try (InputStream decoded = Helpers.decode(INPUT_STREAM_CODEC, wire)) {
+            assertArrayEquals(bytes, decoded.readAllBytes());
+        }
+    }
+
+    @Test
+    public void inputStream_roundTripNull() throws IOException {
+        assertNull(Helpers.decode(INPUT_STREAM_CODEC, "null"));
+        assertEquals("null", Helpers.encode(INPUT_STREAM_CODEC, null));
+    }
+
+    public static Stream<Arguments> unsupportedTypeCases() {
+        return unsupportedTypeCases(INPUT_STREAM_CODEC);
+    }
+
+    @ParameterizedTest(name = "InputStreamCodecUnsupportedTypes({index}) -> {0}:{1}")
+    @MethodSource("unsupportedTypeCases")
+    public void inputStream_runUnsupportedTypeTestCases(String wire,
+                                                        FaunaType type)
+            throws IOException {
+        var exMsg = MessageFormat.format(
+                "Unable to decode `{0}` with `InputStreamCodec<InputStream>`. Supported types for codec are [Bytes, Null].",
+                type);
+        runCase(TestType.Decode, INPUT_STREAM_CODEC, wire, null,
+                new CodecException(exMsg));
+    }
+}
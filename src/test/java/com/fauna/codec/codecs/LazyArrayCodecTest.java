@@ -0,0 +1,122 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.beans.ClassWithSupplier;
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.exception.CodecException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyArrayCodecTest extends TestBase {
+
+    private static final String WIRE = "[{\"@int\":\"1\"},\"two\",null]";
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static String encode(Object value) throws IOException {
+        Codec codec = DefaultCodecProvider.SINGLETON.get(value.getClass());
+        return Helpers.encode(codec, value);
+    }
+
+    @Test
+    public void lazyArray_providerSelectsCodecForLazyTypes() {
+        Iterator<Integer> iterator = List.of(1).iterator();
+        Supplier<List<Integer>> supplier = () -> List.of(1);
+        assertInstanceOf(LazyArrayCodec.class, DefaultCodecProvider.SINGLETON.get(iterator.getClass()));
+        assertInstanceOf(LazyArrayCodec.class, DefaultCodecProvider.SINGLETON.get(Stream.of(1).getClass()));
+        assertInstanceOf(LazyArrayCodec.class, DefaultCodecProvider.SINGLETON.get(supplier.getClass()));
+    }
+
+    @Test
+    public void lazyArray_encodeIterator() throws IOException {
+        assertEquals(WIRE, encode(Arrays.asList(1, "two", null).iterator()));
+    }
+
+    @Test
+    public void lazyArray_encodeStreamAndClose() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Object> stream = Stream.<Object>of(1, "two").onClose(() -> closed.set(true));
+        assertEquals("[{\"@int\":\"1\"},\"two\"]", encode(stream));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void lazyArray_encodePrimitiveStream() throws IOException {
+        assertEquals("[{\"@int\":\"0\"},{\"@int\":\"1\"}]", encode(IntStream.range(0, 2)));
+    }
+
+    @Test
+    public void lazyArray_encodeSupplierIsReplayable() throws IOException {
+        Supplier<Stream<Object>> supplier = () -> Stream.of(1, "two", null);
+        assertEquals(WIRE, encode(supplier));
+        assertEquals(WIRE, encode(supplier));
+    }
+
+    @Test
+    public void lazyArray_encodeSupplierOfPlainValue() throws IOException {
+        Supplier<String> supplier = () -> "Fauna";
+        assertEquals("\"Fauna\"", encode(supplier));
+    }
+
+    @Test
+    public void lazyArray_encodeNestedIterators() throws IOException {
+        Iterator<Object> nested = List.<Object>of(List.of(1).iterator()).iterator();
+        assertEquals("[[{\"@int\":\"1\"}]]", encode(nested));
+    }
+
+    @Test
+    public void lazyArray_oneShotValues() {
+        Supplier<Integer> supplier = () -> 1;
+        assertTrue(LazyArrayCodec.isOneShot(List.of().iterator()));
+        assertTrue(LazyArrayCodec.isOneShot(Stream.empty()));
+        assertFalse(LazyArrayCodec.isOneShot(supplier));
+        assertTrue(LazyArrayCodec.isLazy(supplier));
+        assertFalse(LazyArrayCodec.isLazy(List.of()));
+    }
+
+    @Test
+    public void lazyArray_pojoImplementingSupplierRoundTrips() throws IOException {
+        ClassWithSupplier pojo = new ClassWithSupplier("Fauna");
+        Codec<ClassWithSupplier> codec = DefaultCodecProvider.SINGLETON.get(ClassWithSupplier.class);
+        assertInstanceOf(ClassCodec.class, codec);
+        assertFalse(LazyArrayCodec.isLazy(pojo));
+
+        String wire = Helpers.encode(codec, pojo);
+        assertEquals("{\"name\":\"Fauna\"}", wire);
+        assertEquals(pojo, Helpers.decode(codec, wire));
+    }
+
+    @Test
+    public void lazyArray_anonymousSupplierIsLazy() throws IOException {
+        Supplier<String> supplier = new Supplier<>() {
+            @Override
+            public String get() {
+                return "Fauna";
+            }
+        };
+        assertTrue(LazyArrayCodec.isLazy(supplier));
+        assertEquals("\"Fauna\"", encode(supplier));
+    }
+
+    @Test
+    public void lazyArray_decodeIsUnsupported() {
+        LazyArrayCodec codec = new LazyArrayCodec(DefaultCodecProvider.SINGLETON);
+        assertThrows(CodecException.class, () -> Helpers.decode(codec, "[]"));
+        assertSame(Object.class, codec.getCodecClass());
+    }
+}
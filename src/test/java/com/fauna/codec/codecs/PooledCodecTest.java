@@ -0,0 +1,70 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.beans.ClassWithAttributes;
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.event.EventDataPool;
+import com.fauna.exception.CodecException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.fauna.codec.codecs.ClassCodecTest.CLASS_WITH_ATTRIBUTES;
+import static com.fauna.codec.codecs.ClassCodecTest.DOCUMENT_WIRE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PooledCodecTest extends TestBase {
+
+    private static final Codec<ClassWithAttributes> CODEC =
+            DefaultCodecProvider.SINGLETON.get(ClassWithAttributes.class);
+
+    @Test
+    public void pooled_decodesIntoReleasedInstances() {
+        AtomicInteger created = new AtomicInteger();
+        EventDataPool<ClassWithAttributes> pool = EventDataPool.bounded(() -> {
+            created.incrementAndGet();
+            return new ClassWithAttributes();
+        }, 1);
+        Codec<ClassWithAttributes> codec = new PooledCodec<>(CODEC, pool::acquire);
+
+        ClassWithAttributes first = Helpers.decode(codec, DOCUMENT_WIRE);
+        assertEquals(CLASS_WITH_ATTRIBUTES, first);
+        pool.release(first);
+
+        ClassWithAttributes second = Helpers.decode(codec, DOCUMENT_WIRE);
+        assertSame(first, second);
+        assertEquals(1, created.get());
+
+        ClassWithAttributes third = Helpers.decode(codec, DOCUMENT_WIRE);
+        assertNotSame(second, third);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void pooled_nullInstanceDecodesNewInstance() {
+        Codec<ClassWithAttributes> codec = new PooledCodec<>(CODEC, () -> null);
+        assertEquals(CLASS_WITH_ATTRIBUTES, Helpers.decode(codec, DOCUMENT_WIRE));
+    }
+
+    @Test
+    public void pooled_wrongInstanceTypeThrows() {
+        Codec<ClassWithAttributes> codec = new PooledCodec<>(CODEC, () -> "not a bean");
+        assertThrows(CodecException.class, () -> Helpers.decode(codec, DOCUMENT_WIRE));
+    }
+
+    @Test
+    public void pooled_encodeDelegates() throws IOException {
+        Codec<ClassWithAttributes> codec = new PooledCodec<>(CODEC, () -> null);
+        assertEquals(Helpers.encode(CODEC, CLASS_WITH_ATTRIBUTES), Helpers.encode(codec, CLASS_WITH_ATTRIBUTES));
+    }
+
+    @Test
+    public void bounded_rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> EventDataPool.bounded(ClassWithAttributes::new, 0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.fauna.codec.codecs;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.Helpers;
+import com.fauna.exception.CodecException;
+import com.fauna.query.builder.Query;
+import com.fauna.types.RawValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.fauna.query.builder.Query.fql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RawValueCodecTest extends TestBase {
+    public static final Codec<RawValue> RAW_VALUE_CODEC =
+            DefaultCodecProvider.SINGLETON.get(RawValue.class);
+
+    public static Stream<String> wires() {
+        return Stream.of(
+                "\"Fauna\"",
+                "true",
+                "false",
+                "{\"@int\":\"42\"}",
+                "{\"@long\":\"42\"}",
+                "{\"@double\":\"1.2\"}",
+                "{\"@date\":\"2020-10-10\"}",
+                "{\"@time\":\"2024-08-16T21:34:16.7Z\"}",
+                "{\"@mod\":\"Foo\"}",
+                "{\"@stream\":\"token\"}",
+                "{\"@bytes\":\"RmF1bmE=\"}",
+                "[]",
+                "[1,2.5,-3e2,\"a\",null,[{}],{\"@int\":\"1\"}]",
+                "{}",
+                "{\"a\":{\"b\":[true,{\"@date\":\"2020-10-10\"}]},\"c\":null}",
+                "{\"@object\":{\"@int\":\"not an int\",\"x\":{}}}",
+                "{\"@object\":{\"@doc\":\"not a doc\",\"@set\":[]}}",
+                "{\"@ref\":{\"id\":\"123\",\"coll\":{\"@mod\":\"Foo\"}}}"
+        );
+    }
+
+    public static Stream<String> outputOnlyWires() {
+        return Stream.of(
+                "{\"@doc\":{\"id\":\"123\",\"coll\":{\"@mod\":\"Foo\"},\"ts\":{\"@time\":\"2023-12-15T01:01:01.001001Z\"},\"name\":\"foo\"}}",
+                "{\"@set\":{\"data\":[{\"@int\":\"1\"}],\"after\":\"token\"}}",
+                "{\"@set\":\"token\"}"
+        );
+    }
+
+    @ParameterizedTest(name = "RawValueCodec({index}) -> {0}")
+    @MethodSource("wires")
+    public void rawValue_roundTrip(String wire) throws IOException {
+        RawValue value = RawValue.of(wire);
+        runCase(TestType.RoundTrip, RAW_VALUE_CODEC, wire, value, null);
+    }
+
+    @ParameterizedTest(name = "RawValueCodec({index}) -> {0}")
+    @MethodSource("outputOnlyWires")
+    public void rawValue_capturesOutputOnlyValues(String wire) throws IOException {
+        runCase(TestType.Decode, RAW_VALUE_CODEC, wire, RawValue.of(wire), null);
+    }
+
+    @Test
+    public void rawValue_encodesDocumentsAsRefs() throws IOException {
+        RawValue value = RawValue.of("{\"owner\":{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"User\"},"
+                + "\"ts\":{\"@time\":\"2023-12-15T01:01:01Z\"},\"tags\":[\"a\"]}},"
+                + "\"team\":[{\"@doc\":{\"name\":\"Admins\",\"coll\":{\"@mod\":\"Role\"},\"data\":{}}}]}");
+        assertEquals("{\"owner\":{\"@ref\":{\"id\":\"1\",\"coll\":{\"@mod\":\"User\"}}},"
+                        + "\"team\":[{\"@ref\":{\"name\":\"Admins\",\"coll\":{\"@mod\":\"Role\"}}}]}",
+                Helpers.encode(RAW_VALUE_CODEC, value));
+    }
+
+    @Test
+    public void rawValue_rejectsSetsAsArguments() {
+        assertThrows(CodecException.class, () -> Helpers.encode(RAW_VALUE_CODEC,
+                RawValue.of("{\"items\":{\"@set\":\"token\"}}")));
+    }
+
+    @Test
+    public void rawValue_null() throws IOException {
+        runCase(TestType.RoundTrip, RAW_VALUE_CODEC, "null", null, null);
+    }
+
+    @Test
+    public void rawValue_leavesParserAfterCapturedValue() throws IOException {
+        String wire = "[" + String.join(",", wires().toArray(String[]::new)) + "]";
+        @SuppressWarnings("unchecked")
+        Codec<List<RawValue>> listCodec = (Codec<List<RawValue>>) (Codec<?>)
+                DefaultCodecProvider.SINGLETON.get(List.class, new Type[] {RawValue.class});
+
+        List<RawValue> decoded = Helpers.decode(listCodec, wire);
+        assertEquals(wires().map(RawValue::of).collect(Collectors.toList()), decoded);
+        assertEquals(wire, Helpers.encode(listCodec, decoded));
+    }
+
+    @Test
+    public void rawValue_fieldsFollowingCapturedValueAreDecoded() {
+        String wire = "{\"raw\":{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"Foo\"}}},\"count\":{\"@int\":\"3\"}}";
+        Map<String, Object> decoded = Helpers.decode(DefaultCodecProvider.SINGLETON.get(RawHolder.class), wire)
+                .asMap();
+        assertEquals(RawValue.of("{\"@doc\":{\"id\":\"1\",\"coll\":{\"@mod\":\"Foo\"}}}"), decoded.get("raw"));
+        assertEquals(3, decoded.get("count"));
+    }
+
+    @Test
+    public void rawValue_encodesAsQueryArgument() throws IOException {
+        Query query = fql("Foo.create(${doc})", Map.of("doc", RawValue.of("{\"name\":{\"@int\":\"1\"}}")));
+        assertEquals("{\"fql\":[\"Foo.create(\",{\"value\":{\"name\":{\"@int\":\"1\"}}},\")\"]}",
+                Helpers.encode(DefaultCodecProvider.SINGLETON.get(Query.class), query));
+    }
+
+    public static class RawHolder {
+        public RawValue raw;
+        public int count;
+
+        Map<String, Object> asMap() {
+            return Map.of("raw", raw, "count", count);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.fauna.perf;
+
+import com.fauna.codec.Codec;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.codec.UTF8FaunaParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares decode throughput of the Jackson and byte scanning parser backends on a page of documents.
+ */
+public class ParserBenchmarkTest {
+
+    private static final int DOCUMENTS = 1_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    @Tag("perfTests")
+    public void compareParserBackends() {
+        byte[] page = buildPage().getBytes(UTF_8);
+        Codec<Object> codec = DefaultCodecProvider.SINGLETON.get(Object.class);
+
+        run("jackson", page, codec, bytes -> UTF8FaunaParser.fromInputStream(new ByteArrayInputStream(bytes)));
+        run("bytes", page, codec, UTF8FaunaParser::fromBytes);
+    }
+
+    private static void run(final String name, final byte[] page, final Codec<Object> codec,
+                            final Function<byte[], UTF8FaunaParser> parsers) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            codec.decode(parsers.apply(page));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.decode(parsers.apply(page));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-8s %10.0f documents/s %8.1f MB/s%n", name,
+                DOCUMENTS * ITERATIONS / seconds, page.length * (double) ITERATIONS / seconds / 1e6);
+    }
+
+    private static String buildPage() {
+        StringBuilder sb = new StringBuilder("{\"@set\":{\"data\":[");
+        for (int i = 0; i < DOCUMENTS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"@doc\":{\"id\":\"").append(400_000_000_000_000L + i)
+                    .append("\",\"coll\":{\"@mod\":\"Product\"},\"ts\":{\"@time\":\"2023-12-15T01:01:01.001001Z\"},")
+                    .append("\"name\":\"product ").append(i).append("\",\"price\":{\"@double\":\"")
+                    .append(i * 1.25).append("\"},\"quantity\":{\"@int\":\"").append(i % 100)
+                    .append("\"},\"in_stock\":true,\"tags\":[\"a\",\"b\"]}}");
+        }
+        return sb.append("],\"after\":\"token\"}}").toString();
+    }
+}
@@ -16,9 +16,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -67,6 +70,21 @@ class QueryResponseTest {
 
     }
 
+    @Test
+    public void parseResponse_deduplicatesShortStrings() {
+        HttpResponse resp = mockResponse(
+                "{\"data\":[\"active\",\"active\",\"not so short\",\"not so short\"]}");
+        when(resp.statusCode()).thenReturn(200);
+
+        QuerySuccess<Object> success = QueryResponse.parseResponse(resp,
+                codecProvider.get(Object.class), new StatsCollectorImpl(), 8);
+
+        List<?> data = (List<?>) success.getData();
+        assertEquals(List.of("active", "active", "not so short", "not so short"), data);
+        assertSame(data.get(0), data.get(1));
+        assertNotSame(data.get(2), data.get(3));
+    }
+
     @Test
     public void handleResponseWithInvalidJsonThrowsClientResponseException() {
         HttpResponse resp = mockResponse("{\"not valid json\"");
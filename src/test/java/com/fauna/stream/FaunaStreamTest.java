@@ -0,0 +1,618 @@
+package com.fauna.stream;
+
+import com.fauna.client.ExponentialBackoffStrategy;
+import com.fauna.client.StatsCollectorImpl;
+import com.fauna.codec.DefaultCodecProvider;
+import com.fauna.event.CursorCheckpoint;
+import com.fauna.event.EventDataPool;
+import com.fauna.event.FaunaEvent;
+import com.fauna.event.FaunaStream;
+import com.fauna.event.FileCursorStore;
+import com.fauna.event.StreamOptions;
+import com.fauna.exception.ClientException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FaunaStreamTest {
+
+    private static final String STATS = "\"stats\":{\"read_ops\":1,\"storage_bytes_read\":0,\"compute_ops\":1,"
+            + "\"processing_time_ms\":0,\"rate_limits_hit\":[]}";
+
+    private static String event(final String cursor, final String data) {
+        return "{\"type\":\"add\",\"cursor\":\"" + cursor + "\",\"txn_ts\":1,\"data\":\"" + data + "\"," + STATS
+                + "}\n";
+    }
+
+    /**
+     * A connection body that delivers chunks synchronously when the test sends them.
+     */
+    private static final class Connection implements Flow.Publisher<List<ByteBuffer>> {
+        private final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        private Flow.Subscriber<? super List<ByteBuffer>> subscriber;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super List<ByteBuffer>> s) {
+            this.subscriber = s;
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscribed.complete(null);
+        }
+
+        void send(final String json) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(json.getBytes(UTF_8))));
+        }
+
+        void sendChunks(final String json, final int chunkSize) {
+            byte[] bytes = json.getBytes(UTF_8);
+            for (int i = 0; i < bytes.length; i += chunkSize) {
+                subscriber.onNext(List.of(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i))));
+            }
+        }
+
+        void drop() {
+            subscriber.onError(new IOException("Connection reset"));
+        }
+    }
+
+    private static class Recorder implements Flow.Subscriber<FaunaEvent<String>> {
+        private final BlockingQueue<String> data = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        private final long initialRequest;
+        private volatile String thread;
+
+        Recorder() {
+            this(Long.MAX_VALUE);
+        }
+
+        Recorder(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s) {
+            subscription.complete(s);
+            if (initialRequest > 0) {
+                s.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final FaunaEvent<String> item) {
+            thread = Thread.currentThread().getName();
+            data.add(item.getData().orElse(null));
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    public void stream_reconnectsFromLastCursorAndSkipsDuplicates() throws Exception {
+        StreamOptions options = StreamOptions.builder().retryStrategy(
+                ExponentialBackoffStrategy.builder().initialIntervalMillis(1).maxAttempts(3).build()).build();
+        Connection first = new Connection();
+        Connection second = new Connection();
+        List<String> cursors = new CopyOnWriteArrayList<>();
+
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options, cursor -> {
+            cursors.add(cursor);
+            return CompletableFuture.completedFuture(second);
+        });
+        first.subscribe(stream);
+        Recorder recorder = new Recorder();
+        stream.subscribe(recorder);
+
+        first.send(event("c1", "a"));
+        assertEquals("a", recorder.data.poll(5, TimeUnit.SECONDS));
+
+        first.drop();
+        second.subscribed.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("c1"), cursors);
+
+        second.send(event("c1", "a"));
+        second.send(event("c2", "b"));
+        assertEquals("b", recorder.data.poll(5, TimeUnit.SECONDS));
+        assertNull(recorder.data.poll(50, TimeUnit.MILLISECONDS));
+
+        assertEquals(1, stream.getReconnectCount());
+        assertTrue(stream.getReconnectGap().toNanos() > 0);
+        assertEquals("c2", stream.getLastCursor().orElseThrow());
+        stream.close();
+    }
+
+    @Test
+    public void stream_givesUpWhenEachReconnectDropsAfterItsStatusEvent() throws Exception {
+        StreamOptions options = StreamOptions.builder().retryStrategy(
+                ExponentialBackoffStrategy.builder().initialIntervalMillis(1).maxAttempts(3).build()).build();
+        BlockingQueue<Connection> connections = new LinkedBlockingQueue<>();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options, cursor -> {
+            Connection connection = new Connection();
+            connections.add(connection);
+            return CompletableFuture.completedFuture(connection);
+        });
+        Connection first = new Connection();
+        first.subscribe(stream);
+        Recorder recorder = new Recorder();
+        stream.subscribe(recorder);
+
+        first.send(event("c1", "a"));
+        assertEquals("a", recorder.data.poll(5, TimeUnit.SECONDS));
+        first.drop();
+
+        for (int i = 0; i < 3; i++) {
+            Connection connection = connections.poll(5, TimeUnit.SECONDS);
+            connection.subscribed.get(5, TimeUnit.SECONDS);
+            connection.send("{\"type\":\"status\",\"cursor\":\"c1\",\"txn_ts\":1," + STATS + "}\n");
+            connection.drop();
+        }
+
+        assertInstanceOf(IOException.class, recorder.error.get(5, TimeUnit.SECONDS));
+        assertTrue(connections.isEmpty());
+        assertEquals(3, stream.getReconnectCount());
+    }
+
+    @Test
+    public void stream_closesOnDropWithoutRetryStrategy() throws Exception {
+        Connection connection = new Connection();
+        List<String> cursors = new ArrayList<>();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(),
+                StreamOptions.DEFAULT, cursor -> {
+                    cursors.add(cursor);
+                    return CompletableFuture.completedFuture(new Connection());
+                });
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder();
+        stream.subscribe(recorder);
+
+        connection.drop();
+        assertTrue(stream.isClosed());
+        assertInstanceOf(IOException.class, stream.getClosedException());
+        assertInstanceOf(IOException.class, recorder.error.get(5, TimeUnit.SECONDS));
+        assertTrue(cursors.isEmpty());
+        assertEquals(0, stream.getReconnectCount());
+    }
+
+    @Test
+    public void stream_lastCursorOnlyCoversDeliveredEvents() throws Exception {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder(0);
+        stream.subscribe(recorder);
+        Flow.Subscription subscription = recorder.subscription.get(5, TimeUnit.SECONDS);
+
+        connection.send(event("c1", "a") + event("c2", "b"));
+        assertTrue(stream.getLastCursor().isEmpty());
+
+        subscription.request(1);
+        assertEquals("a", recorder.data.poll(5, TimeUnit.SECONDS));
+        while (stream.getLastCursor().isEmpty()) {
+            Thread.sleep(1);
+        }
+        assertEquals("c1", stream.getLastCursor().orElseThrow());
+        stream.close();
+    }
+
+    @Test
+    public void stream_emitsEveryEventInAChunkAndJoinsSplitEvents() throws InterruptedException {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder();
+        stream.subscribe(recorder);
+
+        connection.send(event("c1", "a") + event("c2", "b") + event("c3", "c").substring(0, 10));
+        connection.sendChunks(event("c3", "c").substring(10) + "\n" + event("c4", "d"), 7);
+
+        for (String expected : List.of("a", "b", "c", "d")) {
+            assertEquals(expected, recorder.data.poll(5, TimeUnit.SECONDS));
+        }
+        assertNull(recorder.data.poll(50, TimeUnit.MILLISECONDS));
+        stream.close();
+    }
+
+    @Test
+    public void stream_lazyDecodingDefersDataUntilRead() throws Exception {
+        Connection connection = new Connection();
+        StreamOptions options = StreamOptions.builder().lazyDecoding(true).build();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options, null);
+        connection.subscribe(stream);
+        BlockingQueue<FaunaEvent<String>> events = new LinkedBlockingQueue<>();
+        stream.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final FaunaEvent<String> item) {
+                events.add(item);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        connection.send(event("c1", "a") + event("c2", "b"));
+        FaunaEvent<String> first = events.poll(5, TimeUnit.SECONDS);
+        FaunaEvent<String> second = events.poll(5, TimeUnit.SECONDS);
+        assertEquals("c2", second.getCursor());
+        assertFalse(first.isDataDecoded());
+        assertFalse(second.isDataDecoded());
+
+        assertEquals(Optional.of("a"), first.getData());
+        assertTrue(first.isDataDecoded());
+        assertFalse(second.isDataDecoded());
+        assertTrue(options.withCursor("c2").isLazyDecoding());
+        stream.close();
+    }
+
+    @Test
+    public void parse_lazyDecodingKeepsNestedData() throws IOException {
+        String json = "{\"type\":\"update\",\"cursor\":\"c1\",\"data\":{\"n\":{\"@int\":\"5\"},"
+                + "\"tags\":[\"x\",{\"@long\":\"6\"}]},\"txn_ts\":1," + STATS + "}";
+        @SuppressWarnings("unchecked")
+        Class<Map<String, Object>> mapClass = (Class<Map<String, Object>>) (Class<?>) Map.class;
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            FaunaEvent<Map<String, Object>> event = FaunaEvent.parse(parser,
+                    DefaultCodecProvider.SINGLETON.get(mapClass), true);
+            assertEquals(1L, event.getTimestamp().orElseThrow());
+            assertFalse(event.isDataDecoded());
+            Map<String, Object> data = event.getData().orElseThrow();
+            assertEquals(5, data.get("n"));
+            assertEquals(List.of("x", 6L), data.get("tags"));
+            assertSame(data, event.getData().orElseThrow());
+        }
+    }
+
+    @Test
+    public void stream_lazyDecodingSlicesDataFromFrame() throws Exception {
+        Connection connection = new Connection();
+        StreamOptions options = StreamOptions.builder().lazyDecoding(true).build();
+        FaunaStream<Object> stream = new FaunaStream<>(Object.class, new StatsCollectorImpl(), options, null);
+        connection.subscribe(stream);
+        BlockingQueue<Object> data = new LinkedBlockingQueue<>();
+        stream.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final FaunaEvent<Object> item) {
+                data.add(item.getData().orElseThrow());
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        // Both events arrive in one frame buffer, so the second is sliced from a non-zero offset.
+        connection.send(event("c1", "caf\\u00e9 \\\"\u00fcber\\\"")
+                + "{\"type\":\"update\",\"cursor\":\"c2\",\"data\":{\"n\":{\"@int\":\"5\"},"
+                + "\"tags\":[\"x\",{\"@long\":\"6\"}]},\"txn_ts\":1," + STATS + "}\n");
+        assertEquals("caf\u00e9 \"\u00fcber\"", data.poll(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("n", 5, "tags", List.of("x", 6L)), data.poll(5, TimeUnit.SECONDS));
+        stream.close();
+    }
+
+    @Test
+    public void stream_closesExceptionallyOnErrorEvent() throws Exception {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder();
+        stream.subscribe(recorder);
+
+        connection.send("{\"type\":\"error\",\"error\":{\"code\":\"stream_overflow\",\"message\":\"Too many\"},"
+                + STATS + "}\n");
+
+        Throwable error = recorder.error.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(ClientException.class, error);
+        assertTrue(error.getMessage().contains("stream_overflow"));
+        assertTrue(stream.isClosed());
+    }
+
+    private static List<String> overflow(final StreamOptions options, final String... data) throws Exception {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder(0);
+        stream.subscribe(recorder);
+        Flow.Subscription subscription = recorder.subscription.get(5, TimeUnit.SECONDS);
+
+        StringBuilder events = new StringBuilder();
+        for (int i = 0; i < data.length; i++) {
+            events.append(event("c" + i, data[i]));
+        }
+        connection.send(events.toString());
+        assertEquals(options.getMaxBufferCapacity(), stream.estimateMaximumLag());
+        assertEquals(data.length - options.getMaxBufferCapacity(), stream.getDroppedEventCount());
+
+        subscription.request(Long.MAX_VALUE);
+        List<String> received = new ArrayList<>();
+        for (int i = 0; i < options.getMaxBufferCapacity(); i++) {
+            received.add(recorder.data.poll(5, TimeUnit.SECONDS));
+        }
+        stream.close();
+        return received;
+    }
+
+    @Test
+    public void stream_dropsNewestOnOverflow() throws Exception {
+        StreamOptions options = StreamOptions.builder().maxBufferCapacity(2)
+                .overflowPolicy(StreamOptions.OverflowPolicy.DROP_NEWEST).build();
+        assertEquals(List.of("a1", "b1"), overflow(options, "a1", "b1", "c1", "d1"));
+    }
+
+    @Test
+    public void stream_dropsOldestOnOverflow() throws Exception {
+        StreamOptions options = StreamOptions.builder().maxBufferCapacity(2)
+                .overflowPolicy(StreamOptions.OverflowPolicy.DROP_OLDEST).build();
+        assertEquals(List.of("c1", "d1"), overflow(options, "a1", "b1", "c1", "d1"));
+    }
+
+    @Test
+    public void stream_conflatesByKey() throws Exception {
+        StreamOptions options = StreamOptions.builder().maxBufferCapacity(2)
+                .conflate(data -> data.toString().substring(0, 1)).build();
+        assertEquals(List.of("a3", "b1"), overflow(options, "a1", "b1", "a2", "a3"));
+    }
+
+    @Test
+    public void stream_failsSubscriberOnOverflow() throws Exception {
+        StreamOptions options = StreamOptions.builder().maxBufferCapacity(1)
+                .overflowPolicy(StreamOptions.OverflowPolicy.FAIL).build();
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+        connection.subscribe(stream);
+        Recorder recorder = new Recorder(0);
+        stream.subscribe(recorder);
+
+        connection.send(event("c1", "a") + event("c2", "b"));
+
+        assertInstanceOf(ClientException.class, recorder.error.get(5, TimeUnit.SECONDS));
+        assertTrue(stream.isClosed());
+    }
+
+    @Test
+    public void stream_cancelsSubscriberThatThrows() throws Exception {
+        StreamOptions options = StreamOptions.builder().maxBufferCapacity(1)
+                .overflowPolicy(StreamOptions.OverflowPolicy.BLOCK).build();
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+        connection.subscribe(stream);
+        IllegalStateException thrown = new IllegalStateException("subscriber failed");
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onNext(final FaunaEvent<String> item) {
+                throw thrown;
+            }
+        };
+        stream.subscribe(recorder);
+
+        // The reader would wait forever for room if the failed subscriber were not cancelled.
+        CompletableFuture.runAsync(() -> connection.send(event("c1", "a") + event("c2", "b") + event("c3", "c")))
+                .get(5, TimeUnit.SECONDS);
+        assertSame(thrown, recorder.error.get(5, TimeUnit.SECONDS));
+        assertTrue(stream.isClosed());
+    }
+
+    @Test
+    public void stream_deliversOnConfiguredExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "event-delivery"));
+        try {
+            StreamOptions options = StreamOptions.builder().executor(executor).build();
+            Connection connection = new Connection();
+            FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                    cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+            connection.subscribe(stream);
+            Recorder recorder = new Recorder();
+            stream.subscribe(recorder);
+
+            connection.send(event("c1", "a"));
+            assertEquals("a", recorder.data.poll(5, TimeUnit.SECONDS));
+            assertEquals("event-delivery", recorder.thread);
+            assertEquals(0, stream.getDroppedEventCount());
+            stream.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void streamOptions_rejectsInvalidDeliverySettings() {
+        assertThrows(IllegalArgumentException.class, () -> StreamOptions.builder().maxBufferCapacity(0).build());
+        assertThrows(IllegalArgumentException.class, () -> StreamOptions.builder().executor(null).build());
+        assertThrows(IllegalArgumentException.class, () -> StreamOptions.builder().overflowPolicy(null).build());
+    }
+
+    @Test
+    public void stream_rejectsSecondSubscriberUnlessMulticast() {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+        connection.subscribe(stream);
+        stream.subscribe(new Recorder());
+        assertThrows(ClientException.class, () -> stream.subscribe(new Recorder()));
+        stream.close();
+    }
+
+    @Test
+    public void stream_multicastsAndReplaysToLateSubscribers() throws Exception {
+        StreamOptions options = StreamOptions.builder().multicast(2).build();
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+        connection.subscribe(stream);
+        Recorder first = new Recorder();
+        Recorder slow = new Recorder(0);
+        stream.subscribe(first);
+        stream.subscribe(slow);
+
+        connection.send(event("c1", "a") + event("c2", "b") + event("c3", "c"));
+        for (String expected : List.of("a", "b", "c")) {
+            assertEquals(expected, first.data.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(3, stream.estimateMaximumLag());
+
+        Recorder late = new Recorder();
+        stream.subscribe(late);
+        assertEquals(3, stream.getNumberOfSubscribers());
+        assertEquals("b", late.data.poll(5, TimeUnit.SECONDS));
+        assertEquals("c", late.data.poll(5, TimeUnit.SECONDS));
+
+        connection.send(event("c4", "d"));
+        assertEquals("d", first.data.poll(5, TimeUnit.SECONDS));
+        assertEquals("d", late.data.poll(5, TimeUnit.SECONDS));
+
+        slow.subscription.get(5, TimeUnit.SECONDS).request(1);
+        assertEquals("a", slow.data.poll(5, TimeUnit.SECONDS));
+        stream.close();
+    }
+
+    @Test
+    public void stream_subscribesWhileSlowMulticastSubscriberBlocks() throws Exception {
+        StreamOptions options = StreamOptions.builder().multicast(2).maxBufferCapacity(1)
+                .overflowPolicy(StreamOptions.OverflowPolicy.BLOCK).build();
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                cursor -> CompletableFuture.failedFuture(new IOException("unused")));
+        connection.subscribe(stream);
+        Recorder slow = new Recorder(0);
+        stream.subscribe(slow);
+
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(
+                () -> connection.send(event("c1", "a") + event("c2", "b")));
+        while (stream.estimateMaximumLag() < 1) {
+            Thread.sleep(1);
+        }
+        assertThrows(Exception.class, () -> reader.get(50, TimeUnit.MILLISECONDS));
+
+        // The reader waits for the slow subscriber outside the lock that subscribing takes.
+        Recorder late = new Recorder();
+        CompletableFuture.runAsync(() -> stream.subscribe(late)).get(5, TimeUnit.SECONDS);
+        assertEquals("a", late.data.poll(5, TimeUnit.SECONDS));
+        assertEquals("b", late.data.poll(5, TimeUnit.SECONDS));
+
+        slow.subscription.get(5, TimeUnit.SECONDS).request(2);
+        reader.get(5, TimeUnit.SECONDS);
+        assertEquals("a", slow.data.poll(5, TimeUnit.SECONDS));
+        assertEquals("b", slow.data.poll(5, TimeUnit.SECONDS));
+        stream.close();
+    }
+
+    @Test
+    public void stream_consumeReportsSubscriberState() throws Exception {
+        Connection connection = new Connection();
+        FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl());
+        connection.subscribe(stream);
+        assertFalse(stream.hasSubscribers());
+        assertEquals(0, stream.estimateMinimumDemand());
+
+        BlockingQueue<String> consumed = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> done = stream.consume(event -> consumed.add(event.getData().orElse(null)));
+        assertTrue(stream.hasSubscribers());
+        assertEquals(1, stream.getNumberOfSubscribers());
+
+        connection.send(event("c1", "a"));
+        assertEquals("a", consumed.poll(5, TimeUnit.SECONDS));
+        assertEquals(Long.MAX_VALUE, stream.estimateMinimumDemand());
+        assertEquals(0, stream.estimateMaximumLag());
+
+        stream.close();
+        done.get(5, TimeUnit.SECONDS);
+        assertTrue(stream.isClosed());
+        assertNull(stream.getClosedException());
+    }
+
+    @Test
+    public void streamOptions_rejectsDataPoolWithMulticast() {
+        assertThrows(IllegalArgumentException.class, () -> StreamOptions.builder().multicast(0)
+                .dataPool(EventDataPool.bounded(Object::new, 1)).build());
+        assertThrows(IllegalArgumentException.class, () -> StreamOptions.builder().multicast(-1).build());
+    }
+
+    @Test
+    public void stream_commitsDeliveredCursorsToCheckpoint(@TempDir final Path dir) throws InterruptedException {
+        try (FileCursorStore store = FileCursorStore.open(dir.resolve("cursors.log"))) {
+            CursorCheckpoint checkpoint = new CursorCheckpoint(store, "stream", 2, Duration.ofHours(1));
+            StreamOptions options = StreamOptions.builder().checkpoint(checkpoint).build();
+            Connection connection = new Connection();
+            FaunaStream<String> stream = new FaunaStream<>(String.class, new StatsCollectorImpl(), options,
+                    cursor -> CompletableFuture.completedFuture(new Connection()));
+            connection.subscribe(stream);
+            Recorder recorder = new Recorder();
+            stream.subscribe(recorder);
+
+            connection.send(event("c1", "a") + event("c2", "b") + event("c3", "c"));
+            for (String expected : List.of("a", "b", "c")) {
+                assertEquals(expected, recorder.data.poll(5, TimeUnit.SECONDS));
+            }
+            assertEquals(Optional.of("c2"), store.load("stream"));
+
+            stream.close();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!store.load("stream").equals(Optional.of("c3")) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(Optional.of("c3"), store.load("stream"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> StreamOptions.builder().multicast(0).checkpoint(checkpoint).build());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.fauna.stream;
+
+import com.fauna.event.CursorCheckpoint;
+import com.fauna.event.FileCursorStore;
+import com.fauna.exception.ClientException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileCursorStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void reopenedStoreLoadsLatestCursors() {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            store.commit("a", "a1");
+            store.commit("b", "b1");
+            store.commit("a", "a2");
+            assertEquals(Optional.of("a2"), store.load("a"));
+        }
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("a2"), store.load("a"));
+            assertEquals(Optional.of("b1"), store.load("b"));
+            assertEquals(Optional.empty(), store.load("c"));
+            assertEquals(3, store.getRecordCount());
+        }
+    }
+
+    @Test
+    public void tornRecordIsDiscarded() throws IOException {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            store.commit("a", "a1");
+        }
+        long length = Files.size(path);
+        // Half of a record, as if the process died while appending it.
+        Files.write(path, new byte[] {0, 1, 'a', 0}, StandardOpenOption.APPEND);
+
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("a1"), store.load("a"));
+            assertEquals(length, Files.size(path));
+            store.commit("a", "a2");
+        }
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("a2"), store.load("a"));
+        }
+    }
+
+    @Test
+    public void zeroedTailIsDiscarded() throws IOException {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            store.commit("a", "a1");
+        }
+        long length = Files.size(path);
+        // Preallocated blocks that were never written, as left by some file systems after a crash.
+        Files.write(path, new byte[16], StandardOpenOption.APPEND);
+
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("a1"), store.load("a"));
+            assertEquals(1, store.getRecordCount());
+            assertEquals(length, Files.size(path));
+        }
+    }
+
+    @Test
+    public void logIsReadUpToFirstCorruptRecord() throws IOException {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            store.commit("a", "a1");
+        }
+        long length = Files.size(path);
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            store.commit("a", "a2");
+            store.commit("b", "b1");
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        // Garble the last byte of the cursor in the second record.
+        bytes[(int) length * 2 - 1] ^= 1;
+        Files.write(path, bytes);
+
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("a1"), store.load("a"));
+            assertEquals(Optional.empty(), store.load("b"));
+            assertEquals(length, Files.size(path));
+        }
+    }
+
+    @Test
+    public void logIsCompacted() throws IOException {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.builder(path).compactionThreshold(10)
+                .syncPolicy(FileCursorStore.SyncPolicy.ALWAYS).build()) {
+            for (int i = 0; i < 25; i++) {
+                store.commit("k" + i % 2, "c" + i);
+            }
+            assertTrue(store.getRecordCount() < 10);
+        }
+        assertTrue(Files.notExists(dir.resolve("cursors.log.compact")));
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            assertEquals(Optional.of("c24"), store.load("k0"));
+            assertEquals(Optional.of("c23"), store.load("k1"));
+        }
+    }
+
+    @Test
+    public void closedStoreRejectsCommits() {
+        FileCursorStore store = FileCursorStore.open(dir.resolve("cursors.log"));
+        store.close();
+        assertThrows(ClientException.class, () -> store.commit("a", "a1"));
+    }
+
+    @Test
+    public void checkpointBatchesCommits() {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            CursorCheckpoint checkpoint = new CursorCheckpoint(store, "feed", 3, Duration.ofHours(1));
+            checkpoint.acknowledge("c1");
+            checkpoint.acknowledge("c2");
+            assertEquals(Optional.empty(), checkpoint.getCommittedCursor());
+            checkpoint.acknowledge("c3");
+            assertEquals(Optional.of("c3"), checkpoint.getCommittedCursor());
+            checkpoint.acknowledge("c4");
+            checkpoint.close();
+            assertEquals(Optional.of("c4"), checkpoint.getCommittedCursor());
+            assertEquals(2, store.getRecordCount());
+        }
+    }
+
+    @Test
+    public void checkpointCommitsQuietStreamAfterMaxDelay() throws InterruptedException {
+        Path path = dir.resolve("cursors.log");
+        try (FileCursorStore store = FileCursorStore.open(path)) {
+            CursorCheckpoint checkpoint = new CursorCheckpoint(store, "feed", 100, Duration.ofMillis(50));
+            checkpoint.acknowledge("c1");
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (checkpoint.getCommittedCursor().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(Optional.of("c1"), checkpoint.getCommittedCursor());
+            assertEquals(1, store.getRecordCount());
+        }
+    }
+}
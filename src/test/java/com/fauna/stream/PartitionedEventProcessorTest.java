@@ -0,0 +1,226 @@
+package com.fauna.stream;
+
+import com.fauna.event.CursorCheckpoint;
+import com.fauna.event.CursorStore;
+import com.fauna.event.FaunaEvent;
+import com.fauna.event.PartitionedEventProcessor;
+import com.fauna.exception.ClientException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedEventProcessorTest {
+
+    private static FaunaEvent<String> event(final String cursor, final String data) {
+        return new FaunaEvent<>(FaunaEvent.EventType.UPDATE, cursor, 1L, data, null, null);
+    }
+
+    private static Object keyOf(final Object data) {
+        return ((String) data).split(":")[0];
+    }
+
+    /**
+     * A cursor store that keeps commits in memory.
+     */
+    private static final class MemoryStore implements CursorStore {
+        private final Map<String, String> cursors = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<String> load(final String key) {
+            return Optional.ofNullable(cursors.get(key));
+        }
+
+        @Override
+        public void commit(final String key, final String cursor) {
+            cursors.put(key, cursor);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    @Test
+    public void keepsEventsOfAKeyInOrderAndRunsKeysInParallel() throws Exception {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+            String[] parts = e.getData().orElseThrow().split(":");
+            int seq = Integer.parseInt(parts[1]);
+            if (seq == 0) {
+                bothRunning.countDown();
+                try {
+                    // Only returns once the first events of two keys are handled at the same time.
+                    assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            seen.computeIfAbsent(parts[0], k -> new CopyOnWriteArrayList<>()).add(seq);
+        }).lanes(4).maxInFlight(16).partitionKey(PartitionedEventProcessorTest::keyOf).build();
+
+        for (int i = 0; i < 100; i++) {
+            processor.submit(event("c" + i, (i % 2 == 0 ? "a" : "b") + ":" + i / 2));
+        }
+        processor.close();
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, seen.get("a"));
+        assertEquals(expected, seen.get("b"));
+        assertEquals(Optional.of("c99"), processor.getLowWaterCursor());
+    }
+
+    @Test
+    public void checkpointAdvancesToLowWaterMark() throws Exception {
+        MemoryStore store = new MemoryStore();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(2);
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+            if (e.getData().orElseThrow().startsWith("slow")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            } else {
+                fastDone.countDown();
+            }
+        }).lanes(2).partitionKey(PartitionedEventProcessorTest::keyOf)
+                .checkpoint(new CursorCheckpoint(store, "feed", 1, Duration.ZERO)).build();
+
+        processor.submit(event("c1", "slow:1"));
+        processor.submit(event("c2", "fast:1"));
+        processor.submit(event("c3", "fast:2"));
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+        // Later events are done, but the slow one before them is not.
+        assertEquals(Optional.empty(), processor.getLowWaterCursor());
+        assertEquals(Optional.empty(), store.load("feed"));
+
+        release.countDown();
+        processor.close();
+        assertEquals(Optional.of("c3"), processor.getLowWaterCursor());
+        assertEquals(Optional.of("c3"), store.load("feed"));
+    }
+
+    @Test
+    public void requestsMoreFromStreamAsEventsComplete() throws Exception {
+        AtomicLong requested = new AtomicLong();
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+        }).lanes(2).maxInFlight(4).partitionKey(PartitionedEventProcessorTest::keyOf).build();
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        assertEquals(4, requested.get());
+
+        for (int i = 0; i < 4; i++) {
+            processor.onNext(event("c" + i, "k" + i + ":0"));
+        }
+        processor.onComplete();
+        processor.getCompletion().get(5, TimeUnit.SECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requested.get() < 8 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(8, requested.get());
+        assertEquals(Optional.of("c3"), processor.getLowWaterCursor());
+        processor.close();
+    }
+
+    @Test
+    public void handlerFailureStopsProcessor() throws Exception {
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+            if (e.getData().orElseThrow().endsWith(":bad")) {
+                throw new IllegalStateException("bad event");
+            }
+        }).lanes(1).partitionKey(PartitionedEventProcessorTest::keyOf).build();
+
+        processor.submit(event("c1", "a:ok"));
+        processor.submit(event("c2", "a:bad"));
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> processor.getCompletion().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(Optional.of("c1"), processor.getLowWaterCursor());
+        assertThrows(ClientException.class, () -> processor.submit(event("c3", "a:ok")));
+        processor.close();
+    }
+
+    @Test
+    public void handlerErrorFailsProcessorAndCloseReturns() throws Exception {
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+            if (e.getData().orElseThrow().endsWith(":bad")) {
+                throw new AssertionError("bad event");
+            }
+        }).lanes(1).partitionKey(PartitionedEventProcessorTest::keyOf).build();
+
+        processor.submit(event("c1", "a:bad"));
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> processor.getCompletion().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, error.getCause());
+        assertEquals(0, processor.getInFlightCount());
+        processor.close();
+    }
+
+    @Test
+    public void concurrentSubmitsStayWithinMaxInFlight() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxSeen = new AtomicInteger();
+        PartitionedEventProcessor<String> processor = PartitionedEventProcessor.<String>builder(e -> {
+            maxSeen.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            running.decrementAndGet();
+        }).lanes(8).maxInFlight(4).partitionKey(PartitionedEventProcessorTest::keyOf).build();
+
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(submitters.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    processor.submit(event("c" + thread + "-" + i, "k" + i + ":" + thread));
+                    assertTrue(processor.getInFlightCount() <= 4);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        submitters.shutdown();
+        processor.close();
+        assertTrue(maxSeen.get() <= 4);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fauna.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactMapTest {
+
+    @Test
+    public void build_sortsKeysAndKeepsLastValue() {
+        CompactMap map = new CompactMap.Builder()
+                .put("name", "Alice")
+                .put("age", 42)
+                .put("city", "Paris")
+                .put("name", "Bob")
+                .build();
+
+        assertEquals(3, map.size());
+        assertEquals("Bob", map.get("name"));
+        assertEquals(42, map.get("age"));
+        assertTrue(map.containsKey("city"));
+        assertFalse(map.containsKey("missing"));
+        assertNull(map.get("missing"));
+        assertNull(map.get(1));
+        assertEquals(List.of("age", "city", "name"), List.copyOf(map.keySet()));
+    }
+
+    @Test
+    public void equalsAndHashCode_matchOtherMaps() {
+        Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            expected.put("key" + i, i);
+        }
+        CompactMap map = CompactMap.copyOf(expected);
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void copyOf_empty() {
+        assertSame(CompactMap.empty(), CompactMap.copyOf(Map.of()));
+        assertEquals(Map.of(), CompactMap.empty());
+    }
+
+    @Test
+    public void mutation_throws() {
+        CompactMap map = CompactMap.copyOf(Map.of("a", 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, map::clear);
+    }
+
+    @Test
+    public void build_sharesKeysBetweenMapsOfTheSameShape() throws ReflectiveOperationException {
+        CompactMap first = CompactMap.copyOf(Map.of("shared_a", 1, "shared_b", 2));
+        CompactMap second = CompactMap.copyOf(Map.of("shared_b", 3, "shared_a", 4));
+
+        Field keys = CompactMap.class.getDeclaredField("keys");
+        keys.setAccessible(true);
+        assertSame(keys.get(first), keys.get(second));
+        assertEquals(4, second.get("shared_a"));
+    }
+}